@@ -0,0 +1,55 @@
+package dk.lockfuglsang.minecraft.po;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+
+/**
+ * A {@link MessageFormat} pattern, parsed once.
+ * <p>
+ * Patterns without arguments are formatted up front, so they cost nothing to format again.
+ * Other patterns keep a parsed prototype, which is cloned for each call, since {@link MessageFormat}
+ * is not thread-safe.
+ */
+final class CompiledFormat {
+    private final String pattern;
+    private final String constant;
+    private final MessageFormat prototype;
+
+    private CompiledFormat(@NotNull String pattern, @Nullable String constant, @Nullable MessageFormat prototype) {
+        this.pattern = pattern;
+        this.constant = constant;
+        this.prototype = prototype;
+    }
+
+    @NotNull
+    static CompiledFormat compile(@NotNull String pattern, @NotNull Locale locale) {
+        try {
+            MessageFormat format = new MessageFormat(pattern, locale);
+            if (format.getFormatsByArgumentIndex().length == 0) {
+                return new CompiledFormat(pattern, format.format(new Object[0]), null);
+            }
+            return new CompiledFormat(pattern, null, format);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Problem with: '" + pattern + "'", e);
+        }
+    }
+
+    @NotNull
+    String format(@Nullable Object[] args) {
+        if (constant != null) {
+            return constant;
+        }
+        try {
+            return ((MessageFormat) prototype.clone()).format(args);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Problem with: '" + pattern + "'", e);
+        }
+    }
+
+    boolean hasArguments() {
+        return constant == null;
+    }
+}
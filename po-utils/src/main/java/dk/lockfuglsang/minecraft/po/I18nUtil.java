@@ -9,8 +9,9 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.text.MessageFormat;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.logging.Level;
@@ -70,11 +71,19 @@ public enum I18nUtil {
      */
     @NotNull
     public static String pre(@Nullable String s, @Nullable Object... args) {
-        if (s != null && !s.isEmpty()) {
-            new MessageFormat(s, getLocale());
-            return MessageFormat.format(s, args);
-        }
-        return "";
+        return getI18n().pre(s, args);
+    }
+
+    /**
+     * Returns a handle to the translation of the given key, for messages that are formatted often.
+     * The handle is bound to the compiled translation, and re-binds itself when the translations are reloaded.
+     * Keys should be marked with {@link #marktr(String)}, for them to end up in the .po files.
+     * @param key String to translate.
+     * @return Message handle.
+     */
+    @NotNull
+    public static Message message(@Nullable String key) {
+        return new Message(key);
     }
 
     /**
@@ -143,12 +152,61 @@ public enum I18nUtil {
         return null;
     }
 
+    /**
+     * A pre-bound translation, see {@link #message(String)}.
+     */
+    public static final class Message {
+        private final String key;
+        private volatile Binding binding;
+
+        private record Binding(I18n i18n, CompiledFormat format) {
+        }
+
+        private Message(@Nullable String key) {
+            this.key = key;
+        }
+
+        /**
+         * Translates and formats the message, like {@link I18nUtil#tr(String, Object...)}.
+         * @param args Arguments to format.
+         * @return Translated String.
+         */
+        @NotNull
+        public String format(@Nullable Object... args) {
+            if (key == null || key.isBlank()) {
+                return "";
+            }
+            I18n current = getI18n();
+            Binding bound = binding;
+            if (bound == null || bound.i18n() != current) {
+                bound = new Binding(current, current.compiled(key));
+                binding = bound;
+            }
+            return bound.format().format(args);
+        }
+
+        @Nullable
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public String toString() {
+            return format();
+        }
+    }
+
     /**
      * Proxy between uSkyBlock and org.xnap.commons.i18n.I18n
      */
     public static class I18n {
+        // Upper bound on cached formats, in case callers translate arbitrary (i.e. already formatted) strings
+        static final int MAX_CACHED_FORMATS = 8192;
+
         private final Locale locale;
         private final Properties translations = new Properties();
+        private final Map<String, CompiledFormat> formats = new FormatCache();
+        private final Map<String, CompiledFormat> patterns = new FormatCache();
 
         I18n(Locale locale) {
             this.locale = locale;
@@ -217,26 +275,75 @@ public enum I18nUtil {
         }
 
         public String tr(String key, Object... args) {
-            if (key == null || key.trim().isEmpty()) {
+            if (key == null || key.isBlank()) {
+                return "";
+            }
+            return compiled(key).format(args);
+        }
+
+        /**
+         * Formats the given pattern without translating it.
+         */
+        public String pre(String pattern, Object... args) {
+            if (pattern == null || pattern.isEmpty()) {
                 return "";
             }
-            String propKey = translations.getProperty(key);
-            if (propKey != null && !propKey.trim().isEmpty()) {
-                return format(propKey, args);
+            return cached(patterns, pattern, pattern).format(args);
+        }
+
+        /**
+         * Returns the compiled translation of the given key, or of the key itself if there is no translation.
+         */
+        CompiledFormat compiled(String key) {
+            CompiledFormat format;
+            synchronized (formats) {
+                format = formats.get(key);
+            }
+            if (format != null) {
+                return format;
             }
-            return format(key, args);
+            String translation = translations.getProperty(key);
+            return cached(formats, key, translation != null && !translation.isBlank() ? translation : key);
         }
 
-        private String format(String propKey, Object[] args) {
-            try {
-                return new MessageFormat(propKey, getLocale()).format(args);
-            } catch (IllegalArgumentException e) {
-                throw new IllegalArgumentException("Problem with: '" + propKey + "'", e);
+        private CompiledFormat cached(Map<String, CompiledFormat> cache, String key, String pattern) {
+            synchronized (cache) {
+                CompiledFormat format = cache.get(key);
+                if (format != null) {
+                    return format;
+                }
+            }
+            // Compiled outside the lock, a race only compiles the same pattern twice
+            CompiledFormat format = CompiledFormat.compile(pattern, locale);
+            synchronized (cache) {
+                CompiledFormat existing = cache.putIfAbsent(key, format);
+                return existing != null ? existing : format;
+            }
+        }
+
+        int getCachedFormatCount() {
+            synchronized (formats) {
+                return formats.size();
             }
         }
 
         public Locale getLocale() {
             return locale;
         }
+
+        /**
+         * Least recently used formats are evicted, so the common messages stay cached once the bound is reached.
+         * Access-ordered, so even lookups modify it, and all access must synchronize on the cache.
+         */
+        private static class FormatCache extends LinkedHashMap<String, CompiledFormat> {
+            FormatCache() {
+                super(256, 0.75f, true);
+            }
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledFormat> eldest) {
+                return size() > MAX_CACHED_FORMATS;
+            }
+        }
     }
 }
@@ -5,10 +5,17 @@ import org.junit.Test;
 
 import java.io.File;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.junit.Assert.assertNull;
 
 public class I18nUtilTest {
@@ -16,6 +23,7 @@ public class I18nUtilTest {
     public void setUp() throws Exception {
         URL dataFolderUrl = getClass().getClassLoader().getResource("");
         I18nUtil.setDataFolder(new File(dataFolderUrl.getFile()));
+        I18nUtil.setLocale(null);
     }
 
     @Test
@@ -112,6 +120,106 @@ public class I18nUtilTest {
         assertThat(I18nUtil.pre(TEST_STRING, TEST_ARGS), is(TEST_RESULT));
     }
 
+    @Test
+    public void testTr_quotesWithoutArguments() {
+        assertThat(I18nUtil.tr("Return to your island''s home"), is("Return to your island's home"));
+        assertThat(I18nUtil.tr("Return to your island''s home"), is("Return to your island's home"));
+    }
+
+    @Test
+    public void testTr_cachedFormatIsReused() {
+        String TEST_STRING = "\u00a7eThis key is unknown to {0}.";
+
+        assertThat(I18nUtil.tr(TEST_STRING, "Bukkit"), is("\u00a7eThis key is unknown to Bukkit."));
+        assertThat(I18nUtil.tr(TEST_STRING, "Spigot"), is("\u00a7eThis key is unknown to Spigot."));
+        assertThat(I18nUtil.getI18n().compiled(TEST_STRING), sameInstance(I18nUtil.getI18n().compiled(TEST_STRING)));
+    }
+
+    @Test
+    public void testTr_leastRecentlyUsedFormatIsEvicted() {
+        I18nUtil.I18n i18n = I18nUtil.getI18n();
+        String TEST_STRING = "\u00a7eThis key is used all the time by {0}.";
+        CompiledFormat format = i18n.compiled(TEST_STRING);
+        String evicted = "\u00a7eThis key is used once by {0}.";
+        CompiledFormat once = i18n.compiled(evicted);
+
+        for (int i = 0; i < I18nUtil.I18n.MAX_CACHED_FORMATS; i++) {
+            i18n.compiled("\u00a7eAlready formatted message " + i);
+            if (i % 100 == 0) {
+                i18n.compiled(TEST_STRING);
+            }
+        }
+
+        assertThat(i18n.getCachedFormatCount(), is(I18nUtil.I18n.MAX_CACHED_FORMATS));
+        assertThat(i18n.compiled(TEST_STRING), sameInstance(format));
+        assertThat(i18n.compiled(evicted), not(sameInstance(once)));
+    }
+
+    @Test
+    public void testCompiledFormat_withoutArguments() {
+        CompiledFormat format = CompiledFormat.compile("It''s {0}", Locale.ENGLISH);
+        assertThat(format.hasArguments(), is(true));
+        assertThat(format.format(new Object[]{"on"}), is("It's on"));
+
+        CompiledFormat constant = CompiledFormat.compile("It''s on", Locale.ENGLISH);
+        assertThat(constant.hasArguments(), is(false));
+        assertThat(constant.format(new Object[]{"ignored"}), is("It's on"));
+        assertThat(constant.format(null), is("It's on"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompiledFormat_invalidPattern() {
+        CompiledFormat.compile("Broken {0", Locale.ENGLISH);
+    }
+
+    @Test
+    public void testCompiledFormat_concurrentUse() throws Exception {
+        CompiledFormat format = CompiledFormat.compile("{0} has {1,number,#} items", Locale.ENGLISH);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        String expected = "p" + thread + " has " + i + " items";
+                        if (!format.format(new Object[]{"p" + thread, i}).equals(expected)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(), is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testMessage_existingKeyWithFormatting() {
+        I18nUtil.Message message = I18nUtil.message("\u00a7eNo active cooldowns for \u00a79{0}\u00a7e found.");
+
+        assertThat(message.format("linksssofrechts"), is("\u00a74* \u00a77No expired coolupz for \u00a76linksssofrechts\u00a77 found."));
+        assertThat(message.format("someone"), is("\u00a74* \u00a77No expired coolupz for \u00a76someone\u00a77 found."));
+    }
+
+    @Test
+    public void testMessage_rebindsOnReload() {
+        I18nUtil.Message message = I18nUtil.message("\u00a7eYou do not have access to that island-schematic!");
+        assertThat(message.format(), is("\u00a7eYou have no azzess to the schemz"));
+
+        I18nUtil.setLocale(Locale.GERMAN);
+        assertThat(message.format(), is("\u00a7eYou do not have access to that island-schematic!"));
+    }
+
+    @Test
+    public void testMessage_nullKey() {
+        assertThat(I18nUtil.message(null).format(), is(""));
+    }
+
     @Test
     public void testGetLocale_unset() {
         assertThat(I18nUtil.getLocale(), is(Locale.ENGLISH));
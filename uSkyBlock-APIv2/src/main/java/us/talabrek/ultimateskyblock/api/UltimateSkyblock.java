@@ -2,6 +2,7 @@ package us.talabrek.ultimateskyblock.api;
 
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.api.plugin.PluginInfo;
+import us.talabrek.ultimateskyblock.api.query.SkyblockQueries;
 
 public interface UltimateSkyblock {
     /**
@@ -9,4 +10,10 @@ public interface UltimateSkyblock {
      * @return General plugin information.
      */
     @NotNull PluginInfo getPluginInfo();
+
+    /**
+     * Gets the {@link SkyblockQueries}, providing thread-safe, non-blocking queries for islands, players and ranks.
+     * @return Queries for islands, players and ranks.
+     */
+    @NotNull SkyblockQueries getQueries();
 }
@@ -0,0 +1,46 @@
+package us.talabrek.ultimateskyblock.api.query;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * An immutable copy of the state of an island, taken when it was queried. Safe to keep and to read from any thread,
+ * but it is not updated when the island changes.
+ *
+ * @param name         Name of the island, on the form <code>x,z</code>.
+ * @param leaderId     UUID of the island leader, NULL if the island is abandoned.
+ * @param leaderName   Name of the island leader, NULL if the island is abandoned.
+ * @param memberIds    UUIDs of the members, including the leader.
+ * @param memberNames  Names of the members, including the leader.
+ * @param trusteeIds   UUIDs of the players trusted on the island.
+ * @param level        Island level, as of the last level calculation.
+ * @param maxPartySize Maximum number of members, given the perks of the leader.
+ * @param biome        Name of the island biome.
+ * @param schematic    Name of the schematic the island was created from.
+ * @param locked       Whether the island is locked for visitors.
+ * @param warpActive   Whether the island warp is open.
+ */
+public record IslandSnapshot(
+    @NotNull String name,
+    @Nullable UUID leaderId,
+    @Nullable String leaderName,
+    @NotNull Set<UUID> memberIds,
+    @NotNull Set<String> memberNames,
+    @NotNull List<UUID> trusteeIds,
+    double level,
+    int maxPartySize,
+    @NotNull String biome,
+    @NotNull String schematic,
+    boolean locked,
+    boolean warpActive
+) {
+    public IslandSnapshot {
+        memberIds = Set.copyOf(memberIds);
+        memberNames = Set.copyOf(memberNames);
+        trusteeIds = List.copyOf(trusteeIds);
+    }
+}
@@ -0,0 +1,40 @@
+package us.talabrek.ultimateskyblock.api.query;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An immutable copy of the skyblock state of a player, taken when it was queried. Safe to keep and to read from any
+ * thread, but it is not updated when the player changes.
+ *
+ * @param uniqueId    UUID of the player.
+ * @param name        Name of the player.
+ * @param displayName Display name of the player, as last seen.
+ * @param islandName  Name of the island the player is a member of, NULL if the player has no island.
+ * @param trustedOn   Names of the islands the player is trusted on.
+ * @param bannedFrom  Names of the islands the player is banned from.
+ */
+public record PlayerSnapshot(
+    @NotNull UUID uniqueId,
+    @NotNull String name,
+    @Nullable String displayName,
+    @Nullable String islandName,
+    @NotNull List<String> trustedOn,
+    @NotNull List<String> bannedFrom
+) {
+    public PlayerSnapshot {
+        trustedOn = List.copyOf(trustedOn);
+        bannedFrom = List.copyOf(bannedFrom);
+    }
+
+    /**
+     * Whether the player is a member of an island.
+     * @return True if the player has an island, false otherwise.
+     */
+    public boolean hasIsland() {
+        return islandName != null;
+    }
+}
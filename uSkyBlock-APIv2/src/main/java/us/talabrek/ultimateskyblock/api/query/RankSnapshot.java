@@ -0,0 +1,26 @@
+package us.talabrek.ultimateskyblock.api.query;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * An immutable entry of the island top list, as it was when queried.
+ *
+ * @param islandName Name of the island, on the form <code>x,z</code>.
+ * @param leaderName Display name of the island leader.
+ * @param members    Display names of the members, excluding the leader.
+ * @param level      Island level.
+ * @param rank       Position on the top list, starting at 1.
+ */
+public record RankSnapshot(
+    @NotNull String islandName,
+    @NotNull String leaderName,
+    @NotNull List<String> members,
+    double level,
+    int rank
+) {
+    public RankSnapshot {
+        members = List.copyOf(members);
+    }
+}
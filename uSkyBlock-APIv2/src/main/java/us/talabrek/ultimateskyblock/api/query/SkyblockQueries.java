@@ -0,0 +1,79 @@
+package us.talabrek.ultimateskyblock.api.query;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read-only queries for islands, players and ranks, safe to call from any thread.
+ * <p>
+ * Islands, players and ranks are looked up on an async thread, loading islands and players from disk if they are
+ * not in memory, and the immutable snapshots are then taken on the server thread. All the returned futures complete
+ * on the server thread, where dependent actions (i.e. {@link CompletableFuture#thenAccept}) may use the Bukkit API.
+ * <p>
+ * <b>Note:</b> Never wait for the futures with {@link CompletableFuture#join()} or {@link CompletableFuture#get()}
+ * on the server thread. They can only complete on the server thread, so waiting for them there deadlocks the server.
+ */
+public interface SkyblockQueries {
+    /**
+     * Gets a snapshot of the island with the given name.
+     * @param islandName Name of the island, on the form <code>x,z</code>.
+     * @return Future with the island, empty if there is no such island.
+     */
+    @NotNull CompletableFuture<Optional<IslandSnapshot>> getIsland(@NotNull String islandName);
+
+    /**
+     * Gets snapshots of all the given islands, loading them in one go.
+     * @param islandNames Names of the islands, on the form <code>x,z</code>.
+     * @return Future with the islands found, by island name.
+     */
+    @NotNull CompletableFuture<Map<String, IslandSnapshot>> getIslands(@NotNull Collection<String> islandNames);
+
+    /**
+     * Gets a snapshot of the island the given player is a member of.
+     * @param playerId UUID of the player.
+     * @return Future with the island, empty if the player has no island.
+     */
+    @NotNull CompletableFuture<Optional<IslandSnapshot>> getPlayerIsland(@NotNull UUID playerId);
+
+    /**
+     * Gets a snapshot of the given player.
+     * @param playerId UUID of the player.
+     * @return Future with the player, empty if the player is unknown.
+     */
+    @NotNull CompletableFuture<Optional<PlayerSnapshot>> getPlayer(@NotNull UUID playerId);
+
+    /**
+     * Gets the level of the island the given player is a member of.
+     * @param playerId UUID of the player.
+     * @return Future with the island level, 0 if the player has no island.
+     */
+    @NotNull CompletableFuture<Double> getIslandLevel(@NotNull UUID playerId);
+
+    /**
+     * Gets the rank of the given island on the top list.
+     * @param islandName Name of the island, on the form <code>x,z</code>.
+     * @return Future with the rank, empty if the island is not ranked.
+     */
+    @NotNull CompletableFuture<Optional<RankSnapshot>> getRank(@NotNull String islandName);
+
+    /**
+     * Gets the rank of the island the given player is a member of.
+     * @param playerId UUID of the player.
+     * @return Future with the rank, empty if the player has no island, or the island is not ranked.
+     */
+    @NotNull CompletableFuture<Optional<RankSnapshot>> getPlayerRank(@NotNull UUID playerId);
+
+    /**
+     * Gets a page of the top list.
+     * @param offset Rank to start from, 0 being the top island. A negative offset starts from the top island.
+     * @param length Maximum number of ranks. A length of 0 or less gives no ranks.
+     * @return Future with the ranks, ordered from the highest level.
+     */
+    @NotNull CompletableFuture<List<RankSnapshot>> getRanks(int offset, int length);
+}
@@ -0,0 +1,291 @@
+package us.talabrek.ultimateskyblock.benchmark;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.UnsafeValues;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+import us.talabrek.ultimateskyblock.uuid.PlayerDB;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Offline stand-ins for the server, shared by the benchmarks.
+ * <p>
+ * Objects only used while setting up a benchmark are Mockito mocks, and mocks called in the measured loops are
+ * {@link #stub stubs}, which do not record their invocations. {@link ChunkSnapshot}s are read the most, so they
+ * are plain proxies over an array of block types, which are much cheaper to call than either. Either way, the numbers are only meaningful compared to each other, not to a live server.
+ */
+public final class Fixtures {
+    public static final int MIN_HEIGHT = -64;
+    public static final int MAX_HEIGHT = 320;
+    /**
+     * The height of the top (grass) layer of the island from {@link #skyIsland}.
+     */
+    public static final int ISLAND_Y = 100;
+
+    /**
+     * The type of a block, by world coordinates.
+     */
+    @FunctionalInterface
+    public interface Terrain {
+        @NotNull Material getType(int x, int y, int z);
+    }
+
+    private Fixtures() {
+    }
+
+    /**
+     * A mock that does not record its invocations, so it can be called in the measured loops without growing.
+     */
+    public static <T> @NotNull T stub(@NotNull Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    /**
+     * A world, with chunks generated from the terrain when first asked for.
+     */
+    public static @NotNull World world(@NotNull Terrain terrain) {
+        World world = mock(World.class);
+        when(world.getName()).thenReturn("skyworld");
+        when(world.getMinHeight()).thenReturn(MIN_HEIGHT);
+        when(world.getMaxHeight()).thenReturn(MAX_HEIGHT);
+        Map<Long, Chunk> chunks = new HashMap<>();
+        when(world.getChunkAt(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int chunkX = invocation.getArgument(0);
+            int chunkZ = invocation.getArgument(1);
+            return chunks.computeIfAbsent(((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL),
+                k -> chunk(chunkSnapshot(terrain, chunkX, chunkZ)));
+        });
+        return world;
+    }
+
+    private static @NotNull Chunk chunk(@NotNull ChunkSnapshot snapshot) {
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.getChunkSnapshot(false, false, false)).thenReturn(snapshot);
+        return chunk;
+    }
+
+    /**
+     * A snapshot of the chunk, which only answers the block type, and the chunk coordinates.
+     */
+    public static @NotNull ChunkSnapshot chunkSnapshot(@NotNull Terrain terrain, int chunkX, int chunkZ) {
+        return chunkSnapshot(blockTypes(terrain, chunkX, chunkZ), chunkX, chunkZ);
+    }
+
+    /**
+     * The block types of the chunk, indexed by <code>((y - MIN_HEIGHT) * 16 + z) * 16 + x</code>.
+     */
+    public static @NotNull Material[] blockTypes(@NotNull Terrain terrain, int chunkX, int chunkZ) {
+        int height = MAX_HEIGHT - MIN_HEIGHT;
+        Material[] types = new Material[16 * 16 * height];
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    types[(y * 16 + z) * 16 + x] = terrain.getType((chunkX << 4) + x, y + MIN_HEIGHT, (chunkZ << 4) + z);
+                }
+            }
+        }
+        return types;
+    }
+
+    /**
+     * A snapshot over the block types from {@link #blockTypes}, which chunks with the same blocks may share.
+     */
+    public static @NotNull ChunkSnapshot chunkSnapshot(@NotNull Material[] types, int chunkX, int chunkZ) {
+        return (ChunkSnapshot) Proxy.newProxyInstance(Fixtures.class.getClassLoader(), new Class<?>[]{ChunkSnapshot.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getBlockType" -> types[(((int) args[1] - MIN_HEIGHT) * 16 + (int) args[2]) * 16 + (int) args[0]];
+                case "getX" -> chunkX;
+                case "getZ" -> chunkZ;
+                case "getWorldName" -> "skyworld";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "ChunkSnapshot[" + chunkX + "," + chunkZ + "]";
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    /**
+     * A typical starter island around 0,0: a 25x25 disc of dirt and stone with some ores, topped with grass,
+     * with a tree, a chest, and air everywhere else.
+     */
+    public static @NotNull Terrain skyIsland(long seed) {
+        Random random = new Random(seed);
+        Map<Long, Material> ores = new HashMap<>();
+        Material[] oreTypes = {Material.COAL_ORE, Material.IRON_ORE, Material.GOLD_ORE, Material.DIAMOND_ORE, Material.COBBLESTONE};
+        for (int i = 0; i < 400; i++) {
+            int x = random.nextInt(25) - 12;
+            int y = ISLAND_Y - 1 - random.nextInt(8);
+            int z = random.nextInt(25) - 12;
+            ores.put(key(x, y, z), oreTypes[random.nextInt(oreTypes.length)]);
+        }
+        return (x, y, z) -> {
+            if (x * x + z * z > 144 || y > ISLAND_Y + 7 || y < ISLAND_Y - 8) {
+                return Material.AIR;
+            }
+            if (y == ISLAND_Y) {
+                return Material.GRASS_BLOCK;
+            }
+            if (y < ISLAND_Y) {
+                Material ore = ores.get(key(x, y, z));
+                if (ore != null) {
+                    return ore;
+                }
+                return y >= ISLAND_Y - 3 ? Material.DIRT : Material.STONE;
+            }
+            if (x == 4 && z == 4 && y <= ISLAND_Y + 5) {
+                return Material.OAK_LOG;
+            }
+            if (Math.abs(x - 4) <= 2 && Math.abs(z - 4) <= 2 && y >= ISLAND_Y + 4) {
+                return Material.OAK_LEAVES;
+            }
+            if (x == 0 && z == 2 && y == ISLAND_Y + 1) {
+                return Material.CHEST;
+            }
+            return Material.AIR;
+        };
+    }
+
+    private static long key(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    /**
+     * A player database, which only answers the name of a UUID, and the UUID of a name.
+     * Like the chunk snapshots, it is a plain proxy, as it is called in the measured loops.
+     */
+    public static @NotNull PlayerDB playerDB(@NotNull Map<UUID, String> names) {
+        Map<String, UUID> uuids = new HashMap<>();
+        names.forEach((uuid, name) -> uuids.put(name.toLowerCase(), uuid));
+        return (PlayerDB) Proxy.newProxyInstance(Fixtures.class.getClassLoader(), new Class<?>[]{PlayerDB.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getName" -> names.get((UUID) args[0]);
+                case "getUUIDFromName" -> args[0] != null ? uuids.get(((String) args[0]).toLowerCase()) : null;
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "PlayerDB[" + names.size() + "]";
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    /**
+     * A scheduler that runs async tasks at once, on the calling thread, and ignores everything else.
+     */
+    public static @NotNull Scheduler immediateScheduler() {
+        Scheduler scheduler = mock(Scheduler.class);
+        BukkitTask task = mock(BukkitTask.class);
+        when(scheduler.async(any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return task;
+        });
+        return scheduler;
+    }
+
+    /**
+     * Installs a server that only answers its item factory, if no server is installed yet.
+     * The item metas only keep their display name and lore, and like the chunk snapshots, the factory and metas are
+     * plain proxies, as they are called in the measured loops.
+     */
+    public static void installItemServer() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+        ItemFactory itemFactory = (ItemFactory) Proxy.newProxyInstance(Fixtures.class.getClassLoader(), new Class<?>[]{ItemFactory.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getItemMeta" -> itemMeta(null, null);
+                case "isApplicable" -> true;
+                case "asMetaFor" -> args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "ItemFactory";
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        UnsafeValues unsafe = (UnsafeValues) Proxy.newProxyInstance(Fixtures.class.getClassLoader(), new Class<?>[]{UnsafeValues.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "fromLegacy", "toLegacy" -> args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        Logger logger = Logger.getLogger(Fixtures.class.getName());
+        Bukkit.setServer((Server) Proxy.newProxyInstance(Fixtures.class.getClassLoader(), new Class<?>[]{Server.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getItemFactory" -> itemFactory;
+                case "getUnsafe" -> unsafe;
+                case "getLogger" -> logger;
+                case "getName", "getVersion", "getBukkitVersion" -> "benchmark";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "Server";
+                default -> throw new UnsupportedOperationException(method.getName());
+            }));
+    }
+
+    private static @NotNull ItemMeta itemMeta(String displayName, List<?> lore) {
+        String[] name = {displayName};
+        List<?>[] lines = {lore};
+        return (ItemMeta) Proxy.newProxyInstance(Fixtures.class.getClassLoader(), new Class<?>[]{ItemMeta.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "hasDisplayName" -> name[0] != null;
+                case "getDisplayName" -> name[0];
+                case "setDisplayName" -> {
+                    name[0] = (String) args[0];
+                    yield null;
+                }
+                case "hasLore" -> lines[0] != null;
+                case "getLore" -> lines[0] != null ? new ArrayList<>(lines[0]) : null;
+                case "setLore" -> {
+                    lines[0] = args[0] != null ? new ArrayList<>((List<?>) args[0]) : null;
+                    yield null;
+                }
+                // The lore is replaced, never changed, so the clone can share it
+                case "clone" -> itemMeta(name[0], lines[0]);
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "ItemMeta[" + name[0] + "]";
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    public static @NotNull YamlConfiguration yaml(@NotNull Object... keysAndValues) {
+        YamlConfiguration config = new YamlConfiguration();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            config.set((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return config;
+    }
+
+    public static @NotNull Path tempDir(@NotNull String prefix) {
+        try {
+            Path dir = Files.createTempDirectory(prefix);
+            dir.toFile().deleteOnExit();
+            return dir;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package us.talabrek.ultimateskyblock.block;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import us.talabrek.ultimateskyblock.benchmark.Fixtures;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counting the blocks around a player for island challenges, in the cube of the challenge radius.
+ * <p>
+ * {@link #countIntoMap()} counts into a map of boxed counts, as {@link BlockCollection} did before it became
+ * an array indexed by material.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockSnapshotBenchmark {
+    @Param({"5", "10", "15"})
+    public int radius;
+
+    private BlockSnapshot snapshot;
+    private int px;
+    private int py;
+    private int pz;
+
+    @Setup
+    public void setUp() {
+        Location location = new Location(Fixtures.world(Fixtures.skyIsland(42)), 0, Fixtures.ISLAND_Y + 1, 0);
+        px = location.getBlockX();
+        py = location.getBlockY();
+        pz = location.getBlockZ();
+        snapshot = BlockSnapshot.around(location, radius);
+    }
+
+    @Benchmark
+    public BlockCollection count() {
+        return snapshot.count();
+    }
+
+    @Benchmark
+    public Map<Material, Integer> countIntoMap() {
+        Map<Material, Integer> counts = new HashMap<>();
+        for (int x = px - radius; x <= px + radius; x++) {
+            for (int z = pz - radius; z <= pz + radius; z++) {
+                for (int y = py - radius; y <= py + radius; y++) {
+                    Material type = snapshot.getType(x, y, z);
+                    if (type != null) {
+                        counts.merge(type, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,85 @@
+package us.talabrek.ultimateskyblock.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The nether terraform search, in block breaks per millisecond. Each break places a few blocks, continuing the
+ * search where the previous one was placed, like {@link NetherTerraFormEvents}.
+ * <p>
+ * The terrain is a cube of netherrack with a share of air blocks, so the search mostly looks at solid blocks,
+ * and with no air at all, every break searches the whole cone without finding anything.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TerraFormSearchBenchmark {
+    private static final int SIZE = 64;
+    private static final int BLOCKS_PER_BREAK = 3;
+
+    /**
+     * The percentage of air blocks in the terrain.
+     */
+    @Param({"0", "10", "40"})
+    public int air;
+
+    @Param({"7"})
+    public double terraformDistance;
+
+    private boolean[] solid;
+    private TerraFormSearch search;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        solid = new boolean[SIZE * SIZE * SIZE];
+        for (int i = 0; i < solid.length; i++) {
+            solid[i] = random.nextInt(100) >= air;
+        }
+        search = new TerraFormSearch(terraformDistance, random);
+    }
+
+    private boolean isSolid(int x, int y, int z) {
+        if (x < 0 || y < 0 || z < 0 || x >= SIZE || y >= SIZE || z >= SIZE) {
+            return false;
+        }
+        return solid[(y * SIZE + z) * SIZE + x];
+    }
+
+    @Benchmark
+    public int breakBlock() {
+        int bx = 16 + random.nextInt(SIZE - 32);
+        int by = 16 + random.nextInt(SIZE - 32);
+        int bz = 16 + random.nextInt(SIZE - 32);
+        // Looking from a player two blocks away, at eye height
+        double cx = bx + 0.5;
+        double cy = by + 0.5;
+        double cz = bz + 0.5;
+        double ux = 2 * random.nextDouble() - 1;
+        double uy = random.nextDouble() - 0.5;
+        double uz = 2 * random.nextDouble() - 1;
+        double length = Math.sqrt(ux * ux + uy * uy + uz * uz);
+        ux /= length;
+        uy /= length;
+        uz /= length;
+        int step = 1;
+        for (int i = 0; i < BLOCKS_PER_BREAK && step <= search.getMaxStep(); i++) {
+            step = search.search(Math.round(cx + ux), Math.round(cy + uy), Math.round(cz + uz), ux, uy, uz, step,
+                (x, y, z) -> !isSolid(x, y, z) && isSolid(x, y - 1, z));
+            if (step == TerraFormSearch.NOT_FOUND) {
+                break;
+            }
+        }
+        return step;
+    }
+}
@@ -0,0 +1,105 @@
+package us.talabrek.ultimateskyblock.handler.placeholder;
+
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import us.talabrek.ultimateskyblock.api.IslandRank;
+import us.talabrek.ultimateskyblock.benchmark.Fixtures;
+import us.talabrek.ultimateskyblock.island.IslandInfo;
+import us.talabrek.ultimateskyblock.island.IslandLogic;
+import us.talabrek.ultimateskyblock.island.LimitLogic;
+import us.talabrek.ultimateskyblock.player.PlayerInfo;
+import us.talabrek.ultimateskyblock.player.PlayerLogic;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replacing an island placeholder, served from the cached snapshot of the island, and after the snapshots
+ * are dropped by a score change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlaceholderBenchmark {
+    private static final String ISLAND_NAME = "0,0";
+
+    private PlaceholderReplacerImpl replacer;
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        Server server = mock(Server.class);
+        when(server.getPluginManager()).thenReturn(mock(PluginManager.class));
+
+        PlayerInfo playerInfo = Fixtures.stub(PlayerInfo.class);
+        when(playerInfo.getHasIsland()).thenReturn(true);
+        when(playerInfo.locationForParty()).thenReturn(ISLAND_NAME);
+        PlayerLogic playerLogic = Fixtures.stub(PlayerLogic.class);
+        when(playerLogic.getPlayerInfo(any(UUID.class))).thenReturn(playerInfo);
+
+        // Island getters are measured in IslandInfoBenchmark, and the biome and location need a server
+        IslandInfo islandInfo = Fixtures.stub(IslandInfo.class);
+        when(islandInfo.getName()).thenReturn(ISLAND_NAME);
+        when(islandInfo.getLevel()).thenReturn(42.5);
+        when(islandInfo.getLeader()).thenReturn("Steve");
+        when(islandInfo.getMembers()).thenReturn(Set.of("Steve", "Alex"));
+        when(islandInfo.getBans()).thenReturn(List.of("Herobrine"));
+        when(islandInfo.getTrustees()).thenReturn(List.of());
+        when(islandInfo.getPartySize()).thenReturn(2);
+        when(islandInfo.getMaxPartySize()).thenReturn(4);
+        when(islandInfo.getBiomeName()).thenReturn("plains");
+        when(islandInfo.getIslandLocation()).thenReturn(new Location(null, 0, Fixtures.ISLAND_Y, 0));
+        when(islandInfo.getSchematicName()).thenReturn("default");
+        IslandLogic islandLogic = Fixtures.stub(IslandLogic.class);
+        when(islandLogic.getIslandInfo(ISLAND_NAME)).thenReturn(islandInfo);
+        when(islandLogic.getRank(ISLAND_NAME)).thenReturn(new IslandRank(ISLAND_NAME, "Steve", List.of("Alex"), 42.5, 3));
+
+        Map<LimitLogic.CreatureType, Integer> creatures = new EnumMap<>(LimitLogic.CreatureType.class);
+        for (LimitLogic.CreatureType type : LimitLogic.CreatureType.values()) {
+            creatures.put(type, 2);
+        }
+        LimitLogic limitLogic = Fixtures.stub(LimitLogic.class);
+        when(limitLogic.getCreatureCount(any())).thenReturn(creatures);
+
+        uSkyBlock plugin = Fixtures.stub(uSkyBlock.class);
+        when(plugin.getServer()).thenReturn(server);
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+        when(plugin.getPlayerLogic()).thenReturn(playerLogic);
+        when(plugin.getIslandLogic()).thenReturn(islandLogic);
+        when(plugin.getLimitLogic()).thenReturn(limitLogic);
+        replacer = new PlaceholderReplacerImpl(plugin);
+
+        player = Fixtures.stub(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public String cached() {
+        return replacer.replace(null, player, "usb_island_level");
+    }
+
+    @Benchmark
+    public String afterScoreChanged() {
+        replacer.onScoreChanged(null);
+        return replacer.replace(null, player, "usb_island_level");
+    }
+}
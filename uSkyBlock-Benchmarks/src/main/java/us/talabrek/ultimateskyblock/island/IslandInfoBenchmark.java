@@ -0,0 +1,126 @@
+package us.talabrek.ultimateskyblock.island;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import us.talabrek.ultimateskyblock.benchmark.Fixtures;
+import us.talabrek.ultimateskyblock.player.IslandPerk;
+import us.talabrek.ultimateskyblock.player.PerkLogic;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * The {@link IslandInfo} getters, which read the island config on every call, and are called from the
+ * protection listeners, placeholders and commands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IslandInfoBenchmark {
+    private static final String ISLAND_NAME = "0,0";
+
+    @Param({"1", "4", "8"})
+    public int members;
+
+    @Param({"0", "50"})
+    public int bans;
+
+    private IslandInfo islandInfo;
+    private UUID notBanned;
+
+    @Setup
+    public void setUp() throws Exception {
+        Map<UUID, String> names = new HashMap<>();
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("version", 3);
+        config.set("general.level", 42.5);
+        config.set("general.schematicName", "default");
+        for (int i = 0; i < members; i++) {
+            UUID uuid = UUID.randomUUID();
+            names.put(uuid, "member" + i);
+            if (i == 0) {
+                config.set("party.leader", "member" + i);
+                config.set("party.leader-uuid", uuid.toString());
+            }
+            config.set("party.members." + uuid + ".name", "member" + i);
+            config.set("party.members." + uuid + ".canToggleWarp", i == 0);
+            config.set("party.members." + uuid + ".maxPartySizePermission", 4 + i);
+        }
+        List<String> banned = new ArrayList<>();
+        for (int i = 0; i < bans; i++) {
+            UUID uuid = UUID.randomUUID();
+            names.put(uuid, "banned" + i);
+            banned.add(uuid.toString());
+        }
+        config.set("banned.list", banned);
+        config.set("party.currentSize", members);
+        Path islandDir = Fixtures.tempDir("islands");
+        config.save(islandDir.resolve(ISLAND_NAME + ".yml").toFile());
+        notBanned = UUID.randomUUID();
+
+        PerkLogic perkLogic = Fixtures.stub(PerkLogic.class);
+        when(perkLogic.getIslandPerk(any())).thenReturn(new IslandPerk("default", "usb.island.create", null,
+            new PerkLogic.PerkBuilder().maxPartySize(4).animals(64).monsters(50).villagers(16).golems(5).build()));
+        uSkyBlock plugin = Fixtures.stub(uSkyBlock.class);
+        when(plugin.getPlayerDB()).thenReturn(Fixtures.playerDB(names));
+        when(plugin.getPerkLogic()).thenReturn(perkLogic);
+        islandInfo = new IslandInfo(ISLAND_NAME, plugin, islandDir);
+    }
+
+    @Benchmark
+    public double getLevel() {
+        return islandInfo.getLevel();
+    }
+
+    @Benchmark
+    public String getLeader() {
+        return islandInfo.getLeader();
+    }
+
+    @Benchmark
+    public UUID getLeaderUniqueId() {
+        return islandInfo.getLeaderUniqueId();
+    }
+
+    @Benchmark
+    public Set<String> getMembers() {
+        return islandInfo.getMembers();
+    }
+
+    @Benchmark
+    public Set<UUID> getMemberUUIDs() {
+        return islandInfo.getMemberUUIDs();
+    }
+
+    @Benchmark
+    public List<String> getBans() {
+        return islandInfo.getBans();
+    }
+
+    @Benchmark
+    public boolean isBanned() {
+        return islandInfo.isBanned(notBanned);
+    }
+
+    @Benchmark
+    public int getMaxPartySize() {
+        return islandInfo.getMaxPartySize();
+    }
+}
@@ -0,0 +1,93 @@
+package us.talabrek.ultimateskyblock.island;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.api.IslandRank;
+import us.talabrek.ultimateskyblock.async.TickScheduler;
+import us.talabrek.ultimateskyblock.benchmark.Fixtures;
+import us.talabrek.ultimateskyblock.island.level.IslandScore;
+import us.talabrek.ultimateskyblock.player.TeleportLogic;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+import us.talabrek.ultimateskyblock.uuid.PlayerDB;
+import us.talabrek.ultimateskyblock.world.WorldManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Updating and looking up the island ranks, which is done after every level calculation, and the
+ * {@link TopTenComparator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RankBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int islands;
+
+    private IslandLogic islandLogic;
+    private IslandInfo[] islandInfos;
+    private Map<String, Double> levels;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PluginConfig config = mock(PluginConfig.class);
+        when(config.getYamlConfig()).thenReturn(Fixtures.yaml());
+        islandLogic = new IslandLogic(Logger.getAnonymousLogger(), mock(uSkyBlock.class), mock(WorldManager.class),
+            mock(TeleportLogic.class), mock(Scheduler.class), mock(TickScheduler.class), config,
+            Fixtures.tempDir("ranks"), mock(OrphanLogic.class), mock(IslandLocatorLogic.class), mock(PlayerDB.class));
+
+        random = new Random(42);
+        islandInfos = new IslandInfo[islands];
+        levels = new HashMap<>();
+        for (int i = 0; i < islands; i++) {
+            String name = (i * 128) + ",0";
+            IslandInfo islandInfo = Fixtures.stub(IslandInfo.class);
+            when(islandInfo.getName()).thenReturn(name);
+            when(islandInfo.getLeader()).thenReturn("player" + i);
+            when(islandInfo.getMembers()).thenReturn(List.of("player" + i, "member" + i));
+            islandInfos[i] = islandInfo;
+            double level = random.nextInt(100_000) / 10d;
+            levels.put(name, level);
+            islandLogic.updateRank(islandInfo, new IslandScore(level, Collections.emptyList()));
+        }
+    }
+
+    @Benchmark
+    public IslandInfo updateRank() {
+        IslandInfo islandInfo = islandInfos[random.nextInt(islands)];
+        islandLogic.updateRank(islandInfo, new IslandScore(random.nextInt(100_000) / 10d, Collections.emptyList()));
+        return islandInfo;
+    }
+
+    @Benchmark
+    public IslandRank getRank() {
+        return islandLogic.getRank(islandInfos[random.nextInt(islands)].getName());
+    }
+
+    @Benchmark
+    public TreeMap<String, Double> topTenComparator() {
+        TreeMap<String, Double> sorted = new TreeMap<>(new TopTenComparator(levels));
+        sorted.putAll(levels);
+        return sorted;
+    }
+}
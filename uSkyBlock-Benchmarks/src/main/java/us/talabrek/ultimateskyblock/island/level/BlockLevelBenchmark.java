@@ -0,0 +1,111 @@
+package us.talabrek.ultimateskyblock.island.level;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import us.talabrek.ultimateskyblock.api.model.BlockScore;
+import us.talabrek.ultimateskyblock.benchmark.Fixtures;
+import us.talabrek.ultimateskyblock.island.level.yml.LevelConfigYmlReader;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The island level calculation, with the bundled <code>levelConfig.yml</code>: looking up the score of
+ * block types, counting the blocks of an island region from chunk snapshots, and scoring the counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockLevelBenchmark {
+    private static final int LOOKUPS = 1024;
+    private static final int REGION_RADIUS = 64;
+
+    private BlockLevelConfigMap configMap;
+    private Material[] lookups;
+    private ChunkSnapshot[][] chunks;
+    private BlockCountCollection counted;
+    private int pointsPerLevel;
+
+    @Setup
+    public void setUp() throws Exception {
+        YamlConfiguration levelConfig = new YamlConfiguration();
+        try (InputStream in = Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("levelConfig.yml"))) {
+            levelConfig.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        pointsPerLevel = levelConfig.getInt("general.pointsPerLevel", 100);
+        configMap = new LevelConfigYmlReader().readLevelConfig(levelConfig);
+
+        // Mostly the common island blocks, with a tail of everything else
+        Material[] common = {Material.STONE, Material.DIRT, Material.GRASS_BLOCK, Material.COBBLESTONE, Material.OAK_LOG,
+            Material.OAK_LEAVES, Material.OAK_PLANKS, Material.SAND, Material.WATER, Material.IRON_ORE};
+        Material[] blocks = Arrays.stream(Material.values())
+            .filter(m -> m.isBlock() && !m.isLegacy())
+            .toArray(Material[]::new);
+        Random random = new Random(42);
+        lookups = new Material[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = random.nextInt(4) == 0 ? blocks[random.nextInt(blocks.length)] : common[random.nextInt(common.length)];
+        }
+
+        Fixtures.Terrain terrain = Fixtures.skyIsland(42);
+        int chunkRadius = REGION_RADIUS >> 4;
+        chunks = new ChunkSnapshot[2 * chunkRadius][2 * chunkRadius];
+        for (int cx = 0; cx < chunks.length; cx++) {
+            for (int cz = 0; cz < chunks.length; cz++) {
+                chunks[cx][cz] = Fixtures.chunkSnapshot(terrain, cx - chunkRadius, cz - chunkRadius);
+            }
+        }
+        counted = countIsland();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void configGet(Blackhole blackhole) {
+        for (Material type : lookups) {
+            blackhole.consume(configMap.get(type));
+        }
+    }
+
+    /**
+     * The counting loop of ChunkSnapshotLevelLogic, over the island region.
+     */
+    @Benchmark
+    public BlockCountCollection countIsland() {
+        BlockCountCollection counts = new BlockCountCollection(configMap);
+        int chunkRadius = REGION_RADIUS >> 4;
+        for (int x = -REGION_RADIUS; x < REGION_RADIUS; ++x) {
+            for (int z = -REGION_RADIUS; z < REGION_RADIUS; ++z) {
+                ChunkSnapshot chunk = chunks[(x >> 4) + chunkRadius][(z >> 4) + chunkRadius];
+                for (int y = 0; y < 255; y++) {
+                    Material blockType = chunk.getBlockType(x & 0xf, y, z & 0xf);
+                    if (blockType == Material.AIR) {
+                        continue;
+                    }
+                    counts.add(blockType);
+                }
+            }
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public List<BlockScore> calculateScore() {
+        return counted.calculateScore(pointsPerLevel);
+    }
+}
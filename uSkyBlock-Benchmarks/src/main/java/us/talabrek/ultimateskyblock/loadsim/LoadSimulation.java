@@ -0,0 +1,464 @@
+package us.talabrek.ultimateskyblock.loadsim;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import dk.lockfuglsang.minecraft.file.FileUtil;
+import dk.lockfuglsang.minecraft.po.I18nUtil;
+import org.bukkit.Location;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import us.talabrek.ultimateskyblock.MetricsManager;
+import us.talabrek.ultimateskyblock.Settings;
+import us.talabrek.ultimateskyblock.benchmark.Fixtures;
+import us.talabrek.ultimateskyblock.bootstrap.Listeners;
+import us.talabrek.ultimateskyblock.bootstrap.Services;
+import us.talabrek.ultimateskyblock.bootstrap.SkyblockModule;
+import us.talabrek.ultimateskyblock.loadsim.SimulatedServer.SimulatedPlayer;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.world.WorldManager;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.mockito.Answers.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * An offline load simulation of a skyblock server.
+ * <p>
+ * Generates islands and players in a temporary data directory, boots the plugin services from the
+ * {@link SkyblockModule} against a {@link SimulatedServer}, and then replays a weighted mix of player and admin
+ * {@link Workload workloads} on the main thread, as fast as it can, ticking the scheduler every few operations.
+ * Reports the throughput and latency percentiles of every workload, and the heap and GC activity.
+ * <p>
+ * Hooks, WorldGuard, WorldEdit and metrics are not started, as they need a real server, so this measures the
+ * plugin's own work. Usage:
+ * <pre>
+ * java -cp benchmarks.jar us.talabrek.ultimateskyblock.loadsim.LoadSimulation --islands=2000 --players=5000 \
+ *     --online=200 --warmup=10 --duration=60 --mix=move:600,break:250,spawn:100,join:40,level:8,topten:1,purge:1
+ * </pre>
+ * The data directory is deleted afterwards, unless given with <code>--dir</code>. Like the JMH benchmarks, the
+ * simulation lives in <code>src/main</code>, so it is packaged into the benchmarks jar, and is not run by the tests.
+ */
+public final class LoadSimulation {
+    private static final Logger log = Logger.getLogger(LoadSimulation.class.getName());
+    private static final String WORLD_NAME = "skyworld";
+    private static final EntityType[] SPAWNED_TYPES = {
+        EntityType.COW, EntityType.SHEEP, EntityType.CHICKEN, EntityType.PIG,
+        EntityType.ZOMBIE, EntityType.SKELETON, EntityType.SPIDER, EntityType.CREEPER,
+    };
+    private static final int ENTITIES_PER_TYPE = 16;
+
+    /**
+     * The options of a run, parsed from <code>--name=value</code> arguments.
+     */
+    record Options(int islands, int players, int online, int distance, int warmupSeconds, int durationSeconds,
+                   int opsPerTick, int asyncThreads, long seed, @NotNull Map<Workload, Integer> mix,
+                   @Nullable Path dir, @Nullable Path out) {
+
+        static @NotNull Options parse(@NotNull String... args) {
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (!arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Unexpected argument " + arg);
+                }
+                int eq = arg.indexOf('=');
+                if (eq > 0) {
+                    values.put(arg.substring(2, eq), arg.substring(eq + 1));
+                } else if (i + 1 < args.length) {
+                    values.put(arg.substring(2), args[++i]);
+                } else {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+            }
+            Map<Workload, Integer> mix = new EnumMap<>(Workload.class);
+            if (values.containsKey("mix")) {
+                for (String entry : values.remove("mix").split(",")) {
+                    String[] keyWeight = entry.split(":", 2);
+                    mix.put(Workload.fromKey(keyWeight[0].trim()), keyWeight.length > 1 ? Integer.parseInt(keyWeight[1].trim()) : 1);
+                }
+            } else {
+                for (Workload workload : Workload.values()) {
+                    mix.put(workload, workload.getDefaultWeight());
+                }
+            }
+            String dir = values.remove("dir");
+            String out = values.remove("out");
+            Options options = new Options(
+                intValue(values, "islands", 2000),
+                intValue(values, "players", 5000),
+                intValue(values, "online", 200),
+                intValue(values, "distance", 128),
+                intValue(values, "warmup", 10),
+                intValue(values, "duration", 60),
+                intValue(values, "ops-per-tick", 20),
+                intValue(values, "async-threads", 4),
+                longValue(values, "seed", 42),
+                mix,
+                dir != null ? Path.of(dir) : null,
+                out != null ? Path.of(out) : null);
+            if (!values.isEmpty()) {
+                throw new IllegalArgumentException("Unknown options " + values.keySet());
+            }
+            return options;
+        }
+
+        private static int intValue(Map<String, String> values, String key, int defaultValue) {
+            String value = values.remove(key);
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        }
+
+        private static long longValue(Map<String, String> values, String key, long defaultValue) {
+            String value = values.remove(key);
+            return value != null ? Long.parseLong(value) : defaultValue;
+        }
+    }
+
+    private final Options options;
+    private final Random random;
+    private final SimulationReport report = new SimulationReport();
+    private final List<SimulatedPlayer> players = new ArrayList<>();
+    private final List<SimulatedPlayer> onlinePlayers = new ArrayList<>();
+    private final Map<EntityType, List<EntityStub>> entities = new EnumMap<>(EntityType.class);
+    private Path dataDir;
+    private SimulationData data;
+    private SimulatedServer server;
+    private uSkyBlock plugin;
+    private Injector injector;
+    private Thread mainThread;
+    private volatile Workload current;
+
+    LoadSimulation(@NotNull Options options) {
+        this.options = options;
+        this.random = new Random(options.seed());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            log.severe(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        LoadSimulation simulation = new LoadSimulation(options);
+        String result;
+        try {
+            result = simulation.run();
+        } finally {
+            simulation.shutdown();
+        }
+        log.info(result);
+        if (options.out() != null) {
+            Files.writeString(options.out(), result);
+        }
+        // Services may have started non-daemon threads
+        System.exit(0);
+    }
+
+    /**
+     * Runs the simulation, and returns the formatted report.
+     */
+    @NotNull String run() throws Exception {
+        mainThread = Thread.currentThread();
+        dataDir = options.dir() != null ? Files.createDirectories(options.dir()) : Files.createTempDirectory("uskyblock-loadsim");
+        log.info("Generating " + options.islands() + " islands and " + options.players() + " players in " + dataDir);
+        data = SimulationData.generate(dataDir, options.islands(), options.players(), options.distance(), Fixtures.ISLAND_Y, options.seed());
+
+        boot();
+
+        log.info("Joining " + options.online() + " players");
+        while (onlinePlayers.size() < options.online()) {
+            SimulatedPlayer player = randomOfflinePlayer(random);
+            if (player == null) {
+                break;
+            }
+            join(player);
+            server.getScheduler().tick();
+        }
+        server.getScheduler().awaitAsync(1, TimeUnit.MINUTES);
+
+        int[] weights = cumulativeWeights();
+        log.info("Warming up for " + options.warmupSeconds() + " s");
+        replay(weights, options.warmupSeconds());
+        long failedTasks = server.getScheduler().getErrors();
+        report.start();
+        long firstTick = server.getScheduler().getCurrentTick();
+        log.info("Measuring for " + options.durationSeconds() + " s");
+        replay(weights, options.durationSeconds());
+        report.stop(server.getScheduler().getCurrentTick() - firstTick, server.getScheduler().getErrors() - failedTasks);
+        return report.format();
+    }
+
+    /**
+     * Boots the plugin the way {@link uSkyBlock#onEnable()} does, with the legacy statics set up first, then
+     * the {@link Services} created by Guice and started, and the listeners registered.
+     */
+    private void boot() throws ReflectiveOperationException {
+        server = new SimulatedServer(WORLD_NAME, options.distance(), options.seed(), options.asyncThreads());
+
+        Logger pluginLogger = Logger.getLogger("uSkyBlock");
+        pluginLogger.setUseParentHandlers(false);
+        pluginLogger.addHandler(new ErrorCounter());
+        plugin = mock(uSkyBlock.class, withSettings().stubOnly().defaultAnswer(CALLS_REAL_METHODS));
+        doReturn(server.getServer()).when(plugin).getServer();
+        doReturn(dataDir.toFile()).when(plugin).getDataFolder();
+        doReturn(pluginLogger).when(plugin).getLogger();
+        doReturn("uSkyBlock").when(plugin).getName();
+        doReturn(true).when(plugin).isEnabled();
+        doReturn(new PluginDescriptionFile("uSkyBlock", "loadsim", uSkyBlock.class.getName())).when(plugin).getDescription();
+        Field instance = uSkyBlock.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        instance.set(null, plugin);
+
+        FileUtil.setDataFolder(dataDir.toFile());
+        FileUtil.setAlwaysOverwrite("levelConfig.yml");
+        FileConfiguration config = FileUtil.getYmlConfiguration("config.yml");
+        config.set("options.general.worldName", WORLD_NAME);
+        config.set("options.island.distance", options.distance());
+        config.set("options.island.protectionRange", options.distance());
+        config.set("options.island.height", Fixtures.ISLAND_Y);
+        config.set("options.advanced.playerdb.storage", "yml");
+        config.set("nether.enabled", false);
+        // Needs WorldGuard regions
+        config.set("options.protection.visitors.block-banned-entry", false);
+        doReturn(config).when(plugin).getConfig();
+        Settings.loadPluginConfig(config);
+        I18nUtil.setDataFolder(dataDir.toFile());
+        WorldManager.skyBlockWorld = server.getWorld().getWorld();
+
+        // bStats would report the simulated server
+        injector = Guice.createInjector(Modules.override(new SkyblockModule(plugin)).with(binder ->
+            binder.bind(MetricsManager.class).toInstance(mock(MetricsManager.class, withSettings().stubOnly()))));
+        injector.injectMembers(plugin);
+        injector.getInstance(Services.class).startup();
+        injector.getInstance(Listeners.class).registerListeners(plugin);
+
+        for (SimulationData.SimPlayer simPlayer : data.getPlayers()) {
+            SimulationData.SimIsland island = simPlayer.island();
+            Location home = island != null
+                ? new Location(server.getWorld().getWorld(), island.x() + 0.5, Fixtures.ISLAND_Y + 1, island.z() + 0.5)
+                : server.getWorld().getWorld().getSpawnLocation();
+            players.add(server.addPlayer(simPlayer.uuid(), simPlayer.name(), home, simPlayer.lastPlayed()));
+        }
+    }
+
+    private int[] cumulativeWeights() {
+        int[] weights = new int[Workload.values().length];
+        int total = 0;
+        for (Workload workload : Workload.values()) {
+            total += Math.max(options.mix().getOrDefault(workload, 0), 0);
+            weights[workload.ordinal()] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The mix has no workloads");
+        }
+        return weights;
+    }
+
+    private void replay(int[] weights, int seconds) {
+        Workload[] workloads = Workload.values();
+        int total = weights[weights.length - 1];
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < options.opsPerTick(); i++) {
+                int pick = random.nextInt(total);
+                int index = 0;
+                while (weights[index] <= pick) {
+                    index++;
+                }
+                Workload workload = workloads[index];
+                current = workload;
+                long start = System.nanoTime();
+                try {
+                    workload.run(this, random);
+                } catch (RuntimeException e) {
+                    report.error(workload);
+                    log.log(Level.FINE, "Workload " + workload.getKey() + " failed", e);
+                } finally {
+                    report.record(workload, System.nanoTime() - start);
+                }
+            }
+            current = null;
+            server.getScheduler().tick();
+        }
+    }
+
+    void shutdown() {
+        if (injector != null) {
+            try {
+                injector.getInstance(Services.class).shutdown(plugin);
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Unable to shut down the services", e);
+            }
+        }
+        if (server != null) {
+            server.shutdown();
+        }
+        if (options.dir() == null && dataDir != null) {
+            deleteDirectory(dataDir);
+        }
+    }
+
+    private static void deleteDirectory(@NotNull Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.log(Level.WARNING, "Unable to delete " + dir, e);
+        }
+    }
+
+    @NotNull Options getOptions() {
+        return options;
+    }
+
+    @NotNull SimulatedServer getServer() {
+        return server;
+    }
+
+    @NotNull uSkyBlock getPlugin() {
+        return plugin;
+    }
+
+    @NotNull Path getIslandDirectory() {
+        return dataDir.resolve("islands");
+    }
+
+    int getOnlineCount() {
+        return onlinePlayers.size();
+    }
+
+    @Nullable Player getPlayer(@NotNull UUID uuid) {
+        return server.getServer().getPlayer(uuid);
+    }
+
+    @NotNull SimulationData.SimIsland randomIsland(@NotNull Random random) {
+        return data.getIslands().get(random.nextInt(data.getIslands().size()));
+    }
+
+    @Nullable SimulatedPlayer randomOnlinePlayer(@NotNull Random random) {
+        return onlinePlayers.isEmpty() ? null : onlinePlayers.get(random.nextInt(onlinePlayers.size()));
+    }
+
+    @Nullable SimulatedPlayer randomOfflinePlayer(@NotNull Random random) {
+        if (onlinePlayers.size() >= players.size()) {
+            return null;
+        }
+        SimulatedPlayer player;
+        do {
+            player = players.get(random.nextInt(players.size()));
+        } while (player.isOnline());
+        return player;
+    }
+
+    void join(@NotNull SimulatedPlayer player) {
+        player.setLastPlayed(System.currentTimeMillis());
+        server.setOnline(player, true);
+        onlinePlayers.add(player);
+        server.getPluginManager().callEvent(new PlayerJoinEvent(player.getPlayer(), ""));
+    }
+
+    void quit(@NotNull SimulatedPlayer player) {
+        server.getPluginManager().callEvent(new PlayerQuitEvent(player.getPlayer(), ""));
+        server.setOnline(player, false);
+        onlinePlayers.remove(player);
+    }
+
+    /**
+     * Returns a creature at the given location, from a small pool, as a spawned creature is not kept.
+     */
+    @NotNull LivingEntity spawnEntity(@NotNull Random random, @NotNull Location location) {
+        EntityType type = SPAWNED_TYPES[random.nextInt(SPAWNED_TYPES.length)];
+        List<EntityStub> pool = entities.computeIfAbsent(type, t -> {
+            List<EntityStub> stubs = new ArrayList<>(ENTITIES_PER_TYPE);
+            for (int i = 0; i < ENTITIES_PER_TYPE; i++) {
+                stubs.add(new EntityStub(t));
+            }
+            return Collections.unmodifiableList(stubs);
+        });
+        EntityStub stub = pool.get(random.nextInt(pool.size()));
+        stub.location = location;
+        return stub.entity;
+    }
+
+    private static final class EntityStub {
+        private final LivingEntity entity;
+        private volatile Location location;
+
+        private EntityStub(@NotNull EntityType type) {
+            entity = mock(type.getEntityClass() != null && LivingEntity.class.isAssignableFrom(type.getEntityClass())
+                ? type.getEntityClass().asSubclass(LivingEntity.class)
+                : LivingEntity.class, withSettings().stubOnly());
+            when(entity.getType()).thenReturn(type);
+            when(entity.getUniqueId()).thenReturn(UUID.randomUUID());
+            when(entity.getLocation()).thenAnswer(i -> location.clone());
+            when(entity.getWorld()).thenAnswer(i -> location.getWorld());
+        }
+    }
+
+    /**
+     * Counts the errors logged by the plugin, i.e. for exceptions thrown by event handlers, which the plugin
+     * manager catches and logs. Logs the first of each.
+     */
+    private final class ErrorCounter extends Handler {
+        private final Map<String, Boolean> seen = new HashMap<>();
+
+        @Override
+        public void publish(LogRecord record) {
+            if (record.getLevel().intValue() < Level.SEVERE.intValue()) {
+                return;
+            }
+            Workload workload = current;
+            if (Thread.currentThread() == mainThread && workload != null) {
+                report.error(workload);
+            } else {
+                report.taskError();
+            }
+            synchronized (seen) {
+                if (seen.putIfAbsent(String.valueOf(record.getMessage()), Boolean.TRUE) == null) {
+                    log.log(Level.SEVERE, record.getMessage(), record.getThrown());
+                }
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package us.talabrek.ultimateskyblock.loadsim;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * A scheduler for the simulated server.
+ * <p>
+ * Sync tasks are queued, and run on the main thread by {@link #tick()}, which the simulation calls between
+ * operations, so the ticks are as fast as the workload allows. Async tasks run on a small thread pool, with
+ * a tick being 50 ms, as on a real server.
+ */
+final class SimulatedScheduler {
+    private static final Logger log = Logger.getLogger(SimulatedScheduler.class.getName());
+    private static final long MILLIS_PER_TICK = 50;
+
+    private final BukkitScheduler scheduler;
+    private final PriorityQueue<Task> syncQueue = new PriorityQueue<>();
+    private final ScheduledExecutorService asyncExecutor;
+    private final AtomicInteger taskIds = new AtomicInteger();
+    private final AtomicInteger pendingAsync = new AtomicInteger();
+    private final AtomicLong errors = new AtomicLong();
+    private long currentTick;
+
+    SimulatedScheduler(int asyncThreads) {
+        AtomicInteger threadIds = new AtomicInteger();
+        asyncExecutor = new ScheduledThreadPoolExecutor(asyncThreads, runnable -> {
+            Thread thread = new Thread(runnable, "Simulated Async Thread - " + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler = mock(BukkitScheduler.class, withSettings().stubOnly());
+        doAnswer(i -> sync(i.getArgument(0), i.getArgument(1), 0, -1))
+            .when(scheduler).runTask(any(Plugin.class), any(Runnable.class));
+        doAnswer(i -> sync(i.getArgument(0), i.getArgument(1), i.<Long>getArgument(2), -1))
+            .when(scheduler).runTaskLater(any(Plugin.class), any(Runnable.class), anyLong());
+        doAnswer(i -> sync(i.getArgument(0), i.getArgument(1), i.<Long>getArgument(2), i.<Long>getArgument(3)))
+            .when(scheduler).runTaskTimer(any(Plugin.class), any(Runnable.class), anyLong(), anyLong());
+        doAnswer(i -> async(i.getArgument(0), i.getArgument(1), 0, -1))
+            .when(scheduler).runTaskAsynchronously(any(Plugin.class), any(Runnable.class));
+        doAnswer(i -> async(i.getArgument(0), i.getArgument(1), i.<Long>getArgument(2), -1))
+            .when(scheduler).runTaskLaterAsynchronously(any(Plugin.class), any(Runnable.class), anyLong());
+        doAnswer(i -> async(i.getArgument(0), i.getArgument(1), i.<Long>getArgument(2), i.<Long>getArgument(3)))
+            .when(scheduler).runTaskTimerAsynchronously(any(Plugin.class), any(Runnable.class), anyLong(), anyLong());
+        doAnswer(i -> {
+            cancelTasks();
+            return null;
+        }).when(scheduler).cancelTasks(any(Plugin.class));
+        doAnswer(i -> {
+            cancelTask(i.<Integer>getArgument(0));
+            return null;
+        }).when(scheduler).cancelTask(anyInt());
+    }
+
+    @NotNull BukkitScheduler getScheduler() {
+        return scheduler;
+    }
+
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * The number of tasks that failed with an exception.
+     */
+    long getErrors() {
+        return errors.get();
+    }
+
+    private @NotNull BukkitTask sync(@NotNull Plugin plugin, @NotNull Runnable runnable, long delay, long period) {
+        Task task = new Task(plugin, runnable, true, period);
+        synchronized (syncQueue) {
+            task.nextTick = currentTick + Math.max(delay, 1);
+            syncQueue.add(task);
+        }
+        return task;
+    }
+
+    private @NotNull BukkitTask async(@NotNull Plugin plugin, @NotNull Runnable runnable, long delay, long period) {
+        Task task = new Task(plugin, runnable, false, period);
+        if (period > 0) {
+            task.future = asyncExecutor.scheduleAtFixedRate(task::run, delay * MILLIS_PER_TICK, period * MILLIS_PER_TICK, TimeUnit.MILLISECONDS);
+        } else {
+            pendingAsync.incrementAndGet();
+            task.future = asyncExecutor.schedule(() -> {
+                try {
+                    task.run();
+                } finally {
+                    pendingAsync.decrementAndGet();
+                }
+            }, delay * MILLIS_PER_TICK, TimeUnit.MILLISECONDS);
+        }
+        return task;
+    }
+
+    /**
+     * Runs the sync tasks due in the next tick, on the calling (main) thread.
+     *
+     * @return The number of tasks run.
+     */
+    int tick() {
+        List<Task> due = new ArrayList<>();
+        synchronized (syncQueue) {
+            currentTick++;
+            while (!syncQueue.isEmpty() && syncQueue.peek().nextTick <= currentTick) {
+                due.add(syncQueue.poll());
+            }
+        }
+        for (Task task : due) {
+            if (task.isCancelled()) {
+                continue;
+            }
+            task.run();
+            if (task.period > 0 && !task.isCancelled()) {
+                synchronized (syncQueue) {
+                    task.nextTick = currentTick + task.period;
+                    syncQueue.add(task);
+                }
+            }
+        }
+        return due.size();
+    }
+
+    /**
+     * Waits for the one-shot async tasks, i.e. loading the player database, to complete.
+     */
+    void awaitAsync(long timeout, @NotNull TimeUnit unit) throws InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (pendingAsync.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException(pendingAsync.get() + " async tasks still running");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private void cancelTask(int taskId) {
+        synchronized (syncQueue) {
+            syncQueue.stream().filter(t -> t.taskId == taskId).forEach(Task::cancel);
+        }
+    }
+
+    private void cancelTasks() {
+        synchronized (syncQueue) {
+            syncQueue.forEach(Task::cancel);
+            syncQueue.clear();
+        }
+    }
+
+    void shutdown() {
+        cancelTasks();
+        asyncExecutor.shutdownNow();
+    }
+
+    private final class Task implements BukkitTask, Comparable<Task> {
+        private final int taskId = taskIds.incrementAndGet();
+        private final Plugin owner;
+        private final Runnable runnable;
+        private final boolean sync;
+        private final long period;
+        private volatile boolean cancelled;
+        private volatile ScheduledFuture<?> future;
+        private long nextTick;
+
+        private Task(@NotNull Plugin owner, @NotNull Runnable runnable, boolean sync, long period) {
+            this.owner = owner;
+            this.runnable = runnable;
+            this.sync = sync;
+            this.period = period;
+        }
+
+        private void run() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                runnable.run();
+            } catch (Throwable e) {
+                errors.incrementAndGet();
+                log.log(Level.FINE, "Task " + taskId + " failed", e);
+            }
+        }
+
+        @Override
+        public int getTaskId() {
+            return taskId;
+        }
+
+        @Override
+        public @NotNull Plugin getOwner() {
+            return owner;
+        }
+
+        @Override
+        public boolean isSync() {
+            return sync;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            ScheduledFuture<?> scheduled = future;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+
+        @Override
+        public int compareTo(@NotNull Task o) {
+            int cmp = Long.compare(nextTick, o.nextTick);
+            return cmp != 0 ? cmp : Integer.compare(taskId, o.taskId);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package us.talabrek.ultimateskyblock.loadsim;
+
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.ServicesManager;
+import org.bukkit.plugin.SimplePluginManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * A headless server for the simulation, installed as the Bukkit server.
+ * <p>
+ * Events are dispatched by a real {@link SimplePluginManager}, and scheduled tasks by the
+ * {@link SimulatedScheduler}. The server, players and everything else not simulated are Mockito stubs,
+ * which answer nothing unless told to, and do not record their invocations.
+ */
+final class SimulatedServer {
+    private static final Logger log = Logger.getLogger(SimulatedServer.class.getName());
+
+    private final Server server;
+    private final SimplePluginManager pluginManager;
+    private final SimulatedScheduler scheduler;
+    private final SimulatedWorld world;
+    private final ConsoleCommandSender console;
+    private final Map<UUID, SimulatedPlayer> players = new ConcurrentHashMap<>();
+    private final Map<String, SimulatedPlayer> playersByName = new ConcurrentHashMap<>();
+    private final Map<UUID, Player> online = new ConcurrentHashMap<>();
+    private final Thread mainThread;
+
+    SimulatedServer(@NotNull String worldName, int islandDistance, long seed, int asyncThreads) {
+        mainThread = Thread.currentThread();
+        server = mock(Server.class, withSettings().stubOnly());
+        scheduler = new SimulatedScheduler(asyncThreads);
+        world = new SimulatedWorld(worldName, islandDistance, seed, online::values);
+        console = mock(ConsoleCommandSender.class, withSettings().stubOnly());
+        when(console.getName()).thenReturn("CONSOLE");
+        when(console.isOp()).thenReturn(true);
+        when(console.hasPermission(anyString())).thenReturn(true);
+
+        when(server.getName()).thenReturn("SimulatedServer");
+        when(server.getVersion()).thenReturn("simulated");
+        when(server.getBukkitVersion()).thenReturn("1.20.6-R0.1-SNAPSHOT");
+        when(server.getLogger()).thenReturn(log);
+        when(server.isPrimaryThread()).thenAnswer(i -> Thread.currentThread() == mainThread);
+        when(server.getScheduler()).thenReturn(scheduler.getScheduler());
+        when(server.getConsoleSender()).thenReturn(console);
+        when(server.getMaxPlayers()).thenReturn(500);
+        when(server.getWorld(anyString())).thenAnswer(i -> worldName.equals(i.getArgument(0)) ? world.getWorld() : null);
+        when(server.getWorld(any(UUID.class))).thenAnswer(i -> world.getWorld().getUID().equals(i.getArgument(0)) ? world.getWorld() : null);
+        when(server.getWorlds()).thenReturn(List.of(world.getWorld()));
+        when(server.createWorld(any())).thenReturn(world.getWorld());
+        when(server.getOnlinePlayers()).thenAnswer(i -> List.copyOf(online.values()));
+        when(server.getPlayer(any(UUID.class))).thenAnswer(i -> online.get(i.<UUID>getArgument(0)));
+        when(server.getPlayer(anyString())).thenAnswer(i -> onlineByName(i.getArgument(0)));
+        when(server.getPlayerExact(anyString())).thenAnswer(i -> onlineByName(i.getArgument(0)));
+        when(server.getOfflinePlayer(any(UUID.class))).thenAnswer(i -> offlinePlayer(i.getArgument(0)));
+        when(server.getOfflinePlayer(anyString())).thenAnswer(i -> {
+            SimulatedPlayer player = playersByName.get(i.<String>getArgument(0).toLowerCase());
+            return player != null ? player.getOfflinePlayer() : offlinePlayer(UUID.nameUUIDFromBytes(i.<String>getArgument(0).getBytes()));
+        });
+        when(server.getItemFactory()).thenReturn(mock(ItemFactory.class, withSettings().stubOnly()));
+        when(server.getServicesManager()).thenReturn(mock(ServicesManager.class, withSettings().stubOnly()));
+        pluginManager = new SimplePluginManager(server, new SimpleCommandMap(server));
+        when(server.getPluginManager()).thenReturn(pluginManager);
+        Bukkit.setServer(server);
+    }
+
+    @NotNull Server getServer() {
+        return server;
+    }
+
+    @NotNull SimplePluginManager getPluginManager() {
+        return pluginManager;
+    }
+
+    @NotNull SimulatedScheduler getScheduler() {
+        return scheduler;
+    }
+
+    @NotNull SimulatedWorld getWorld() {
+        return world;
+    }
+
+    @NotNull ConsoleCommandSender getConsole() {
+        return console;
+    }
+
+    int getOnlineCount() {
+        return online.size();
+    }
+
+    private Player onlineByName(String name) {
+        SimulatedPlayer player = playersByName.get(name.toLowerCase());
+        return player != null ? online.get(player.getUniqueId()) : null;
+    }
+
+    private OfflinePlayer offlinePlayer(UUID uuid) {
+        SimulatedPlayer player = players.get(uuid);
+        if (player != null) {
+            return player.getOfflinePlayer();
+        }
+        OfflinePlayer unknown = mock(OfflinePlayer.class, withSettings().stubOnly());
+        when(unknown.getUniqueId()).thenReturn(uuid);
+        return unknown;
+    }
+
+    /**
+     * Adds a known (offline) player to the server.
+     */
+    @NotNull SimulatedPlayer addPlayer(@NotNull UUID uuid, @NotNull String name, @NotNull Location home, long lastPlayed) {
+        SimulatedPlayer player = new SimulatedPlayer(uuid, name, home, lastPlayed);
+        players.put(uuid, player);
+        playersByName.put(name.toLowerCase(), player);
+        return player;
+    }
+
+    @NotNull Collection<SimulatedPlayer> getPlayers() {
+        return players.values();
+    }
+
+    void setOnline(@NotNull SimulatedPlayer player, boolean isOnline) {
+        player.online = isOnline;
+        if (isOnline) {
+            online.put(player.getUniqueId(), player.getPlayer());
+        } else {
+            online.remove(player.getUniqueId());
+        }
+    }
+
+    void shutdown() {
+        scheduler.shutdown();
+        pluginManager.clearPlugins();
+    }
+
+    /**
+     * A player known to the server, with the stubs for when the player is online and offline.
+     */
+    final class SimulatedPlayer {
+        private final UUID uuid;
+        private final String name;
+        private final Player player;
+        private final OfflinePlayer offlinePlayer;
+        private volatile Location location;
+        private volatile boolean online;
+        private volatile long lastPlayed;
+
+        private SimulatedPlayer(@NotNull UUID uuid, @NotNull String name, @NotNull Location location, long lastPlayed) {
+            this.uuid = uuid;
+            this.name = name;
+            this.location = location;
+            this.lastPlayed = lastPlayed;
+            player = mock(Player.class, withSettings().stubOnly());
+            when(player.getUniqueId()).thenReturn(uuid);
+            when(player.getName()).thenReturn(name);
+            when(player.getDisplayName()).thenReturn(name);
+            when(player.getPlayerListName()).thenReturn(name);
+            when(player.isOnline()).thenAnswer(i -> online);
+            when(player.getServer()).thenReturn(server);
+            when(player.getWorld()).thenAnswer(i -> this.location.getWorld());
+            when(player.getLocation()).thenAnswer(i -> this.location.clone());
+            when(player.getEyeLocation()).thenAnswer(i -> this.location.clone().add(0, 1.62, 0));
+            when(player.getGameMode()).thenReturn(GameMode.SURVIVAL);
+            when(player.getInventory()).thenReturn(mock(PlayerInventory.class, withSettings().stubOnly()));
+            when(player.getLastPlayed()).thenAnswer(i -> this.lastPlayed);
+            offlinePlayer = mock(OfflinePlayer.class, withSettings().stubOnly());
+            when(offlinePlayer.getUniqueId()).thenReturn(uuid);
+            when(offlinePlayer.getName()).thenReturn(name);
+            when(offlinePlayer.isOnline()).thenAnswer(i -> online);
+            when(offlinePlayer.getPlayer()).thenAnswer(i -> online ? player : null);
+            when(offlinePlayer.hasPlayedBefore()).thenReturn(true);
+            when(offlinePlayer.getLastPlayed()).thenAnswer(i -> this.lastPlayed);
+        }
+
+        @NotNull UUID getUniqueId() {
+            return uuid;
+        }
+
+        @NotNull String getName() {
+            return name;
+        }
+
+        @NotNull Player getPlayer() {
+            return player;
+        }
+
+        @NotNull OfflinePlayer getOfflinePlayer() {
+            return offlinePlayer;
+        }
+
+        @NotNull Location getLocation() {
+            return location;
+        }
+
+        void setLocation(@NotNull Location location) {
+            this.location = location;
+        }
+
+        boolean isOnline() {
+            return online;
+        }
+
+        void setLastPlayed(long lastPlayed) {
+            this.lastPlayed = lastPlayed;
+        }
+    }
+}
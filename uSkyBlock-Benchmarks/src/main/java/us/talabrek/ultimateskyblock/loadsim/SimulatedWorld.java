@@ -0,0 +1,196 @@
+package us.talabrek.ultimateskyblock.loadsim;
+
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.benchmark.Fixtures;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The skyblock world of the simulation: the island from {@link Fixtures#skyIsland} repeated on a grid, one
+ * island every <code>distance</code> blocks, as laid out by the plugin.
+ * <p>
+ * The world, its chunks and blocks are plain proxies, as they are called for every event. Methods not
+ * simulated return nothing (null, zero, false or an empty collection). Since every island is the same,
+ * chunks at the same offset from their island share the block types, so the world takes a few megabytes,
+ * however many islands are visited.
+ */
+final class SimulatedWorld {
+    private static final Map<Class<?>, Object> PRIMITIVE_DEFAULTS = Map.of(
+        boolean.class, false, byte.class, (byte) 0, short.class, (short) 0, char.class, '\0',
+        int.class, 0, long.class, 0L, float.class, 0f, double.class, 0d);
+
+    private final String name;
+    private final int distance;
+    private final Fixtures.Terrain terrain;
+    private final Supplier<Collection<? extends Player>> players;
+    private final Map<Long, Material[]> blockTypes = new ConcurrentHashMap<>();
+    private final UUID uid;
+    private final World world;
+
+    SimulatedWorld(@NotNull String name, int distance, long seed, @NotNull Supplier<Collection<? extends Player>> players) {
+        if (distance % 16 != 0) {
+            throw new IllegalArgumentException("The island distance must be a multiple of 16, was " + distance);
+        }
+        this.name = name;
+        this.distance = distance;
+        this.players = players;
+        this.uid = UUID.nameUUIDFromBytes(name.getBytes());
+        Fixtures.Terrain island = Fixtures.skyIsland(seed);
+        int half = distance / 2;
+        this.terrain = (x, y, z) -> island.getType(Math.floorMod(x + half, distance) - half, y, Math.floorMod(z + half, distance) - half);
+        this.world = proxy(World.class, this::world);
+    }
+
+    @NotNull World getWorld() {
+        return world;
+    }
+
+    @NotNull Material getType(int x, int y, int z) {
+        if (y < Fixtures.MIN_HEIGHT || y >= Fixtures.MAX_HEIGHT) {
+            return Material.AIR;
+        }
+        return terrain.getType(x, y, z);
+    }
+
+    @NotNull ChunkSnapshot getChunkSnapshot(int chunkX, int chunkZ) {
+        int chunksPerIsland = distance >> 4;
+        long key = ((long) Math.floorMod(chunkX, chunksPerIsland) << 32) | Math.floorMod(chunkZ, chunksPerIsland);
+        Material[] types = blockTypes.computeIfAbsent(key, k -> Fixtures.blockTypes(terrain, chunkX, chunkZ));
+        return Fixtures.chunkSnapshot(types, chunkX, chunkZ);
+    }
+
+    private Object world(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "getName" -> name;
+            case "getUID" -> uid;
+            case "getEnvironment" -> World.Environment.NORMAL;
+            case "getMinHeight" -> Fixtures.MIN_HEIGHT;
+            case "getMaxHeight" -> Fixtures.MAX_HEIGHT;
+            case "getSeaLevel" -> 63;
+            case "getSpawnLocation" -> new Location(world, 0.5, Fixtures.ISLAND_Y + 1, 0.5);
+            case "getPlayers" -> List.copyOf(players.get());
+            case "getBlockAt" -> args.length == 1
+                ? block(((Location) args[0]).getBlockX(), ((Location) args[0]).getBlockY(), ((Location) args[0]).getBlockZ())
+                : block((int) args[0], (int) args[1], (int) args[2]);
+            case "getType" -> args.length == 1
+                ? getType(((Location) args[0]).getBlockX(), ((Location) args[0]).getBlockY(), ((Location) args[0]).getBlockZ())
+                : getType((int) args[0], (int) args[1], (int) args[2]);
+            case "getHighestBlockYAt" -> highestBlockY(args);
+            case "getChunkAt" -> chunkAt(args);
+            case "isChunkLoaded" -> true;
+            case "hashCode" -> uid.hashCode();
+            case "equals" -> proxy == args[0];
+            case "toString" -> "SimulatedWorld{name=" + name + "}";
+            default -> defaultValue(method);
+        };
+    }
+
+    private int highestBlockY(Object[] args) {
+        int x = args[0] instanceof Location loc ? loc.getBlockX() : (int) args[0];
+        int z = args[0] instanceof Location loc ? loc.getBlockZ() : (int) args[1];
+        for (int y = Fixtures.MAX_HEIGHT - 1; y > Fixtures.MIN_HEIGHT; y--) {
+            if (getType(x, y, z) != Material.AIR) {
+                return y;
+            }
+        }
+        return Fixtures.MIN_HEIGHT;
+    }
+
+    private Chunk chunkAt(Object[] args) {
+        if (args[0] instanceof Location loc) {
+            return chunk(loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+        } else if (args[0] instanceof Block block) {
+            return chunk(block.getX() >> 4, block.getZ() >> 4);
+        }
+        return chunk((int) args[0], (int) args[1]);
+    }
+
+    @NotNull Chunk chunk(int chunkX, int chunkZ) {
+        return proxy(Chunk.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getX" -> chunkX;
+            case "getZ" -> chunkZ;
+            case "getWorld" -> world;
+            case "getBlock" -> block((chunkX << 4) + (int) args[0], (int) args[1], (chunkZ << 4) + (int) args[2]);
+            case "getChunkSnapshot" -> getChunkSnapshot(chunkX, chunkZ);
+            case "isLoaded" -> true;
+            case "hashCode" -> 31 * chunkX + chunkZ;
+            case "equals" -> args[0] instanceof Chunk other && other.getX() == chunkX && other.getZ() == chunkZ;
+            case "toString" -> "SimulatedChunk{x=" + chunkX + ",z=" + chunkZ + "}";
+            default -> defaultValue(method);
+        });
+    }
+
+    @NotNull Block block(int x, int y, int z) {
+        return proxy(Block.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getType" -> getType(x, y, z);
+            case "getX" -> x;
+            case "getY" -> y;
+            case "getZ" -> z;
+            case "getWorld" -> world;
+            case "getChunk" -> chunk(x >> 4, z >> 4);
+            case "getLocation" -> location(args != null && args.length == 1 ? (Location) args[0] : null, x, y, z);
+            case "getRelative" -> args.length == 3
+                ? block(x + (int) args[0], y + (int) args[1], z + (int) args[2])
+                : relative(x, y, z, (BlockFace) args[0], args.length > 1 ? (int) args[1] : 1);
+            case "isEmpty" -> getType(x, y, z).isAir();
+            case "isLiquid" -> getType(x, y, z) == Material.WATER || getType(x, y, z) == Material.LAVA;
+            case "isSolid" -> getType(x, y, z).isSolid();
+            case "hashCode" -> (y * 31 + z) * 31 + x;
+            case "equals" -> args[0] instanceof Block other && other.getX() == x && other.getY() == y && other.getZ() == z;
+            case "toString" -> "SimulatedBlock{" + x + "," + y + "," + z + "=" + getType(x, y, z) + "}";
+            default -> defaultValue(method);
+        });
+    }
+
+    private Location location(Location target, int x, int y, int z) {
+        if (target == null) {
+            return new Location(world, x, y, z);
+        }
+        target.setWorld(world);
+        target.setX(x);
+        target.setY(y);
+        target.setZ(z);
+        return target;
+    }
+
+    private Block relative(int x, int y, int z, BlockFace face, int distance) {
+        return block(x + face.getModX() * distance, y + face.getModY() * distance, z + face.getModZ() * distance);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SimulatedWorld.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (type.isPrimitive()) {
+            return PRIMITIVE_DEFAULTS.get(type);
+        } else if (type == List.class || type == Collection.class) {
+            return Collections.emptyList();
+        } else if (type == Set.class) {
+            return Collections.emptySet();
+        } else if (type == Map.class) {
+            return Collections.emptyMap();
+        }
+        return null;
+    }
+}
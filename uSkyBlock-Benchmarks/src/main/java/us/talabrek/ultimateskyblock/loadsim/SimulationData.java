@@ -0,0 +1,154 @@
+package us.talabrek.ultimateskyblock.loadsim;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * The synthetic islands and players of the simulation, written to the data directory in the same format as
+ * the plugin writes them (<code>islands/*.yml</code>, <code>players/*.yml</code> and
+ * <code>uuid2name.yml</code>).
+ * <p>
+ * Islands are laid out on a square grid, east of spawn. Every island has a leader, and up to 3 more members
+ * while there are players left, the rest of the players have no island.
+ */
+final class SimulationData {
+    private static final int MAX_PARTY_SIZE = 4;
+
+    record SimIsland(@NotNull String name, int x, int z, @NotNull List<SimPlayer> members) {
+    }
+
+    record SimPlayer(@NotNull UUID uuid, @NotNull String name, SimIsland island, long lastPlayed) {
+    }
+
+    private final List<SimIsland> islands;
+    private final List<SimPlayer> players;
+
+    private SimulationData(@NotNull List<SimIsland> islands, @NotNull List<SimPlayer> players) {
+        this.islands = islands;
+        this.players = players;
+    }
+
+    @NotNull List<SimIsland> getIslands() {
+        return islands;
+    }
+
+    @NotNull List<SimPlayer> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Generates the islands and players, and writes them to the data directory.
+     */
+    static @NotNull SimulationData generate(@NotNull Path dataDir, int islandCount, int playerCount, int distance,
+                                            int height, long seed) throws IOException {
+        if (playerCount < islandCount) {
+            throw new IllegalArgumentException("Every island needs a leader, " + islandCount + " islands but only " + playerCount + " players");
+        }
+        Random random = new Random(seed);
+        long now = System.currentTimeMillis();
+        int side = (int) Math.ceil(Math.sqrt(islandCount));
+        List<SimIsland> islands = new ArrayList<>(islandCount);
+        List<SimPlayer> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            SimIsland island = null;
+            if (i < islandCount) {
+                int x = (i % side + 1) * distance;
+                int z = (i / side - side / 2) * distance;
+                island = new SimIsland(x + "," + z, x, z, new ArrayList<>());
+                islands.add(island);
+            } else {
+                SimIsland party = islands.get(random.nextInt(islandCount));
+                if (party.members().size() < MAX_PARTY_SIZE) {
+                    island = party;
+                }
+            }
+            // A third of the players have not played for more than two months, so some islands are purgeable
+            long lastPlayed = now - (random.nextInt(3) == 0
+                ? Duration.ofDays(60 + random.nextInt(300)).toMillis()
+                : Duration.ofHours(random.nextInt(24 * 30)).toMillis());
+            SimPlayer player = new SimPlayer(new UUID(seed ^ i, random.nextLong()), "player" + i, island, lastPlayed);
+            if (island != null) {
+                island.members().add(player);
+            }
+            players.add(player);
+        }
+
+        Path islandDir = Files.createDirectories(dataDir.resolve("islands"));
+        for (SimIsland island : islands) {
+            writeIsland(islandDir.resolve(island.name() + ".yml"), island, height, random);
+        }
+        Path playerDir = Files.createDirectories(dataDir.resolve("players"));
+        YamlConfiguration uuid2name = new YamlConfiguration();
+        for (SimPlayer player : players) {
+            writePlayer(playerDir.resolve(player.uuid() + ".yml"), player, height);
+            uuid2name.set(player.uuid() + ".name", player.name());
+            uuid2name.set(player.uuid() + ".updated", player.lastPlayed());
+        }
+        uuid2name.save(dataDir.resolve("uuid2name.yml").toFile());
+        return new SimulationData(islands, players);
+    }
+
+    private static void writeIsland(@NotNull Path file, @NotNull SimIsland island, int height, @NotNull Random random) throws IOException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("version", 3);
+        // Most islands are low level, a few are very high
+        config.set("general.level", Math.round(-Math.log(1 - random.nextDouble()) * 500) / 10d);
+        config.set("general.warpLocationX", 0);
+        config.set("general.warpLocationY", 0);
+        config.set("general.warpLocationZ", 0);
+        config.set("general.warpActive", false);
+        config.set("general.schematicName", "default");
+        config.set("blocks.leafBreaks", 0);
+        config.set("blocks.hopperCount", 0);
+        SimPlayer leader = island.members().get(0);
+        config.set("party.leader", leader.name());
+        config.set("party.leader-uuid", leader.uuid().toString());
+        config.set("party.currentSize", island.members().size());
+        for (SimPlayer member : island.members()) {
+            boolean isLeader = member == leader;
+            ConfigurationSection section = config.createSection("party.members." + member.uuid());
+            section.set("name", member.name());
+            section.set("canChangeBiome", isLeader);
+            section.set("canToggleLock", isLeader);
+            section.set("canChangeWarp", isLeader);
+            section.set("canToggleWarp", isLeader);
+            section.set("canInviteOthers", isLeader);
+            section.set("canKickOthers", isLeader);
+            section.set("canBanOthers", isLeader);
+        }
+        List<String> banned = new ArrayList<>();
+        for (int i = random.nextInt(4); i > 0; i--) {
+            banned.add(new UUID(random.nextLong(), random.nextLong()).toString());
+        }
+        config.set("banned.list", banned);
+        config.set("trust.list", new ArrayList<String>());
+        config.save(file.toFile());
+    }
+
+    private static void writePlayer(@NotNull Path file, @NotNull SimPlayer player, int height) throws IOException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("version", 1);
+        config.set("player.displayName", player.name());
+        config.set("player.uuid", player.uuid().toString());
+        SimIsland island = player.island();
+        config.set("player.islandX", island != null ? island.x() : 0);
+        config.set("player.islandY", island != null ? height : 0);
+        config.set("player.islandZ", island != null ? island.z() : 0);
+        config.set("player.homeX", island != null ? island.x() : 0);
+        config.set("player.homeY", island != null ? height + 1 : 0);
+        config.set("player.homeZ", island != null ? island.z() : 0);
+        config.set("player.homeYaw", 0);
+        config.set("player.homePitch", 0);
+        config.save(file.toFile());
+    }
+}
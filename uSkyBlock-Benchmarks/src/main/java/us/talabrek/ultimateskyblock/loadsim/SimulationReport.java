@@ -0,0 +1,155 @@
+package us.talabrek.ultimateskyblock.loadsim;
+
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.async.LatencyHistogram;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The measurements of a simulation run: the latency of every workload, and the heap and GC activity.
+ */
+final class SimulationReport {
+    private static final long MB = 1024 * 1024;
+
+    private final Map<Workload, LatencyHistogram> latencies = new EnumMap<>(Workload.class);
+    private final Map<Workload, AtomicLong> errors = new EnumMap<>(Workload.class);
+    private final AtomicLong taskErrors = new AtomicLong();
+    private long startNanos;
+    private long endNanos;
+    private long heapBefore;
+    private long heapAfter;
+    private long gcCountBefore;
+    private long gcTimeBefore;
+    private long gcCount;
+    private long gcTime;
+    private long ticks;
+
+    SimulationReport() {
+        for (Workload workload : Workload.values()) {
+            latencies.put(workload, new LatencyHistogram());
+            errors.put(workload, new AtomicLong());
+        }
+    }
+
+    /**
+     * Starts the measurement, after the warmup.
+     */
+    void start() {
+        latencies.replaceAll((workload, histogram) -> new LatencyHistogram());
+        errors.values().forEach(e -> e.set(0));
+        taskErrors.set(0);
+        heapBefore = usedHeapAfterGc();
+        resetPeakUsage();
+        gcCountBefore = gcCount();
+        gcTimeBefore = gcTime();
+        startNanos = System.nanoTime();
+    }
+
+    void stop(long ticks, long failedTasks) {
+        endNanos = System.nanoTime();
+        this.ticks = ticks;
+        taskErrors.addAndGet(failedTasks);
+        gcCount = gcCount() - gcCountBefore;
+        gcTime = gcTime() - gcTimeBefore;
+        heapAfter = usedHeapAfterGc();
+    }
+
+    void record(@NotNull Workload workload, long nanos) {
+        latencies.get(workload).record(Duration.ofNanos(nanos));
+    }
+
+    void error(@NotNull Workload workload) {
+        errors.get(workload).incrementAndGet();
+    }
+
+    /**
+     * Counts an error off the main thread, i.e. in an async event handler.
+     */
+    void taskError() {
+        taskErrors.incrementAndGet();
+    }
+
+    @NotNull String format() {
+        double seconds = (endNanos - startNanos) / 1e9;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-8s %10s %10s %10s %10s %10s %10s %8s%n",
+            "workload", "ops", "ops/s", "p50 us", "p95 us", "p99 us", "max us", "errors"));
+        long totalOps = 0;
+        long totalErrors = 0;
+        for (Workload workload : Workload.values()) {
+            LatencyHistogram histogram = latencies.get(workload);
+            long ops = histogram.getCount();
+            if (ops == 0) {
+                continue;
+            }
+            totalOps += ops;
+            totalErrors += errors.get(workload).get();
+            sb.append(String.format(Locale.ROOT, "%-8s %10d %10.1f %10d %10d %10d %10d %8d%n",
+                workload.getKey(), ops, ops / seconds,
+                micros(histogram.getPercentile(0.50)), micros(histogram.getPercentile(0.95)),
+                micros(histogram.getPercentile(0.99)), micros(histogram.getMax()),
+                errors.get(workload).get()));
+        }
+        sb.append(String.format(Locale.ROOT, "%-8s %10d %10.1f %43s %8d%n", "total", totalOps, totalOps / seconds, "", totalErrors));
+        sb.append(String.format(Locale.ROOT, "%nduration %.1f s, %d ticks, %d failed tasks%n", seconds, ticks, taskErrors.get()));
+        sb.append(String.format(Locale.ROOT, "heap after GC %d MB before, %d MB after, %d MB peak%n",
+            heapBefore / MB, heapAfter / MB, peakHeap() / MB));
+        sb.append(String.format(Locale.ROOT, "GC %d collections, %d ms%n", gcCount, gcTime));
+        return sb.toString();
+    }
+
+    private static long micros(@NotNull Duration duration) {
+        return duration.toNanos() / 1000;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void resetPeakUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * The sum of the peak usage of the heap pools, which overestimates the peak of the heap a bit, as the pools
+     * do not all peak at the same time.
+     */
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return time;
+    }
+}
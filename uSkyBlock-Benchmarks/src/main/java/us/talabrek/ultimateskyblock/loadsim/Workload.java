@@ -0,0 +1,204 @@
+package us.talabrek.ultimateskyblock.loadsim;
+
+import dk.lockfuglsang.minecraft.file.FileUtil;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.Settings;
+import us.talabrek.ultimateskyblock.api.model.BlockScore;
+import us.talabrek.ultimateskyblock.benchmark.Fixtures;
+import us.talabrek.ultimateskyblock.command.admin.task.PurgeScanTask;
+import us.talabrek.ultimateskyblock.island.IslandInfo;
+import us.talabrek.ultimateskyblock.island.level.BlockCountCollection;
+import us.talabrek.ultimateskyblock.island.level.BlockLevelConfigMap;
+import us.talabrek.ultimateskyblock.island.level.IslandScore;
+import us.talabrek.ultimateskyblock.island.level.yml.LevelConfigYmlReader;
+import us.talabrek.ultimateskyblock.loadsim.SimulatedServer.SimulatedPlayer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The operations of the simulation, each picked with its weight from the mix.
+ * <p>
+ * Player actions are dispatched as Bukkit events, through the listeners of the plugin. The rest call the
+ * plugin services the way its commands and tasks do.
+ */
+enum Workload {
+    /**
+     * A player logs in at home, and when the server is full, another player logs out first.
+     */
+    JOIN("join", 40) {
+        @Override
+        void run(@NotNull LoadSimulation sim, @NotNull Random random) {
+            if (sim.getOnlineCount() >= sim.getOptions().online()) {
+                SimulatedPlayer leaving = sim.randomOnlinePlayer(random);
+                if (leaving != null) {
+                    sim.quit(leaving);
+                }
+            }
+            SimulatedPlayer joining = sim.randomOfflinePlayer(random);
+            if (joining != null) {
+                sim.join(joining);
+            }
+        }
+    },
+    /**
+     * A player walks a few blocks, now and then across the border of the island.
+     */
+    MOVE("move", 600) {
+        @Override
+        void run(@NotNull LoadSimulation sim, @NotNull Random random) {
+            SimulatedPlayer mover = sim.randomOnlinePlayer(random);
+            if (mover == null) {
+                return;
+            }
+            Location from = mover.getLocation();
+            Location to = from.clone().add(random.nextDouble() * 6 - 3, 0, random.nextDouble() * 6 - 3);
+            if (random.nextInt(50) == 0) {
+                to.add(Settings.island_radius * (random.nextBoolean() ? 1 : -1), 0, 0);
+            }
+            PlayerMoveEvent event = new PlayerMoveEvent(mover.getPlayer(), from, to);
+            sim.getServer().getPluginManager().callEvent(event);
+            if (!event.isCancelled()) {
+                mover.setLocation(event.getTo() != null ? event.getTo() : to);
+            }
+        }
+    },
+    /**
+     * A player mines a block near where they stand.
+     */
+    BLOCK_BREAK("break", 250) {
+        @Override
+        void run(@NotNull LoadSimulation sim, @NotNull Random random) {
+            SimulatedPlayer miner = sim.randomOnlinePlayer(random);
+            if (miner == null) {
+                return;
+            }
+            Location location = miner.getLocation();
+            Block block = sim.getServer().getWorld().block(location.getBlockX() + random.nextInt(7) - 3,
+                Fixtures.ISLAND_Y - random.nextInt(4), location.getBlockZ() + random.nextInt(7) - 3);
+            sim.getServer().getPluginManager().callEvent(new BlockBreakEvent(block, miner.getPlayer()));
+        }
+    },
+    /**
+     * A creature spawns on a random island, subject to the spawn limits.
+     */
+    SPAWN("spawn", 100) {
+        @Override
+        void run(@NotNull LoadSimulation sim, @NotNull Random random) {
+            SimulationData.SimIsland island = sim.randomIsland(random);
+            Location location = new Location(sim.getServer().getWorld().getWorld(),
+                island.x() + random.nextInt(21) - 10, Fixtures.ISLAND_Y + 1, island.z() + random.nextInt(21) - 10);
+            sim.getServer().getPluginManager().callEvent(new CreatureSpawnEvent(sim.spawnEntity(random, location),
+                CreatureSpawnEvent.SpawnReason.NATURAL));
+        }
+    },
+    /**
+     * A player runs <code>/is level</code>. The plugin takes the island region from WorldGuard, which is not
+     * available offline, so the level is counted here over the same region, the way
+     * <code>ChunkSnapshotLevelLogic</code> does, and then stored the way the plugin does.
+     */
+    LEVEL("level", 8) {
+        private volatile LevelConfig levelConfig;
+
+        @Override
+        void run(@NotNull LoadSimulation sim, @NotNull Random random) {
+            SimulationData.SimIsland island = sim.randomIsland(random);
+            IslandInfo islandInfo = sim.getPlugin().getIslandInfo(island.name());
+            if (islandInfo == null) {
+                return;
+            }
+            LevelConfig config = levelConfig;
+            if (config == null) {
+                FileConfiguration yml = FileUtil.getYmlConfiguration("levelConfig.yml");
+                config = new LevelConfig(new LevelConfigYmlReader().readLevelConfig(yml), yml.getInt("general.pointsPerLevel"));
+                levelConfig = config;
+            }
+            SimulatedWorld world = sim.getServer().getWorld();
+            Map<Long, ChunkSnapshot> chunks = new HashMap<>();
+            BlockCountCollection counts = new BlockCountCollection(config.scoreMap());
+            int radius = Settings.island_radius;
+            for (int x = island.x() - radius; x <= island.x() + radius; x++) {
+                for (int z = island.z() - radius; z <= island.z() + radius; z++) {
+                    int chunkX = x >> 4;
+                    int chunkZ = z >> 4;
+                    ChunkSnapshot chunk = chunks.computeIfAbsent(((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL),
+                        k -> world.getChunkSnapshot(chunkX, chunkZ));
+                    for (int y = Fixtures.MIN_HEIGHT; y < Fixtures.MAX_HEIGHT; y++) {
+                        Material blockType = chunk.getBlockType(x & 0xf, y, z & 0xf);
+                        if (blockType != Material.AIR) {
+                            counts.add(blockType);
+                        }
+                    }
+                }
+            }
+            List<BlockScore> blockScores = counts.calculateScore(config.pointsPerLevel());
+            IslandScore score = new IslandScore(blockScores.stream().mapToDouble(BlockScore::getScore).sum(), blockScores);
+            islandInfo.setLevel(score.getScore());
+            sim.getPlugin().getIslandLogic().updateRank(islandInfo, score);
+            Player player = island.members().isEmpty() ? null : sim.getPlayer(island.members().get(0).uuid());
+            sim.getPlugin().getEventLogic().fireScoreChangedEvent(player, islandInfo, score);
+        }
+    },
+    /**
+     * An admin regenerates the top ten, reading every island.
+     */
+    TOP_TEN("topten", 1) {
+        @Override
+        void run(@NotNull LoadSimulation sim, @NotNull Random random) {
+            sim.getPlugin().getIslandLogic().generateTopTen(sim.getServer().getConsole());
+        }
+    },
+    /**
+     * An admin scans for islands to purge, abandoned for 30 days and below level 10.
+     */
+    PURGE_SCAN("purge", 1) {
+        @Override
+        void run(@NotNull LoadSimulation sim, @NotNull Random random) {
+            new PurgeScanTask(sim.getPlugin(), sim.getIslandDirectory().toFile(), Duration.ofDays(30), 10,
+                sim.getServer().getConsole(), () -> {
+            }).run();
+        }
+    };
+
+    private record LevelConfig(@NotNull BlockLevelConfigMap scoreMap, int pointsPerLevel) {
+    }
+
+    private final String key;
+    private final int defaultWeight;
+
+    Workload(@NotNull String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    @NotNull String getKey() {
+        return key;
+    }
+
+    int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    abstract void run(@NotNull LoadSimulation sim, @NotNull Random random);
+
+    static @NotNull Workload fromKey(@NotNull String key) {
+        for (Workload workload : values()) {
+            if (workload.key.equalsIgnoreCase(key)) {
+                return workload;
+            }
+        }
+        throw new IllegalArgumentException("Unknown workload " + key + ", expected one of join, move, break, spawn, level, topten or purge");
+    }
+}
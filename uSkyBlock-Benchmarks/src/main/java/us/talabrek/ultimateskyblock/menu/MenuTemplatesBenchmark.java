@@ -0,0 +1,89 @@
+package us.talabrek.ultimateskyblock.menu;
+
+import dk.lockfuglsang.minecraft.po.I18nUtil;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.benchmark.Fixtures;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
+import static org.mockito.Mockito.when;
+
+/**
+ * The items of the island main menu, cloned from the {@link MenuTemplates} and patched with the dynamic lines, as on
+ * every menu open, compared to rendering the templates, as on every reload and language change.
+ * <p>
+ * Rendering all the templates is an upper bound of what opening a menu cost before the templates, when every item
+ * was translated and rendered on open. Run with <code>-prof gc</code> to compare the allocations, which matter more
+ * than the time here. The item factory is a stand-in from {@link Fixtures#installItemServer()}, so a real server
+ * allocates more per item for both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MenuTemplatesBenchmark {
+    @Param({"en", "de"})
+    public String language;
+
+    private PluginConfig config;
+    private List<PartyPermissionMenuItem> permissionMenuItems;
+    private MenuTemplates templates;
+
+    @Setup
+    public void setUp() {
+        Fixtures.installItemServer();
+        I18nUtil.setDataFolder(Fixtures.tempDir("i18n").toFile());
+        I18nUtil.setLocale(I18nUtil.getLocale(language));
+        config = Fixtures.stub(PluginConfig.class);
+        when(config.getYamlConfig()).thenReturn(Fixtures.yaml());
+        permissionMenuItems = List.of(
+            new PartyPermissionMenuItem(new ItemStack(Material.JUNGLE_SAPLING), "canChangeBiome", tr("Change Biome"),
+                tr("change the island''s biome.")),
+            new PartyPermissionMenuItem(new ItemStack(Material.IRON_BARS), "canToggleLock", tr("Toggle Island Lock"),
+                tr("toggle the island''s lock.")),
+            new PartyPermissionMenuItem(new ItemStack(Material.HOPPER), "canChangeWarp", tr("Set Island Warp"),
+                tr("set the island''s warp.")));
+        templates = new MenuTemplates(config, permissionMenuItems);
+    }
+
+    @TearDown
+    public void tearDown() {
+        I18nUtil.setLocale(null);
+    }
+
+    @Benchmark
+    public ItemStack[] openMainMenu() {
+        ItemStack[] items = new ItemStack[18];
+        items[0] = templates.home.create();
+        items[1] = templates.challengesEnabled.create();
+        items[2] = templates.level.create(List.of(tr("\u00a7eCurrent Level: \u00a7a{0,number,##.#}", 42.5)), Collections.emptyList());
+        items[3] = templates.group.createWithPrefix(tr("\u00a7eMembers: \u00a72{0}/{1}", 2, 4));
+        items[4] = templates.biome.create(Collections.singletonList(tr("\u00a7eCurrent Biome: \u00a7b{0}", "Ocean")), templates.biomeAllowed);
+        items[5] = templates.unlockedAllowed.create();
+        items[6] = templates.warpInactiveDenied.create();
+        items[7] = templates.spawn.create();
+        items[8] = templates.log.create();
+        items[9] = templates.setHome.create();
+        items[15] = templates.setWarpAllowed.create();
+        items[17] = templates.restart.create();
+        return items;
+    }
+
+    @Benchmark
+    public MenuTemplates renderTemplates() {
+        return new MenuTemplates(config, permissionMenuItems);
+    }
+}
@@ -0,0 +1,77 @@
+package us.talabrek.ultimateskyblock.util;
+
+import dk.lockfuglsang.minecraft.po.I18nUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import us.talabrek.ultimateskyblock.benchmark.Fixtures;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static dk.lockfuglsang.minecraft.po.I18nUtil.marktr;
+
+/**
+ * Translating and formatting messages with {@link I18nUtil}, compared to formatting the untranslated pattern
+ * with a new {@link MessageFormat} per call, as was done before the formats were cached.
+ * <p>
+ * The translations are read from the <code>i18n.zip</code> bundled with uSkyBlock-Core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class I18nBenchmark {
+    private static final String PLAIN = marktr("\u00a7cWither Despawned!\u00a7e It wandered too far from your island.");
+    private static final String WITH_ARGS = marktr("\u00a7eYou do not have access (\u00a74{0}\u00a7e)");
+    private static final I18nUtil.Message MESSAGE = I18nUtil.message(WITH_ARGS);
+
+    @Param({"en", "de"})
+    public String language;
+
+    private Locale locale;
+
+    @Setup
+    public void setUp() {
+        locale = I18nUtil.getLocale(language);
+        I18nUtil.setDataFolder(Fixtures.tempDir("i18n").toFile());
+        I18nUtil.setLocale(locale);
+        I18nUtil.getI18n();
+    }
+
+    @TearDown
+    public void tearDown() {
+        I18nUtil.setLocale(null);
+    }
+
+    @Benchmark
+    public String tr() {
+        return I18nUtil.tr(PLAIN);
+    }
+
+    @Benchmark
+    public String trWithArgs() {
+        return I18nUtil.tr(WITH_ARGS, "usb.island.create");
+    }
+
+    @Benchmark
+    public String pre() {
+        return I18nUtil.pre("{0,number,##.#}", 1234.56);
+    }
+
+    @Benchmark
+    public String message() {
+        return MESSAGE.format("usb.island.create");
+    }
+
+    @Benchmark
+    public String messageFormat() {
+        return new MessageFormat(WITH_ARGS, locale).format(new Object[]{"usb.island.create"});
+    }
+}
@@ -0,0 +1,51 @@
+package us.talabrek.ultimateskyblock.util;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import us.talabrek.ultimateskyblock.benchmark.Fixtures;
+import us.talabrek.ultimateskyblock.block.BlockSnapshot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The safe location and chest searches of {@link LocationUtil}, on a snapshot of the island.
+ * <p>
+ * The searches start at the given height above the grass, so higher starts have to scan more of the cube
+ * before reaching the island.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LocationUtilBenchmark {
+    @Param({"1", "8", "14"})
+    public int heightAboveIsland;
+
+    private Location location;
+    private BlockSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        location = new Location(Fixtures.world(Fixtures.skyIsland(42)), 0.5, Fixtures.ISLAND_Y + heightAboveIsland, 0.5);
+        snapshot = LocationUtil.snapshotAround(location);
+    }
+
+    @Benchmark
+    public int[] findNearestSafeSpot() {
+        return LocationUtil.findNearestSafeSpot(snapshot, location);
+    }
+
+    @Benchmark
+    public int[] findNearestChest() {
+        // The same search as LocationUtil.findChestLocation, without taking the snapshot
+        return snapshot.findNearest(location.getBlockX(), location.getBlockY(), location.getBlockZ(), 30,
+            (s, x, y, z) -> s.getType(x, y, z) == Material.CHEST);
+    }
+}
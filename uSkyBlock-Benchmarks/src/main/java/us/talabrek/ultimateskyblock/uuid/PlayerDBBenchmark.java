@@ -0,0 +1,106 @@
+package us.talabrek.ultimateskyblock.uuid;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import us.talabrek.ultimateskyblock.benchmark.Fixtures;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lookups in the {@link FilePlayerDB}, and the tab-completion search of the {@link NameIndex}, compared
+ * to scanning all the names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerDBBenchmark {
+    private static final int LIMIT = 20;
+
+    @Param({"1000", "10000", "100000"})
+    public int players;
+
+    @Param({"a", "Steve"})
+    public String prefix;
+
+    private FilePlayerDB playerDB;
+    private NameIndex nameIndex;
+    private List<String> names;
+    private UUID[] uuids;
+    private Random random;
+
+    @Setup
+    public void setUp() throws Exception {
+        random = new Random(42);
+        YamlConfiguration uuid2name = new YamlConfiguration();
+        names = new ArrayList<>();
+        uuids = new UUID[players];
+        nameIndex = new NameIndex();
+        String[] stems = {"Steve", "Alex", "ace", "builder", "Miner", "notch", "Zed"};
+        for (int i = 0; i < players; i++) {
+            String name = stems[random.nextInt(stems.length)] + i;
+            uuids[i] = new UUID(random.nextLong(), random.nextLong());
+            uuid2name.set(uuids[i] + ".name", name);
+            names.add(name);
+            nameIndex.add(name);
+        }
+        Path dataDir = Fixtures.tempDir("playerdb");
+        uuid2name.save(dataDir.resolve("uuid2name.yml").toFile());
+
+        uSkyBlock plugin = mock(uSkyBlock.class);
+        when(plugin.getDataFolder()).thenReturn(dataDir.toFile());
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+        playerDB = new FilePlayerDB(plugin, Fixtures.immediateScheduler(), Logger.getAnonymousLogger());
+    }
+
+    @Benchmark
+    public UUID getUUIDFromName() {
+        return playerDB.getUUIDFromName(names.get(random.nextInt(players)), false);
+    }
+
+    @Benchmark
+    public String getName() {
+        return playerDB.getName(uuids[random.nextInt(players)]);
+    }
+
+    @Benchmark
+    public Set<String> getNames() {
+        return playerDB.getNames(prefix, LIMIT);
+    }
+
+    @Benchmark
+    public Set<String> nameIndexFind() {
+        return nameIndex.find(prefix, LIMIT);
+    }
+
+    /**
+     * The linear scan the name index replaced.
+     */
+    @Benchmark
+    public Set<String> scan() {
+        String search = prefix.toLowerCase(Locale.ROOT);
+        return names.stream()
+            .filter(name -> name.toLowerCase(Locale.ROOT).startsWith(search))
+            .limit(LIMIT)
+            .collect(Collectors.toSet());
+    }
+}
@@ -1,18 +1,64 @@
 package us.talabrek.ultimateskyblock.api.event;
 
 import com.google.inject.Inject;
-import org.bukkit.Bukkit;
+import com.google.inject.Singleton;
+import dk.lockfuglsang.minecraft.util.TimeUtil;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.api.model.IslandScore;
 import us.talabrek.ultimateskyblock.island.IslandInfo;
 import us.talabrek.ultimateskyblock.player.PlayerInfo;
+import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.Scheduler;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fires the async API events, through one ordered queue, drained by a single async task.
+ * <p>
+ * Events are created when dispatched, and not at all when no listener is registered for them. An event fired with
+ * a key, while an event with the same key is still queued, replaces the queued one, so a burst of score changes for
+ * an island by the same player (i.e. during a level refresh) is dispatched once, with the latest score. The queue is drained
+ * <code>options.advanced.eventCoalesceWindow</code> (default 50ms) after the first event is queued.
+ */
+@Singleton
 public class EventLogic {
+    private final uSkyBlock plugin;
     private final Scheduler scheduler;
+    private final Logger logger;
+    private final Duration coalesceWindow;
+
+    private final Queue<QueuedEvent> queue = new ArrayDeque<>();
+    private final Map<Object, QueuedEvent> queuedByKey = new HashMap<>();
+    private boolean drainScheduled;
+    private int peakQueueDepth;
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong dispatched = new AtomicLong();
 
     @Inject
-    public EventLogic(@NotNull Scheduler scheduler) {
+    public EventLogic(@NotNull uSkyBlock plugin, @NotNull Scheduler scheduler, @NotNull PluginConfig config,
+                      @NotNull Logger logger) {
+        this.plugin = plugin;
         this.scheduler = scheduler;
+        this.logger = logger;
+        Duration window = TimeUtil.stringAsDuration(config.getYamlConfig().getString("options.advanced.eventCoalesceWindow", "50ms"));
+        this.coalesceWindow = window != null ? window : Duration.ZERO;
     }
 
     /**
@@ -25,7 +71,8 @@ public class EventLogic {
     public void fireIslandLeaderChangedEvent(us.talabrek.ultimateskyblock.api.IslandInfo islandInfo,
                                              us.talabrek.ultimateskyblock.api.PlayerInfo originalLeaderInfo,
                                              us.talabrek.ultimateskyblock.api.PlayerInfo newLeaderInfo) {
-        scheduler.async(() -> Bukkit.getPluginManager().callEvent(new IslandLeaderChangedEvent(islandInfo, originalLeaderInfo, newLeaderInfo)));
+        fire(IslandLeaderChangedEvent.getHandlerList(), null,
+            () -> new IslandLeaderChangedEvent(islandInfo, originalLeaderInfo, newLeaderInfo));
     }
 
     /**
@@ -35,7 +82,7 @@ public class EventLogic {
      * @param playerInfo {@link PlayerInfo} for the joined member.
      */
     public void fireMemberJoinedEvent(us.talabrek.ultimateskyblock.island.IslandInfo islandInfo, us.talabrek.ultimateskyblock.player.PlayerInfo playerInfo) {
-        scheduler.async(() -> Bukkit.getPluginManager().callEvent(new MemberJoinedEvent(islandInfo, playerInfo)));
+        fire(MemberJoinedEvent.getHandlerList(), null, () -> new MemberJoinedEvent(islandInfo, playerInfo));
     }
 
     /**
@@ -45,10 +92,158 @@ public class EventLogic {
      * @param member     {@link PlayerInfo} for the left member.
      */
     public void fireMemberLeftEvent(IslandInfo islandInfo, PlayerInfo member) {
-        scheduler.async(() -> Bukkit.getPluginManager().callEvent(new MemberLeftEvent(islandInfo, member)));
+        fire(MemberLeftEvent.getHandlerList(), null, () -> new MemberLeftEvent(islandInfo, member));
+    }
+
+    /**
+     * Fires a new async {@link uSkyBlockScoreChangedEvent}, replacing a queued one for the same island and player.
+     *
+     * @param player     The player who caused the change, or null.
+     * @param islandInfo {@link IslandInfo} for the island that got the new score.
+     * @param score      The new score.
+     */
+    public void fireScoreChangedEvent(@Nullable Player player, @NotNull IslandInfo islandInfo, @NotNull IslandScore score) {
+        Location islandLocation = islandInfo.getIslandLocation();
+        UUID playerId = player != null ? player.getUniqueId() : null;
+        fire(uSkyBlockScoreChangedEvent.getHandlerList(),
+            new CoalesceKey(uSkyBlockScoreChangedEvent.class, new ScoreKey(islandInfo.getName(), playerId)),
+            () -> new uSkyBlockScoreChangedEvent(player, plugin, score, islandLocation));
+    }
+
+    /**
+     * Fires a new async {@link uSkyBlockEvent}, replacing a queued one with the same cause and player.
+     *
+     * @param player The player who caused the change, or null.
+     * @param cause  What changed.
+     */
+    public void fireChangeEvent(@Nullable Player player, @NotNull uSkyBlockEvent.Cause cause) {
+        UUID playerId = player != null ? player.getUniqueId() : null;
+        fire(uSkyBlockEvent.getHandlerList(), new CoalesceKey(uSkyBlockEvent.class, new ChangeKey(cause, playerId)),
+            () -> new uSkyBlockEvent(player, plugin, cause));
+    }
+
+    /**
+     * Fires an already created async event, in order with the other events.
+     *
+     * @param event The event.
+     */
+    public void fireAsyncEvent(@NotNull Event event) {
+        fire(event.getHandlers(), null, () -> event);
+    }
+
+    private void fire(@NotNull HandlerList handlers, @Nullable Object key, @NotNull Supplier<? extends Event> factory) {
+        if (handlers.getRegisteredListeners().length == 0) {
+            skipped.incrementAndGet();
+            return;
+        }
+        queued.incrementAndGet();
+        synchronized (queue) {
+            QueuedEvent existing = key != null ? queuedByKey.get(key) : null;
+            if (existing != null) {
+                existing.factory = factory;
+                coalesced.incrementAndGet();
+                return;
+            }
+            QueuedEvent event = new QueuedEvent(handlers, key, factory);
+            queue.add(event);
+            if (key != null) {
+                queuedByKey.put(key, event);
+            }
+            peakQueueDepth = Math.max(peakQueueDepth, queue.size());
+            if (!drainScheduled) {
+                drainScheduled = true;
+                scheduler.async(this::drain, coalesceWindow);
+            }
+        }
+    }
+
+    /**
+     * Dispatches the queued events in order, including those queued meanwhile.
+     */
+    private void drain() {
+        while (true) {
+            QueuedEvent next;
+            synchronized (queue) {
+                next = queue.poll();
+                if (next == null) {
+                    drainScheduled = false;
+                    return;
+                }
+                if (next.key != null) {
+                    queuedByKey.remove(next.key);
+                }
+            }
+            if (next.handlers.getRegisteredListeners().length == 0) {
+                skipped.incrementAndGet();
+                continue;
+            }
+            try {
+                plugin.getServer().getPluginManager().callEvent(next.factory.get());
+                dispatched.incrementAndGet();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Unable to dispatch event", e);
+            }
+        }
+    }
+
+    public int getQueueDepth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    public int getPeakQueueDepth() {
+        synchronized (queue) {
+            return peakQueueDepth;
+        }
+    }
+
+    public long getQueued() {
+        return queued.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public long getDispatched() {
+        return dispatched.get();
     }
 
     public void shutdown() {
-        // Placeholder for now.
+        // Async events can not be dispatched from the main thread, and the drain task is cancelled with the plugin.
+        synchronized (queue) {
+            if (!queue.isEmpty()) {
+                logger.info("Dropping " + queue.size() + " queued events on shutdown");
+            }
+            queue.clear();
+            queuedByKey.clear();
+            drainScheduled = false;
+        }
+    }
+
+    private record CoalesceKey(@NotNull Class<? extends Event> type, @NotNull Object id) {
+    }
+
+    private record ScoreKey(@NotNull String islandName, @Nullable UUID playerId) {
+    }
+
+    private record ChangeKey(@NotNull uSkyBlockEvent.Cause cause, @Nullable UUID playerId) {
+    }
+
+    private static final class QueuedEvent {
+        private final HandlerList handlers;
+        private final Object key;
+        private Supplier<? extends Event> factory;
+
+        private QueuedEvent(@NotNull HandlerList handlers, @Nullable Object key, @NotNull Supplier<? extends Event> factory) {
+            this.handlers = handlers;
+            this.key = key;
+            this.factory = factory;
+        }
     }
 }
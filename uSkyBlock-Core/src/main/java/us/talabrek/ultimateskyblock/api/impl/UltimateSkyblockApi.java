@@ -4,13 +4,24 @@ import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.api.UltimateSkyblock;
 import us.talabrek.ultimateskyblock.api.plugin.PluginInfo;
 import us.talabrek.ultimateskyblock.api.plugin.UpdateChecker;
+import us.talabrek.ultimateskyblock.api.query.SkyblockQueries;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 
 public class UltimateSkyblockApi implements UltimateSkyblock, PluginInfo {
     private final uSkyBlock plugin;
+    private final SkyblockQueries queries;
 
     public UltimateSkyblockApi(uSkyBlock plugin) {
         this.plugin = plugin;
+        this.queries = new UltimateSkyblockQueries(plugin.getIslandLogic(), plugin.getPlayerLogic(), plugin.getPlayerDB(),
+            runnable -> plugin.getScheduler().async(runnable),
+            runnable -> {
+                if (plugin.getServer().isPrimaryThread()) {
+                    runnable.run();
+                } else {
+                    plugin.getScheduler().sync(runnable);
+                }
+            });
     }
 
     @Override
@@ -18,6 +29,11 @@ public class UltimateSkyblockApi implements UltimateSkyblock, PluginInfo {
         return this;
     }
 
+    @Override
+    public @NotNull SkyblockQueries getQueries() {
+        return queries;
+    }
+
     /* PluginInfo impl */
 
     @Override
@@ -0,0 +1,195 @@
+package us.talabrek.ultimateskyblock.api.impl;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import us.talabrek.ultimateskyblock.api.IslandLevel;
+import us.talabrek.ultimateskyblock.api.IslandRank;
+import us.talabrek.ultimateskyblock.api.query.IslandSnapshot;
+import us.talabrek.ultimateskyblock.api.query.PlayerSnapshot;
+import us.talabrek.ultimateskyblock.api.query.RankSnapshot;
+import us.talabrek.ultimateskyblock.api.query.SkyblockQueries;
+import us.talabrek.ultimateskyblock.island.IslandInfo;
+import us.talabrek.ultimateskyblock.island.IslandLogic;
+import us.talabrek.ultimateskyblock.player.PlayerInfo;
+import us.talabrek.ultimateskyblock.player.PlayerLogic;
+import us.talabrek.ultimateskyblock.util.UUIDUtil;
+import us.talabrek.ultimateskyblock.uuid.PlayerDB;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.requireNonNullElse;
+
+/**
+ * Implements the {@link SkyblockQueries} by loading islands and players on the async executor, which may read them
+ * from disk, and taking the snapshots on the sync executor, as {@link IslandInfo} and {@link PlayerInfo} are only
+ * safe to read on the server thread. Ranks are looked up on the async executor, as they are guarded by a lock, and
+ * completed on the sync executor like the other queries. Unknown islands and players are not loaded, since that would
+ * cache empty ones.
+ */
+public class UltimateSkyblockQueries implements SkyblockQueries {
+    private static final Pattern ISLAND_NAME = Pattern.compile("-?[0-9]+,-?[0-9]+");
+
+    private final IslandLogic islandLogic;
+    private final PlayerLogic playerLogic;
+    private final PlayerDB playerDB;
+    private final Executor asyncExecutor;
+    private final Executor syncExecutor;
+
+    public UltimateSkyblockQueries(@NotNull IslandLogic islandLogic, @NotNull PlayerLogic playerLogic, @NotNull PlayerDB playerDB,
+                                   @NotNull Executor asyncExecutor, @NotNull Executor syncExecutor) {
+        this.islandLogic = islandLogic;
+        this.playerLogic = playerLogic;
+        this.playerDB = playerDB;
+        this.asyncExecutor = asyncExecutor;
+        this.syncExecutor = syncExecutor;
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Optional<IslandSnapshot>> getIsland(@NotNull String islandName) {
+        return CompletableFuture.supplyAsync(() -> loadIsland(islandName), asyncExecutor)
+            .thenApplyAsync(islandInfo -> Optional.ofNullable(islandInfo).map(this::snapshot), syncExecutor);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Map<String, IslandSnapshot>> getIslands(@NotNull Collection<String> islandNames) {
+        List<String> names = List.copyOf(islandNames);
+        return CompletableFuture.supplyAsync(() -> {
+            List<IslandInfo> islands = new ArrayList<>(names.size());
+            for (String islandName : names) {
+                IslandInfo islandInfo = loadIsland(islandName);
+                if (islandInfo != null) {
+                    islands.add(islandInfo);
+                }
+            }
+            return islands;
+        }, asyncExecutor).thenApplyAsync(islands -> {
+            Map<String, IslandSnapshot> snapshots = new LinkedHashMap<>();
+            for (IslandInfo islandInfo : islands) {
+                snapshots.put(islandInfo.getName(), snapshot(islandInfo));
+            }
+            return snapshots;
+        }, syncExecutor);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Optional<IslandSnapshot>> getPlayerIsland(@NotNull UUID playerId) {
+        return CompletableFuture.supplyAsync(() -> islandLogic.getIslandInfo(loadPlayer(playerId)), asyncExecutor)
+            .thenApplyAsync(islandInfo -> Optional.ofNullable(islandInfo).map(this::snapshot), syncExecutor);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Optional<PlayerSnapshot>> getPlayer(@NotNull UUID playerId) {
+        return CompletableFuture.supplyAsync(() -> loadPlayer(playerId), asyncExecutor)
+            .thenApplyAsync(playerInfo -> Optional.ofNullable(playerInfo).map(this::snapshot), syncExecutor);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Double> getIslandLevel(@NotNull UUID playerId) {
+        return getPlayerIsland(playerId).thenApply(island -> island.map(IslandSnapshot::level).orElse(0d));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Optional<RankSnapshot>> getRank(@NotNull String islandName) {
+        return CompletableFuture.supplyAsync(() -> Optional.ofNullable(islandLogic.getRank(islandName)).map(this::snapshot), asyncExecutor)
+            .thenApplyAsync(rank -> rank, syncExecutor);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Optional<RankSnapshot>> getPlayerRank(@NotNull UUID playerId) {
+        return CompletableFuture.supplyAsync(() -> loadPlayer(playerId), asyncExecutor)
+            .thenApplyAsync(playerInfo -> playerInfo != null && playerInfo.getHasIsland()
+                ? playerInfo.locationForParty() : null, syncExecutor)
+            .thenApplyAsync(islandName -> islandName != null
+                ? Optional.ofNullable(islandLogic.getRank(islandName)).map(this::snapshot)
+                : Optional.<RankSnapshot>empty(), asyncExecutor)
+            .thenApplyAsync(rank -> rank, syncExecutor);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<List<RankSnapshot>> getRanks(int offset, int length) {
+        int from = Math.max(offset, 0);
+        // Keeps from + count from overflowing
+        int count = Math.min(Math.max(length, 0), Integer.MAX_VALUE - from);
+        return CompletableFuture.supplyAsync(() -> {
+            if (count == 0) {
+                return List.<RankSnapshot>of();
+            }
+            List<IslandLevel> levels = islandLogic.getRanks(from, count);
+            List<RankSnapshot> ranks = new ArrayList<>(levels.size());
+            for (IslandLevel level : levels) {
+                ranks.add(snapshot(level, from + ranks.size() + 1));
+            }
+            return List.copyOf(ranks);
+        }, asyncExecutor).thenApplyAsync(ranks -> ranks, syncExecutor);
+    }
+
+    /**
+     * Loads the island, if it exists, without caching an empty island for an unknown name.
+     */
+    private @Nullable IslandInfo loadIsland(@NotNull String islandName) {
+        if (!ISLAND_NAME.matcher(islandName).matches()
+            || !Files.exists(islandLogic.getIslandDirectory().resolve(islandName + ".yml"))) {
+            return null;
+        }
+        return islandLogic.getIslandInfo(islandName);
+    }
+
+    /**
+     * Loads the player, if it is known, without caching an empty player for an unknown UUID.
+     */
+    private @Nullable PlayerInfo loadPlayer(@NotNull UUID playerId) {
+        if (PlayerDB.UNKNOWN_PLAYER_UUID.equals(playerId)
+            || (!Files.exists(playerLogic.getPlayerDataDirectory().resolve(UUIDUtil.asString(playerId) + ".yml"))
+            && playerDB.getName(playerId) == null)) {
+            return null;
+        }
+        return playerLogic.getPlayerInfo(playerId);
+    }
+
+    private @NotNull IslandSnapshot snapshot(@NotNull IslandInfo islandInfo) {
+        String leader = islandInfo.getLeader();
+        boolean abandoned = leader == null || leader.isEmpty();
+        return new IslandSnapshot(
+            islandInfo.getName(),
+            abandoned ? null : islandInfo.getLeaderUniqueId(),
+            abandoned ? null : leader,
+            islandInfo.getMemberUUIDs(),
+            islandInfo.getMembers(),
+            islandInfo.getTrusteeUUIDs(),
+            islandInfo.getLevel(),
+            islandInfo.getMaxPartySize(),
+            islandInfo.getBiomeName(),
+            requireNonNullElse(islandInfo.getSchematicName(), ""),
+            islandInfo.isLocked(),
+            islandInfo.hasWarp());
+    }
+
+    private @NotNull PlayerSnapshot snapshot(@NotNull PlayerInfo playerInfo) {
+        return new PlayerSnapshot(
+            playerInfo.getUniqueId(),
+            playerInfo.getPlayerName(),
+            playerInfo.getDisplayName(),
+            playerInfo.getHasIsland() ? playerInfo.locationForParty() : null,
+            playerInfo.getTrustedOn(),
+            playerInfo.getBannedFrom());
+    }
+
+    private @NotNull RankSnapshot snapshot(@NotNull IslandRank rank) {
+        return snapshot(rank, rank.getRank());
+    }
+
+    private @NotNull RankSnapshot snapshot(@NotNull IslandLevel level, int rank) {
+        return new RankSnapshot(level.getIslandName(), level.getLeaderName(),
+            requireNonNullElse(level.getMembers(), List.of()), level.getScore(), rank);
+    }
+}
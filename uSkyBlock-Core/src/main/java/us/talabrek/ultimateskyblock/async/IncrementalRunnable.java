@@ -6,7 +6,6 @@ import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import us.talabrek.ultimateskyblock.PluginConfig;
-import us.talabrek.ultimateskyblock.util.Scheduler;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -31,10 +30,12 @@ import static java.lang.Math.max;
  *         }
  *     }
  * </pre>
+ * Running the runnable hands it to the {@link TickScheduler}, which calls {@link #execute()} once per tick,
+ * within a slice of the budget shared by all running tasks.
  */
 public abstract class IncrementalRunnable extends BukkitRunnable {
 
-    private final Scheduler scheduler;
+    private final TickScheduler tickScheduler;
     private Runnable onCompletion;
 
     /**
@@ -60,9 +61,12 @@ public abstract class IncrementalRunnable extends BukkitRunnable {
      */
     private Timer iterationTimer = null;
 
-    private volatile boolean isCancelled = false;
+    /**
+     * The time the current incremental run may take, the smaller of the slice given and maxIterationTime.
+     */
+    private Duration iterationTime = Duration.ZERO;
 
-    private final AtomicInteger consecutiveRuns = new AtomicInteger(0);
+    private volatile boolean isCancelled = false;
 
     /**
      * Number of iterations in total (calls to tick())
@@ -74,20 +78,20 @@ public abstract class IncrementalRunnable extends BukkitRunnable {
      */
     private final AtomicInteger ticksConsumed = new AtomicInteger(0);
 
-    public IncrementalRunnable(@NotNull Scheduler scheduler, @NotNull PluginConfig config) {
-        this(scheduler, config, null);
+    public IncrementalRunnable(@NotNull TickScheduler tickScheduler, @NotNull PluginConfig config) {
+        this(tickScheduler, config, null);
     }
 
-    public IncrementalRunnable(@NotNull Scheduler scheduler, @NotNull PluginConfig config, @Nullable Runnable onCompletion) {
-        this(scheduler, onCompletion,
+    public IncrementalRunnable(@NotNull TickScheduler tickScheduler, @NotNull PluginConfig config, @Nullable Runnable onCompletion) {
+        this(tickScheduler, onCompletion,
             Duration.ofMillis(config.getYamlConfig().getInt("async.maxMs", 15)),
             config.getYamlConfig().getLong("async.maxConsecutiveTicks", 20),
             TimeUtil.ticksAsDuration(config.getYamlConfig().getLong("async.yieldDelay", 2))
         );
     }
 
-    public IncrementalRunnable(@NotNull Scheduler scheduler, @Nullable Runnable onCompletion, @NotNull Duration maxIterationTime, long maxConsecutiveRuns, @NotNull Duration yieldDelay) {
-        this.scheduler = scheduler;
+    public IncrementalRunnable(@NotNull TickScheduler tickScheduler, @Nullable Runnable onCompletion, @NotNull Duration maxIterationTime, long maxConsecutiveRuns, @NotNull Duration yieldDelay) {
+        this.tickScheduler = tickScheduler;
         this.onCompletion = onCompletion;
         this.maxIterationTime = maxIterationTime;
         this.maxConsecutiveRuns = maxConsecutiveRuns;
@@ -104,7 +108,7 @@ public abstract class IncrementalRunnable extends BukkitRunnable {
     }
 
     protected @NotNull Duration millisLeft() {
-        return maxIterationTime.minus(millisActive());
+        return iterationTime.minus(millisActive());
     }
 
     public boolean stillTime() {
@@ -124,6 +128,13 @@ public abstract class IncrementalRunnable extends BukkitRunnable {
      */
     protected abstract boolean execute();
 
+    /**
+     * The priority of the task, when sharing the tick budget with other tasks.
+     */
+    protected @NotNull TickScheduler.Priority getPriority() {
+        return TickScheduler.Priority.NORMAL;
+    }
+
     /**
      * Returns the number of ms the task has been active.
      *
@@ -155,31 +166,47 @@ public abstract class IncrementalRunnable extends BukkitRunnable {
 
     @Override
     public final void run() {
-        iterationTimer = Timer.start();
         if (lifetimeTimer == null) {
             lifetimeTimer = Timer.start();
             JobManager.addJob(this);
+            tickScheduler.submit(this);
         }
-        int consecutiveRuns = this.consecutiveRuns.incrementAndGet();
+    }
+
+    /**
+     * Executes the task for at most the given slice of the tick budget.
+     *
+     * @return <code>true</code> if the task is done or cancelled, <code>false</code> otherwise.
+     */
+    boolean runSlice(@NotNull Duration slice) {
+        iterationTimer = Timer.start();
+        iterationTime = slice.compareTo(maxIterationTime) < 0 ? slice : maxIterationTime;
         try {
             if (!execute() && !isCancelled) {
-                scheduler.sync(this, consecutiveRuns < maxConsecutiveRuns ? Duration.ZERO : yieldDelay);
-            } else {
-                if (onCompletion != null && !isCancelled) {
-                    scheduler.sync(onCompletion);
-                }
-                complete();
+                return false;
+            }
+            if (onCompletion != null && !isCancelled) {
+                tickScheduler.getScheduler().sync(onCompletion);
             }
+            complete();
+            return true;
         } finally {
-            processingTimeUsed = processingTimeUsed.plus(iterationTimer.elapsed());
+            Duration elapsed = iterationTimer.elapsed();
+            processingTimeUsed = processingTimeUsed.plus(elapsed);
+            JobManager.recordMainThread(this, elapsed);
             iterationTimer = null;
-            if (consecutiveRuns > maxConsecutiveRuns) {
-                this.consecutiveRuns.set(0);
-            }
             ticksConsumed.incrementAndGet();
         }
     }
 
+    long getMaxConsecutiveRuns() {
+        return maxConsecutiveRuns;
+    }
+
+    @NotNull Duration getYieldDelay() {
+        return yieldDelay;
+    }
+
     protected void setOnCompletion(Runnable onCompletion) {
         this.onCompletion = onCompletion;
     }
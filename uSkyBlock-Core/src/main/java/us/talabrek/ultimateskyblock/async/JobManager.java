@@ -1,5 +1,7 @@
 package us.talabrek.ultimateskyblock.async;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
@@ -10,25 +12,50 @@ import static java.lang.Math.max;
 
 /**
  * Responsible for holding ongoing jobs, and recording status.
+ * <p>
+ * Per job, the time spent on the main thread (each tick an {@link IncrementalRunnable} runs) and the time spent
+ * asynchronously (each run of an async job) are recorded in separate {@link LatencyHistogram}s, along with the
+ * number of running jobs and the number of jobs rejected, because one was already running.
  */
 public enum JobManager {
     ;
     private static final ConcurrentMap<String, Stats> jobStats = new ConcurrentHashMap<>();
 
+    private static @NotNull Stats stats(@NotNull String jobName) {
+        return jobStats.computeIfAbsent(jobName, k -> new Stats());
+    }
+
+    private static @NotNull String jobName(@NotNull IncrementalRunnable runnable) {
+        return runnable.getClass().getSimpleName();
+    }
+
     public static void addJob(IncrementalRunnable runnable) {
-        String jobName = runnable.getClass().getSimpleName();
-        if (!jobStats.containsKey(jobName)) {
-            jobStats.put(jobName, new Stats());
-        }
-        jobStats.get(jobName).add(runnable);
+        stats(jobName(runnable)).add(runnable);
     }
 
     public static void completeJob(IncrementalRunnable runnable) {
-        String jobName = runnable.getClass().getSimpleName();
-        if (!jobStats.containsKey(jobName)) {
-            jobStats.put(jobName, new Stats());
-        }
-        jobStats.get(jobName).complete(runnable);
+        stats(jobName(runnable)).complete(runnable);
+    }
+
+    /**
+     * Records one run of the job on the main thread.
+     */
+    public static void recordMainThread(IncrementalRunnable runnable, @NotNull Duration duration) {
+        stats(jobName(runnable)).mainThread.record(duration);
+    }
+
+    /**
+     * Records a complete run of an async job.
+     */
+    public static void recordAsync(@NotNull String jobName, @NotNull Duration duration) {
+        stats(jobName).completeAsync(duration);
+    }
+
+    /**
+     * Records that the job was not started, since one was already running.
+     */
+    public static void reject(@NotNull String jobName) {
+        stats(jobName).reject();
     }
 
     public static Map<String, Stats> getStats() {
@@ -38,9 +65,13 @@ public enum JobManager {
     public static class Stats {
         private int jobs;
         private int jobsRunning;
+        private int peakJobsRunning;
+        private long rejections;
         private long ticks;
-        private Duration timeActive;
-        private Duration timeElapsed;
+        private Duration timeActive = Duration.ZERO;
+        private Duration timeElapsed = Duration.ZERO;
+        private final LatencyHistogram mainThread = new LatencyHistogram();
+        private final LatencyHistogram async = new LatencyHistogram();
 
         public Stats() {
         }
@@ -48,6 +79,7 @@ public enum JobManager {
         public synchronized void add(IncrementalRunnable runnable) {
             jobsRunning++;
             jobs++;
+            peakJobsRunning = max(peakJobsRunning, jobsRunning);
         }
 
         public synchronized void complete(IncrementalRunnable runnable) {
@@ -57,36 +89,69 @@ public enum JobManager {
             timeElapsed = timeElapsed.plus(runnable.getTimeElapsed());
         }
 
-        public int getJobs() {
+        synchronized void completeAsync(@NotNull Duration duration) {
+            jobs++;
+            timeActive = timeActive.plus(duration);
+            timeElapsed = timeElapsed.plus(duration);
+            async.record(duration);
+        }
+
+        synchronized void reject() {
+            rejections++;
+        }
+
+        public synchronized int getJobs() {
             return jobs;
         }
 
-        public long getTicks() {
+        public synchronized long getTicks() {
             return ticks;
         }
 
-        public Duration getTimeActive() {
+        public synchronized Duration getTimeActive() {
             return timeActive;
         }
 
-        public Duration getTimeElapsed() {
+        public synchronized Duration getTimeElapsed() {
             return timeElapsed;
         }
 
-        public Duration getAvgRunningTimePerTick() {
+        public synchronized Duration getAvgRunningTimePerTick() {
             return timeActive.dividedBy(max(1, ticks));
         }
 
-        public Duration getAvgRunningTimePerJob() {
+        public synchronized Duration getAvgRunningTimePerJob() {
             return timeActive.dividedBy(max(1, jobs));
         }
 
-        public Duration getAvgTimeElapsedPerJob() {
+        public synchronized Duration getAvgTimeElapsedPerJob() {
             return timeElapsed.dividedBy(max(1, jobs));
         }
 
-        public int getRunningJobs() {
+        public synchronized int getRunningJobs() {
             return jobsRunning;
         }
+
+        public synchronized int getPeakRunningJobs() {
+            return peakJobsRunning;
+        }
+
+        public synchronized long getRejections() {
+            return rejections;
+        }
+
+        /**
+         * The time of each run on the main thread.
+         */
+        public LatencyHistogram getMainThread() {
+            return mainThread;
+        }
+
+        /**
+         * The time of each run of an async job.
+         */
+        public LatencyHistogram getAsync() {
+            return async;
+        }
     }
 }
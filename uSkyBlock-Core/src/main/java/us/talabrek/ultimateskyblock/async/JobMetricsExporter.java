@@ -0,0 +1,161 @@
+package us.talabrek.ultimateskyblock.async;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import dk.lockfuglsang.minecraft.util.TimeUtil;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Periodically writes the {@link JobManager} statistics to <code>metrics/jobs.prom</code>, in the Prometheus
+ * text format, for offline analysis (or a node-exporter textfile collector).
+ * <p>
+ * The file is written every <code>async.metrics.exportEvery</code> (default 5m, 0 to disable), and on shutdown.
+ * Rejections are counted for the jobs that refuse to start while one is running, i.e. purge and protect-all.
+ */
+@Singleton
+public class JobMetricsExporter {
+    private static final String FILE_NAME = "jobs.prom";
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private final Scheduler scheduler;
+    private final Logger logger;
+    private final Path metricsFile;
+    private final Duration exportEvery;
+
+    private BukkitTask exportTask;
+
+    @Inject
+    public JobMetricsExporter(
+        @NotNull Scheduler scheduler,
+        @NotNull PluginConfig config,
+        @NotNull Logger logger,
+        @NotNull @PluginDataDir Path dataDir
+    ) {
+        this.scheduler = scheduler;
+        this.logger = logger;
+        this.metricsFile = dataDir.resolve("metrics").resolve(FILE_NAME);
+        Duration every = TimeUtil.stringAsDuration(config.getYamlConfig().getString("async.metrics.exportEvery", "5m"));
+        this.exportEvery = every != null ? every : Duration.ZERO;
+    }
+
+    public void startup() {
+        if (exportEvery.isPositive()) {
+            exportTask = scheduler.async(this::export, exportEvery, exportEvery);
+        }
+    }
+
+    public void shutdown() {
+        if (exportTask != null) {
+            exportTask.cancel();
+            exportTask = null;
+            export();
+        }
+    }
+
+    /**
+     * Writes the current statistics to the metrics file. Synchronized, since the periodic export and the
+     * <code>/usb jobs export</code> command share the temporary file.
+     *
+     * @return The file written, or null if it could not be written.
+     */
+    public synchronized Path export() {
+        try {
+            Files.createDirectories(metricsFile.getParent());
+            Path tmpFile = metricsFile.resolveSibling(FILE_NAME + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                write(writer, JobManager.getStats());
+            }
+            Files.move(tmpFile, metricsFile, StandardCopyOption.REPLACE_EXISTING);
+            return metricsFile;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to write job metrics to " + metricsFile, e);
+            return null;
+        }
+    }
+
+    static void write(@NotNull Writer writer, @NotNull Map<String, JobManager.Stats> stats) throws IOException {
+        List<String> jobs = new ArrayList<>(stats.keySet());
+        Collections.sort(jobs);
+
+        header(writer, "usb_job_runs_total", "counter", "Jobs started, or async jobs run.");
+        for (String job : jobs) {
+            sample(writer, "usb_job_runs_total", labels(job, null, null), stats.get(job).getJobs());
+        }
+        header(writer, "usb_job_running", "gauge", "Jobs currently running or waiting for their turn.");
+        for (String job : jobs) {
+            sample(writer, "usb_job_running", labels(job, null, null), stats.get(job).getRunningJobs());
+        }
+        header(writer, "usb_job_running_peak", "gauge", "The most jobs running or waiting at once.");
+        for (String job : jobs) {
+            sample(writer, "usb_job_running_peak", labels(job, null, null), stats.get(job).getPeakRunningJobs());
+        }
+        header(writer, "usb_job_rejections_total", "counter", "Jobs not started, since one was already running.");
+        for (String job : jobs) {
+            sample(writer, "usb_job_rejections_total", labels(job, null, null), stats.get(job).getRejections());
+        }
+        header(writer, "usb_job_seconds", "summary", "Time of each run, on the main thread or async.");
+        for (String job : jobs) {
+            JobManager.Stats stat = stats.get(job);
+            summary(writer, job, "main", stat.getMainThread());
+            summary(writer, job, "async", stat.getAsync());
+        }
+    }
+
+    private static void summary(@NotNull Writer writer, @NotNull String job, @NotNull String thread, @NotNull LatencyHistogram histogram) throws IOException {
+        if (histogram.getCount() == 0) {
+            return;
+        }
+        for (double quantile : QUANTILES) {
+            sample(writer, "usb_job_seconds", labels(job, thread, Double.toString(quantile)), seconds(histogram.getPercentile(quantile)));
+        }
+        sample(writer, "usb_job_seconds_sum", labels(job, thread, null), seconds(histogram.getTotal()));
+        sample(writer, "usb_job_seconds_count", labels(job, thread, null), histogram.getCount());
+    }
+
+    private static void header(@NotNull Writer writer, @NotNull String name, @NotNull String type, @NotNull String help) throws IOException {
+        writer.write("# HELP " + name + " " + help + "\n");
+        writer.write("# TYPE " + name + " " + type + "\n");
+    }
+
+    private static void sample(@NotNull Writer writer, @NotNull String name, @NotNull String labels, @NotNull Object value) throws IOException {
+        writer.write(name + labels + " " + value + "\n");
+    }
+
+    private static @NotNull String labels(@NotNull String job, String thread, String quantile) {
+        StringBuilder sb = new StringBuilder("{job=\"").append(escape(job)).append('"');
+        if (thread != null) {
+            sb.append(",thread=\"").append(thread).append('"');
+        }
+        if (quantile != null) {
+            sb.append(",quantile=\"").append(quantile).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static @NotNull String escape(@NotNull String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static double seconds(@NotNull Duration duration) {
+        return duration.toNanos() / 1e9;
+    }
+}
@@ -0,0 +1,89 @@
+package us.talabrek.ultimateskyblock.async;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of durations, in microseconds, with log-linear buckets in the style of HdrHistogram.
+ * <p>
+ * Each power of two is split into {@link #SUB_BUCKETS} linear buckets, so a recorded value is off by at most
+ * 1/8th (12.5%) when read back as a percentile, from a microsecond up to about 12 days.
+ * Recording is lock-free, and safe from any thread.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(bucketIndex(MAX_VALUE) + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * The highest value that falls in the bucket.
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+
+    public void record(@NotNull Duration duration) {
+        long micros = Math.min(Math.max(duration.toNanos() / 1000, 0), MAX_VALUE);
+        counts.incrementAndGet(bucketIndex(micros));
+        count.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public @NotNull Duration getTotal() {
+        return Duration.ofNanos(totalMicros.get() * 1000);
+    }
+
+    public @NotNull Duration getMax() {
+        return Duration.ofNanos(maxMicros.get() * 1000);
+    }
+
+    /**
+     * Returns the duration that the given fraction of the recorded durations are at or below.
+     *
+     * @param fraction The fraction, between 0 and 1, i.e. 0.99 for the 99th percentile.
+     */
+    public @NotNull Duration getPercentile(double fraction) {
+        long total = count.get();
+        if (total == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Duration.ofNanos(Math.min(bucketUpperBound(i), maxMicros.get()) * 1000);
+            }
+        }
+        return getMax();
+    }
+}
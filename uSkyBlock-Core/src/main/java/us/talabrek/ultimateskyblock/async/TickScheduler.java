@@ -0,0 +1,205 @@
+package us.talabrek.ultimateskyblock.async;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static dk.lockfuglsang.minecraft.util.TimeUtil.durationAsTicks;
+
+/**
+ * Runs {@link IncrementalRunnable}s on the main thread, within one time budget per server tick shared by all of them.
+ * <p>
+ * Each tick, the budget is split between the runnables by the weight of their {@link Priority}, so player facing
+ * work gets a larger share than background jobs, and the runnables that ran longest ago go first. A runnable that
+ * has been ready for a second without getting any of the budget (i.e. as higher priority work overran its slices)
+ * goes before the higher priority work, so it is never starved.
+ * The budget (<code>async.tickBudgetMs</code>) shrinks when the server falls behind 20 ticks per second, as measured
+ * between the ticks of the scheduler, down to <code>async.minTickBudgetMs</code>.
+ * <p>
+ * Only used from the main thread.
+ */
+@Singleton
+public class TickScheduler {
+    private static final long TICK_NANOS = 50_000_000L;
+    private static final Duration ONE_TICK = Duration.ofMillis(50);
+    // Number of ticks a ready runnable may wait, before it goes first
+    private static final long STARVATION_TICKS = 20;
+
+    public enum Priority {
+        /**
+         * Work a player is waiting for, like creating an island or changing a biome.
+         */
+        PLAYER(4),
+        /**
+         * Background work, like snapshotting chunks for the island level.
+         */
+        NORMAL(2);
+
+        private final int weight;
+
+        Priority(int weight) {
+            this.weight = weight;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+    }
+
+    private static final class Unit {
+        private final IncrementalRunnable runnable;
+        private final Priority priority;
+        private long lastRunTick = -1;
+        private long resumeTick;
+        private int consecutiveRuns;
+
+        private Unit(@NotNull IncrementalRunnable runnable) {
+            this.runnable = runnable;
+            this.priority = runnable.getPriority();
+        }
+    }
+
+    private static final Comparator<Unit> RUN_ORDER = Comparator
+        .comparing((Unit unit) -> unit.priority)
+        .thenComparingLong(unit -> unit.lastRunTick);
+
+    private final Scheduler scheduler;
+    private final Logger logger;
+    private final long maxBudgetNanos;
+    private final long minBudgetNanos;
+    private final List<Unit> units = new ArrayList<>();
+    private BukkitTask tickTask;
+
+    private long tick;
+    private long lastTickNanos;
+    private double avgTickNanos = TICK_NANOS;
+    private long lastBudgetNanos;
+    private long lastUsedNanos;
+
+    @Inject
+    public TickScheduler(@NotNull Scheduler scheduler, @NotNull PluginConfig config, @NotNull Logger logger) {
+        this.scheduler = scheduler;
+        this.logger = logger;
+        this.maxBudgetNanos = Duration.ofMillis(config.getYamlConfig().getInt("async.tickBudgetMs", 15)).toNanos();
+        this.minBudgetNanos = Math.min(maxBudgetNanos,
+            Duration.ofMillis(config.getYamlConfig().getInt("async.minTickBudgetMs", 2)).toNanos());
+    }
+
+    public @NotNull Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Adds the runnable to the runnables sharing the budget, from the next tick on.
+     */
+    public void submit(@NotNull IncrementalRunnable runnable) {
+        Unit unit = new Unit(runnable);
+        unit.resumeTick = tick + 1;
+        units.add(unit);
+        if (tickTask == null) {
+            lastTickNanos = 0;
+            tickTask = scheduler.sync(this::tick, ONE_TICK, ONE_TICK);
+        }
+    }
+
+    void tick() {
+        long now = System.nanoTime();
+        if (lastTickNanos != 0) {
+            avgTickNanos = avgTickNanos * 0.9 + (now - lastTickNanos) * 0.1;
+        }
+        lastTickNanos = now;
+        tick++;
+
+        List<Unit> ready = new ArrayList<>();
+        int totalWeight = 0;
+        for (Unit unit : units) {
+            if (unit.resumeTick <= tick) {
+                ready.add(unit);
+                totalWeight += unit.priority.getWeight();
+            }
+        }
+        ready.sort(Comparator.comparing((Unit unit) -> !isStarved(unit)).thenComparing(RUN_ORDER));
+
+        long budget = getBudgetNanos();
+        long remaining = budget;
+        for (Unit unit : ready) {
+            if (remaining <= 0) {
+                break;
+            }
+            long slice = remaining * unit.priority.getWeight() / totalWeight;
+            totalWeight -= unit.priority.getWeight();
+            long start = System.nanoTime();
+            runSlice(unit, Duration.ofNanos(slice));
+            remaining -= System.nanoTime() - start;
+        }
+        lastBudgetNanos = budget;
+        lastUsedNanos = budget - remaining;
+
+        if (units.isEmpty() && tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+    }
+
+    private boolean isStarved(@NotNull Unit unit) {
+        // A runnable is ready from its resume tick, until it runs
+        return tick - unit.resumeTick >= STARVATION_TICKS;
+    }
+
+    private void runSlice(@NotNull Unit unit, @NotNull Duration slice) {
+        unit.lastRunTick = tick;
+        unit.consecutiveRuns++;
+        boolean done;
+        try {
+            done = unit.runnable.runSlice(slice);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Unable to run " + unit.runnable.getClass().getSimpleName() + ", dropping it", e);
+            done = true;
+        }
+        if (done) {
+            units.remove(unit);
+        } else if (unit.consecutiveRuns >= unit.runnable.getMaxConsecutiveRuns()) {
+            // Let the server breathe, as the runnable would have on its own
+            unit.consecutiveRuns = 0;
+            unit.resumeTick = tick + Math.max(durationAsTicks(unit.runnable.getYieldDelay()), 1);
+        } else {
+            unit.resumeTick = tick + 1;
+        }
+    }
+
+    /**
+     * The budget for this tick, scaled down by how far the server is behind 20 ticks per second.
+     */
+    long getBudgetNanos() {
+        if (avgTickNanos <= TICK_NANOS) {
+            return maxBudgetNanos;
+        }
+        return Math.max(minBudgetNanos, (long) (maxBudgetNanos * TICK_NANOS / avgTickNanos));
+    }
+
+    public int getRunningCount() {
+        return units.size();
+    }
+
+    public @NotNull Duration getLastBudget() {
+        return Duration.ofNanos(lastBudgetNanos);
+    }
+
+    public @NotNull Duration getLastUsed() {
+        return Duration.ofNanos(lastUsedNanos);
+    }
+
+    public double getTicksPerSecond() {
+        return Math.min(20d, 1_000_000_000d / avgTickNanos);
+    }
+}
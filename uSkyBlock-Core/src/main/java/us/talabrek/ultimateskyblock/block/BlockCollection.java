@@ -5,22 +5,28 @@ import dk.lockfuglsang.minecraft.util.ItemStackUtil;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
 
+/**
+ * Primitive histogram of block types, indexed by {@link Material#ordinal()}.
+ */
 public class BlockCollection {
-    Map<Material, Integer> blockCount;
+    private static final int MATERIAL_COUNT = Material.values().length;
+
+    private final int[] blockCount;
 
     public BlockCollection() {
-        this.blockCount = new HashMap<>();
+        this.blockCount = new int[MATERIAL_COUNT];
     }
 
     public void add(Block block) {
-        int currentValue = blockCount.getOrDefault(block.getType(), 0);
-        blockCount.put(block.getType(), currentValue + 1);
+        add(block.getType());
+    }
+
+    public void add(Material type) {
+        blockCount[type.ordinal()]++;
     }
 
     /**
@@ -40,7 +46,7 @@ public class BlockCollection {
         return tr("\u00a7eStill the following blocks short: {0}", sb.toString());
     }
 
-    private int count(Material type) {
-        return blockCount.getOrDefault(type, 0);
+    public int count(Material type) {
+        return blockCount[type.ordinal()];
     }
 }
@@ -0,0 +1,140 @@
+package us.talabrek.ultimateskyblock.block;
+
+import io.papermc.lib.PaperLib;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Snapshot of the chunks covering a cube of blocks, which can be counted or searched off the main thread.
+ * <p>
+ * The snapshot must be taken on the main thread, but {@link #count()} and {@link #findNearest} only read
+ * the immutable {@link ChunkSnapshot}s, and work on primitive coordinates.
+ */
+public class BlockSnapshot {
+    /**
+     * A test of the block at the given coordinates, within a snapshot.
+     */
+    @FunctionalInterface
+    public interface BlockMatcher {
+        boolean matches(@NotNull BlockSnapshot snapshot, int x, int y, int z);
+    }
+
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+    private final int minChunkX, minChunkZ;
+    private final ChunkSnapshot[][] chunks;
+
+    @FunctionalInterface
+    private interface ChunkSource {
+        @NotNull Chunk getChunkAt(int cx, int cz);
+    }
+
+    private BlockSnapshot(World world, ChunkSource chunkSource, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        this.minX = minX;
+        this.minY = Math.max(minY, world.getMinHeight());
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = Math.min(maxY, world.getMaxHeight() - 1);
+        this.maxZ = maxZ;
+        this.minChunkX = minX >> 4;
+        this.minChunkZ = minZ >> 4;
+        chunks = new ChunkSnapshot[(maxX >> 4) - minChunkX + 1][(maxZ >> 4) - minChunkZ + 1];
+        for (int cx = 0; cx < chunks.length; cx++) {
+            for (int cz = 0; cz < chunks[cx].length; cz++) {
+                chunks[cx][cz] = chunkSource.getChunkAt(minChunkX + cx, minChunkZ + cz).getChunkSnapshot(false, false, false);
+            }
+        }
+    }
+
+    /**
+     * Snapshots the cube of the given radius around the location. Must be called on the main thread.
+     */
+    public static @NotNull BlockSnapshot around(@NotNull Location location, int radius) {
+        int px = location.getBlockX();
+        int py = location.getBlockY();
+        int pz = location.getBlockZ();
+        return of(location.getWorld(), px - radius, py - radius, pz - radius, px + radius, py + radius, pz + radius);
+    }
+
+    /**
+     * Snapshots the blocks between the given corners (inclusive), loading only the chunks they cross.
+     * Must be called on the main thread.
+     */
+    public static @NotNull BlockSnapshot of(@NotNull World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        return new BlockSnapshot(world, world::getChunkAt, minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Same as {@link #of}, but loads the chunks asynchronously where the server supports it.
+     * Must be called on the main thread, and the future completes on the main thread.
+     */
+    public static @NotNull CompletableFuture<BlockSnapshot> ofAsync(@NotNull World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        int minChunkX = minX >> 4;
+        int minChunkZ = minZ >> 4;
+        int sizeZ = (maxZ >> 4) - minChunkZ + 1;
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Chunk>[] futures = new CompletableFuture[((maxX >> 4) - minChunkX + 1) * sizeZ];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = PaperLib.getChunkAtAsync(world, minChunkX + i / sizeZ, minChunkZ + i % sizeZ);
+        }
+        return CompletableFuture.allOf(futures).thenApply(ignored -> new BlockSnapshot(world,
+            (cx, cz) -> futures[(cx - minChunkX) * sizeZ + (cz - minChunkZ)].join(),
+            minX, minY, minZ, maxX, maxY, maxZ));
+    }
+
+    /**
+     * Counts the blocks in the snapshot. Safe to call from any thread.
+     */
+    public @NotNull BlockCollection count() {
+        BlockCollection blockCollection = new BlockCollection();
+        for (int x = minX; x <= maxX; x++) {
+            ChunkSnapshot[] column = chunks[(x >> 4) - minChunkX];
+            for (int z = minZ; z <= maxZ; z++) {
+                ChunkSnapshot chunk = column[(z >> 4) - minChunkZ];
+                for (int y = minY; y <= maxY; y++) {
+                    blockCollection.add(chunk.getBlockType(x & 15, y, z & 15));
+                }
+            }
+        }
+        return blockCollection;
+    }
+
+    /**
+     * Returns the type of the block, or null if the block is outside the snapshot. Safe to call from any thread.
+     */
+    public @Nullable Material getType(int x, int y, int z) {
+        if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) {
+            return null;
+        }
+        return chunks[(x >> 4) - minChunkX][(z >> 4) - minChunkZ].getBlockType(x & 15, y, z & 15);
+    }
+
+    /**
+     * Finds the matching block nearest to the given center, scanning a cube of the given size from the center
+     * and out, one layer at a time. Safe to call from any thread.
+     *
+     * @return The coordinates <code>{x, y, z}</code> of the block, or null if no block matched.
+     */
+    public @Nullable int[] findNearest(int px, int py, int pz, int size, @NotNull BlockMatcher matcher) {
+        for (int dy = 1; dy <= size; dy++) {
+            int y = py + (dy % 2 == 0 ? dy / 2 : -dy / 2);
+            for (int dx = 1; dx <= size; dx++) {
+                int x = px + (dx % 2 == 0 ? dx / 2 : -dx / 2);
+                for (int dz = 1; dz <= size; dz++) {
+                    int z = pz + (dz % 2 == 0 ? dz / 2 : -dz / 2);
+                    if (matcher.matches(this, x, y, z)) {
+                        return new int[]{x, y, z};
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -3,24 +3,30 @@ package us.talabrek.ultimateskyblock.bootstrap;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.PluginManager;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.PluginConfig;
 import us.talabrek.ultimateskyblock.Settings;
 import us.talabrek.ultimateskyblock.chat.ChatEvents;
+import us.talabrek.ultimateskyblock.chat.IslandPlayerIndex;
 import us.talabrek.ultimateskyblock.event.ExploitEvents;
 import us.talabrek.ultimateskyblock.event.GriefEvents;
 import us.talabrek.ultimateskyblock.event.InternalEvents;
 import us.talabrek.ultimateskyblock.event.ItemDropEvents;
+import us.talabrek.ultimateskyblock.event.ListenerTimings;
 import us.talabrek.ultimateskyblock.event.MenuEvents;
 import us.talabrek.ultimateskyblock.event.NetherTerraFormEvents;
 import us.talabrek.ultimateskyblock.event.PlayerEvents;
+import us.talabrek.ultimateskyblock.event.ProtectionContext;
 import us.talabrek.ultimateskyblock.event.SpawnEvents;
 import us.talabrek.ultimateskyblock.event.ToolMenuEvents;
 import us.talabrek.ultimateskyblock.event.WitherTagEvents;
 import us.talabrek.ultimateskyblock.event.WorldGuardEvents;
 import us.talabrek.ultimateskyblock.gui.GuiListener;
+import us.talabrek.ultimateskyblock.player.PerkLogic;
+import us.talabrek.ultimateskyblock.player.SafeLocationLogic;
 import us.talabrek.ultimateskyblock.signs.SignEvents;
 import us.talabrek.ultimateskyblock.command.InviteHandler;
 import us.talabrek.ultimateskyblock.uuid.PlayerDB;
@@ -29,6 +35,7 @@ import us.talabrek.ultimateskyblock.uuid.PlayerDB;
 public class Listeners {
 
     private final PluginConfig config;
+    private final ListenerTimings listenerTimings;
 
     private final GuiListener guiListener;
     private final InternalEvents internalEvents;
@@ -44,12 +51,17 @@ public class Listeners {
     private final ToolMenuEvents toolMenuEvents;
     private final SignEvents signEvents;
     private final ChatEvents chatEvents;
+    private final IslandPlayerIndex islandPlayerIndex;
     private final InviteHandler inviteHandler;
     private final PlayerDB playerDB;
+    private final PerkLogic perkLogic;
+    private final SafeLocationLogic safeLocationLogic;
+    private final ProtectionContext protectionContext;
 
     @Inject
     public Listeners(
         @NotNull PluginConfig config,
+        @NotNull ListenerTimings listenerTimings,
         @NotNull GuiListener guiListener,
         @NotNull InternalEvents internalEvents,
         @NotNull PlayerEvents playerEvents,
@@ -64,10 +76,15 @@ public class Listeners {
         @NotNull ToolMenuEvents toolMenuEvents,
         @NotNull SignEvents signEvents,
         @NotNull ChatEvents chatEvents,
+        @NotNull IslandPlayerIndex islandPlayerIndex,
         @NotNull InviteHandler inviteHandler,
-        @NotNull PlayerDB playerDB
+        @NotNull PlayerDB playerDB,
+        @NotNull PerkLogic perkLogic,
+        @NotNull SafeLocationLogic safeLocationLogic,
+        @NotNull ProtectionContext protectionContext
     ) {
         this.config = config;
+        this.listenerTimings = listenerTimings;
         this.guiListener = guiListener;
         this.internalEvents = internalEvents;
         this.playerEvents = playerEvents;
@@ -82,47 +99,59 @@ public class Listeners {
         this.toolMenuEvents = toolMenuEvents;
         this.signEvents = signEvents;
         this.chatEvents = chatEvents;
+        this.islandPlayerIndex = islandPlayerIndex;
         this.inviteHandler = inviteHandler;
         this.playerDB = playerDB;
+        this.perkLogic = perkLogic;
+        this.safeLocationLogic = safeLocationLogic;
+        this.protectionContext = protectionContext;
     }
 
     public void registerListeners(Plugin plugin) {
         PluginManager manager = plugin.getServer().getPluginManager();
 
-        manager.registerEvents(internalEvents, plugin);
-        manager.registerEvents(playerEvents, plugin);
-        manager.registerEvents(menuEvents, plugin);
-        manager.registerEvents(guiListener, plugin);
-        manager.registerEvents(exploitEvents, plugin);
-        manager.registerEvents(witherTagEvents, plugin);
-        manager.registerEvents(chatEvents, plugin);
-        manager.registerEvents(inviteHandler, plugin);
-        manager.registerEvents(playerDB, plugin);
+        register(manager, internalEvents, plugin);
+        register(manager, playerEvents, plugin);
+        register(manager, menuEvents, plugin);
+        register(manager, guiListener, plugin);
+        register(manager, exploitEvents, plugin);
+        register(manager, witherTagEvents, plugin);
+        register(manager, chatEvents, plugin);
+        register(manager, islandPlayerIndex, plugin);
+        register(manager, inviteHandler, plugin);
+        register(manager, playerDB, plugin);
+        register(manager, perkLogic, plugin);
+        register(manager, safeLocationLogic, plugin);
+        register(manager, protectionContext, plugin);
 
         // TODO minoneer 06.02.2025: Move this logic. Either into the appropriate listener, or into submodules if we don't want all features active (e.g., the nether)
         if (config.getYamlConfig().getBoolean("options.protection.enabled", true)) {
-            manager.registerEvents(griefEvents, plugin);
+            register(manager, griefEvents, plugin);
             if (config.getYamlConfig().getBoolean("options.protection.item-drops", true)) {
-                manager.registerEvents(itemDropEvents, plugin);
+                register(manager, itemDropEvents, plugin);
             }
         }
         if (config.getYamlConfig().getBoolean("options.island.spawn-limits.enabled", true)) {
-            manager.registerEvents(spawnEvents, plugin);
+            register(manager, spawnEvents, plugin);
         }
         if (config.getYamlConfig().getBoolean("options.protection.visitors.block-banned-entry", true)) {
-            manager.registerEvents(worldGuardEvents, plugin);
+            register(manager, worldGuardEvents, plugin);
         }
         if (Settings.nether_enabled) {
-            manager.registerEvents(netherTerraFormEvents, plugin);
+            register(manager, netherTerraFormEvents, plugin);
         }
         if (config.getYamlConfig().getBoolean("tool-menu.enabled", true)) {
-            manager.registerEvents(toolMenuEvents, plugin);
+            register(manager, toolMenuEvents, plugin);
         }
         if (config.getYamlConfig().getBoolean("signs.enabled", true)) {
-            manager.registerEvents(signEvents, plugin);
+            register(manager, signEvents, plugin);
         }
     }
 
+    private void register(PluginManager manager, Listener listener, Plugin plugin) {
+        listenerTimings.register(manager, listener, plugin);
+    }
+
     public void unregisterListeners(Plugin plugin) {
         HandlerList.unregisterAll(plugin);
     }
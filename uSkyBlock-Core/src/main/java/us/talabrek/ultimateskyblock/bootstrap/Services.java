@@ -6,14 +6,20 @@ import dk.lockfuglsang.minecraft.animation.AnimationHandler;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.MetricsManager;
 import us.talabrek.ultimateskyblock.api.event.EventLogic;
+import us.talabrek.ultimateskyblock.async.JobMetricsExporter;
 import us.talabrek.ultimateskyblock.challenge.ChallengeLogic;
 import us.talabrek.ultimateskyblock.command.admin.DebugCommand;
+import us.talabrek.ultimateskyblock.event.ListenerTimings;
+import us.talabrek.ultimateskyblock.event.ProtectionContext;
 import us.talabrek.ultimateskyblock.handler.AsyncWorldEditHandler;
+import us.talabrek.ultimateskyblock.handler.CooldownHandler;
 import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
 import us.talabrek.ultimateskyblock.hook.HookManager;
 import us.talabrek.ultimateskyblock.island.IslandLogic;
+import us.talabrek.ultimateskyblock.island.OrphanLogic;
 import us.talabrek.ultimateskyblock.island.level.AutoIslandLevelRefresh;
 import us.talabrek.ultimateskyblock.player.PlayerLogic;
+import us.talabrek.ultimateskyblock.signs.SignLogic;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.uuid.PlayerDB;
 
@@ -25,6 +31,12 @@ public class Services {
     private final EventLogic eventLogic;
     private final PlayerLogic playerLogic;
     private final IslandLogic islandLogic;
+    private final OrphanLogic orphanLogic;
+    private final SignLogic signLogic;
+    private final CooldownHandler cooldownHandler;
+    private final ProtectionContext protectionContext;
+    private final JobMetricsExporter jobMetricsExporter;
+    private final ListenerTimings listenerTimings;
     private final PlayerDB playerDB;
     private final MetricsManager metricsManager;
     private final HookManager hookManager;
@@ -37,6 +49,12 @@ public class Services {
         @NotNull EventLogic eventLogic,
         @NotNull PlayerLogic playerLogic,
         @NotNull IslandLogic islandLogic,
+        @NotNull OrphanLogic orphanLogic,
+        @NotNull SignLogic signLogic,
+        @NotNull CooldownHandler cooldownHandler,
+        @NotNull ProtectionContext protectionContext,
+        @NotNull JobMetricsExporter jobMetricsExporter,
+        @NotNull ListenerTimings listenerTimings,
         @NotNull PlayerDB playerDB,
         @NotNull MetricsManager metricsManager,
         @NotNull HookManager hookManager,
@@ -47,6 +65,12 @@ public class Services {
         this.eventLogic = eventLogic;
         this.playerLogic = playerLogic;
         this.islandLogic = islandLogic;
+        this.orphanLogic = orphanLogic;
+        this.signLogic = signLogic;
+        this.cooldownHandler = cooldownHandler;
+        this.protectionContext = protectionContext;
+        this.jobMetricsExporter = jobMetricsExporter;
+        this.listenerTimings = listenerTimings;
         this.playerDB = playerDB;
         this.metricsManager = metricsManager;
         this.hookManager = hookManager;
@@ -56,6 +80,9 @@ public class Services {
     public void startup() {
         metricsManager.setup();
         autoIslandLevelRefresh.startup();
+        cooldownHandler.startup();
+        protectionContext.startup();
+        jobMetricsExporter.startup();
     }
 
     public void delayedEnable(uSkyBlock plugin) {
@@ -76,6 +103,12 @@ public class Services {
         eventLogic.shutdown();
         playerLogic.shutdown();
         islandLogic.shutdown();
+        orphanLogic.shutdown();
+        signLogic.shutdown();
+        cooldownHandler.shutdown();
+        protectionContext.shutdown();
+        jobMetricsExporter.shutdown();
+        listenerTimings.shutdown();
         playerDB.shutdown();
         AsyncWorldEditHandler.onDisable(plugin);
         DebugCommand.disableLogging(null);
@@ -44,11 +44,13 @@ public class Challenge {
     private final String name;
     private final String description;
     private final String displayName;
+    private final String normalizedDisplayName;
     private final Type type;
     private final List<ItemRequirement> requiredItems;
     private final List<BlockRequirement> requiredBlocks;
     private final List<EntityMatch> requiredEntities;
     private final List<String> requiredChallenges;
+    private final List<ChallengeRequirement> challengeRequirements;
     private final double requiredLevel;
     private final Rank rank;
     private final Duration resetDuration;
@@ -69,11 +71,13 @@ public class Challenge {
                      boolean takeItems, int radius, Reward reward, Reward repeatReward, int repeatLimit) {
         this.name = name;
         this.displayName = displayName;
+        this.normalizedDisplayName = FormatUtil.normalize(displayName);
         this.type = type;
         this.requiredItems = requiredItems;
         this.requiredBlocks = requiredBlocks;
         this.requiredEntities = requiredEntities;
         this.requiredChallenges = requiredChallenges;
+        this.challengeRequirements = ChallengeRequirement.parse(requiredChallenges);
         this.requiredLevel = requiredLevel;
         this.rank = rank;
         this.resetDuration = resetDuration;
@@ -98,7 +102,7 @@ public class Challenge {
     }
 
     public String getDisplayName() {
-        return FormatUtil.normalize(displayName);
+        return normalizedDisplayName;
     }
 
     public Type getType() {
@@ -279,8 +283,15 @@ public class Challenge {
         return repeatLimit;
     }
 
+    List<ChallengeRequirement> getChallengeRequirements() {
+        return challengeRequirements;
+    }
+
     public List<String> getMissingRequirements(PlayerInfo playerInfo) {
-        String missingRequirement = ChallengeFormat.getMissingRequirement(playerInfo, requiredChallenges, uSkyBlock.getInstance().getChallengeLogic());
+        if (challengeRequirements.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String missingRequirement = ChallengeFormat.getMissingChallenges(playerInfo, challengeRequirements, uSkyBlock.getInstance().getChallengeLogic());
         if (missingRequirement != null) {
             return wordWrap(tr("\u00a77Requires {0}", missingRequirement), MAX_LINE);
         }
@@ -11,6 +11,7 @@ public class ChallengeCompletion implements us.talabrek.ultimateskyblock.api.Cha
     private Instant cooldownUntil;
     private int timesCompleted;
     private int timesCompletedInCooldown;
+    private volatile boolean dirty = false;
 
     public ChallengeCompletion(final String name, @Nullable Instant cooldownUntil, final int timesCompleted, final int timesCompletedInCooldown) {
         super();
@@ -56,16 +57,37 @@ public class ChallengeCompletion implements us.talabrek.ultimateskyblock.api.Cha
     public void setCooldownUntil(@Nullable Instant newCooldown) {
         this.cooldownUntil = newCooldown;
         this.timesCompletedInCooldown = 0;
+        this.dirty = true;
     }
 
     public void setTimesCompleted(final int newCompleted) {
         this.timesCompleted = newCompleted;
         this.timesCompletedInCooldown = newCompleted;
+        this.dirty = true;
     }
 
     public void addTimesCompleted() {
         ++this.timesCompleted;
         ++this.timesCompletedInCooldown;
+        this.dirty = true;
+    }
+
+    /**
+     * Whether this completion has changed since it was loaded or last saved.
+     */
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    /**
+     * Whether this completion holds nothing but default values, and can be left out when saving.
+     */
+    boolean isDefault() {
+        return timesCompleted == 0 && timesCompletedInCooldown == 0 && cooldownUntil == null;
     }
 
     public void setName(final String name) {
@@ -3,6 +3,7 @@ package us.talabrek.ultimateskyblock.challenge;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalCause;
 import com.google.common.cache.RemovalListener;
 import dk.lockfuglsang.minecraft.file.FileUtil;
 import org.bukkit.configuration.ConfigurationSection;
@@ -20,10 +21,16 @@ import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 /**
  * Responsible for handling ChallengeCompletions
+ * <p>
+ * Completions are only written when changed, and evicted entries are handed to a single
+ * asynchronous writer, coalescing multiple evictions of the same id into one write.
  */
 public class ChallengeCompletionLogic {
 
@@ -32,12 +39,30 @@ public class ChallengeCompletionLogic {
     private final boolean storeOnIsland;
     private final LoadingCache<String, Map<String, ChallengeCompletion>> completionCache;
 
-    public ChallengeCompletionLogic(uSkyBlock plugin, FileConfiguration config) {
+    // Write-behind queue of evicted, dirty completions - guarded by storageFolder for file access
+    private final Map<String, Map<String, ChallengeCompletion>> pendingWrites = new ConcurrentHashMap<>();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+    private volatile boolean isShuttingDown = false;
+
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong writesAvoided = new AtomicLong();
+    private final AtomicLong writesCoalesced = new AtomicLong();
+
+    /**
+     * @param onRemoval Called with the id of completions removed from the cache, including replaced ones.
+     */
+    public ChallengeCompletionLogic(uSkyBlock plugin, FileConfiguration config, Consumer<String> onRemoval) {
         this.plugin = plugin;
         storeOnIsland = config.getString("challengeSharing", "island").equalsIgnoreCase("island");
         completionCache = CacheBuilder
             .from(plugin.getConfig().getString("options.advanced.completionCache", "maximumSize=200,expireAfterWrite=15m,expireAfterAccess=10m"))
-            .removalListener((RemovalListener<String, Map<String, ChallengeCompletion>>) removal -> saveToFile(removal.getKey(), removal.getValue()))
+            .removalListener((RemovalListener<String, Map<String, ChallengeCompletion>>) removal -> {
+                onRemoval.accept(removal.getKey());
+                // Replaced maps are superseded by their replacement, which is written once evicted
+                if (removal.getCause() != RemovalCause.REPLACED) {
+                    queueWrite(removal.getKey(), removal.getValue());
+                }
+            })
             .build(new CacheLoader<>() {
                        @Override
                        public @NotNull Map<String, ChallengeCompletion> load(@NotNull String id) {
@@ -51,12 +76,68 @@ public class ChallengeCompletionLogic {
         }
     }
 
+    private static boolean isDirty(Map<String, ChallengeCompletion> map) {
+        for (ChallengeCompletion completion : map.values()) {
+            if (completion.isDirty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void queueWrite(String id, Map<String, ChallengeCompletion> map) {
+        if (id == null || map == null || !isDirty(map)) {
+            writesAvoided.incrementAndGet();
+            return;
+        }
+        if (pendingWrites.put(id, map) != null) {
+            writesCoalesced.incrementAndGet();
+        }
+        if (isShuttingDown) {
+            writePending();
+        } else {
+            scheduleWrite();
+        }
+    }
+
+    private void scheduleWrite() {
+        // Only have one pending write-task at a time
+        if (writeScheduled.compareAndSet(false, true)) {
+            plugin.getScheduler().async(() -> {
+                try {
+                    writePending();
+                } finally {
+                    writeScheduled.set(false);
+                }
+                // Queued after the writer passed them, but before it was done
+                if (!pendingWrites.isEmpty()) {
+                    scheduleWrite();
+                }
+            });
+        }
+    }
+
+    private void writePending() {
+        for (String id : pendingWrites.keySet()) {
+            synchronized (storageFolder) {
+                Map<String, ChallengeCompletion> map = pendingWrites.remove(id);
+                if (map != null) {
+                    saveToFile(id, map);
+                }
+            }
+        }
+    }
+
     private void saveToFile(String id, Map<String, ChallengeCompletion> map) {
         File configFile = new File(storageFolder, id + ".yml");
         FileConfiguration fileConfiguration = new YamlConfiguration();
         saveToConfiguration(fileConfiguration, map);
         try {
             fileConfiguration.save(configFile);
+            writes.incrementAndGet();
+            for (ChallengeCompletion completion : map.values()) {
+                completion.setDirty(false);
+            }
         } catch (IOException e) {
             plugin.getLogger().log(Level.WARNING, "Unable to store challenge-completion to " + configFile, e);
         }
@@ -66,6 +147,10 @@ public class ChallengeCompletionLogic {
         for (Map.Entry<String, ChallengeCompletion> entry : map.entrySet()) {
             String challengeName = entry.getKey();
             ChallengeCompletion completion = entry.getValue();
+            if (completion.isDefault()) {
+                // Missing entries are loaded as defaults
+                continue;
+            }
             ConfigurationSection section = configuration.createSection(challengeName);
             Instant cooldownUntil = completion.cooldownUntil();
             Long cooldown = cooldownUntil != null ? cooldownUntil.toEpochMilli() : null;
@@ -76,6 +161,17 @@ public class ChallengeCompletionLogic {
     }
 
     private Map<String, ChallengeCompletion> loadFromFile(String id) {
+        synchronized (storageFolder) {
+            // Evicted, but not yet written
+            Map<String, ChallengeCompletion> pending = pendingWrites.remove(id);
+            if (pending != null) {
+                return pending;
+            }
+            return readFromFile(id);
+        }
+    }
+
+    private Map<String, ChallengeCompletion> readFromFile(String id) {
         File configFile = new File(storageFolder, id + ".yml");
         if (!configFile.exists() && storeOnIsland) {
             IslandInfo islandInfo = plugin.getIslandInfo(id);
@@ -136,10 +232,11 @@ public class ChallengeCompletionLogic {
         } catch (ExecutionException e) {
             plugin.getLogger().log(Level.WARNING, "Error fetching challenge-completion for id " + id);
         }
-        if (challengeMap.isEmpty()) {
+        if (challengeMap.isEmpty() && playerInfo.getConfig().contains("player.challenges")) {
             // Fetch from the player-yml file
             challengeMap = loadFromConfiguration(playerInfo.getConfig().getConfigurationSection("player.challenges"));
             if (!challengeMap.isEmpty()) {
+                challengeMap.values().forEach(completion -> completion.setDirty(true));
                 completionCache.put(id, challengeMap);
             }
             // Wipe it
@@ -149,7 +246,10 @@ public class ChallengeCompletionLogic {
         return challengeMap;
     }
 
-    private String getCacheId(PlayerInfo playerInfo) {
+    /**
+     * The id the completions of the player are stored under, i.e. the island name when sharing challenges.
+     */
+    String getCacheId(PlayerInfo playerInfo) {
         return storeOnIsland ? playerInfo.locationForParty() : playerInfo.getUniqueId().toString();
     }
 
@@ -194,11 +294,24 @@ public class ChallengeCompletionLogic {
     public void resetAllChallenges(PlayerInfo playerInfo) {
         Map<String, ChallengeCompletion> challengeMap = new ConcurrentHashMap<>();
         plugin.getChallengeLogic().populateChallenges(challengeMap);
+        challengeMap.values().forEach(completion -> completion.setDirty(true));
         completionCache.put(getCacheId(playerInfo), challengeMap);
     }
 
     public void shutdown() {
+        isShuttingDown = true;
         flushCache();
+        writePending();
+        plugin.getLogger().fine("Challenge-completion statistics: " + getStats());
+    }
+
+    /**
+     * Number of files written, writes avoided because nothing changed, and evictions coalesced into a pending write.
+     * @return A human-readable summary of the write statistics.
+     */
+    public String getStats() {
+        return String.format("writes: %d, avoided: %d, coalesced: %d, pending: %d",
+            writes.get(), writesAvoided.get(), writesCoalesced.get(), pendingWrites.size());
     }
 
     public long flushCache() {
@@ -9,15 +9,14 @@ import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
 
 public final class ChallengeFormat {
     public static String getMissingRequirement(PlayerInfo playerInfo, List<String> requiredChallenges, ChallengeLogic challengeLogic) {
+        return getMissingChallenges(playerInfo, ChallengeRequirement.parse(requiredChallenges), challengeLogic);
+    }
+
+    public static String getMissingChallenges(PlayerInfo playerInfo, List<ChallengeRequirement> requiredChallenges, ChallengeLogic challengeLogic) {
         List<String> missing = new ArrayList<>();
-        for (String requiredChallenge : requiredChallenges) {
-            String[] split = requiredChallenge.split(":");
-            String challengeName = split[0].trim();
-            int count = split.length > 1 && split[1].matches("[0-9]+") ? Integer.parseInt(split[1]) : 1;
-            if (count < 1) {
-                count = 1;
-            }
-            ChallengeCompletion completion = playerInfo.getChallenge(challengeName);
+        for (ChallengeRequirement requiredChallenge : requiredChallenges) {
+            int count = requiredChallenge.count();
+            ChallengeCompletion completion = playerInfo.getChallenge(requiredChallenge.name());
             if (completion != null && completion.getTimesCompleted() < count) {
                 String name = completion.getName();
                 missing.add(asDisplayName(name, count - completion.getTimesCompleted(), challengeLogic));
@@ -7,9 +7,6 @@ import dk.lockfuglsang.minecraft.util.BlockRequirement;
 import dk.lockfuglsang.minecraft.util.FormatUtil;
 import dk.lockfuglsang.minecraft.util.ItemStackUtil;
 import org.bukkit.Bukkit;
-import org.bukkit.Location;
-import org.bukkit.World;
-import org.bukkit.block.Block;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Entity;
@@ -17,13 +14,16 @@ import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.api.event.MemberJoinedEvent;
+import us.talabrek.ultimateskyblock.api.event.MemberLeftEvent;
 import us.talabrek.ultimateskyblock.block.BlockCollection;
+import us.talabrek.ultimateskyblock.block.BlockSnapshot;
 import us.talabrek.ultimateskyblock.hook.HookManager;
 import us.talabrek.ultimateskyblock.island.IslandInfo;
 import us.talabrek.ultimateskyblock.player.Perk;
@@ -45,6 +45,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -68,11 +69,17 @@ public class ChallengeLogic implements Listener {
     private final HookManager hookManager;
 
     private final Map<String, Rank> ranks;
+    private final Map<String, Challenge> challengesByName = new HashMap<>();
 
     public final ChallengeDefaults defaults;
     public final ChallengeCompletionLogic completionLogic;
     private final ItemStack lockedItem;
     private final Map<Challenge.Type, ItemStack> lockedItemMap = new EnumMap<>(Challenge.Type.class);
+    // Players with an island-challenge check in progress, mapped to the time until new checks are ignored
+    private final Map<UUID, Long> islandChecks = new ConcurrentHashMap<>();
+    private final long islandCheckCooldownMs;
+    // Unlocked ranks and challenges, by completion id - dropped whenever the completions change
+    private final ProgressCache progressCache = new ProgressCache();
 
     @Inject
     public ChallengeLogic(
@@ -87,8 +94,14 @@ public class ChallengeLogic implements Listener {
         this.config = FileUtil.getYmlConfiguration("challenges.yml");
         this.plugin = plugin;
         this.defaults = ChallengeFactory.createDefaults(config.getRoot());
+        this.islandCheckCooldownMs = plugin.getConfig().getLong("options.advanced.islandChallengeCooldown", 2000);
         ranks = ChallengeFactory.createRankMap(config.getConfigurationSection("ranks"), defaults);
-        completionLogic = new ChallengeCompletionLogic(plugin, config);
+        for (Rank rank : ranks.values()) {
+            for (Challenge challenge : rank.getChallenges()) {
+                challengesByName.putIfAbsent(challenge.getName(), challenge);
+            }
+        }
+        completionLogic = new ChallengeCompletionLogic(plugin, config, progressCache::invalidate);
         String displayItemForLocked = config.getString("lockedDisplayItem", null);
         if (displayItemForLocked != null) {
             lockedItem = ItemStackUtil.createItemStack(displayItemForLocked);
@@ -103,9 +116,7 @@ public class ChallengeLogic implements Listener {
                 lockedItemMap.put(type, lockedItem);
             }
         }
-        if (completionLogic.isIslandSharing()) {
-            Bukkit.getServer().getPluginManager().registerEvents(this, plugin);
-        }
+        Bukkit.getServer().getPluginManager().registerEvents(this, plugin);
     }
 
     public boolean isEnabled() {
@@ -117,22 +128,44 @@ public class ChallengeLogic implements Listener {
     }
 
     public List<String> getAvailableChallengeNames(PlayerInfo playerInfo) {
-        List<String> list = new ArrayList<>();
         if (playerInfo == null || !playerInfo.getHasIsland()) {
-            return list;
+            return new ArrayList<>();
         }
-        for (Rank rank : ranks.values()) {
-            if (rank.isAvailable(playerInfo)) {
-                for (Challenge challenge : rank.getChallenges()) {
-                    if (challenge.getMissingRequirements(playerInfo).isEmpty()) {
-                        list.add(challenge.getName());
-                    }
-                }
-            } else {
-                break;
-            }
+        return new ArrayList<>(getProgress(playerInfo).getAvailableChallengeNames());
+    }
+
+    /**
+     * Whether the rank is unlocked for the player, using the cached progress when possible.
+     */
+    public boolean isRankAvailable(PlayerInfo playerInfo, Rank rank) {
+        if (playerInfo == null || !playerInfo.getHasIsland() || playerInfo.locationForParty() == null) {
+            return rank.isAvailable(playerInfo);
         }
-        return list;
+        return getProgress(playerInfo).isAvailable(rank);
+    }
+
+    /**
+     * Whether both the rank and the required challenges of the challenge are completed by the player.
+     */
+    public boolean isChallengeAvailable(PlayerInfo playerInfo, Challenge challenge) {
+        if (playerInfo == null || !playerInfo.getHasIsland() || playerInfo.locationForParty() == null) {
+            return challenge.getRank().isAvailable(playerInfo) && challenge.getMissingRequirements(playerInfo).isEmpty();
+        }
+        ChallengeProgress progress = getProgress(playerInfo);
+        return progress.isAvailable(challenge.getRank()) && progress.getMissingRequirements(challenge).isEmpty();
+    }
+
+    private ChallengeProgress getProgress(PlayerInfo playerInfo) {
+        String id = completionLogic.getCacheId(playerInfo);
+        if (id == null) {
+            return new ChallengeProgress(ranks.values(), playerInfo);
+        }
+        return progressCache.get(id, () -> new ChallengeProgress(ranks.values(), playerInfo));
+    }
+
+    private void invalidateProgress(PlayerInfo playerInfo) {
+        progressCache.invalidate(completionLogic.getCacheId(playerInfo));
+        progressCache.invalidate(playerInfo.getUniqueId().toString());
     }
 
     public List<String> getAllChallengeNames() {
@@ -160,7 +193,7 @@ public class ChallengeLogic implements Listener {
             player.sendMessage(tr("\u00a74You must be on your island to do that!"));
             return;
         }
-        if (!challenge.getRank().isAvailable(pi)) {
+        if (!isRankAvailable(pi, challenge.getRank())) {
             player.sendMessage(tr("\u00a74The {0} challenge is not available yet!", challenge.getDisplayName()));
             return;
         }
@@ -178,10 +211,7 @@ public class ChallengeLogic implements Listener {
         if (challenge.getType() == Challenge.Type.PLAYER) {
             tryComplete(player, challengeName, "onPlayer");
         } else if (challenge.getType() == Challenge.Type.ISLAND) {
-            if (!tryComplete(player, challengeName, "onIsland")) {
-                player.sendMessage(tr("\u00a74{0}", challenge.getDescription()));
-                player.sendMessage(tr("\u00a74You must be standing within {0} blocks of all required items.", challenge.getRadius()));
-            }
+            tryCompleteOnIslandAsync(player, challenge);
         } else if (challenge.getType() == Challenge.Type.ISLAND_LEVEL) {
             if (!tryCompleteIslandLevel(player, challenge)) {
                 player.sendMessage(tr("\u00a74Your island must be level {0} to complete this challenge!", challenge.getRequiredLevel()));
@@ -190,6 +220,10 @@ public class ChallengeLogic implements Listener {
     }
 
     public Challenge getChallenge(String challengeName) {
+        Challenge exactMatch = challengesByName.get(challengeName);
+        if (exactMatch != null) {
+            return exactMatch;
+        }
         List<Challenge> partialMatch = new ArrayList<>();
         for (Rank rank : ranks.values()) {
             for (Challenge challenge : rank.getChallenges()) {
@@ -235,20 +269,10 @@ public class ChallengeLogic implements Listener {
     }
 
     private boolean islandContains(Player player, List<BlockRequirement> itemStacks, int radius) {
-        final Location l = player.getLocation();
-        final int px = l.getBlockX();
-        final int py = l.getBlockY();
-        final int pz = l.getBlockZ();
-        World world = l.getWorld();
-        BlockCollection blockCollection = new BlockCollection();
-        for (int x = px - radius; x <= px + radius; x++) {
-            for (int y = py - radius; y <= py + radius; y++) {
-                for (int z = pz - radius; z <= pz + radius; z++) {
-                    Block block = world.getBlockAt(x, y, z);
-                    blockCollection.add(block);
-                }
-            }
-        }
+        return hasBlocks(player, itemStacks, BlockSnapshot.around(player.getLocation(), radius).count());
+    }
+
+    private boolean hasBlocks(Player player, List<BlockRequirement> itemStacks, BlockCollection blockCollection) {
         String diff = blockCollection.diff(itemStacks);
         if (diff != null) {
             player.sendMessage(diff);
@@ -257,6 +281,65 @@ public class ChallengeLogic implements Listener {
         return true;
     }
 
+    /**
+     * Completes an island challenge, by snapshotting the chunks around the player on the main thread,
+     * counting the blocks asynchronously, and handing out the reward back on the main thread.
+     * Repeated attempts from the same player are ignored while a check is running, and shortly after.
+     */
+    private void tryCompleteOnIslandAsync(Player player, Challenge challenge) {
+        UUID uuid = player.getUniqueId();
+        long now = System.currentTimeMillis();
+        Long ignoreUntil = islandChecks.get(uuid);
+        if (ignoreUntil != null && ignoreUntil > now) {
+            player.sendMessage(tr("\u00a7eStill checking your island, please wait."));
+            return;
+        }
+        islandChecks.put(uuid, Long.MAX_VALUE);
+        BlockSnapshot snapshot;
+        try {
+            snapshot = BlockSnapshot.around(player.getLocation(), challenge.getRadius());
+        } catch (RuntimeException e) {
+            islandChecks.remove(uuid);
+            throw e;
+        }
+        plugin.getScheduler().async(() -> {
+            BlockCollection blocks;
+            try {
+                blocks = snapshot.count();
+            } catch (RuntimeException e) {
+                islandChecks.remove(uuid);
+                logger.log(Level.WARNING, "Unable to count the blocks for challenge " + challenge.getName(), e);
+                return;
+            }
+            plugin.getScheduler().sync(() -> {
+                try {
+                    if (!player.isOnline()) {
+                        return;
+                    }
+                    PlayerInfo playerInfo = plugin.getPlayerInfo(player);
+                    ChallengeCompletion completion = playerInfo != null ? playerInfo.getChallenge(challenge.getName()) : null;
+                    if (completion == null || completion.getTimesCompleted() > 0) {
+                        // Completed by someone else, while we were counting
+                        return;
+                    }
+                    if (hasBlocks(player, challenge.getRequiredBlocks(), blocks)
+                        && hasEntitiesNear(player, challenge.getRequiredEntities(), challenge.getRadius())) {
+                        giveReward(player, challenge);
+                    } else {
+                        player.sendMessage(tr("\u00a74{0}", challenge.getDescription()));
+                        player.sendMessage(tr("\u00a74You must be standing within {0} blocks of all required items.", challenge.getRadius()));
+                    }
+                } finally {
+                    if (player.isOnline()) {
+                        islandChecks.put(uuid, System.currentTimeMillis() + islandCheckCooldownMs);
+                    } else {
+                        islandChecks.remove(uuid);
+                    }
+                }
+            });
+        });
+    }
+
     /**
      * Try to complete a {@link Challenge} on the island of the given {@link Player} where items or entities are
      * required to be present on the island.
@@ -537,7 +620,8 @@ public class ChallengeLogic implements Listener {
         meta4.setLore(lores);
         currentChallengeItem.setItemMeta(meta4);
         menu.setItem(location, currentChallengeItem);
-        List<String> missingRankRequirements = rank.getMissingRequirements(playerInfo);
+        ChallengeProgress progress = getProgress(playerInfo);
+        List<String> missingRankRequirements = progress.getMissingRequirements(rank);
         for (Challenge challenge : rank.getChallenges()) {
             if (challenge.getOffset() == -1 && !currentChallengeItem.getItemMeta().hasEnchants()) {
                 continue; // skip
@@ -553,7 +637,7 @@ public class ChallengeLogic implements Listener {
             String challengeName = challenge.getName();
             try {
                 currentChallengeItem = getItemStack(playerInfo, challengeName);
-                List<String> missingReqs = challenge.getMissingRequirements(playerInfo);
+                List<String> missingReqs = progress.getMissingRequirements(challenge);
                 if (!missingRankRequirements.isEmpty() || !missingReqs.isEmpty()) {
                     if (!isAdminAccess) {
                         ItemStack locked = challenge.getLockedDisplayItem();
@@ -601,10 +685,12 @@ public class ChallengeLogic implements Listener {
 
     public void completeChallenge(PlayerInfo playerInfo, String challengeName) {
         completionLogic.completeChallenge(playerInfo, challengeName);
+        invalidateProgress(playerInfo);
     }
 
     public void resetChallenge(PlayerInfo playerInfo, String challenge) {
         completionLogic.resetChallenge(playerInfo, challenge);
+        invalidateProgress(playerInfo);
     }
 
     public int checkChallenge(PlayerInfo playerInfo, String challenge) {
@@ -635,14 +721,18 @@ public class ChallengeLogic implements Listener {
 
     public void resetAllChallenges(PlayerInfo playerInfo) {
         completionLogic.resetAllChallenges(playerInfo);
+        invalidateProgress(playerInfo);
     }
 
     public void shutdown() {
         completionLogic.shutdown();
+        progressCache.clear();
     }
 
     public long flushCache() {
-        return completionLogic.flushCache();
+        long size = completionLogic.flushCache();
+        progressCache.clear();
+        return size;
     }
 
     public boolean isIslandSharing() {
@@ -654,6 +744,8 @@ public class ChallengeLogic implements Listener {
         if (!completionLogic.isIslandSharing() || !(e.getPlayerInfo() instanceof PlayerInfo playerInfo)) {
             return;
         }
+        progressCache.invalidate(e.getIslandInfo().getName());
+        invalidateProgress(playerInfo);
         Map<String, ChallengeCompletion> completions = completionLogic.getIslandChallenges(e.getIslandInfo().getName());
         List<String> permissions = new ArrayList<>();
         for (Map.Entry<String, ChallengeCompletion> entry : completions.entrySet()) {
@@ -668,4 +760,18 @@ public class ChallengeLogic implements Listener {
             playerInfo.addPermissions(permissions);
         }
     }
+
+    @EventHandler
+    public void onMemberLeftEvent(MemberLeftEvent e) {
+        if (!completionLogic.isIslandSharing() || !(e.getPlayerInfo() instanceof PlayerInfo playerInfo)) {
+            return;
+        }
+        progressCache.invalidate(e.getIslandInfo().getName());
+        invalidateProgress(playerInfo);
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        islandChecks.remove(e.getPlayer().getUniqueId());
+    }
 }
@@ -0,0 +1,60 @@
+package us.talabrek.ultimateskyblock.challenge;
+
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.player.PlayerInfo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of which ranks and challenges are unlocked for a player (or island, when sharing challenges).
+ * <p>
+ * The requirements only depend on how many times challenges have been completed, so a snapshot
+ * stays valid until a challenge is completed or reset, or the player changes island.
+ */
+final class ChallengeProgress {
+    private final Map<String, List<String>> missingRankRequirements = new HashMap<>();
+    private final Map<String, List<String>> missingChallengeRequirements = new HashMap<>();
+    private final List<String> availableChallengeNames = new ArrayList<>();
+
+    ChallengeProgress(@NotNull Collection<Rank> ranks, @NotNull PlayerInfo playerInfo) {
+        boolean available = true;
+        for (Rank rank : ranks) {
+            List<String> missingRank = rank.getMissingRequirements(playerInfo);
+            missingRankRequirements.put(rank.getRankKey(), immutable(missingRank));
+            // Ranks unlock in order, so nothing after the first locked rank is available
+            available &= missingRank.isEmpty();
+            for (Challenge challenge : rank.getChallenges()) {
+                List<String> missing = challenge.getMissingRequirements(playerInfo);
+                missingChallengeRequirements.put(challenge.getName(), immutable(missing));
+                if (available && missing.isEmpty()) {
+                    availableChallengeNames.add(challenge.getName());
+                }
+            }
+        }
+    }
+
+    private static List<String> immutable(List<String> list) {
+        return list.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    @NotNull List<String> getMissingRequirements(@NotNull Rank rank) {
+        return missingRankRequirements.getOrDefault(rank.getRankKey(), Collections.emptyList());
+    }
+
+    @NotNull List<String> getMissingRequirements(@NotNull Challenge challenge) {
+        return missingChallengeRequirements.getOrDefault(challenge.getName(), Collections.emptyList());
+    }
+
+    boolean isAvailable(@NotNull Rank rank) {
+        return getMissingRequirements(rank).isEmpty();
+    }
+
+    @NotNull List<String> getAvailableChallengeNames() {
+        return Collections.unmodifiableList(availableChallengeNames);
+    }
+}
@@ -0,0 +1,28 @@
+package us.talabrek.ultimateskyblock.challenge;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * A required challenge, parsed from the <code>name[:count]</code> format used in challenges.yml.
+ */
+public record ChallengeRequirement(@NotNull String name, int count) {
+
+    public static @NotNull ChallengeRequirement parse(@NotNull String requirement) {
+        String[] split = requirement.split(":");
+        String challengeName = split[0].trim();
+        int count = split.length > 1 && split[1].matches("[0-9]+") ? Integer.parseInt(split[1]) : 1;
+        return new ChallengeRequirement(challengeName, Math.max(count, 1));
+    }
+
+    /**
+     * Parses the requirements, skipping blank entries.
+     */
+    public static @NotNull List<ChallengeRequirement> parse(@NotNull List<String> requirements) {
+        return requirements.stream()
+            .filter(requirement -> requirement != null && !requirement.isBlank())
+            .map(ChallengeRequirement::parse)
+            .toList();
+    }
+}
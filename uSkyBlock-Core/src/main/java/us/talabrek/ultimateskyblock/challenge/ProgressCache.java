@@ -0,0 +1,62 @@
+package us.talabrek.ultimateskyblock.challenge;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * The {@link ChallengeProgress} by completion id.
+ * <p>
+ * A progress is built outside the map, as building it reads the completion cache, and an eviction there
+ * invalidates entries here. Invalidations bump a version per stripe of ids, and a progress is only kept
+ * when no invalidation of its stripe happened while it was built, so a stale progress is never cached.
+ */
+final class ProgressCache {
+    private static final int STRIPES = 64;
+
+    private final Map<String, ChallengeProgress> cache = new ConcurrentHashMap<>();
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+
+    private static int stripe(@NotNull String id) {
+        return (id.hashCode() & 0x7fffffff) % STRIPES;
+    }
+
+    @NotNull ChallengeProgress get(@NotNull String id, @NotNull Supplier<ChallengeProgress> factory) {
+        ChallengeProgress cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long version = versions.get(stripe(id));
+        ChallengeProgress progress = factory.get();
+        ChallengeProgress existing = cache.putIfAbsent(id, progress);
+        if (existing != null) {
+            return existing;
+        }
+        if (versions.get(stripe(id)) != version) {
+            // Invalidated while being built, the invalidation may have missed it
+            cache.remove(id, progress);
+        }
+        return progress;
+    }
+
+    void invalidate(String id) {
+        if (id != null) {
+            versions.incrementAndGet(stripe(id));
+            cache.remove(id);
+        }
+    }
+
+    void clear() {
+        for (int i = 0; i < STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        cache.clear();
+    }
+
+    int size() {
+        return cache.size();
+    }
+}
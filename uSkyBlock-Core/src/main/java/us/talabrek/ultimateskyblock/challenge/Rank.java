@@ -15,18 +15,29 @@ import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
 
 /**
  * Data object of a rank.
+ * <p>
+ * Everything is read from the configuration when the rank is created, so rendering and
+ * requirement checks do no YAML lookups or parsing.
  */
 public class Rank {
     private final Rank previousRank;
     private final ChallengeDefaults defaults;
     private final List<Challenge> challenges;
-    private ConfigurationSection config;
+    private final String rankKey;
+    private final String name;
+    private final ItemStack displayItem;
+    private final Duration resetDuration;
+    private final RankRequirements requirements;
 
     public Rank(ConfigurationSection section, Rank previousRank, ChallengeDefaults defaults) {
         this.challenges = new ArrayList<>();
         this.previousRank = previousRank;
         this.defaults = defaults;
-        this.config = section;
+        this.rankKey = section.getName();
+        this.name = FormatUtil.normalize(section.getString("name", rankKey));
+        this.displayItem = ItemStackUtil.asDisplayItem(ItemStackUtil.createItemStack(section.getString("displayItem", "DIRT"), name, null));
+        this.resetDuration = Duration.ofHours(section.getLong("resetInHours", defaults.resetDuration.toHours()));
+        this.requirements = RankRequirements.from(section, defaults);
         ConfigurationSection challengeSection = section.getConfigurationSection("challenges");
         for (String challengeName : challengeSection.getKeys(false)) {
             Challenge challenge = ChallengeFactory.createChallenge(this, challengeSection.getConfigurationSection(challengeName), defaults);
@@ -51,16 +62,19 @@ public class Rank {
     }
 
     public ItemStack getDisplayItem() {
-        String displayItem = config.getString("displayItem", "DIRT");
-        return ItemStackUtil.asDisplayItem(ItemStackUtil.createItemStack(displayItem, getName(), null));
+        return displayItem.clone();
     }
 
     public String getName() {
-        return FormatUtil.normalize(config.getString("name", config.getName()));
+        return name;
     }
 
     public String getRankKey() {
-        return config.getName();
+        return rankKey;
+    }
+
+    RankRequirements getRequirements() {
+        return requirements;
     }
 
     public Rank getPreviousRank() {
@@ -74,16 +88,16 @@ public class Rank {
 
     public List<String> getMissingRequirements(PlayerInfo playerInfo) {
         List<String> missing = new ArrayList<>();
-        ConfigurationSection requires = config.getConfigurationSection("requires");
-        if (requires != null) {
+        if (requirements.explicit()) {
             if (previousRank != null) {
                 int leeway = previousRank.getLeeway(playerInfo);
-                int rankLeeway = requires.getInt("rankLeeway", defaults.rankLeeway);
+                int rankLeeway = requirements.rankLeeway();
                 if (leeway > rankLeeway) {
                     missing.add(tr("\u00a77Complete {0} more {1} \u00a77challenges", (leeway - rankLeeway), previousRank));
                 }
             }
-            String missingChallenges = ChallengeFormat.getMissingRequirement(playerInfo, requires.getStringList("challenges"), uSkyBlock.getInstance().getChallengeLogic());
+            String missingChallenges = requirements.challenges().isEmpty() ? null
+                : ChallengeFormat.getMissingChallenges(playerInfo, requirements.challenges(), uSkyBlock.getInstance().getChallengeLogic());
             if (missingChallenges != null) {
                 missing.add(tr("\u00a77Complete {0}", missingChallenges));
             }
@@ -112,6 +126,6 @@ public class Rank {
     }
 
     public Duration getResetDuration() {
-        return Duration.ofHours(config.getLong("resetInHours", defaults.resetDuration.toHours()));
+        return resetDuration;
     }
 }
@@ -0,0 +1,27 @@
+package us.talabrek.ultimateskyblock.challenge;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The <code>requires</code> section of a rank, parsed once when the challenges are loaded.
+ *
+ * @param explicit     Whether the rank has its own <code>requires</code> section.
+ * @param rankLeeway   Number of challenges in the previous rank that can be left uncompleted.
+ * @param challenges   Challenges that must be completed before the rank is available.
+ */
+record RankRequirements(boolean explicit, int rankLeeway, @NotNull List<ChallengeRequirement> challenges) {
+
+    static @NotNull RankRequirements from(@NotNull ConfigurationSection rankSection, @NotNull ChallengeDefaults defaults) {
+        ConfigurationSection requires = rankSection.getConfigurationSection("requires");
+        if (requires == null) {
+            return new RankRequirements(false, defaults.rankLeeway, Collections.emptyList());
+        }
+        return new RankRequirements(true,
+            requires.getInt("rankLeeway", defaults.rankLeeway),
+            ChallengeRequirement.parse(requires.getStringList("challenges")));
+    }
+}
@@ -0,0 +1,60 @@
+package us.talabrek.ultimateskyblock.chat;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A chat format, compiled once into literal text and the <code>{DISPLAYNAME}</code> and
+ * <code>{MESSAGE}</code> tokens, so formatting a message is a single pass without regular expressions.
+ */
+final class ChatFormat {
+    static final String DISPLAYNAME = "{DISPLAYNAME}";
+    static final String MESSAGE = "{MESSAGE}";
+
+    private final String[] literals;
+    private final boolean[] isMessage;
+    private final int literalLength;
+
+    private ChatFormat(List<String> literals, List<Boolean> isMessage) {
+        this.literals = literals.toArray(new String[0]);
+        this.isMessage = new boolean[isMessage.size()];
+        for (int i = 0; i < this.isMessage.length; i++) {
+            this.isMessage[i] = isMessage.get(i);
+        }
+        int length = 0;
+        for (String literal : this.literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    static @NotNull ChatFormat compile(@NotNull String format) {
+        List<String> literals = new ArrayList<>();
+        List<Boolean> isMessage = new ArrayList<>();
+        int pos = 0;
+        while (true) {
+            int displayName = format.indexOf(DISPLAYNAME, pos);
+            int message = format.indexOf(MESSAGE, pos);
+            int next = displayName < 0 ? message : message < 0 ? displayName : Math.min(displayName, message);
+            if (next < 0) {
+                break;
+            }
+            literals.add(format.substring(pos, next));
+            boolean messageToken = next == message;
+            isMessage.add(messageToken);
+            pos = next + (messageToken ? MESSAGE.length() : DISPLAYNAME.length());
+        }
+        literals.add(format.substring(pos));
+        return new ChatFormat(literals, isMessage);
+    }
+
+    @NotNull String format(@NotNull String displayName, @NotNull String message) {
+        StringBuilder sb = new StringBuilder(literalLength + displayName.length() + message.length());
+        for (int i = 0; i < isMessage.length; i++) {
+            sb.append(literals[i]).append(isMessage[i] ? message : displayName);
+        }
+        return sb.append(literals[literals.length - 1]).toString();
+    }
+}
@@ -2,8 +2,10 @@ package us.talabrek.ultimateskyblock.chat;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
 import dk.lockfuglsang.minecraft.po.I18nUtil;
 import dk.lockfuglsang.minecraft.util.FormatUtil;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -14,14 +16,14 @@ import us.talabrek.ultimateskyblock.handler.placeholder.PlaceholderHandler;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.world.WorldManager;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumMap;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static us.talabrek.ultimateskyblock.api.event.IslandChatEvent.Type;
 
@@ -38,17 +40,28 @@ public class ChatLogic {
     );
     private final uSkyBlock plugin;
     private final WorldManager worldManager;
+    private final IslandPlayerIndex playerIndex;
     private final Map<Type, String> formats = new EnumMap<>(Type.class);
-    private final Map<UUID, Type> toggled = new HashMap<>();
+    private final Map<Type, ChatFormat> compiledFormats = new EnumMap<>(Type.class);
+    private final Map<UUID, Type> toggled = new ConcurrentHashMap<>();
 
     @Inject
-    public ChatLogic(@NotNull uSkyBlock plugin, @NotNull PluginConfig config, @NotNull WorldManager worldManager) {
+    public ChatLogic(
+        @NotNull uSkyBlock plugin,
+        @NotNull PluginConfig config,
+        @NotNull WorldManager worldManager,
+        @NotNull IslandPlayerIndex playerIndex
+    ) {
         this.plugin = plugin;
         this.worldManager = worldManager;
+        this.playerIndex = playerIndex;
         formats.put(Type.PARTY,
             config.getYamlConfig().getString("options.party.chat-format", "&9PARTY &r{DISPLAYNAME} &f>&d {MESSAGE}"));
         formats.put(Type.ISLAND,
             config.getYamlConfig().getString("options.island.chat-format", "&9SKY &r{DISPLAYNAME} &f>&b {MESSAGE}"));
+        for (Map.Entry<Type, String> format : formats.entrySet()) {
+            compiledFormats.put(format.getKey(), ChatFormat.compile(FormatUtil.normalize(format.getValue())));
+        }
     }
 
     /**
@@ -65,8 +78,18 @@ public class ChatLogic {
             return islandInfo != null ? islandInfo.getOnlineMembers() : Collections.singletonList(sender);
         } else if (chatType == Type.ISLAND) {
             if (worldManager.isSkyWorld(sender.getWorld())) {
-                return WorldGuardHandler.getPlayersInRegion(worldManager.getWorld(),
-                    WorldGuardHandler.getIslandRegionAt(sender.getLocation()));
+                ProtectedRegion region = WorldGuardHandler.getIslandRegionAt(sender.getLocation());
+                if (region == null || !playerIndex.isAvailable()) {
+                    return WorldGuardHandler.getPlayersInRegion(worldManager.getWorld(), region);
+                }
+                List<Player> players = new ArrayList<>();
+                for (Player player : playerIndex.getPlayersNear(sender.getLocation())) {
+                    Location p = player.getLocation();
+                    if (player.isOnline() && region.contains(p.getBlockX(), p.getBlockY(), p.getBlockZ())) {
+                        players.add(player);
+                    }
+                }
+                return players;
             }
             return Collections.emptyList();
         }
@@ -82,10 +105,7 @@ public class ChatLogic {
      * @param message Message to send.
      */
     public void sendMessage(Player sender, Type type, String message) {
-        String format = getFormat(type);
-        format = FormatUtil.normalize(format);
-        format = format.replaceAll("\\{DISPLAYNAME}", Matcher.quoteReplacement(sender.getDisplayName()));
-        String msg = format.replaceAll("\\{MESSAGE}", Matcher.quoteReplacement(message));
+        String msg = compiledFormats.get(type).format(sender.getDisplayName(), message);
         msg = PlaceholderHandler.replacePlaceholders(sender, msg);
         List<Player> onlineMembers = getRecipients(sender, type);
         if (onlineMembers.size() <= 1) {
@@ -115,15 +135,9 @@ public class ChatLogic {
      * @param type   Chat type to toggle.
      * @return True if it is toggled on, false otherwise.
      */
-    public synchronized boolean toggle(Player player, Type type) {
-        Type oldType = toggled.get(player.getUniqueId());
-        if (oldType == type) {
-            toggled.remove(player.getUniqueId());
-            return false;
-        } else {
-            toggled.put(player.getUniqueId(), type);
-        }
-        return true;
+    public boolean toggle(Player player, Type type) {
+        // Toggling the current type off again
+        return toggled.compute(player.getUniqueId(), (uuid, oldType) -> oldType == type ? null : type) != null;
     }
 
     /**
@@ -132,7 +146,7 @@ public class ChatLogic {
      * @param player Player to lookup.
      * @return The current Type toggle, or null if none exists.
      */
-    public synchronized @Nullable Type getToggle(Player player) {
+    public @Nullable Type getToggle(Player player) {
         return toggled.get(player.getUniqueId());
     }
 }
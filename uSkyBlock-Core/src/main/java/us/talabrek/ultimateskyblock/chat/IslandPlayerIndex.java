@@ -0,0 +1,139 @@
+package us.talabrek.ultimateskyblock.chat;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.Settings;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.world.WorldManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the online players in the skyblock world, by the island grid cell they are in.
+ * <p>
+ * The cell is computed from the island distance, the same way island locations are aligned, so
+ * keeping the index current is a bit of arithmetic on join, quit, teleport and when a move crosses
+ * into another cell, and finding the players on an island is a single map lookup.
+ */
+@Singleton
+public class IslandPlayerIndex implements Listener {
+    private final WorldManager worldManager;
+    private final Map<UUID, Long> cellByPlayer = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Player>> playersByCell = new ConcurrentHashMap<>();
+
+    @Inject
+    public IslandPlayerIndex(@NotNull uSkyBlock plugin, @NotNull WorldManager worldManager) {
+        this.worldManager = worldManager;
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            update(player, player.getLocation());
+        }
+    }
+
+    /**
+     * Whether each island region fits inside a single grid cell, i.e. whether the index can be used at all.
+     */
+    public boolean isAvailable() {
+        return Settings.island_distance > 0 && Settings.island_radius * 2 <= Settings.island_distance;
+    }
+
+    /**
+     * Returns the online players in the grid cell of the given location, which includes the players
+     * on the island there, and possibly players in the space around it.
+     */
+    public @NotNull Collection<Player> getPlayersNear(@NotNull Location location) {
+        if (!isAvailable() || !worldManager.isSkyWorld(location.getWorld())) {
+            return Collections.emptyList();
+        }
+        Set<Player> players = playersByCell.get(cell(location.getBlockX(), location.getBlockZ()));
+        return players != null ? Collections.unmodifiableSet(players) : Collections.emptySet();
+    }
+
+    static long cell(int x, int z) {
+        int d = Settings.island_distance;
+        long cellX = Math.round((double) x / d);
+        long cellZ = Math.round((double) z / d);
+        return (cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private void update(Player player, Location location) {
+        if (location == null || !isAvailable() || !worldManager.isSkyWorld(location.getWorld())) {
+            remove(player);
+            return;
+        }
+        long cell = cell(location.getBlockX(), location.getBlockZ());
+        Long oldCell = cellByPlayer.put(player.getUniqueId(), cell);
+        if (oldCell != null && oldCell == cell) {
+            return;
+        }
+        if (oldCell != null) {
+            removeFromCell(oldCell, player);
+        }
+        playersByCell.computeIfAbsent(cell, k -> ConcurrentHashMap.newKeySet()).add(player);
+    }
+
+    private void remove(Player player) {
+        Long oldCell = cellByPlayer.remove(player.getUniqueId());
+        if (oldCell != null) {
+            removeFromCell(oldCell, player);
+        }
+    }
+
+    private void removeFromCell(long cell, Player player) {
+        playersByCell.computeIfPresent(cell, (k, players) -> {
+            players.removeIf(p -> p.getUniqueId().equals(player.getUniqueId()));
+            return players.isEmpty() ? null : players;
+        });
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        update(e.getPlayer(), e.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        remove(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent e) {
+        Location from = e.getFrom();
+        Location to = e.getTo();
+        if (to == null || (from.getBlockX() == to.getBlockX() && from.getBlockZ() == to.getBlockZ() && from.getWorld() == to.getWorld())) {
+            return;
+        }
+        update(e.getPlayer(), to);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(PlayerTeleportEvent e) {
+        update(e.getPlayer(), e.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent e) {
+        update(e.getPlayer(), e.getRespawnLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent e) {
+        update(e.getPlayer(), e.getPlayer().getLocation());
+    }
+}
@@ -17,6 +17,7 @@ import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static dk.lockfuglsang.minecraft.po.I18nUtil.marktr;
 import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
@@ -35,16 +36,21 @@ public class CooldownCommand extends CompositeCommand {
                 if (args.length < 2) {
                     return false;
                 }
-                Player player = Bukkit.getPlayer(args[0]);
-                if (player == null || !player.isOnline()) {
-                    sender.sendMessage(tr("\u00a7eThe player is not currently online"));
+                UUID uuid = plugin.getPlayerDB().getUUIDFromName(args[0], false);
+                if (uuid == null) {
+                    sender.sendMessage(tr("\u00a74No player named {0} was found!", args[0]));
                     return false;
                 }
-                if ("restart|biome".contains(args[1])) {
-                    if (plugin.getCooldownHandler().clearCooldown(player, args[1])) {
-                        sender.sendMessage(tr("Cleared cooldown on {0} for {1}", args[1], player.getDisplayName()));
+                String playerName = plugin.getPlayerDB().getDisplayName(uuid);
+                if ("*".equals(args[1])) {
+                    int cleared = plugin.getCooldownHandler().clearCooldowns(uuid);
+                    sender.sendMessage(tr("Cleared {0} cooldowns for {1}", cleared, playerName));
+                    return true;
+                } else if ("restart|biome".contains(args[1])) {
+                    if (plugin.getCooldownHandler().clearCooldown(uuid, args[1])) {
+                        sender.sendMessage(tr("Cleared cooldown on {0} for {1}", args[1], playerName));
                     } else {
-                        sender.sendMessage(tr("No active cooldown on {0} for {1} detected!", args[1], player.getDisplayName()));
+                        sender.sendMessage(tr("No active cooldown on {0} for {1} detected!", args[1], playerName));
                     }
                     return true;
                 } else {
@@ -79,16 +85,17 @@ public class CooldownCommand extends CompositeCommand {
             @Override
             public boolean execute(CommandSender sender, String alias, Map<String, Object> data, String... args) {
                 if (args.length < 1) {
-                    return false;
+                    listPlayers(plugin, sender);
+                    return true;
                 }
-                Player player = Bukkit.getPlayer(args[0]);
-                if (player == null || !player.isOnline()) {
-                    sender.sendMessage(tr("\u00a7eThe player is not currently online"));
+                UUID uuid = plugin.getPlayerDB().getUUIDFromName(args[0], false);
+                if (uuid == null) {
+                    sender.sendMessage(tr("\u00a74No player named {0} was found!", args[0]));
                     return false;
                 }
-                Map<String, Instant> map = plugin.getCooldownHandler().getCooldowns(player.getUniqueId());
+                Map<String, Instant> map = plugin.getCooldownHandler().getCooldowns(uuid);
                 StringBuilder sb = new StringBuilder();
-                if (map != null && !map.isEmpty()) {
+                if (!map.isEmpty()) {
                     Instant now = Instant.now();
                     sb.append(tr("\u00a7eCmd Cooldown")).append("\n");
                     for (var entry : map.entrySet()) {
@@ -97,7 +104,7 @@ public class CooldownCommand extends CompositeCommand {
                         sb.append(tr("\u00a7a{0} \u00a7c{1}", cmd, TimeUtil.durationAsString(remainingCooldown))).append("\n");
                     }
                 } else {
-                    sb.append(tr("\u00a7eNo active cooldowns for \u00a79{0}\u00a7e found.", data.get("playerName")));
+                    sb.append(tr("\u00a7eNo active cooldowns for \u00a79{0}\u00a7e found.", args[0]));
                 }
                 sender.sendMessage(sb.toString().split("\n"));
                 return true;
@@ -106,11 +113,25 @@ public class CooldownCommand extends CompositeCommand {
         addTab("command", new AbstractTabCompleter() {
             @Override
             protected List<String> getTabList(CommandSender commandSender, String term) {
-                return Arrays.asList("restart", "biome");
+                return Arrays.asList("restart", "biome", "*");
             }
         });
     }
 
+    private static void listPlayers(uSkyBlock plugin, CommandSender sender) {
+        StringBuilder sb = new StringBuilder();
+        for (UUID uuid : plugin.getCooldownHandler().getPlayers()) {
+            Map<String, Instant> map = plugin.getCooldownHandler().getCooldowns(uuid);
+            if (!map.isEmpty()) {
+                sb.append(tr("\u00a79{0} \u00a7a{1}", plugin.getPlayerDB().getName(uuid), String.join(", ", map.keySet()))).append("\n");
+            }
+        }
+        if (sb.isEmpty()) {
+            sb.append(tr("\u00a7eNo active cooldowns found."));
+        }
+        sender.sendMessage(sb.toString().split("\n"));
+    }
+
     private Duration getCooldown(String cmd) {
         return switch (cmd) {
             case "restart" -> Settings.general_cooldownRestart;
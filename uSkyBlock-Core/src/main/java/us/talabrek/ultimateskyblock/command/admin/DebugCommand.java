@@ -6,15 +6,21 @@ import dk.lockfuglsang.minecraft.command.CompositeCommand;
 import dk.lockfuglsang.minecraft.po.I18nUtil;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.api.event.EventLogic;
+import us.talabrek.ultimateskyblock.event.ListenerTimings;
+import us.talabrek.ultimateskyblock.event.ProtectionContext;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import dk.lockfuglsang.minecraft.util.FormatUtil;
 import us.talabrek.ultimateskyblock.util.PluginInfo;
+import us.talabrek.ultimateskyblock.uuid.FilePlayerDB;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.FileHandler;
 import java.util.logging.Formatter;
@@ -36,7 +42,8 @@ public class DebugCommand extends CompositeCommand {
     private static Handler logHandler = null;
 
     @Inject
-    public DebugCommand(@NotNull uSkyBlock plugin, @NotNull PluginInfo pluginInfo) {
+    public DebugCommand(@NotNull uSkyBlock plugin, @NotNull PluginInfo pluginInfo, @NotNull ProtectionContext protectionContext,
+                        @NotNull ListenerTimings listenerTimings, @NotNull EventLogic eventLogic) {
         super("debug", "usb.admin.debug", marktr("control debugging"));
         this.pluginInfo = pluginInfo;
 
@@ -75,6 +82,82 @@ public class DebugCommand extends CompositeCommand {
                 return true;
             }
         });
+        add(new AbstractCommand("protection", null, marktr("show protection checks and region lookups per tick")) {
+            @Override
+            public boolean execute(CommandSender sender, String alias, Map<String, Object> data, String... args) {
+                long ticks = Math.max(protectionContext.getTicks(), 1);
+                sender.sendMessage(I18nUtil.tr("\u00a7eProtection checks over \u00a7b{0}\u00a7e ticks: \u00a7b{1}\u00a7e, needing \u00a7b{2}\u00a7e region lookups",
+                    protectionContext.getTicks(), protectionContext.getTotalChecks(), protectionContext.getTotalLookups()));
+                sender.sendMessage(I18nUtil.tr("\u00a7ePer tick: \u00a7b{0}\u00a7e checks, \u00a7b{1}\u00a7e lookups on average, \u00a7b{2}\u00a7e checks, \u00a7b{3}\u00a7e lookups at most",
+                    String.format("%.2f", (double) protectionContext.getTotalChecks() / ticks),
+                    String.format("%.2f", (double) protectionContext.getTotalLookups() / ticks),
+                    protectionContext.getPeakChecks(), protectionContext.getPeakLookups()));
+                return true;
+            }
+        });
+        add(new AbstractCommand("listeners", null, "?reset|dump", marktr("show the time spent in each event handler")) {
+            @Override
+            public boolean execute(CommandSender sender, String alias, Map<String, Object> data, String... args) {
+                if (!listenerTimings.isEnabled()) {
+                    sender.sendMessage(I18nUtil.tr("\u00a74Listener timings are not enabled, set \u00a7doptions.advanced.listenerTimings\u00a74 and restart"));
+                    return true;
+                }
+                if (args.length == 1 && args[0].equalsIgnoreCase("reset")) {
+                    listenerTimings.reset();
+                    sender.sendMessage(I18nUtil.tr("\u00a7eListener timings have been reset."));
+                    return true;
+                }
+                if (args.length == 1 && args[0].equalsIgnoreCase("dump")) {
+                    Path file = listenerTimings.export();
+                    if (file != null) {
+                        sender.sendMessage(I18nUtil.tr("\u00a7eListener timings written to \u00a7b{0}", file));
+                    } else {
+                        sender.sendMessage(I18nUtil.tr("\u00a74Unable to write listener timings, see the server log"));
+                    }
+                    return true;
+                }
+                if (args.length > 0) {
+                    return false;
+                }
+                List<Map.Entry<String, ListenerTimings.Stats>> stats = listenerTimings.getStats();
+                sender.sendMessage(String.format("\u00a77%8s %9s %9s %9s %9s %s", I18nUtil.tr("calls"), I18nUtil.tr("ms total"),
+                    I18nUtil.tr("us/call"), I18nUtil.tr("us max"), I18nUtil.tr("B/call"), I18nUtil.tr("handler")));
+                for (Map.Entry<String, ListenerTimings.Stats> entry : stats.subList(0, Math.min(stats.size(), 15))) {
+                    ListenerTimings.Stats stat = entry.getValue();
+                    long calls = Math.max(stat.getCount(), 1);
+                    sender.sendMessage(String.format("\u00a77%8d \u00a7c%9.1f \u00a77%9.1f %9.1f %9s \u00a79%s",
+                        stat.getCount(),
+                        stat.getTotalNanos() / 1e6,
+                        stat.getTotalNanos() / 1e3 / calls,
+                        stat.getMaxNanos() / 1e3,
+                        listenerTimings.isMeasuringAllocations() ? String.valueOf(stat.getAllocatedBytes() / calls) : "-",
+                        entry.getKey()));
+                }
+                return true;
+            }
+        });
+        add(new AbstractCommand("events", null, marktr("show the queue of async API events")) {
+            @Override
+            public boolean execute(CommandSender sender, String alias, Map<String, Object> data, String... args) {
+                sender.sendMessage(I18nUtil.tr("\u00a7eEvent queue: \u00a7b{0}\u00a7e queued, \u00a7b{1}\u00a7e at most",
+                    eventLogic.getQueueDepth(), eventLogic.getPeakQueueDepth()));
+                sender.sendMessage(I18nUtil.tr("\u00a7eEvents: \u00a7b{0}\u00a7e dispatched, \u00a7b{1}\u00a7e coalesced, \u00a7b{2}\u00a7e skipped without listeners",
+                    eventLogic.getDispatched(), eventLogic.getCoalesced(), eventLogic.getSkipped()));
+                return true;
+            }
+        });
+        add(new AbstractCommand("playerdb", null, marktr("show updates and saves of the player DB")) {
+            @Override
+            public boolean execute(CommandSender sender, String alias, Map<String, Object> data, String... args) {
+                if (!(plugin.getPlayerDB() instanceof FilePlayerDB playerDB)) {
+                    sender.sendMessage(I18nUtil.tr("\u00a74Statistics are only kept for the \u00a7dyml\u00a74 player DB"));
+                    return true;
+                }
+                sender.sendMessage(I18nUtil.tr("\u00a7ePlayer DB: \u00a7b{0}\u00a7e names, \u00a7b{1}\u00a7e updates, \u00a7b{2}\u00a7e unchanged, \u00a7b{3}\u00a7e saves",
+                    playerDB.getNameCount(), playerDB.getDirtyCount(), playerDB.getUnchangedCount(), playerDB.getSaveCount()));
+                return true;
+            }
+        });
         String debugLevel = plugin.getConfig().getString("options.advanced.debugLevel", null);
         if (debugLevel != null) {
             setLogLevel(plugin.getServer().getConsoleSender(), debugLevel);
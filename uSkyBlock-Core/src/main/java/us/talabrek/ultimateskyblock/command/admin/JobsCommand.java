@@ -5,8 +5,14 @@ import dk.lockfuglsang.minecraft.command.AbstractCommand;
 import dk.lockfuglsang.minecraft.command.CompositeCommand;
 import dk.lockfuglsang.minecraft.util.TimeUtil;
 import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.async.JobManager;
+import us.talabrek.ultimateskyblock.async.JobMetricsExporter;
+import us.talabrek.ultimateskyblock.async.LatencyHistogram;
+import us.talabrek.ultimateskyblock.async.TickScheduler;
+import us.talabrek.ultimateskyblock.util.Scheduler;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -21,7 +27,8 @@ import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
 public class JobsCommand extends CompositeCommand {
 
     @Inject
-    public JobsCommand() {
+    public JobsCommand(@NotNull TickScheduler tickScheduler, @NotNull JobMetricsExporter metricsExporter,
+                       @NotNull Scheduler scheduler) {
         super("jobs|j", "usb.admin.jobs", marktr("controls async jobs"));
 
         add(new AbstractCommand("stats|s", "usb.admin.jobs.stats", "show statistics") {
@@ -46,9 +53,65 @@ public class JobsCommand extends CompositeCommand {
                         tr(jobName)
                     ));
                 }
+                sb.append(tr("\u00a77Tick budget: \u00a79{0}\u00a77 of \u00a79{1}\u00a77 used by \u00a79{2}\u00a77 jobs at \u00a79{3}\u00a77 TPS",
+                    TimeUtil.durationAsShort(tickScheduler.getLastUsed()),
+                    TimeUtil.durationAsShort(tickScheduler.getLastBudget()),
+                    tickScheduler.getRunningCount(),
+                    String.format("%.1f", tickScheduler.getTicksPerSecond()))).append("\n");
                 sender.sendMessage(sb.toString().split("\n"));
                 return true;
             }
         });
+        add(new AbstractCommand("latency|l", "usb.admin.jobs.stats", "show latency percentiles") {
+            @Override
+            public boolean execute(CommandSender sender, String alias, Map<String, Object> data, String... args) {
+                StringBuilder sb = new StringBuilder();
+                sb.append(tr("\u00a79Job Latency")).append("\n");
+                sb.append(tr("\u00a77----------------")).append("\n");
+                Map<String, JobManager.Stats> stats = JobManager.getStats();
+                List<String> jobs = new ArrayList<>(stats.keySet());
+                Collections.sort(jobs);
+                sb.append(String.format("\u00a77%-6s %-8s %-8s %-8s %-8s %-6s %-6s %-20s\n",
+                    tr("where"), tr("p50"), tr("p95"), tr("p99"), tr("max"), tr("peak"), tr("rej"), tr("name")));
+                for (String jobName : jobs) {
+                    JobManager.Stats stat = stats.get(jobName);
+                    appendLatency(sb, tr("main"), stat.getMainThread(), stat, jobName);
+                    appendLatency(sb, tr("async"), stat.getAsync(), stat, jobName);
+                }
+                sender.sendMessage(sb.toString().split("\n"));
+                return true;
+            }
+        });
+        add(new AbstractCommand("export|e", "usb.admin.jobs.stats", "export statistics to a file") {
+            @Override
+            public boolean execute(CommandSender sender, String alias, Map<String, Object> data, String... args) {
+                scheduler.async(() -> {
+                    Path file = metricsExporter.export();
+                    scheduler.sync(() -> {
+                        if (file != null) {
+                            sender.sendMessage(tr("\u00a7eJob statistics exported to \u00a79{0}", file));
+                        } else {
+                            sender.sendMessage(tr("\u00a74Unable to export job statistics, see the server log"));
+                        }
+                    });
+                });
+                return true;
+            }
+        });
+    }
+
+    private static void appendLatency(StringBuilder sb, String where, LatencyHistogram histogram, JobManager.Stats stat, String jobName) {
+        if (histogram.getCount() == 0) {
+            return;
+        }
+        sb.append(String.format("\u00a77%-6s %8s %8s \u00a7c%8s \u00a77%8s %6d %6d \u00a79%-20s \n", where,
+            TimeUtil.durationAsShort(histogram.getPercentile(0.5)),
+            TimeUtil.durationAsShort(histogram.getPercentile(0.95)),
+            TimeUtil.durationAsShort(histogram.getPercentile(0.99)),
+            TimeUtil.durationAsShort(histogram.getMax()),
+            stat.getPeakRunningJobs(),
+            stat.getRejections(),
+            tr(jobName)
+        ));
     }
 }
@@ -25,7 +25,7 @@ public class OrphanCommand extends CompositeCommand {
         add(new AbstractCommand("count", marktr("count orphans")) {
                 @Override
                 public boolean execute(CommandSender sender, String alias, Map<String, Object> data, String... args) {
-                    sender.sendMessage(I18nUtil.tr("\u00a7e{0} old island locations will be used before new ones.", plugin.getOrphanLogic().getOrphans().size()));
+                    sender.sendMessage(I18nUtil.tr("\u00a7e{0} old island locations will be used before new ones.", plugin.getOrphanLogic().getOrphanCount()));
                     return true;
                 }
             });
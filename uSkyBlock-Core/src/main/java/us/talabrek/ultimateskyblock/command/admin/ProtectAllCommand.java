@@ -4,6 +4,7 @@ import com.google.inject.Inject;
 import dk.lockfuglsang.minecraft.command.AbstractCommand;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.async.JobManager;
 import us.talabrek.ultimateskyblock.command.admin.task.ProtectAllTask;
 import us.talabrek.ultimateskyblock.island.IslandLogic;
 import us.talabrek.ultimateskyblock.uSkyBlock;
@@ -43,6 +44,7 @@ public class ProtectAllCommand extends AbstractCommand {
                     task.stop();
                     return true;
                 }
+                JobManager.reject(ProtectAllTask.class.getSimpleName());
                 sender.sendMessage(tr("\u00a74Sorry!\u00a7e A protect-all is already running. Let it complete first, or use \u00a79usb protectall \u00a7cstop"));
                 return true;
             }
@@ -5,6 +5,7 @@ import dk.lockfuglsang.minecraft.command.AbstractCommand;
 import dk.lockfuglsang.minecraft.util.TimeUtil;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.async.JobManager;
 import us.talabrek.ultimateskyblock.command.admin.task.PurgeScanTask;
 import us.talabrek.ultimateskyblock.command.admin.task.PurgeTask;
 import us.talabrek.ultimateskyblock.island.IslandLogic;
@@ -102,6 +103,7 @@ public class PurgeCommand extends AbstractCommand {
             scanTask = null;
             sender.sendMessage(tr("\u00a74Purge aborted!"));
         } else {
+            JobManager.reject(PurgeTask.class.getSimpleName());
             sender.sendMessage(tr("\u00a74A purge is already running.\u00a7e Either \u00a79confirm\u00a7e or \u00a79stop\u00a7e it."));
         }
     }
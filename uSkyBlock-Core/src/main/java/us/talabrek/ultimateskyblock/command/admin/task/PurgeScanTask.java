@@ -5,6 +5,7 @@ import dk.lockfuglsang.minecraft.util.Timer;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.CommandSender;
 import org.bukkit.scheduler.BukkitRunnable;
+import us.talabrek.ultimateskyblock.async.JobManager;
 import us.talabrek.ultimateskyblock.island.IslandInfo;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.IslandUtil;
@@ -113,7 +114,9 @@ public class PurgeScanTask extends BukkitRunnable {
 
     @Override
     public void run() {
+        Timer runTimer = Timer.start();
         generatePurgeList();
+        JobManager.recordAsync(getClass().getSimpleName(), runTimer.elapsed());
         if (!active) {
             sender.sendMessage(tr("\u00a74PURGE:\u00a79 Scanning aborted."));
             return;
@@ -5,6 +5,7 @@ import dk.lockfuglsang.minecraft.util.TimeUtil;
 import dk.lockfuglsang.minecraft.util.Timer;
 import org.bukkit.command.CommandSender;
 import org.bukkit.scheduler.BukkitRunnable;
+import us.talabrek.ultimateskyblock.async.JobManager;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.ProgressTracker;
 
@@ -63,6 +64,7 @@ public class PurgeTask extends BukkitRunnable {
 
     @Override
     public void run() {
+        Timer runTimer = Timer.start();
         try {
             doPurge();
             log(Level.INFO, "Finished purging marked inactive islands.");
@@ -73,6 +75,7 @@ public class PurgeTask extends BukkitRunnable {
             }
         } finally {
             active = false;
+            JobManager.recordAsync(getClass().getSimpleName(), runTimer.elapsed());
         }
     }
 }
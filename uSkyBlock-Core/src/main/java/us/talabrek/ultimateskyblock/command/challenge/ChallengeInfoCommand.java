@@ -45,7 +45,7 @@ public class ChallengeInfoCommand extends AbstractCommand {
         String challengeName = String.join(" ", args);
         Challenge challenge = challengeLogic.getChallenge(challengeName);
         PlayerInfo playerInfo = playerLogic.getPlayerInfo(player);
-        if (challenge != null && challenge.getRank().isAvailable(playerInfo)) {
+        if (challenge != null && challengeLogic.isRankAvailable(playerInfo, challenge.getRank())) {
             player.sendMessage("\u00a7eChallenge Name: " + ChatColor.WHITE + challengeName.toLowerCase());
             if (challengeLogic.getRanks().size() > 1) {
                 player.sendMessage(tr("\u00a7eRank: ") + ChatColor.WHITE + challenge.getRank());
@@ -3,7 +3,8 @@ package us.talabrek.ultimateskyblock.command.completion;
 import com.google.inject.Inject;
 import dk.lockfuglsang.minecraft.command.completion.AbstractTabCompleter;
 import org.bukkit.command.CommandSender;
-import us.talabrek.ultimateskyblock.uSkyBlock;
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.uuid.PlayerDB;
 
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
@@ -14,18 +15,22 @@ import java.util.Set;
  * Lists ALL players (both offline and online).
  */
 public class AllPlayerTabCompleter extends AbstractTabCompleter {
+    private static final int MAX_OFFLINE_NAMES = 20;
+
     private final OnlinePlayerTabCompleter online;
+    private final PlayerDB playerDB;
 
     @Inject
-    public AllPlayerTabCompleter(OnlinePlayerTabCompleter online) {
+    public AllPlayerTabCompleter(@NotNull OnlinePlayerTabCompleter online, @NotNull PlayerDB playerDB) {
         this.online = online;
+        this.playerDB = playerDB;
     }
 
     @Override
     protected List<String> getTabList(CommandSender commandSender, String term) {
         Set<String> allPlayers = new LinkedHashSet<>(online.getTabList(commandSender, term));
-        // Fetching from player DB disabled -- see GH rlf/1211.
-        //allPlayers.addAll(uSkyBlock.getInstance().getPlayerDB().getNames(term));
+        // Bounded prefix lookup, scanning all known names caused lag -- see GH rlf/1211.
+        allPlayers.addAll(playerDB.getNames(term, MAX_OFFLINE_NAMES));
         return new ArrayList<>(allPlayers);
     }
 }
@@ -25,6 +25,7 @@ import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
 @Singleton
 public class ExploitEvents implements Listener {
     private final uSkyBlock plugin;
+    private final ProtectionContext protection;
 
     private final boolean visitorVillagerTradingProtected;
     private final boolean usePortals;
@@ -33,8 +34,9 @@ public class ExploitEvents implements Listener {
     private final boolean anyVillagerTradingAllowed;
 
     @Inject
-    public ExploitEvents(@NotNull uSkyBlock plugin) {
+    public ExploitEvents(@NotNull uSkyBlock plugin, @NotNull ProtectionContext protection) {
         this.plugin = plugin;
+        this.protection = protection;
         FileConfiguration config = plugin.getConfig();
         visitorVillagerTradingProtected = config.getBoolean("options.protection.visitors.villager-trading", true);
         anyVillagerTradingAllowed = config.getBoolean("options.protection.villager-trading-enabled", true);
@@ -52,7 +54,7 @@ public class ExploitEvents implements Listener {
         {
             return; // We only care about portals going into or out of skyworld
         }
-        if (player.hasPermission("usb.mod.bypassprotection") || plugin.playerIsOnIsland(player) || plugin.playerIsInSpawn(player)) {
+        if (protection.isAllowed(player) || plugin.playerIsInSpawn(player)) {
             return;
         }
         if (event.getCause() == PlayerTeleportEvent.TeleportCause.NETHER_PORTAL ||
@@ -80,9 +82,8 @@ public class ExploitEvents implements Listener {
         }
         if (visitorVillagerTradingProtected
                 && event.getPlayer() instanceof Player
-                && !(event.getPlayer().hasPermission("usb.mod.bypassprotection"))
                 && event.getInventory().getType() == InventoryType.MERCHANT
-                && !plugin.playerIsOnIsland((Player)event.getPlayer())) {
+                && !protection.isAllowed((Player)event.getPlayer())) {
             event.setCancelled(true);
             event.getPlayer().sendMessage(tr("\u00a7eTrading isn't allowed on other islands. Do it in spawn."));
         }
@@ -97,7 +98,7 @@ public class ExploitEvents implements Listener {
             return;
         }
         Player player = (Player) e.getEntered();
-        if (player.hasPermission("usb.mod.bypassprotection") || plugin.playerIsOnIsland(player)) {
+        if (protection.isAllowed(player)) {
             return;
         }
         e.setCancelled(true);
@@ -113,7 +114,7 @@ public class ExploitEvents implements Listener {
             return;
         }
         Player player = (Player) e.getAttacker();
-        if (player.hasPermission("usb.mod.bypassprotection") || plugin.playerIsOnIsland(player)) {
+        if (protection.isAllowed(player)) {
             return;
         }
         e.setCancelled(true);
@@ -129,7 +130,7 @@ public class ExploitEvents implements Listener {
             return;
         }
         Player player = (Player) e.getAttacker();
-        if (player.hasPermission("usb.mod.bypassprotection") || plugin.playerIsOnIsland(player)) {
+        if (protection.isAllowed(player)) {
             return;
         }
         e.setCancelled(true);
@@ -44,6 +44,7 @@ import us.talabrek.ultimateskyblock.uSkyBlock;
 public class GriefEvents implements Listener {
 
     private final uSkyBlock plugin;
+    private final ProtectionContext protection;
     private final boolean creeperEnabled;
     private final boolean shearingEnabled;
     private final boolean killMonstersEnabled;
@@ -53,8 +54,9 @@ public class GriefEvents implements Listener {
     private final boolean hatchingEnabled;
 
     @Inject
-    public GriefEvents(@NotNull uSkyBlock plugin) {
+    public GriefEvents(@NotNull uSkyBlock plugin, @NotNull ProtectionContext protection) {
         this.plugin = plugin;
+        this.protection = protection;
         FileConfiguration config = plugin.getConfig();
         creeperEnabled = config.getBoolean("options.protection.creepers", true);
         witherEnabled = config.getBoolean("options.protection.withers", true);
@@ -86,19 +88,16 @@ public class GriefEvents implements Listener {
      * Valid targets are players belonging to the island.
      */
     private boolean isValidTarget(Entity target) {
-        return target instanceof Player && plugin.playerIsOnIsland((Player)target);
+        return target instanceof Player && protection.isOnIsland((Player)target);
     }
 
     @EventHandler
     public void onShearEvent(PlayerShearEntityEvent event) {
         Player player = event.getPlayer();
-        if (!shearingEnabled || !plugin.getWorldManager().isSkyAssociatedWorld(player.getWorld())) {
+        if (!shearingEnabled || !protection.isInSkyAssociatedWorld(player)) {
             return; // Not our concern
         }
-        if (player.hasPermission("usb.mod.bypassprotection")) {
-            return;
-        }
-        if (!plugin.playerIsOnIsland(player)) {
+        if (!protection.isAllowed(player)) {
             event.setCancelled(true);
         }
     }
@@ -112,9 +111,8 @@ public class GriefEvents implements Listener {
         if (!(event.getEntity() instanceof Creature)) {
             return;
         }
-        if (event.getDamager() instanceof Player
-                && !plugin.playerIsOnIsland((Player)event.getDamager())) {
-            if (event.getDamager().hasPermission("usb.mod.bypassprotection")) {
+        if (event.getDamager() instanceof Player) {
+            if (protection.isAllowed((Player) event.getDamager())) {
                 return;
             }
             cancelMobDamage(event);
@@ -124,7 +122,7 @@ public class GriefEvents implements Listener {
                 return;
             }
             Player player = (Player) shooter;
-            if (player.hasPermission("usb.mod.bypassprotection") || plugin.playerIsOnIsland(player)) {
+            if (protection.isAllowed(player)) {
                 return;
             }
             cancelMobDamage(event);
@@ -141,7 +139,7 @@ public class GriefEvents implements Listener {
 
     @EventHandler(priority = EventPriority.MONITOR)
     public void onTrampling(PlayerInteractEvent event) {
-        if (!tramplingEnabled || !plugin.getWorldManager().isSkyAssociatedWorld(event.getPlayer().getWorld())) {
+        if (!tramplingEnabled || !protection.isInSkyAssociatedWorld(event.getPlayer())) {
             return;
         }
         if (event.getAction() == Action.PHYSICAL
@@ -209,10 +207,10 @@ public class GriefEvents implements Listener {
 
     @EventHandler
     public void onEgg(PlayerEggThrowEvent e) {
-        if (!hatchingEnabled || !plugin.getWorldManager().isSkyAssociatedWorld(e.getPlayer().getWorld())) {
+        if (!hatchingEnabled || !protection.isInSkyAssociatedWorld(e.getPlayer())) {
             return;
         }
-        if (!plugin.playerIsOnIsland(e.getPlayer())) {
+        if (!protection.isOnIsland(e.getPlayer())) {
             e.setHatching(false);
         }
     }
@@ -2,6 +2,7 @@ package us.talabrek.ultimateskyblock.event;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import dk.lockfuglsang.minecraft.po.I18nUtil;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -19,6 +20,7 @@ import us.talabrek.ultimateskyblock.uSkyBlock;
 import java.util.ArrayList;
 import java.util.List;
 
+import static dk.lockfuglsang.minecraft.po.I18nUtil.marktr;
 import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
 
 /**
@@ -26,12 +28,16 @@ import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
  */
 @Singleton
 public class ItemDropEvents implements Listener {
+    private static final I18nUtil.Message OWNER_TAG = I18nUtil.message(marktr("Owner: {0}"));
+
     private final uSkyBlock plugin;
+    private final ProtectionContext protection;
     private final boolean visitorsCanDrop;
 
     @Inject
-    public ItemDropEvents(@NotNull uSkyBlock plugin) {
+    public ItemDropEvents(@NotNull uSkyBlock plugin, @NotNull ProtectionContext protection) {
         this.plugin = plugin;
+        this.protection = protection;
         visitorsCanDrop = plugin.getConfig().getBoolean("options.protection.visitors.item-drops", true);
     }
 
@@ -42,7 +48,7 @@ public class ItemDropEvents implements Listener {
         if (!plugin.getWorldManager().isSkyWorld(player.getWorld())) {
             return;
         }
-        if (!visitorsCanDrop && !plugin.playerIsOnIsland(player) && !plugin.playerIsInSpawn(player)) {
+        if (!visitorsCanDrop && !protection.isOnIsland(player) && !plugin.playerIsInSpawn(player)) {
             event.setCancelled(true);
             plugin.notifyPlayer(player, tr("\u00a7eVisitors can't drop items!"));
             return;
@@ -57,7 +63,7 @@ public class ItemDropEvents implements Listener {
         if (!plugin.getWorldManager().isSkyWorld(player.getWorld())) {
             return;
         }
-        if (!visitorsCanDrop && !plugin.playerIsOnIsland(player) && !plugin.playerIsInSpawn(player)) {
+        if (!visitorsCanDrop && !protection.isOnIsland(player) && !plugin.playerIsInSpawn(player)) {
             event.setKeepInventory(true);
             return;
         }
@@ -74,7 +80,7 @@ public class ItemDropEvents implements Listener {
             if (lore == null) {
                 lore = new ArrayList<>();
             }
-            String ownerTag = tr("Owner: {0}", player.getName());
+            String ownerTag = OWNER_TAG.format(player.getName());
             if (!lore.contains(ownerTag)) {
                 lore.add(ownerTag);
             }
@@ -89,7 +95,8 @@ public class ItemDropEvents implements Listener {
         if (meta != null) {
             List<String> lore = meta.getLore();
             if (lore != null && !lore.isEmpty()) {
-                lore.removeIf(line -> line.contains(tr("Owner: {0}", "")));
+                String ownerTag = OWNER_TAG.format("");
+                lore.removeIf(line -> line.contains(ownerTag));
                 meta.setLore(lore);
                 stack.setItemMeta(meta);
                 item.setItemStack(stack);
@@ -118,7 +125,7 @@ public class ItemDropEvents implements Listener {
             clearDropInfo(event.getItem());
             return;
         }
-        if (wasDroppedBy(player, event) || player.hasPermission("usb.mod.bypassprotection") || plugin.playerIsOnIsland(player) || plugin.playerIsInSpawn(player)) {
+        if (wasDroppedBy(player, event) || protection.isAllowed(player) || plugin.playerIsInSpawn(player)) {
             clearDropInfo(event.getItem());
             return; // Allowed
         }
@@ -134,7 +141,7 @@ public class ItemDropEvents implements Listener {
             List<String> lore = meta.getLore();
             if (lore != null && !lore.isEmpty()) {
                 String lastLine = lore.get(lore.size() - 1);
-                return lastLine.equalsIgnoreCase(tr("Owner: {0}", player.getName()));
+                return lastLine.equalsIgnoreCase(OWNER_TAG.format(player.getName()));
             }
         }
         return false;
@@ -0,0 +1,240 @@
+package us.talabrek.ultimateskyblock.event;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registers the uSkyBlock listeners, and when <code>options.advanced.listenerTimings</code> is enabled, records
+ * the invocations, time and allocated bytes of each event handler.
+ * <p>
+ * When enabled, the <code>@EventHandler</code> methods are registered one by one, each with an executor that
+ * times the call. When disabled (the default), the listeners are registered as usual, and cost nothing extra.
+ * The times are inclusive, so a handler that calls another event includes the time of its handlers.
+ * Allocations are measured per thread by the JVM, where supported.
+ */
+@Singleton
+public class ListenerTimings {
+    private static final String FILE_NAME = "listeners.prom";
+
+    private final Logger logger;
+    private final Path timingsFile;
+    private final boolean enabled;
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    @Inject
+    public ListenerTimings(
+        @NotNull PluginConfig config,
+        @NotNull Logger logger,
+        @NotNull @PluginDataDir Path dataDir
+    ) {
+        this.logger = logger;
+        this.timingsFile = dataDir.resolve("metrics").resolve(FILE_NAME);
+        this.enabled = config.getYamlConfig().getBoolean("options.advanced.listenerTimings", false);
+        this.threadBean = enabled ? allocationBean() : null;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+            && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isMeasuringAllocations() {
+        return threadBean != null;
+    }
+
+    /**
+     * Registers the listener, timing each of its handlers if enabled.
+     */
+    public void register(@NotNull PluginManager manager, @NotNull Listener listener, @NotNull Plugin plugin) {
+        if (!enabled) {
+            manager.registerEvents(listener, plugin);
+            return;
+        }
+        for (Method method : handlerMethods(listener.getClass())) {
+            EventHandler handler = method.getAnnotation(EventHandler.class);
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            method.setAccessible(true);
+            Stats stat = stats.computeIfAbsent(handlerName(listener, method, eventClass), k -> new Stats());
+            manager.registerEvent(eventClass, listener, handler.priority(), timedExecutor(method, eventClass, stat),
+                plugin, handler.ignoreCancelled());
+        }
+    }
+
+    /**
+     * The handler methods, found the same way as Bukkit does.
+     */
+    static @NotNull List<Method> handlerMethods(@NotNull Class<?> listenerClass) {
+        Set<Method> methods = new LinkedHashSet<>(List.of(listenerClass.getMethods()));
+        methods.addAll(List.of(listenerClass.getDeclaredMethods()));
+        List<Method> handlers = new ArrayList<>();
+        for (Method method : methods) {
+            if (method.getAnnotation(EventHandler.class) == null || method.isBridge() || method.isSynthetic()) {
+                continue;
+            }
+            if (method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                continue;
+            }
+            handlers.add(method);
+        }
+        return handlers;
+    }
+
+    static @NotNull String handlerName(@NotNull Listener listener, @NotNull Method method, @NotNull Class<? extends Event> eventClass) {
+        return listener.getClass().getSimpleName() + "." + method.getName() + "(" + eventClass.getSimpleName() + ")";
+    }
+
+    private @NotNull EventExecutor timedExecutor(@NotNull Method method, @NotNull Class<? extends Event> eventClass, @NotNull Stats stat) {
+        return (listener, event) -> {
+            if (!eventClass.isInstance(event)) {
+                return;
+            }
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            try {
+                method.invoke(listener, event);
+            } catch (InvocationTargetException e) {
+                throw new EventException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new EventException(e);
+            } finally {
+                stat.record(System.nanoTime() - start, allocatedBytes() - allocated);
+            }
+        };
+    }
+
+    private long allocatedBytes() {
+        return threadBean != null ? threadBean.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * The handlers timed so far, by name, most expensive first.
+     */
+    public @NotNull List<Map.Entry<String, Stats>> getStats() {
+        List<Map.Entry<String, Stats>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort(Collections.reverseOrder(Comparator.comparingLong(e -> e.getValue().getTotalNanos())));
+        return entries;
+    }
+
+    public void reset() {
+        stats.values().forEach(Stats::reset);
+    }
+
+    public void shutdown() {
+        if (enabled) {
+            export();
+        }
+    }
+
+    /**
+     * Writes the timings to <code>metrics/listeners.prom</code>, in the Prometheus text format. Synchronized, since
+     * the shutdown and the <code>/usb debug listeners dump</code> command share the temporary file.
+     *
+     * @return The file written, or null if it could not be written.
+     */
+    public synchronized Path export() {
+        try {
+            Files.createDirectories(timingsFile.getParent());
+            Path tmpFile = timingsFile.resolveSibling(FILE_NAME + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                List<Map.Entry<String, Stats>> entries = getStats();
+                write(writer, entries, "usb_listener_calls_total", "counter", "Calls of the event handler.", Stats::getCount);
+                write(writer, entries, "usb_listener_nanos_total", "counter", "Time spent in the event handler.", Stats::getTotalNanos);
+                write(writer, entries, "usb_listener_nanos_max", "gauge", "The longest call of the event handler.", Stats::getMaxNanos);
+                write(writer, entries, "usb_listener_allocated_bytes_total", "counter", "Bytes allocated by the event handler.", Stats::getAllocatedBytes);
+            }
+            Files.move(tmpFile, timingsFile, StandardCopyOption.REPLACE_EXISTING);
+            return timingsFile;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to write listener timings to " + timingsFile, e);
+            return null;
+        }
+    }
+
+    private static void write(@NotNull BufferedWriter writer, @NotNull List<Map.Entry<String, Stats>> entries,
+                              @NotNull String name, @NotNull String type, @NotNull String help,
+                              @NotNull ToLongFunction<Stats> value) throws IOException {
+        writer.write("# HELP " + name + " " + help + "\n");
+        writer.write("# TYPE " + name + " " + type + "\n");
+        for (Map.Entry<String, Stats> entry : entries) {
+            writer.write(name + "{handler=\"" + entry.getKey() + "\"} " + value.applyAsLong(entry.getValue()) + "\n");
+        }
+    }
+
+    public static class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        void record(long nanos, long bytes) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            allocatedBytes.add(bytes);
+        }
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+            allocatedBytes.reset();
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes.sum();
+        }
+    }
+}
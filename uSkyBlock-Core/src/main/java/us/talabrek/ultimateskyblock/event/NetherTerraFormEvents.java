@@ -6,6 +6,7 @@ import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.configuration.ConfigurationSection;
@@ -21,16 +22,12 @@ import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.event.entity.EntityExplodeEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
 import us.talabrek.ultimateskyblock.uSkyBlock;
-import us.talabrek.ultimateskyblock.util.LocationUtil;
 import us.talabrek.ultimateskyblock.util.MaterialUtil;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,7 +42,7 @@ public class NetherTerraFormEvents implements Listener {
     private final Map<Material, List<MaterialUtil.MaterialProbability>> terraFormMap = new HashMap<>();
     private final Map<String, Double> toolWeights = new HashMap<>();
     private static final Random RND = new Random();
-    private final double maxScan;
+    private final TerraFormSearch search;
     private final double chanceWither;
     private final double chanceSkeleton;
     private final double chanceBlaze;
@@ -77,7 +74,7 @@ public class NetherTerraFormEvents implements Listener {
                 toolWeights.put(tool, config.getDouble(tool, 1d));
             }
         }
-        maxScan = plugin.getConfig().getInt("nether.terraform-distance", 7);
+        search = new TerraFormSearch(plugin.getConfig().getInt("nether.terraform-distance", 7), RND);
         config = plugin.getConfig().getConfigurationSection("nether.spawn-chances");
         if (config != null) {
             chanceBlaze = config.getDouble("blaze", 0.2);
@@ -115,17 +112,52 @@ public class NetherTerraFormEvents implements Listener {
         }
         double toolWeight = getToolWeight(tool);
         Location playerLocation = player.getEyeLocation();
-        Location blockLocation = LocationUtil.centerInBlock(block.getLocation());
-        Vector v = new Vector(blockLocation.getX(), blockLocation.getY(), blockLocation.getZ());
-        v.subtract(new Vector(playerLocation.getX(), playerLocation.getY(), playerLocation.getZ()));
-        v.normalize();
         // Disable spawning above the player... enabling the player to clear a region
-        if (playerLocation.getPitch() >= minPitch && playerLocation.getPitch() <= maxPitch) {
-            ProtectedCuboidRegion islandRegion = WorldGuardHandler.getIslandRegion(playerLocation);
-            List<Material> yield = getYield(block.getType(), toolWeight);
-            for (Material mat : yield) {
-                spawnBlock(mat, blockLocation, v, islandRegion);
+        if (playerLocation.getPitch() < minPitch || playerLocation.getPitch() > maxPitch) {
+            return;
+        }
+        double cx = block.getX() + 0.5;
+        double cy = block.getY() + 0.5;
+        double cz = block.getZ() + 0.5;
+        double ux = cx - playerLocation.getX();
+        double uy = cy - playerLocation.getY();
+        double uz = cz - playerLocation.getZ();
+        double length = Math.sqrt(ux * ux + uy * uy + uz * uz);
+        ux /= length;
+        uy /= length;
+        uz /= length;
+        ProtectedCuboidRegion islandRegion = null;
+        World world = block.getWorld();
+        // Each placed block continues the search where the previous one was placed
+        int step = 1;
+        for (MaterialUtil.MaterialProbability e : terraFormMap.get(block.getType())) {
+            if (RND.nextDouble() >= e.getProbability() * toolWeight) {
+                continue;
+            }
+            if (step > search.getMaxStep()) {
+                return;
+            }
+            if (islandRegion == null) {
+                islandRegion = WorldGuardHandler.getIslandRegion(playerLocation);
             }
+            ProtectedCuboidRegion region = islandRegion;
+            Material type = e.getMaterial();
+            if (MaterialUtil.isFallingMaterial(type)) {
+                step = search.search(cx, cy, cz, ux, uy, uz, step, (x, y, z) ->
+                    world.getType(x, y, z) == Material.AIR
+                        && world.getType(x, y - 1, z).isSolid()
+                        && isInIslandRegion(region, x, y, z));
+            } else {
+                // Searches from the block in front of the mined one
+                step = search.search(Math.round(cx + ux), Math.round(cy + uy), Math.round(cz + uz), ux, uy, uz, step, (x, y, z) ->
+                    world.getType(x, y, z) == Material.AIR
+                        && isAdjacentToSolid(world, x, y, z)
+                        && isInIslandRegion(region, x, y, z));
+            }
+            if (step == TerraFormSearch.NOT_FOUND) {
+                return;
+            }
+            world.setType(search.getX(), search.getY(), search.getZ(), type);
         }
     }
 
@@ -135,87 +167,17 @@ public class NetherTerraFormEvents implements Listener {
         return d != null ? d : 0d;
     }
 
-    private void spawnBlock(Material type, Location location, Vector v, ProtectedCuboidRegion islandRegion) {
-        Location spawnLoc;
-        if (MaterialUtil.isFallingMaterial(type)) {
-            spawnLoc = findSolidSpawnLocation(location, v, islandRegion);
-        } else {
-            spawnLoc = findAirSpawnLocation(location, v, islandRegion);
-        }
-        if (spawnLoc != null) {
-            spawnLoc.getWorld().getBlockAt(spawnLoc).setType(type);
-        }
-    }
-
-    private Location findAirSpawnLocation(Location location, Vector v, ProtectedCuboidRegion islandRegion) {
-        // Searches in a cone for an air block
-        Location lookAt = new Location(location.getWorld(),
-            Math.round(location.getX() + v.getX()),
-            Math.round(location.getY() + v.getY()),
-            Math.round(location.getZ() + v.getZ()));
-        while (v.length() < maxScan) {
-            for (Location loc : getLocationsInPlane(lookAt, v)) {
-                if (loc.getBlock().getType() == Material.AIR && isAdjacentToSolid(loc)
-                    && isInIslandRegion(islandRegion, loc)) {
-                    return loc;
-                }
-            }
-            double n = v.length();
-            v.normalize().multiply(n + 1);
-        }
-        return null;
-    }
-
-    private boolean isInIslandRegion(ProtectedCuboidRegion islandRegion, Location loc) {
-        return WorldGuardHandler.isInRegion(islandRegion, loc);
-    }
-
-    private boolean isAdjacentToSolid(Location loc) {
-        for (BlockFace face : Arrays.asList(BlockFace.DOWN, BlockFace.UP, BlockFace.WEST, BlockFace.EAST, BlockFace.NORTH, BlockFace.SOUTH)) {
-            if (loc.getBlock().getRelative(face).getType().isSolid()) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private Location findSolidSpawnLocation(Location location, Vector v, ProtectedCuboidRegion islandRegion) {
-        // Searches in a cone for an air block
-        while (v.length() < maxScan) {
-            for (Location loc : getLocationsInPlane(location, v)) {
-                if (loc.getBlock().getType() == Material.AIR
-                    && loc.getBlock().getRelative(BlockFace.DOWN).getType().isSolid()
-                    && isInIslandRegion(islandRegion, loc)) {
-                    return loc;
-                }
-            }
-            double n = v.length();
-            v.normalize().multiply(n + 1);
-        }
-        return null;
+    private static boolean isInIslandRegion(ProtectedCuboidRegion islandRegion, int x, int y, int z) {
+        return islandRegion != null && islandRegion.contains(x, y, z);
     }
 
-    private List<Location> getLocationsInPlane(Location location, Vector v) {
-        Location lookAt = new Location(location.getWorld(),
-            Math.round(location.getX() + v.getX()),
-            Math.round(location.getY() + v.getY()),
-            Math.round(location.getZ() + v.getZ()));
-        List<Location> locs = new ArrayList<>();
-        boolean xFixed = Math.abs(v.getX()) > Math.abs(v.getZ());
-        for (int r = 1; r <= v.length(); r++) {
-            for (int dy = -r; dy <= r; dy++) {
-                for (int dxz = -r; dxz <= r; dxz++) {
-                    if (xFixed) {
-                        locs.add(lookAt.clone().add(0, dy, dxz));
-                    } else {
-                        locs.add(lookAt.clone().add(dxz, dy, 0));
-                    }
-                }
-            }
-        }
-        Collections.shuffle(locs);
-        locs = locs.subList(0, locs.size() / 2); // Only try half
-        return locs;
+    private static boolean isAdjacentToSolid(World world, int x, int y, int z) {
+        return world.getType(x, y - 1, z).isSolid()
+            || world.getType(x, y + 1, z).isSolid()
+            || world.getType(x - 1, y, z).isSolid()
+            || world.getType(x + 1, y, z).isSolid()
+            || world.getType(x, y, z - 1).isSolid()
+            || world.getType(x, y, z + 1).isSolid();
     }
 
     public List<Material> getYield(Material material, double toolWeight) {
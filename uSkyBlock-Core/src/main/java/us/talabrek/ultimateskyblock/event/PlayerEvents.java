@@ -42,7 +42,6 @@ import us.talabrek.ultimateskyblock.island.IslandInfo;
 import us.talabrek.ultimateskyblock.player.PatienceTester;
 import us.talabrek.ultimateskyblock.player.PlayerInfo;
 import us.talabrek.ultimateskyblock.uSkyBlock;
-import us.talabrek.ultimateskyblock.util.LocationUtil;
 import us.talabrek.ultimateskyblock.world.WorldManager;
 
 import java.time.Duration;
@@ -68,6 +67,7 @@ public class PlayerEvents implements Listener {
     private static final Duration OBSIDIAN_SPAM = Duration.ofSeconds(10);
 
     private final uSkyBlock plugin;
+    private final ProtectionContext protection;
     private final boolean visitorFallProtected;
     private final boolean visitorFireProtected;
     private final boolean visitorMonsterProtected;
@@ -83,8 +83,9 @@ public class PlayerEvents implements Listener {
         Material.DARK_OAK_LEAVES, Material.DARK_OAK_SAPLING);
 
     @Inject
-    public PlayerEvents(@NotNull uSkyBlock plugin) {
+    public PlayerEvents(@NotNull uSkyBlock plugin, @NotNull ProtectionContext protection) {
         this.plugin = plugin;
+        this.protection = protection;
         FileConfiguration config = plugin.getConfig();
         visitorFallProtected = config.getBoolean("options.protection.visitors.fall", true);
         visitorFireProtected = config.getBoolean("options.protection.visitors.fire-damage", true);
@@ -96,7 +97,7 @@ public class PlayerEvents implements Listener {
     @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
     public void onPlayerFoodChange(final FoodLevelChangeEvent event) {
         if (event.getEntity() instanceof Player player) {
-            if (player.getFoodLevel() > event.getFoodLevel() && plugin.playerIsOnIsland(player)) {
+            if (player.getFoodLevel() > event.getFoodLevel() && protection.isOnIsland(player)) {
                 if (RANDOM.nextFloat() <= plugin.getPerkLogic().getPerk(player).getHungerReduction()) {
                     event.setCancelled(true);
                 }
@@ -108,14 +109,14 @@ public class PlayerEvents implements Listener {
     public void onClickOnObsidian(final PlayerInteractEvent event) {
         Player player = event.getPlayer();
         Block block = event.getClickedBlock();
-        if (plugin.playerIsOnIsland(player)
-            && Settings.extras_obsidianToLava
+        if (Settings.extras_obsidianToLava
             && event.hasBlock()
             && event.hasItem()
             && event.getAction() == Action.RIGHT_CLICK_BLOCK
             && event.getMaterial() == Material.BUCKET
             && block != null
             && block.getType() == Material.OBSIDIAN
+            && protection.isOnIsland(player)
             && !testForObsidian(block)) {
             Instant now = Instant.now();
             Instant lastClick = obsidianClick.get(player.getUniqueId());
@@ -208,8 +209,8 @@ public class PlayerEvents implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onVisitorDamage(final EntityDamageEvent event) {
         if (event.getEntity() instanceof Player player
-            && plugin.getWorldManager().isSkyAssociatedWorld(player.getWorld())
-            && !plugin.playerIsOnIsland(player)) {
+            && protection.isInSkyAssociatedWorld(player)
+            && !protection.isOnIsland(player)) {
             if ((visitorFireProtected && FIRE_TRAP.contains(event.getCause()))
                 || (visitorFallProtected && (event.getCause() == EntityDamageEvent.DamageCause.FALL))) {
                 event.setDamage(-event.getDamage());
@@ -221,8 +222,8 @@ public class PlayerEvents implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onVisitorDamageByEntity(final EntityDamageByEntityEvent event) {
         if (event.getEntity() instanceof Player player
-            && plugin.getWorldManager().isSkyAssociatedWorld(player.getWorld())
-            && !plugin.playerIsOnIsland(player)
+            && protection.isInSkyAssociatedWorld(player)
+            && !protection.isOnIsland(player)
             && !(event.getDamager() instanceof Player && Settings.island_allowPvP)) {
             if (visitorMonsterProtected &&
                 (event.getCause() == EntityDamageEvent.DamageCause.ENTITY_ATTACK
@@ -281,10 +282,7 @@ public class PlayerEvents implements Listener {
         if (Settings.extras_respawnAtIsland) {
             PlayerInfo playerInfo = plugin.getPlayerInfo(event.getPlayer());
             if (playerInfo.getHasIsland()) {
-                Location homeLocation = LocationUtil.findNearestSafeLocation(playerInfo.getHomeLocation(), null);
-                if (homeLocation == null) {
-                    homeLocation = LocationUtil.findNearestSafeLocation(playerInfo.getIslandLocation(), null);
-                }
+                Location homeLocation = plugin.getSafeHomeLocation(playerInfo);
                 // If homeLocation is somehow still null, we intentionally fallthrough
                 if (homeLocation != null) {
                     event.setRespawnLocation(homeLocation);
@@ -303,7 +301,7 @@ public class PlayerEvents implements Listener {
             return;
         }
         final Player player = event.getPlayer();
-        boolean isAdmin = player.isOp() || player.hasPermission("usb.mod.bypassprotection");
+        boolean isAdmin = player.isOp() || protection.isBypassing(player);
         IslandInfo islandInfo = uSkyBlock.getInstance().getIslandInfo(WorldGuardHandler.getIslandNameAt(event.getTo()));
         if (!isAdmin && islandInfo != null && islandInfo.isBanned(player.getUniqueId())) {
             event.setCancelled(true);
@@ -328,7 +326,7 @@ public class PlayerEvents implements Listener {
      */
     @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
     public void onLeafBreak(BlockBreakEvent event) {
-        if (plugin.playerIsOnIsland(event.getPlayer()) && leafSaplings.containsKey(event.getBlock().getType())) {
+        if (leafSaplings.containsKey(event.getBlock().getType()) && protection.isOnIsland(event.getPlayer())) {
             IslandInfo islandInfo = plugin.getIslandInfo(event.getBlock().getLocation());
             if (islandInfo != null && islandInfo.getLeafBreaks() == 0) {
                 event.getBlock().getWorld().dropItemNaturally(event.getBlock().getLocation(), new ItemStack(leafSaplings.get(event.getBlock().getType())));
@@ -0,0 +1,215 @@
+package us.talabrek.ultimateskyblock.event;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resolves the protection state of a player once per tick, and shares it between the protection listeners.
+ * <p>
+ * A single action of a player often reaches several protection listeners, which all ask whether the player
+ * bypasses protection, is in a skyblock world, and is on an island of their own or one they are trusted on.
+ * The island checks need WorldGuard region lookups, so the answers are remembered per player for the rest
+ * of the tick, as long as the player stays on the same block. They are forgotten when the player teleports,
+ * changes world or quits, and when permissions are changed through the permissions hook.
+ * <p>
+ * Only used from the main thread.
+ */
+@Singleton
+public class ProtectionContext implements Listener {
+    public static final String BYPASS_PERMISSION = "usb.mod.bypassprotection";
+
+    private static final Duration ONE_TICK = Duration.ofMillis(50);
+
+    private final uSkyBlock plugin;
+    private final Scheduler scheduler;
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private BukkitTask tickTask;
+
+    // Island checks asked for, and the ones that needed region lookups, this tick and in total
+    private int checks;
+    private int lookups;
+    private long ticks;
+    private long totalChecks;
+    private long totalLookups;
+    private int peakChecks;
+    private int peakLookups;
+
+    private static final class Entry {
+        private final World world;
+        private final int x;
+        private final int y;
+        private final int z;
+        private Boolean bypass;
+        private Boolean skyWorld;
+        private Boolean ownIsland;
+        private Boolean trusted;
+
+        private Entry(@NotNull Location location) {
+            world = location.getWorld();
+            x = location.getBlockX();
+            y = location.getBlockY();
+            z = location.getBlockZ();
+        }
+
+        private boolean isAt(@NotNull Location location) {
+            return world == location.getWorld()
+                && x == location.getBlockX() && y == location.getBlockY() && z == location.getBlockZ();
+        }
+    }
+
+    @Inject
+    public ProtectionContext(@NotNull uSkyBlock plugin, @NotNull Scheduler scheduler) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+    }
+
+    public void startup() {
+        tickTask = scheduler.sync(this::nextTick, ONE_TICK, ONE_TICK);
+    }
+
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        entries.clear();
+    }
+
+    public boolean isBypassing(@NotNull Player player) {
+        Entry entry = entry(player);
+        if (entry.bypass == null) {
+            entry.bypass = player.hasPermission(BYPASS_PERMISSION);
+        }
+        return entry.bypass;
+    }
+
+    public boolean isInSkyAssociatedWorld(@NotNull Player player) {
+        Entry entry = entry(player);
+        if (entry.skyWorld == null) {
+            entry.skyWorld = plugin.getWorldManager().isSkyAssociatedWorld(entry.world);
+        }
+        return entry.skyWorld;
+    }
+
+    public boolean isOnOwnIsland(@NotNull Player player) {
+        Entry entry = entry(player);
+        checks++;
+        if (entry.ownIsland == null) {
+            lookups++;
+            entry.ownIsland = plugin.playerIsOnOwnIsland(player);
+        }
+        return entry.ownIsland;
+    }
+
+    public boolean isTrusted(@NotNull Player player) {
+        Entry entry = entry(player);
+        checks++;
+        if (entry.trusted == null) {
+            lookups++;
+            entry.trusted = plugin.playerIsTrusted(player);
+        }
+        return entry.trusted;
+    }
+
+    /**
+     * Whether the player is on their own island, or on an island they are trusted on.
+     */
+    public boolean isOnIsland(@NotNull Player player) {
+        return isOnOwnIsland(player) || isTrusted(player);
+    }
+
+    /**
+     * Whether the player bypasses protection, or is on an island of their own or one they are trusted on.
+     */
+    public boolean isAllowed(@NotNull Player player) {
+        return isBypassing(player) || isOnIsland(player);
+    }
+
+    public void invalidate(@NotNull UUID uuid) {
+        entries.remove(uuid);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private @NotNull Entry entry(@NotNull Player player) {
+        Location location = player.getLocation();
+        Entry entry = entries.get(player.getUniqueId());
+        if (entry == null || !entry.isAt(location)) {
+            entry = new Entry(location);
+            entries.put(player.getUniqueId(), entry);
+        }
+        return entry;
+    }
+
+    void nextTick() {
+        entries.clear();
+        ticks++;
+        totalChecks += checks;
+        totalLookups += lookups;
+        peakChecks = Math.max(peakChecks, checks);
+        peakLookups = Math.max(peakLookups, lookups);
+        checks = 0;
+        lookups = 0;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * The island checks asked for since startup, each of which used to be a region lookup.
+     */
+    public long getTotalChecks() {
+        return totalChecks;
+    }
+
+    /**
+     * The region lookups done since startup.
+     */
+    public long getTotalLookups() {
+        return totalLookups;
+    }
+
+    public int getPeakChecks() {
+        return peakChecks;
+    }
+
+    public int getPeakLookups() {
+        return peakLookups;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTeleport(PlayerTeleportEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+}
@@ -43,13 +43,15 @@ public class SpawnEvents implements Listener {
     private static final Set<Action> RIGHT_CLICKS = Set.of(Action.RIGHT_CLICK_AIR, Action.RIGHT_CLICK_BLOCK);
 
     private final uSkyBlock plugin;
+    private final ProtectionContext protection;
 
     private boolean phantomsInOverworld;
     private boolean phantomsInNether;
 
     @Inject
-    public SpawnEvents(@NotNull uSkyBlock plugin) {
+    public SpawnEvents(@NotNull uSkyBlock plugin, @NotNull ProtectionContext protection) {
         this.plugin = plugin;
+        this.protection = protection;
         phantomsInOverworld = plugin.getConfig().getBoolean("options.spawning.phantoms.overworld", true);
         phantomsInNether = plugin.getConfig().getBoolean("options.spawning.phantoms.nether", false);
     }
@@ -60,12 +62,12 @@ public class SpawnEvents implements Listener {
         if (event.useItemInHand() == Event.Result.DENY || !plugin.getWorldManager().isSkyWorld(player.getWorld())) {
             return; // Bail out, we don't care
         }
-        if (player.hasPermission("usb.mod.bypassprotection") || player.isOp()) {
+        if (protection.isBypassing(player) || player.isOp()) {
             return;
         }
         ItemStack item = event.getItem();
         if (RIGHT_CLICKS.contains(event.getAction()) && item != null && item.getItemMeta() instanceof SpawnEggMeta) {
-            if (!plugin.playerIsOnIsland(player)) {
+            if (!protection.isOnIsland(player)) {
                 event.setCancelled(true);
                 plugin.notifyPlayer(player, tr("\u00a7eYou can only use spawn-eggs on your own island."));
                 return;
@@ -0,0 +1,128 @@
+package us.talabrek.ultimateskyblock.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+
+/**
+ * Searches for a block in a cone, away from the player, on primitive block coordinates.
+ * <p>
+ * At step <code>n</code> of the cone, the plane <code>n</code> blocks further along the view direction is
+ * searched, in squares of radius 1 to <code>n</code> around the center (so blocks near the center are more
+ * likely to be picked). The plane is vertical, and faces the x or z axis, whichever the view is closest to.
+ * The offsets of each step are precomputed, and a random half of them is tried, shuffling only as far as
+ * needed to find a block.
+ * <p>
+ * Not thread-safe, the offset tables are shuffled in place, and the found block is kept in the search.
+ */
+final class TerraFormSearch {
+    /**
+     * A test of the block at the given coordinates.
+     */
+    @FunctionalInterface
+    interface BlockProbe {
+        boolean test(int x, int y, int z);
+    }
+
+    static final int NOT_FOUND = -1;
+
+    private final int maxStep;
+    private final Random random;
+    /**
+     * Per step, the packed offsets of the plane, with the vertical offset in the high 16 bits,
+     * and the horizontal offset in the low 16 bits.
+     */
+    private final int[][] planes;
+
+    private int foundX;
+    private int foundY;
+    private int foundZ;
+
+    TerraFormSearch(double maxScan, @NotNull Random random) {
+        this.random = random;
+        this.maxStep = (int) Math.ceil(maxScan) - 1;
+        planes = new int[Math.max(maxStep, 0) + 1][];
+        for (int n = 1; n <= maxStep; n++) {
+            int size = 0;
+            for (int r = 1; r <= n; r++) {
+                size += (2 * r + 1) * (2 * r + 1);
+            }
+            int[] offsets = new int[size];
+            int i = 0;
+            for (int r = 1; r <= n; r++) {
+                for (int dy = -r; dy <= r; dy++) {
+                    for (int dxz = -r; dxz <= r; dxz++) {
+                        offsets[i++] = pack(dy, dxz);
+                    }
+                }
+            }
+            planes[n] = offsets;
+        }
+    }
+
+    static int pack(int dy, int dxz) {
+        return (dy << 16) | (dxz & 0xFFFF);
+    }
+
+    static int unpackDy(int packed) {
+        return packed >> 16;
+    }
+
+    static int unpackDxz(int packed) {
+        return (short) packed;
+    }
+
+    /**
+     * Searches the cone from the given base point, along the normalized view direction.
+     *
+     * @param fromStep The step to start at, so later searches can continue further out.
+     * @return The step at which a block matched, available from {@link #getX()}, {@link #getY()} and
+     * {@link #getZ()}, or {@link #NOT_FOUND}.
+     */
+    int search(double baseX, double baseY, double baseZ, double ux, double uy, double uz, int fromStep,
+               @NotNull BlockProbe probe) {
+        boolean xFixed = Math.abs(ux) > Math.abs(uz);
+        for (int n = Math.max(fromStep, 1); n <= maxStep; n++) {
+            int cx = (int) Math.round(baseX + ux * n);
+            int cy = (int) Math.round(baseY + uy * n);
+            int cz = (int) Math.round(baseZ + uz * n);
+            int[] offsets = planes[n];
+            int half = offsets.length / 2;
+            for (int i = 0; i < half; i++) {
+                // Partial Fisher-Yates, the first half of a full shuffle
+                int j = i + random.nextInt(offsets.length - i);
+                int packed = offsets[j];
+                offsets[j] = offsets[i];
+                offsets[i] = packed;
+                int dy = unpackDy(packed);
+                int dxz = unpackDxz(packed);
+                int x = xFixed ? cx : cx + dxz;
+                int y = cy + dy;
+                int z = xFixed ? cz + dxz : cz;
+                if (probe.test(x, y, z)) {
+                    foundX = x;
+                    foundY = y;
+                    foundZ = z;
+                    return n;
+                }
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    int getMaxStep() {
+        return maxStep;
+    }
+
+    int getX() {
+        return foundX;
+    }
+
+    int getY() {
+        return foundY;
+    }
+
+    int getZ() {
+        return foundZ;
+    }
+}
@@ -3,64 +3,229 @@ package us.talabrek.ultimateskyblock.handler;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
 import us.talabrek.ultimateskyblock.util.Scheduler;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Responsible for handling various cooldowns on commands.
+ * <p>
+ * Expired cooldowns are dropped when they are read, and by a single periodic sweep, instead of
+ * scheduling a task per cooldown. Active cooldowns are saved to <code>cooldowns.dat</code> on shutdown
+ * (one <code>uuid cmd expires-millis</code> line per cooldown) and loaded again on startup, so they
+ * survive restarts and reloads.
  */
 @Singleton
 public class CooldownHandler {
+    private static final String FILE_NAME = "cooldowns.dat";
+    private static final String SEPARATOR = "\t";
+    private static final Duration SWEEP_EVERY = Duration.ofMinutes(5);
 
-    private final Map<KeyPair, Instant> cooldownExpires = new HashMap<>();
+    private final ConcurrentMap<UUID, ConcurrentMap<String, Instant>> cooldowns = new ConcurrentHashMap<>();
     private final Clock clock;
     private final Scheduler scheduler;
+    private final Logger logger;
+    private final Path cooldownFile;
 
-    private record KeyPair(@NotNull UUID uuid, @NotNull String cmd) {
-    }
+    private BukkitTask sweepTask;
 
     @Inject
-    public CooldownHandler(@NotNull Clock clock, @NotNull Scheduler scheduler) {
+    public CooldownHandler(
+        @NotNull Clock clock,
+        @NotNull Scheduler scheduler,
+        @NotNull Logger logger,
+        @NotNull @PluginDataDir Path dataDir
+    ) {
         this.clock = clock;
         this.scheduler = scheduler;
+        this.logger = logger;
+        this.cooldownFile = dataDir.resolve(FILE_NAME);
+    }
+
+    public void startup() {
+        load();
+        sweepTask = scheduler.async(this::purgeExpired, SWEEP_EVERY, SWEEP_EVERY);
+    }
+
+    public void shutdown() {
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+        save();
     }
 
     public Duration getCooldown(@NotNull Player player, @NotNull String cmd) {
         if (player.hasPermission("usb.mod.bypasscooldowns") || player.hasPermission("usb.exempt.cooldown." + cmd)) {
             return Duration.ZERO;
         }
-        var now = clock.instant();
-        var end = cooldownExpires.getOrDefault(new KeyPair(player.getUniqueId(), cmd), now);
-        var remaining = Duration.between(now, end);
-        return remaining.isNegative() ? Duration.ZERO : remaining;
+        Map<String, Instant> playerCooldowns = cooldowns.get(player.getUniqueId());
+        Instant end = playerCooldowns != null ? playerCooldowns.get(cmd) : null;
+        if (end == null) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(clock.instant(), end);
+        if (remaining.isNegative() || remaining.isZero()) {
+            remove(player.getUniqueId(), cmd, end);
+            return Duration.ZERO;
+        }
+        return remaining;
     }
 
     public void resetCooldown(@NotNull Player player, @NotNull String cmd, @NotNull Duration cooldown) {
-        var key = new KeyPair(player.getUniqueId(), cmd);
+        UUID uuid = player.getUniqueId();
         if (cooldown.isZero() || cooldown.isNegative()) {
-            cooldownExpires.remove(key);
+            remove(uuid, cmd, null);
         } else {
-            cooldownExpires.put(key, clock.instant().plus(cooldown));
-            scheduler.sync(() -> cooldownExpires.remove(key), cooldown.plusSeconds(1));
+            Instant end = clock.instant().plus(cooldown);
+            // Updated within compute, so the sweep can't drop the map of the player in between
+            cooldowns.compute(uuid, (k, playerCooldowns) -> {
+                ConcurrentMap<String, Instant> updated = playerCooldowns != null ? playerCooldowns : new ConcurrentHashMap<>();
+                updated.put(cmd, end);
+                return updated;
+            });
         }
     }
 
     public boolean clearCooldown(@NotNull Player player, @NotNull String cmd) {
-        var key = new KeyPair(player.getUniqueId(), cmd);
-        return cooldownExpires.remove(key) != null;
+        return clearCooldown(player.getUniqueId(), cmd);
+    }
+
+    public boolean clearCooldown(@NotNull UUID uuid, @NotNull String cmd) {
+        Instant end = remove(uuid, cmd, null);
+        return end != null && end.isAfter(clock.instant());
+    }
+
+    /**
+     * Clears all cooldowns of the player, and returns the number of active cooldowns cleared.
+     */
+    public int clearCooldowns(@NotNull UUID uuid) {
+        Map<String, Instant> removed = cooldowns.remove(uuid);
+        if (removed == null) {
+            return 0;
+        }
+        Instant now = clock.instant();
+        return (int) removed.values().stream().filter(end -> end.isAfter(now)).count();
     }
 
+    /**
+     * Returns the active cooldowns of the player, by command.
+     */
     public Map<String, Instant> getCooldowns(@NotNull UUID uuid) {
-        return cooldownExpires.entrySet().stream()
-            .filter(e -> e.getKey().uuid().equals(uuid))
-            .collect(Collectors.toMap(e -> e.getKey().cmd(), Map.Entry::getValue));
+        Map<String, Instant> playerCooldowns = cooldowns.get(uuid);
+        if (playerCooldowns == null) {
+            return Collections.emptyMap();
+        }
+        Instant now = clock.instant();
+        Map<String, Instant> active = new HashMap<>();
+        playerCooldowns.forEach((cmd, end) -> {
+            if (end.isAfter(now)) {
+                active.put(cmd, end);
+            }
+        });
+        return active;
+    }
+
+    /**
+     * Returns the players with at least one cooldown, which may have expired since the last sweep.
+     */
+    public Set<UUID> getPlayers() {
+        return Collections.unmodifiableSet(cooldowns.keySet());
+    }
+
+    /**
+     * Removes all expired cooldowns.
+     */
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        for (UUID uuid : cooldowns.keySet()) {
+            cooldowns.computeIfPresent(uuid, (k, playerCooldowns) -> {
+                playerCooldowns.values().removeIf(end -> !end.isAfter(now));
+                return playerCooldowns.isEmpty() ? null : playerCooldowns;
+            });
+        }
+    }
+
+    private Instant remove(UUID uuid, String cmd, Instant expected) {
+        Instant[] removed = new Instant[1];
+        cooldowns.computeIfPresent(uuid, (k, playerCooldowns) -> {
+            if (expected == null) {
+                removed[0] = playerCooldowns.remove(cmd);
+            } else if (playerCooldowns.remove(cmd, expected)) {
+                removed[0] = expected;
+            }
+            return playerCooldowns.isEmpty() ? null : playerCooldowns;
+        });
+        return removed[0];
+    }
+
+    void load() {
+        if (!Files.exists(cooldownFile)) {
+            return;
+        }
+        Instant now = clock.instant();
+        try {
+            List<String> lines = Files.readAllLines(cooldownFile, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                String[] parts = line.split(SEPARATOR);
+                if (parts.length != 3) {
+                    continue;
+                }
+                try {
+                    Instant end = Instant.ofEpochMilli(Long.parseLong(parts[2]));
+                    if (end.isAfter(now)) {
+                        cooldowns.computeIfAbsent(UUID.fromString(parts[0]), k -> new ConcurrentHashMap<>())
+                            .merge(parts[1], end, (a, b) -> a.isAfter(b) ? a : b);
+                    }
+                } catch (IllegalArgumentException e) {
+                    logger.fine("Ignoring invalid cooldown " + line);
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to load cooldowns from " + cooldownFile, e);
+        }
+    }
+
+    void save() {
+        purgeExpired();
+        try {
+            if (cooldowns.isEmpty()) {
+                Files.deleteIfExists(cooldownFile);
+                return;
+            }
+            Path tmpFile = cooldownFile.resolveSibling(FILE_NAME + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                for (Map.Entry<UUID, ConcurrentMap<String, Instant>> player : cooldowns.entrySet()) {
+                    for (Map.Entry<String, Instant> cooldown : player.getValue().entrySet()) {
+                        writer.write(player.getKey() + SEPARATOR + cooldown.getKey() + SEPARATOR + cooldown.getValue().toEpochMilli());
+                        writer.newLine();
+                    }
+                }
+            }
+            Files.move(tmpFile, cooldownFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to save cooldowns to " + cooldownFile, e);
+        }
     }
 }
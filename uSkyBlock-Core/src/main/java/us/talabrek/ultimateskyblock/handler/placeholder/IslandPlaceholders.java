@@ -0,0 +1,35 @@
+package us.talabrek.ultimateskyblock.handler.placeholder;
+
+import com.google.common.base.Suppliers;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Immutable snapshot of the <code>usb_island_*</code> placeholder values of a single island.
+ * <p>
+ * All values are computed together, so an island shown on a scoreboard with many placeholders
+ * only pays for the island lookups once per snapshot. The creature counts require an entity scan,
+ * and are only computed (once per snapshot) when one of them is requested.
+ */
+final class IslandPlaceholders {
+    private final Map<String, String> values;
+    private final Supplier<Map<String, String>> creatures;
+
+    IslandPlaceholders(@NotNull Map<String, String> values, @NotNull Supplier<Map<String, String>> creatures) {
+        this.values = Collections.unmodifiableMap(new HashMap<>(values));
+        this.creatures = Suppliers.memoize(creatures::get);
+    }
+
+    @Nullable String get(@NotNull String placeholder) {
+        String value = values.get(placeholder);
+        if (value == null && PlaceholderReplacerImpl.CREATURE_PLACEHOLDERS.contains(placeholder)) {
+            return creatures.get().get(placeholder);
+        }
+        return value;
+    }
+}
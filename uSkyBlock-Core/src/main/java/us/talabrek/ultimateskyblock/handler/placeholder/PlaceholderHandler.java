@@ -2,6 +2,8 @@ package us.talabrek.ultimateskyblock.handler.placeholder;
 
 import dk.lockfuglsang.minecraft.file.FileUtil;
 import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 
 import java.util.ArrayList;
@@ -47,6 +49,9 @@ public class PlaceholderHandler {
             it.next().unregisterPlaceholder(plugin, placeholderReplacer);
             it.remove();
         }
+        if (replacer instanceof Listener listener) {
+            HandlerList.unregisterAll(listener);
+        }
         replacer = null;
     }
 
@@ -3,9 +3,24 @@ package us.talabrek.ultimateskyblock.handler.placeholder;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.bukkit.Location;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
 import us.talabrek.ultimateskyblock.api.IslandRank;
+import us.talabrek.ultimateskyblock.api.event.IslandLeaderChangedEvent;
+import us.talabrek.ultimateskyblock.api.event.MemberJoinedEvent;
+import us.talabrek.ultimateskyblock.api.event.MemberLeftEvent;
+import us.talabrek.ultimateskyblock.api.event.island.IslandBanPlayerEvent;
+import us.talabrek.ultimateskyblock.api.event.island.IslandEvent;
+import us.talabrek.ultimateskyblock.api.event.island.IslandTrustPlayerEvent;
+import us.talabrek.ultimateskyblock.api.event.island.IslandUnbanPlayerEvent;
+import us.talabrek.ultimateskyblock.api.event.island.IslandUntrustPlayerEvent;
+import us.talabrek.ultimateskyblock.api.event.uSkyBlockEvent;
+import us.talabrek.ultimateskyblock.api.event.uSkyBlockScoreChangedEvent;
 import us.talabrek.ultimateskyblock.island.IslandInfo;
 import us.talabrek.ultimateskyblock.island.LimitLogic;
 import us.talabrek.ultimateskyblock.player.PlayerInfo;
@@ -13,7 +28,9 @@ import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.LocationUtil;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
@@ -22,9 +39,17 @@ import static dk.lockfuglsang.minecraft.po.I18nUtil.pre;
 import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
 
 /**
- * The actual replacer for placeholders
+ * The actual replacer for placeholders.
+ * <p>
+ * Island placeholders are served from a per-island {@link IslandPlaceholders} snapshot, which is
+ * dropped when the island changes (level, members, leader, bans, trust), and otherwise expires.
+ * The rank of an island also changes when other islands are ranked, so ranks are cached on their own,
+ * and dropped when the ranks are recalculated.
+ * <p>
+ * All placeholders are island placeholders, so players only hold the name of their island, which
+ * {@link us.talabrek.ultimateskyblock.player.PlayerLogic} already caches, and share the island snapshot.
  */
-public class PlaceholderReplacerImpl implements PlaceholderAPI.PlaceholderReplacer {
+public class PlaceholderReplacerImpl implements PlaceholderAPI.PlaceholderReplacer, Listener {
     private static final Set<String> PLACEHOLDERS = new HashSet<>(Arrays.asList(
             "usb_version",
             "usb_island_level",
@@ -51,79 +76,103 @@ public class PlaceholderReplacerImpl implements PlaceholderAPI.PlaceholderReplac
             "usb_island_location_z",
             "usb_island_schematic"
     ));
+    static final Set<String> CREATURE_PLACEHOLDERS = Set.of(
+            "usb_island_golems",
+            "usb_island_monsters",
+            "usb_island_animals",
+            "usb_island_villagers"
+    );
     private final uSkyBlock plugin;
-    private final LoadingCache<CacheEntry, String> cache;
+    private final LoadingCache<String, IslandPlaceholders> cache;
+    private final LoadingCache<String, String> ranks;
 
     public PlaceholderReplacerImpl(uSkyBlock plugin) {
         this.plugin = plugin;
+        // Snapshots are per island, so the islands of the online players bound the number of entries needed
+        String cacheSpec = plugin.getConfig().getString("options.advanced.placeholderCache",
+                "maximumSize=500,expireAfterWrite=20s");
+        ranks = CacheBuilder
+                .from(cacheSpec)
+                .build(CacheLoader.from(this::getRank));
         cache = CacheBuilder
-                .from(plugin.getConfig().getString("options.advanced.placeholderCache",
-                        "maximumSize=200,expireAfterWrite=20s"))
-                .build(new CacheLoader<CacheEntry, String>() {
+                .from(cacheSpec)
+                .build(new CacheLoader<String, IslandPlaceholders>() {
                     @Override
-                    public String load(CacheEntry cacheEntry) throws Exception {
+                    public IslandPlaceholders load(String islandName) throws Exception {
                         try {
-                            return lookup(cacheEntry);
+                            IslandInfo islandInfo = plugin.getIslandLogic().getIslandInfo(islandName);
+                            if (islandInfo == null) {
+                                throw new IllegalArgumentException("No island named " + islandName);
+                            }
+                            return snapshot(islandInfo);
                         } catch (RuntimeException e) {
                             throw new ExecutionException(e.getMessage(), e);
                         }
                     }
                 });
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
     }
 
-    private String lookup(CacheEntry entry) {
-        String placeholder = entry.getPlaceholder();
+    private String lookup(UUID uuid, String placeholder) {
         if (placeholder.startsWith("usb_island")) {
-            PlayerInfo playerInfo = plugin.getPlayerLogic().getPlayerInfo(entry.getUuid());
-            IslandInfo islandInfo = plugin.getIslandLogic().getIslandInfo(playerInfo);
-            if (playerInfo == null || islandInfo == null) {
+            if (!PLACEHOLDERS.contains(placeholder)) {
+                return null;
+            }
+            PlayerInfo playerInfo = plugin.getPlayerLogic().getPlayerInfo(uuid);
+            String islandName = playerInfo != null && playerInfo.getHasIsland() ? playerInfo.locationForParty() : null;
+            if (islandName == null) {
                 return tr("N/A");
             }
-            return lookup(islandInfo, placeholder);
-        } else if (placeholder.startsWith("usb_")) {
-            return lookup(placeholder);
+            try {
+                if (placeholder.equals("usb_island_rank")) {
+                    return ranks.get(islandName);
+                }
+                return cache.get(islandName).get(placeholder);
+            } catch (ExecutionException | UncheckedExecutionException e) {
+                return tr("N/A");
+            }
+        } else if (placeholder.equals("usb_version")) {
+            return plugin.getDescription().getVersion();
         }
-        throw new IllegalArgumentException("Unsupported placeholder " + placeholder);
+        return null;
     }
 
-    private String lookup(String placeholder) {
-        switch (placeholder) {
-            case "usb_version": return plugin.getDescription().getVersion();
-        }
-        throw new IllegalArgumentException("Unsupported placeholder " + placeholder);
-    }
-
-    private String lookup(IslandInfo islandInfo, String placeholder) {
-        switch (placeholder) {
-            case "usb_island_level": return pre("{0,number,##.#}", islandInfo.getLevel());
-            case "usb_island_level_int": return pre("{0,number,#}", islandInfo.getLevel());
-            case "usb_island_rank": return getRank(islandInfo);
-            case "usb_island_leader": return islandInfo.getLeader();
-            case "usb_island_golems_max": return "" + islandInfo.getMaxGolems();
-            case "usb_island_monsters_max": return "" + islandInfo.getMaxMonsters();
-            case "usb_island_animals_max": return "" + islandInfo.getMaxAnimals();
-            case "usb_island_villagers_max": return "" + islandInfo.getMaxVillagers();
-            case "usb_island_partysize_max": return "" + islandInfo.getMaxPartySize();
-            case "usb_island_golems": return "" + plugin.getLimitLogic().getCreatureCount(islandInfo).get(LimitLogic.CreatureType.GOLEM);
-            case "usb_island_monsters": return "" + plugin.getLimitLogic().getCreatureCount(islandInfo).get(LimitLogic.CreatureType.MONSTER);
-            case "usb_island_animals": return "" + plugin.getLimitLogic().getCreatureCount(islandInfo).get(LimitLogic.CreatureType.ANIMAL);
-            case "usb_island_villagers": return "" + plugin.getLimitLogic().getCreatureCount(islandInfo).get(LimitLogic.CreatureType.VILLAGER);
-            case "usb_island_partysize": return "" + islandInfo.getPartySize();
-            case "usb_island_biome": return islandInfo.getBiomeName();
-            case "usb_island_bans": return ""+islandInfo.getBans();
-            case "usb_island_members": return ""+islandInfo.getMembers();
-            case "usb_island_trustees": return ""+islandInfo.getTrustees();
-            case "usb_island_location": return LocationUtil.asString(islandInfo.getIslandLocation());
-            case "usb_island_location_x": return pre("{0,number,#}", islandInfo.getIslandLocation().getBlockX());
-            case "usb_island_location_y": return pre("{0,number,#}", islandInfo.getIslandLocation().getBlockY());
-            case "usb_island_location_z": return pre("{0,number,#}", islandInfo.getIslandLocation().getBlockZ());
-            case "usb_island_schematic": return islandInfo.getSchematicName();
-        }
-        throw new IllegalArgumentException("Unsupported placeholder " + placeholder);
+    private IslandPlaceholders snapshot(IslandInfo islandInfo) {
+        Map<String, String> values = new HashMap<>();
+        values.put("usb_island_level", pre("{0,number,##.#}", islandInfo.getLevel()));
+        values.put("usb_island_level_int", pre("{0,number,#}", islandInfo.getLevel()));
+        values.put("usb_island_leader", islandInfo.getLeader());
+        values.put("usb_island_golems_max", "" + islandInfo.getMaxGolems());
+        values.put("usb_island_monsters_max", "" + islandInfo.getMaxMonsters());
+        values.put("usb_island_animals_max", "" + islandInfo.getMaxAnimals());
+        values.put("usb_island_villagers_max", "" + islandInfo.getMaxVillagers());
+        values.put("usb_island_partysize_max", "" + islandInfo.getMaxPartySize());
+        values.put("usb_island_partysize", "" + islandInfo.getPartySize());
+        values.put("usb_island_biome", islandInfo.getBiomeName());
+        values.put("usb_island_bans", "" + islandInfo.getBans());
+        values.put("usb_island_members", "" + islandInfo.getMembers());
+        values.put("usb_island_trustees", "" + islandInfo.getTrustees());
+        Location location = islandInfo.getIslandLocation();
+        values.put("usb_island_location", LocationUtil.asString(location));
+        values.put("usb_island_location_x", pre("{0,number,#}", location.getBlockX()));
+        values.put("usb_island_location_y", pre("{0,number,#}", location.getBlockY()));
+        values.put("usb_island_location_z", pre("{0,number,#}", location.getBlockZ()));
+        values.put("usb_island_schematic", islandInfo.getSchematicName());
+        return new IslandPlaceholders(values, () -> creatures(islandInfo));
+    }
+
+    private Map<String, String> creatures(IslandInfo islandInfo) {
+        Map<LimitLogic.CreatureType, Integer> creatureCount = plugin.getLimitLogic().getCreatureCount(islandInfo);
+        Map<String, String> values = new HashMap<>();
+        values.put("usb_island_golems", "" + creatureCount.get(LimitLogic.CreatureType.GOLEM));
+        values.put("usb_island_monsters", "" + creatureCount.get(LimitLogic.CreatureType.MONSTER));
+        values.put("usb_island_animals", "" + creatureCount.get(LimitLogic.CreatureType.ANIMAL));
+        values.put("usb_island_villagers", "" + creatureCount.get(LimitLogic.CreatureType.VILLAGER));
+        return values;
     }
 
-    private String getRank(IslandInfo islandInfo) {
-        IslandRank rank = plugin.getIslandLogic().getRank(islandInfo.getName());
+    private String getRank(String islandName) {
+        IslandRank rank = plugin.getIslandLogic().getRank(islandName);
         if (rank != null) {
             return pre("{0,number,#}", rank.getRank());
         } else {
@@ -131,6 +180,69 @@ public class PlaceholderReplacerImpl implements PlaceholderAPI.PlaceholderReplac
         }
     }
 
+    private void invalidate(String islandName) {
+        if (islandName != null) {
+            cache.invalidate(islandName);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onScoreChanged(uSkyBlockScoreChangedEvent e) {
+        String islandName = LocationUtil.getIslandName(e.getIslandLocation());
+        invalidate(islandName);
+        if (islandName != null) {
+            ranks.invalidate(islandName);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRankUpdated(uSkyBlockEvent e) {
+        if (e.getCause() == uSkyBlockEvent.Cause.RANK_UPDATED) {
+            ranks.invalidateAll();
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onMemberJoined(MemberJoinedEvent e) {
+        invalidate(e.getIslandInfo().getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onMemberLeft(MemberLeftEvent e) {
+        invalidate(e.getIslandInfo().getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLeaderChanged(IslandLeaderChangedEvent e) {
+        invalidate(e.getIslandInfo().getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBan(IslandBanPlayerEvent e) {
+        invalidateLater(e);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onUnban(IslandUnbanPlayerEvent e) {
+        invalidateLater(e);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTrust(IslandTrustPlayerEvent e) {
+        invalidateLater(e);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onUntrust(IslandUntrustPlayerEvent e) {
+        invalidateLater(e);
+    }
+
+    private void invalidateLater(IslandEvent e) {
+        // These events are fired before the island is changed
+        String islandName = e.getIslandInfo().getName();
+        plugin.getScheduler().sync(() -> invalidate(islandName));
+    }
+
     @Override
     public Set<String> getPlaceholders() {
         return PLACEHOLDERS;
@@ -148,49 +260,6 @@ public class PlaceholderReplacerImpl implements PlaceholderAPI.PlaceholderReplac
         if (uuid == null) {
             return null;
         }
-        CacheEntry cacheKey = new CacheEntry(uuid, placeholder);
-        try {
-            return cache.get(cacheKey);
-        } catch (ExecutionException e) {
-            return null;
-        }
-    }
-
-    private static class CacheEntry {
-        private final UUID uuid;
-        private final String placeholder;
-
-        private CacheEntry(UUID uuid, String placeholder) {
-            this.uuid = uuid;
-            this.placeholder = placeholder;
-        }
-
-        public UUID getUuid() {
-            return uuid;
-        }
-
-        public String getPlaceholder() {
-            return placeholder;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-
-            CacheEntry that = (CacheEntry) o;
-
-            if (!placeholder.equals(that.placeholder)) return false;
-            if (!uuid.equals(that.uuid)) return false;
-
-            return true;
-        }
-
-        @Override
-        public int hashCode() {
-            int result = uuid.hashCode();
-            result = 31 * result + placeholder.hashCode();
-            return result;
-        }
+        return lookup(uuid, placeholder);
     }
 }
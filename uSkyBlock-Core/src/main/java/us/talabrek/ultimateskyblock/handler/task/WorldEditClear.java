@@ -9,7 +9,9 @@ import com.sk89q.worldedit.regions.Region;
 import com.sk89q.worldedit.util.SideEffectSet;
 import com.sk89q.worldedit.world.block.BlockTypes;
 import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.async.IncrementalRunnable;
+import us.talabrek.ultimateskyblock.async.TickScheduler;
 import us.talabrek.ultimateskyblock.handler.WorldEditHandler;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 
@@ -30,7 +32,7 @@ public class WorldEditClear extends IncrementalRunnable {
     private final List<Region> regions;
 
     public WorldEditClear(uSkyBlock plugin, World world, Set<Region> borderRegions, Runnable onCompletion) {
-        super(plugin.getScheduler(), plugin.getPluginConfig(), onCompletion);
+        super(plugin.getTickScheduler(), plugin.getPluginConfig(), onCompletion);
         this.world = world;
         log.log(Level.FINE, "Planning regen of borders: " + borderRegions);
         regions = createRegions(borderRegions);
@@ -87,4 +89,9 @@ public class WorldEditClear extends IncrementalRunnable {
         }
         return regions.isEmpty();
     }
+
+    @Override
+    protected @NotNull TickScheduler.Priority getPriority() {
+        return TickScheduler.Priority.PLAYER;
+    }
 }
@@ -15,9 +15,9 @@ import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.PluginConfig;
 import us.talabrek.ultimateskyblock.async.IncrementalRunnable;
+import us.talabrek.ultimateskyblock.async.TickScheduler;
 import us.talabrek.ultimateskyblock.handler.AsyncWorldEditHandler;
 import us.talabrek.ultimateskyblock.handler.WorldEditHandler;
-import us.talabrek.ultimateskyblock.util.Scheduler;
 import us.talabrek.ultimateskyblock.world.WorldManager;
 
 import java.util.Iterator;
@@ -44,7 +44,7 @@ public class WorldEditClearFlatlandTask extends IncrementalRunnable {
     private final int maxBlocks;
 
     public WorldEditClearFlatlandTask(
-        @NotNull Scheduler scheduler,
+        @NotNull TickScheduler tickScheduler,
         @NotNull PluginConfig config,
         @NotNull WorldManager worldManager,
         @NotNull Logger logger,
@@ -52,7 +52,7 @@ public class WorldEditClearFlatlandTask extends IncrementalRunnable {
         @NotNull Region region,
         @NotNull String format
     ) {
-        super(scheduler, config);
+        super(tickScheduler, config);
         this.logger = logger;
         setOnCompletion(() -> {
             String duration = TimeUtil.durationAsShort(WorldEditClearFlatlandTask.this.getTimeElapsed());
@@ -105,6 +105,11 @@ public class WorldEditClearFlatlandTask extends IncrementalRunnable {
         return isComplete();
     }
 
+    @Override
+    protected @NotNull TickScheduler.Priority getPriority() {
+        return TickScheduler.Priority.PLAYER;
+    }
+
     public boolean isComplete() {
         return innerChunks.isEmpty() && borderRegions.isEmpty();
     }
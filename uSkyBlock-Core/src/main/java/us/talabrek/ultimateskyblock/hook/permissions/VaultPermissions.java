@@ -35,18 +35,26 @@ public class VaultPermissions extends PermissionsHook implements Listener {
 
     @Override
     public boolean addPermission(@NotNull Player player, @NotNull String perk) {
-        return permission.playerAdd(player, perk);
+        boolean added = permission.playerAdd(player, perk);
+        plugin.getPerkLogic().invalidate(player.getUniqueId());
+        plugin.getProtectionContext().invalidate(player.getUniqueId());
+        return added;
     }
 
     @Override
     public boolean removePermission(@NotNull Player player, @NotNull String perk) {
-        return permission.playerRemove(player, perk);
+        boolean removed = permission.playerRemove(player, perk);
+        plugin.getPerkLogic().invalidate(player.getUniqueId());
+        plugin.getProtectionContext().invalidate(player.getUniqueId());
+        return removed;
     }
 
     @EventHandler
     public void onPermissionRegister(ServiceRegisterEvent event) {
         if (event.getProvider().getProvider() instanceof Permission) {
             setupPermission().ifPresent(vaultPlugin -> this.permission = vaultPlugin);
+            plugin.getPerkLogic().invalidateAll();
+            plugin.getProtectionContext().invalidateAll();
         }
     }
 
@@ -55,6 +63,8 @@ public class VaultPermissions extends PermissionsHook implements Listener {
         if (event.getProvider().getProvider() instanceof Permission) {
             this.permission = null;
             setupPermission().ifPresent(vaultPlugin -> this.permission = vaultPlugin);
+            plugin.getPerkLogic().invalidateAll();
+            plugin.getProtectionContext().invalidateAll();
         }
     }
 }
@@ -0,0 +1,106 @@
+package us.talabrek.ultimateskyblock.island;
+
+import java.util.BitSet;
+
+/**
+ * In-memory occupancy bitmap of island grid cells, indexed by their position on the island spiral.
+ * <p>
+ * Cells are numbered in the same order as {@link IslandLocatorLogic#nextIslandLocation}
+ * visits them, so finding the next free cell is a {@link BitSet#nextClearBit(int)} instead of
+ * probing each candidate on disk and in WorldGuard.
+ * <pre>
+ *   ring r covers max(|x|,|z|) == r, and starts at index (2r-1)^2:
+ *     top    (z = r)  x = -(r-1) .. r
+ *     right  (x = r)  z = r-1 .. -r
+ *     bottom (z = -r) x = r-1 .. -r
+ *     left   (x = -r) z = -r+1 .. r
+ * </pre>
+ */
+class IslandGrid {
+    /**
+     * Cells beyond this index are not tracked, and always reported as free.
+     */
+    static final long MAX_INDEX = Integer.MAX_VALUE - 1;
+
+    private final BitSet occupied = new BitSet();
+
+    /**
+     * Returns the spiral index of the grid cell (x, z), in grid units.
+     */
+    static long index(long x, long z) {
+        long r = Math.max(Math.abs(x), Math.abs(z));
+        if (r == 0) {
+            return 0;
+        }
+        long first = (2 * r - 1) * (2 * r - 1);
+        long side = 2 * r;
+        if (z == r && x > -r) {
+            return first + x + r - 1;
+        } else if (x == r) {
+            return first + side + r - 1 - z;
+        } else if (z == -r) {
+            return first + 2 * side + r - 1 - x;
+        }
+        return first + 3 * side + z + r - 1;
+    }
+
+    /**
+     * Returns the grid cell (x, z) at the given spiral index.
+     */
+    static long[] cell(long index) {
+        if (index <= 0) {
+            return new long[]{0, 0};
+        }
+        long r = (long) ((Math.sqrt((double) index) + 1) / 2);
+        // Guard against floating point rounding at ring boundaries
+        while ((2 * r + 1) * (2 * r + 1) <= index) {
+            r++;
+        }
+        while (r > 1 && (2 * r - 1) * (2 * r - 1) > index) {
+            r--;
+        }
+        long offset = index - (2 * r - 1) * (2 * r - 1);
+        long side = 2 * r;
+        long pos = offset % side;
+        switch ((int) (offset / side)) {
+            case 0:
+                return new long[]{pos - (r - 1), r};
+            case 1:
+                return new long[]{r, r - 1 - pos};
+            case 2:
+                return new long[]{r - 1 - pos, -r};
+            default:
+                return new long[]{-r, pos - r + 1};
+        }
+    }
+
+    synchronized void setOccupied(long x, long z, boolean value) {
+        long index = index(x, z);
+        if (index <= MAX_INDEX) {
+            occupied.set((int) index, value);
+        }
+    }
+
+    synchronized boolean isOccupied(long x, long z) {
+        long index = index(x, z);
+        return index <= MAX_INDEX && occupied.get((int) index);
+    }
+
+    /**
+     * Returns the spiral index of the first free cell at or after the given index.
+     */
+    synchronized long nextFree(long fromIndex) {
+        if (fromIndex > MAX_INDEX) {
+            return fromIndex;
+        }
+        return occupied.nextClearBit((int) Math.max(0, fromIndex));
+    }
+
+    synchronized int getOccupiedCount() {
+        return occupied.cardinality();
+    }
+
+    synchronized void clear() {
+        occupied.clear();
+    }
+}
@@ -12,6 +12,7 @@ import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.Settings;
 import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
 import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.util.IslandUtil;
 import us.talabrek.ultimateskyblock.util.LocationUtil;
 import us.talabrek.ultimateskyblock.util.Scheduler;
 import us.talabrek.ultimateskyblock.world.WorldManager;
@@ -23,6 +24,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
@@ -40,6 +42,9 @@ public class IslandLocatorLogic {
     private final File configFile;
     private final FileConfiguration config;
     private final Map<String, Instant> reservations = new ConcurrentHashMap<>();
+    private final File islandDirectory;
+    private final IslandGrid grid = new IslandGrid();
+    private volatile boolean gridLoaded = false;
     private Location lastIsland = null;
     private final Duration reservationTimeout;
 
@@ -54,6 +59,7 @@ public class IslandLocatorLogic {
     ) {
         this.plugin = plugin;
         this.configFile = pluginDir.resolve("lastIslandConfig.yml").toFile();
+        this.islandDirectory = pluginDir.resolve("islands").toFile();
         this.logger = logger;
         this.worldManager = worldManager;
         this.scheduler = scheduler;
@@ -68,6 +74,47 @@ public class IslandLocatorLogic {
             plugin.getConfig().set("options.general.lastIslandZ", null);
         }
         reservationTimeout = Duration.ofMillis(plugin.getConfig().getLong("options.island.reservationTimeout", 5 * 60000));
+        scheduler.async(this::loadGrid);
+    }
+
+    /**
+     * Builds the occupancy grid from the island directory, once.
+     * Until it is loaded, locations are located by probing each candidate.
+     */
+    private void loadGrid() {
+        try {
+            String[] islandFiles = islandDirectory.list(IslandUtil.createIslandFilenameFilter());
+            if (islandFiles != null) {
+                for (String islandFile : islandFiles) {
+                    markIsland(FileUtil.getBasename(islandFile), true);
+                }
+            }
+            gridLoaded = true;
+            logger.fine("Loaded island grid with " + grid.getOccupiedCount() + " occupied locations");
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Unable to load island grid, falling back to probing locations", e);
+        }
+    }
+
+    /**
+     * Keeps the occupancy grid in sync, when an island is created or deleted.
+     * @param islandName The name of the island, i.e. <code>x,z</code>.
+     * @param occupied   Whether the location is now occupied.
+     */
+    public void markIsland(String islandName, boolean occupied) {
+        if (islandName == null) {
+            return;
+        }
+        String[] xz = islandName.split(",");
+        if (xz.length != 2) {
+            return;
+        }
+        try {
+            double d = Settings.island_distance;
+            grid.setOccupied(Math.round(Long.parseLong(xz[0], 10) / d), Math.round(Long.parseLong(xz[1], 10) / d), occupied);
+        } catch (NumberFormatException e) {
+            logger.log(Level.FINE, "Ignoring invalid island name " + islandName);
+        }
     }
 
     private Location getLastIsland() {
@@ -116,7 +163,7 @@ public class IslandLocatorLogic {
         }
         Location next = orphanLogic.getNextValidOrphan(this);
         if (next == null) {
-            next = last;
+            next = gridLoaded ? findNextFree(last) : last;
             // Ensure the found location is valid (or find one that is).
             while (!isAvailableLocation(next)) {
                 next = nextIslandLocation(next);
@@ -140,6 +187,30 @@ public class IslandLocatorLogic {
         });
     }
 
+    /**
+     * Finds the next free location on the spiral using the occupancy grid.
+     * Only the chosen cell is verified against WorldGuard and the island directory,
+     * to catch regions not backed by an island file. Cells failing the check are
+     * remembered as occupied, so they are never probed again.
+     */
+    private Location findNextFree(Location last) {
+        int d = Settings.island_distance;
+        long index = IslandGrid.index(last.getBlockX() / d, last.getBlockZ() / d);
+        while (index <= IslandGrid.MAX_INDEX) {
+            index = grid.nextFree(index);
+            long[] cell = IslandGrid.cell(index);
+            Location candidate = new Location(last.getWorld(), cell[0] * d, Settings.island_height, cell[1] * d);
+            if (isAvailableLocation(candidate)) {
+                return candidate;
+            }
+            if (!isReserved(candidate)) {
+                grid.setOccupied(cell[0], cell[1], true);
+            }
+            index++;
+        }
+        return last;
+    }
+
     public boolean isAvailableLocation(Location next) {
         return !(plugin.islandInSpawn(next) || plugin.islandAtLocation(next) || isReserved(next));
     }
@@ -24,6 +24,7 @@ import us.talabrek.ultimateskyblock.Settings;
 import us.talabrek.ultimateskyblock.api.IslandLevel;
 import us.talabrek.ultimateskyblock.api.IslandRank;
 import us.talabrek.ultimateskyblock.api.event.uSkyBlockEvent;
+import us.talabrek.ultimateskyblock.async.TickScheduler;
 import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
 import us.talabrek.ultimateskyblock.handler.WorldEditHandler;
 import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
@@ -68,9 +69,11 @@ public class IslandLogic {
     private final WorldManager worldManager;
     private final TeleportLogic teleportLogic;
     private final Scheduler scheduler;
+    private final TickScheduler tickScheduler;
     private final PluginConfig config;
     private final Path directoryIslands;
     private final OrphanLogic orphanLogic;
+    private final IslandLocatorLogic islandLocatorLogic;
     private final PlayerDB playerDB;
 
     private final LoadingCache<String, IslandInfo> cache;
@@ -90,9 +93,11 @@ public class IslandLogic {
         @NotNull WorldManager worldManager,
         @NotNull TeleportLogic teleportLogic,
         @NotNull Scheduler scheduler,
+        @NotNull TickScheduler tickScheduler,
         @NotNull PluginConfig config,
         @NotNull @PluginDataDir Path dataPath,
         @NotNull OrphanLogic orphanLogic,
+        @NotNull IslandLocatorLogic islandLocatorLogic,
         @NotNull PlayerDB playerDB
     ) {
         this.logger = logger;
@@ -100,6 +105,7 @@ public class IslandLogic {
         this.worldManager = worldManager;
         this.teleportLogic = teleportLogic;
         this.scheduler = scheduler;
+        this.tickScheduler = tickScheduler;
         this.config = config;
         this.playerDB = playerDB;
         Path islandDirectory = dataPath.resolve("islands");
@@ -110,6 +116,7 @@ public class IslandLogic {
         }
         this.directoryIslands = islandDirectory;
         this.orphanLogic = orphanLogic;
+        this.islandLocatorLogic = islandLocatorLogic;
         this.showMembers = config.getYamlConfig().getBoolean("options.island.topTenShowMembers", true);
         this.flatlandFix = config.getYamlConfig().getBoolean("options.island.fixFlatland", false);
         this.useDisplayNames = config.getYamlConfig().getBoolean("options.advanced.useDisplayNames", false);
@@ -220,7 +227,7 @@ public class IslandLogic {
                 || w.getBlockAt(px - radius, py, pz + radius).getType() == BEDROCK
                 || w.getBlockAt(px - radius, py, pz - radius).getType() == BEDROCK) {
                 sender.sendMessage(String.format("\u00a7c-----------------------------------\n\u00a7cFlatland detected under your island!\n\u00a7e Clearing it in %s, stay clear.\n\u00a7c-----------------------------------\n", TimeUtil.durationAsString(delay)));
-                scheduler.sync(new WorldEditClearFlatlandTask(scheduler, config, worldManager, logger, sender,
+                scheduler.sync(new WorldEditClearFlatlandTask(tickScheduler, config, worldManager, logger, sender,
                     new CuboidRegion(BlockVector3.at(px - radius, 0, pz - radius),
                         BlockVector3.at(px + radius, 4, pz + radius)),
                     "\u00a7eFlatland was cleared under your island (%s). Take care."), delay);
@@ -324,7 +331,7 @@ public class IslandLogic {
             if (size <= offset) {
                 return Collections.emptyList();
             }
-            return ranks.subList(offset, Math.min(size - offset, length));
+            return new ArrayList<>(ranks.subList(offset, Math.min(size, offset + length)));
         }
     }
 
@@ -380,6 +387,7 @@ public class IslandLogic {
     public synchronized IslandInfo createIslandInfo(String location, String player) {
         IslandInfo info = getIslandInfo(location);
         info.resetIslandConfig(player);
+        islandLocatorLogic.markIsland(location, true);
         return info;
     }
 
@@ -391,6 +399,7 @@ public class IslandLogic {
                 islandInfo.delete();
             }
             cache.invalidate(location);
+            islandLocatorLogic.markIsland(location, false);
             orphanLogic.addOrphan(location);
         } catch (ExecutionException e) {
             throw new IllegalStateException("Unable to delete island " + location, e);
@@ -415,11 +424,12 @@ public class IslandLogic {
     }
 
     public IslandRank getRank(String islandName) {
-        ArrayList<IslandLevel> rankList = new ArrayList<>(ranks);
-        for (int i = 0; i < rankList.size(); i++) {
-            IslandLevel level = rankList.get(i);
-            if (level.getIslandName().equalsIgnoreCase(islandName)) {
-                return new IslandRank(level, i + 1);
+        synchronized (ranks) {
+            for (int i = 0; i < ranks.size(); i++) {
+                IslandLevel level = ranks.get(i);
+                if (level.getIslandName().equalsIgnoreCase(islandName)) {
+                    return new IslandRank(level, i + 1);
+                }
             }
         }
         return null;
@@ -10,21 +10,23 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import us.talabrek.ultimateskyblock.Settings;
 import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
+import us.talabrek.ultimateskyblock.util.Scheduler;
 import us.talabrek.ultimateskyblock.world.WorldManager;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Responsible for storing, accessing and handling orphans.
+ * <p>
+ * Changes are journaled to <code>orphans.journal</code>, and only compacted into
+ * <code>orphans.yml</code> on {@link #save()}, or when the journal grows too large.
  */
 @Singleton
 public class OrphanLogic {
@@ -32,66 +34,121 @@ public class OrphanLogic {
     public static final float ORPHAN_PITCH = -30;
     public static final float ORPHAN_YAW = 90;
 
+    // Number of journal entries before compacting into orphans.yml
+    private static final int COMPACT_THRESHOLD = 1000;
+    // Number of orphans validated per batch, ahead of island creation
+    private static final int PREFILTER_BATCH = 64;
+
     private final Logger logger;
     private final WorldManager worldManager;
+    private final Scheduler scheduler;
     private final FileConfiguration config;
     private final File configFile;
-    private final SortedSet<Orphan> orphaned = new TreeSet<>(new OrphanComparator());
+    private final OrphanStore orphaned;
+    private final AtomicBoolean compacting = new AtomicBoolean(false);
+    private final AtomicBoolean prefiltering = new AtomicBoolean(false);
 
     @Inject
     public OrphanLogic(
         @NotNull @PluginDataDir Path pluginDir,
         @NotNull Logger logger,
-        @NotNull WorldManager worldManager
+        @NotNull WorldManager worldManager,
+        @NotNull Scheduler scheduler
         ) {
         this.logger = logger;
         this.worldManager = worldManager;
+        this.scheduler = scheduler;
         configFile = pluginDir.resolve("orphans.yml").toFile();
         config = FileUtil.getYmlConfiguration("orphans.yml");
+        orphaned = new OrphanStore(pluginDir.resolve("orphans.journal"));
         readOrphans();
     }
 
     private void readOrphans() {
+        boolean migrated = false;
         if (config.contains("orphans.list")) {
             // Old format
             final String fullOrphan = config.getString("orphans.list");
             if (!fullOrphan.isEmpty()) {
                 final String[] orphanArray = fullOrphan.split(";");
                 for (String loc : orphanArray) {
-                    orphaned.add(new Orphan(loc));
+                    load(new Orphan(loc));
                 }
                 config.set("orphans.list", null); // delete config-node
-                save();
+                migrated = true;
             }
         } else if (config.isList("orphans")) {
             for (String loc : config.getStringList("orphans")) {
-                orphaned.add(new Orphan(loc));
+                load(new Orphan(loc));
             }
         }
+        try {
+            orphaned.replay();
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Unable to replay the orphan journal", e);
+        }
+        if (migrated || orphaned.getJournalSize() > 0) {
+            save();
+        }
+    }
+
+    private void load(Orphan orphan) {
+        orphaned.load(orphan.getX(), orphan.getZ());
     }
 
+    /**
+     * Compacts the journal into <code>orphans.yml</code>.
+     */
     public void save() {
-        // TODO: 17/09/2015 - R4zorax: Perhaps not save to file EVERY time?
-        List<String> value = new ArrayList<>();
-        for (Orphan orphan : new ArrayList<>(orphaned)) {
-            value.add(orphan.toString());
+        synchronized (configFile) {
+            try {
+                long[] snapshot = orphaned.rotate();
+                config.set("orphans", OrphanStore.asStrings(snapshot));
+                config.save(configFile);
+                orphaned.commitRotation();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Unable to store orphans", e);
+            }
         }
-        config.set("orphans", value);
-        try {
-            config.save(configFile);
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "Unable to store orphans", e);
+    }
+
+    private void compactIfNeeded() {
+        if (orphaned.getJournalSize() >= COMPACT_THRESHOLD && compacting.compareAndSet(false, true)) {
+            scheduler.async(() -> {
+                try {
+                    save();
+                } finally {
+                    compacting.set(false);
+                }
+            });
         }
     }
 
     public void addOrphan(String loc) {
-        orphaned.add(new Orphan(loc));
+        Orphan orphan = new Orphan(loc);
+        addOrphan(orphan.getX(), orphan.getZ());
     }
 
     public void addOrphan(Location location) {
         if (location != null) {
-            orphaned.add(new Orphan(location.getBlockX(), location.getBlockZ()));
-            save();
+            addOrphan(location.getBlockX(), location.getBlockZ());
+        }
+    }
+
+    private void addOrphan(int x, int z) {
+        try {
+            orphaned.add(x, z);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to journal orphan " + x + "," + z, e);
+        }
+        compactIfNeeded();
+    }
+
+    private void removeOrphan(long orphan) {
+        try {
+            orphaned.remove(orphan);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to journal removal of orphan " + OrphanStore.getX(orphan) + "," + OrphanStore.getZ(orphan), e);
         }
     }
 
@@ -100,26 +157,85 @@ public class OrphanLogic {
         if (orphaned.isEmpty()) {
             return null;
         }
+        World world = worldManager.getWorld();
         try {
-            World world = worldManager.getWorld();
-            for (Iterator<Orphan> it = orphaned.iterator(); it.hasNext(); ) {
-                Orphan candidate = it.next();
-                if (candidate != null) {
-                    it.remove();
-                    Location loc = new Location(world, candidate.getX(), Settings.island_height, candidate.getZ(), ORPHAN_YAW, ORPHAN_PITCH);
-                    if (islandLocatorLogic.isAvailableLocation(loc)) {
-                        return loc;
-                    }
+            long[] candidates;
+            while ((candidates = orphaned.peek(1)).length > 0) {
+                long candidate = candidates[0];
+                removeOrphan(candidate);
+                Location loc = toLocation(world, candidate);
+                if (islandLocatorLogic.isAvailableLocation(loc)) {
+                    return loc;
                 }
             }
             return null;
         } finally {
-            save();
+            compactIfNeeded();
+            prefilter(islandLocatorLogic, world);
+        }
+    }
+
+    /**
+     * Validates the next batch of orphans, so invalid ones are discarded before an island creation has to skip them.
+     * Only the coordinates are checked off-thread, the WorldGuard and island lookups run on the main thread.
+     */
+    private void prefilter(IslandLocatorLogic islandLocatorLogic, World world) {
+        if (orphaned.isEmpty() || !prefiltering.compareAndSet(false, true)) {
+            return;
         }
+        scheduler.async(() -> {
+            try {
+                long[] candidates = orphaned.peek(PREFILTER_BATCH);
+                int offGrid = 0;
+                for (long candidate : candidates) {
+                    if (!isOnGrid(candidate)) {
+                        offGrid++;
+                    }
+                }
+                if (offGrid > 0) {
+                    // Kept, since they are valid again if the island distance is changed back
+                    logger.log(Level.WARNING, "{0} of the next {1} orphans are not aligned to the island distance {2}, "
+                        + "it was probably changed since they were orphaned",
+                        new Object[]{offGrid, candidates.length, Settings.island_distance});
+                }
+                scheduler.sync(() -> {
+                    try {
+                        for (long candidate : candidates) {
+                            if (!islandLocatorLogic.isAvailableLocation(toLocation(world, candidate))) {
+                                removeOrphan(candidate);
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        logger.log(Level.FINE, "Unable to prefilter orphans", e);
+                    } finally {
+                        prefiltering.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                logger.log(Level.FINE, "Unable to prefilter orphans", e);
+                prefiltering.set(false);
+            }
+        });
+    }
+
+    /**
+     * Islands are always aligned to the island distance, so an orphan off the grid was orphaned with another distance.
+     */
+    private static boolean isOnGrid(long orphan) {
+        int d = Settings.island_distance;
+        return d <= 0 || (OrphanStore.getX(orphan) % d == 0 && OrphanStore.getZ(orphan) % d == 0);
+    }
+
+    private static Location toLocation(World world, long orphan) {
+        return new Location(world, OrphanStore.getX(orphan), Settings.island_height, OrphanStore.getZ(orphan), ORPHAN_YAW, ORPHAN_PITCH);
     }
 
     public void clear() {
-        orphaned.clear();
+        try {
+            orphaned.clear();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to journal clearing of orphans", e);
+        }
         save();
     }
 
@@ -128,7 +244,25 @@ public class OrphanLogic {
     }
 
     public List<Orphan> getOrphans() {
-        return List.copyOf(orphaned);
+        long[] orphans = orphaned.toArray();
+        List<Orphan> list = new ArrayList<>(orphans.length);
+        for (long orphan : orphans) {
+            list.add(new Orphan(OrphanStore.getX(orphan), OrphanStore.getZ(orphan)));
+        }
+        return list;
+    }
+
+    public int getOrphanCount() {
+        return orphaned.size();
+    }
+
+    public void shutdown() {
+        save();
+        try {
+            orphaned.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to close the orphan journal", e);
+        }
     }
 
     public static class Orphan {
@@ -0,0 +1,361 @@
+package us.talabrek.ultimateskyblock.island;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-memory set of orphaned island locations, backed by an append-only journal.
+ * <p>
+ * Locations are packed into a single <code>long</code>, and kept in a binary min-heap, nearest to (0,0) first, so
+ * adding an orphan or taking the nearest one is <code>O(log n)</code>. Removing any other orphan only marks it as
+ * removed, and it is dropped once it reaches the top of the heap, or when the removed orphans are compacted away.
+ * Every change is appended to the journal as a single line (<code>+x,z</code>, <code>-x,z</code> or <code>!</code>
+ * for clear), and the full set is only written when the journal is compacted into a snapshot.
+ */
+class OrphanStore {
+    private static final String ADD = "+";
+    private static final String REMOVE = "-";
+    private static final String CLEAR = "!";
+
+    // Ordered by ascending distance, see compare
+    private long[] heap = new long[16];
+    private int heapSize = 0;
+    // The orphans in the heap, and those of them that are removed, but still in the heap
+    private final Set<Long> queued = new HashSet<>();
+    private final Set<Long> removed = new HashSet<>();
+    private final Path journalFile;
+    private final Path rotatedFile;
+    private Writer journal;
+    private int journalSize = 0;
+
+    OrphanStore(@NotNull Path journalFile) {
+        this.journalFile = journalFile;
+        this.rotatedFile = journalFile.resolveSibling(journalFile.getFileName() + ".old");
+    }
+
+    static long pack(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    static int getX(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    static int getZ(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Same ordering as {@link OrphanComparator}, but without overflowing on far-away islands.
+     */
+    static int compare(long a, long b) {
+        int cmp = Long.compare(distanceSquared(a), distanceSquared(b));
+        if (cmp == 0) {
+            cmp = Integer.compare(getX(a), getX(b));
+        }
+        if (cmp == 0) {
+            cmp = Integer.compare(getZ(a), getZ(b));
+        }
+        return cmp;
+    }
+
+    private static long distanceSquared(long packed) {
+        long x = getX(packed);
+        long z = getZ(packed);
+        return x * x + z * z;
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        long orphan = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compare(orphan, heap[parent]) >= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = orphan;
+    }
+
+    private static void siftDown(long[] heap, int size, int index) {
+        long orphan = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && compare(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (compare(orphan, heap[child]) <= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = orphan;
+    }
+
+    private static void heapify(long[] heap, int size) {
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(heap, size, i);
+        }
+    }
+
+    private void push(long orphan) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        heap[heapSize] = orphan;
+        siftUp(heap, heapSize++);
+    }
+
+    private long poll() {
+        long orphan = heap[0];
+        heap[0] = heap[--heapSize];
+        if (heapSize > 0) {
+            siftDown(heap, heapSize, 0);
+        }
+        return orphan;
+    }
+
+    /**
+     * Drops the removed orphans from the top of the heap, so the top is the nearest orphan.
+     */
+    private void pruneTop() {
+        while (heapSize > 0 && removed.remove(heap[0])) {
+            queued.remove(poll());
+        }
+    }
+
+    /**
+     * Drops all the removed orphans from the heap.
+     */
+    private void compact() {
+        int size = 0;
+        for (int i = 0; i < heapSize; i++) {
+            if (!removed.contains(heap[i])) {
+                heap[size++] = heap[i];
+            }
+        }
+        heapSize = size;
+        heapify(heap, heapSize);
+        queued.removeAll(removed);
+        removed.clear();
+    }
+
+    private boolean insert(long orphan) {
+        if (!queued.add(orphan)) {
+            // Still in the heap, so it is only added again if it was removed
+            return removed.remove(orphan);
+        }
+        push(orphan);
+        return true;
+    }
+
+    private boolean delete(long orphan) {
+        if (!queued.contains(orphan) || !removed.add(orphan)) {
+            return false;
+        }
+        pruneTop();
+        if (removed.size() > heapSize / 2) {
+            compact();
+        }
+        return true;
+    }
+
+    private void reset() {
+        heapSize = 0;
+        queued.clear();
+        removed.clear();
+    }
+
+    /**
+     * Adds an orphan from a snapshot, without journaling it.
+     */
+    synchronized void load(int x, int z) {
+        insert(pack(x, z));
+    }
+
+    /**
+     * Replays the journals left over from a previous run, i.e. both the rotated and the current one.
+     * Replaying is idempotent, so journals that were already compacted into the snapshot are harmless.
+     */
+    synchronized void replay() throws IOException {
+        replay(rotatedFile);
+        replay(journalFile);
+    }
+
+    private void replay(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.startsWith(CLEAR)) {
+                reset();
+            } else if (line.length() > 1) {
+                String[] xz = line.substring(1).split(",");
+                if (xz.length != 2) {
+                    continue;
+                }
+                long orphan = pack(Integer.parseInt(xz[0].trim(), 10), Integer.parseInt(xz[1].trim(), 10));
+                if (line.startsWith(ADD)) {
+                    insert(orphan);
+                } else if (line.startsWith(REMOVE)) {
+                    delete(orphan);
+                }
+            }
+            journalSize++;
+        }
+    }
+
+    synchronized boolean add(int x, int z) throws IOException {
+        long orphan = pack(x, z);
+        if (insert(orphan)) {
+            append(ADD, orphan);
+            return true;
+        }
+        return false;
+    }
+
+    synchronized boolean remove(long orphan) throws IOException {
+        if (delete(orphan)) {
+            append(REMOVE, orphan);
+            return true;
+        }
+        return false;
+    }
+
+    synchronized void clear() throws IOException {
+        reset();
+        appendLine(CLEAR);
+    }
+
+    synchronized boolean isEmpty() {
+        return size() == 0;
+    }
+
+    synchronized int size() {
+        return queued.size() - removed.size();
+    }
+
+    synchronized int getJournalSize() {
+        return journalSize;
+    }
+
+    /**
+     * Returns up to <code>max</code> of the nearest orphans, nearest first, without removing them.
+     */
+    synchronized long[] peek(int max) {
+        long[] result = new long[Math.min(max, size())];
+        for (int i = 0; i < result.length; i++) {
+            pruneTop();
+            result[i] = poll();
+        }
+        for (long orphan : result) {
+            push(orphan);
+        }
+        return result;
+    }
+
+    /**
+     * Returns all the orphans, nearest first.
+     */
+    synchronized long[] toArray() {
+        long[] sorted = new long[size()];
+        int size = 0;
+        for (int i = 0; i < heapSize; i++) {
+            if (!removed.contains(heap[i])) {
+                sorted[size++] = heap[i];
+            }
+        }
+        // Heap sort a copy, polling the nearest orphan into the result
+        long[] copy = sorted.clone();
+        heapify(copy, size);
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = copy[0];
+            copy[0] = copy[--size];
+            if (size > 0) {
+                siftDown(copy, size, 0);
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Starts a compaction, by moving the current journal aside and returning the full set of orphans.
+     * The caller must write the returned snapshot, and then call {@link #commitRotation()}.
+     */
+    synchronized long[] rotate() throws IOException {
+        closeJournal();
+        if (Files.exists(journalFile)) {
+            if (Files.exists(rotatedFile)) {
+                // A previous compaction failed, keep both journals in order
+                try (Writer out = Files.newBufferedWriter(rotatedFile, StandardCharsets.UTF_8, StandardOpenOption.APPEND)) {
+                    for (String line : Files.readAllLines(journalFile, StandardCharsets.UTF_8)) {
+                        out.write(line);
+                        out.write('\n');
+                    }
+                }
+                Files.delete(journalFile);
+            } else {
+                Files.move(journalFile, rotatedFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        journalSize = 0;
+        return toArray();
+    }
+
+    /**
+     * Completes a compaction, once the snapshot returned by {@link #rotate()} has been persisted.
+     */
+    synchronized void commitRotation() throws IOException {
+        Files.deleteIfExists(rotatedFile);
+    }
+
+    synchronized void close() throws IOException {
+        closeJournal();
+    }
+
+    private void append(String op, long orphan) throws IOException {
+        appendLine(op + getX(orphan) + "," + getZ(orphan));
+    }
+
+    private void appendLine(String line) throws IOException {
+        if (journal == null) {
+            journal = new BufferedWriter(Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        }
+        journal.write(line);
+        journal.write('\n');
+        journal.flush();
+        journalSize++;
+    }
+
+    private void closeJournal() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    static List<String> asStrings(long[] orphans) {
+        List<String> list = new ArrayList<>(orphans.length);
+        for (long orphan : orphans) {
+            list.add(getX(orphan) + "," + getZ(orphan));
+        }
+        return list;
+    }
+}
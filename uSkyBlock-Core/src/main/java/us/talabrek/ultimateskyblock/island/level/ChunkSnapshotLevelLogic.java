@@ -4,6 +4,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.sk89q.worldguard.protection.regions.ProtectedRegion;
 import dk.lockfuglsang.minecraft.file.FileUtil;
+import dk.lockfuglsang.minecraft.util.Timer;
 import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -13,6 +14,8 @@ import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.PluginConfig;
 import us.talabrek.ultimateskyblock.api.async.Callback;
+import us.talabrek.ultimateskyblock.async.JobManager;
+import us.talabrek.ultimateskyblock.async.TickScheduler;
 import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
 import us.talabrek.ultimateskyblock.island.task.ChunkSnapShotTask;
 import us.talabrek.ultimateskyblock.uSkyBlock;
@@ -32,6 +35,7 @@ public class ChunkSnapshotLevelLogic extends CommonLevelLogic {
     private final Plugin plugin;
     private final PluginConfig pluginConfig;
     private final Scheduler scheduler;
+    private final TickScheduler tickScheduler;
     private final Logger logger;
 
     @Inject
@@ -40,12 +44,14 @@ public class ChunkSnapshotLevelLogic extends CommonLevelLogic {
         @NotNull WorldManager worldManager,
         @NotNull PluginConfig pluginConfig,
         @NotNull Scheduler scheduler,
+        @NotNull TickScheduler tickScheduler,
         @NotNull Logger logger
     ) {
         super(FileUtil.getYmlConfiguration("levelConfig.yml"), worldManager);
         this.plugin = plugin;
         this.pluginConfig = pluginConfig;
         this.scheduler = scheduler;
+        this.tickScheduler = tickScheduler;
         this.logger = logger;
     }
 
@@ -58,13 +64,13 @@ public class ChunkSnapshotLevelLogic extends CommonLevelLogic {
         if (region == null) {
             return;
         }
-        new ChunkSnapShotTask(scheduler, pluginConfig, l, region, new Callback<>() {
+        new ChunkSnapShotTask(tickScheduler, pluginConfig, l, region, new Callback<>() {
             @Override
             public void run() {
                 final List<ChunkSnapshot> snapshotsOverworld = getState();
                 Location netherLoc = getNetherLocation(l);
                 final ProtectedRegion netherRegion = WorldGuardHandler.getNetherRegionAt(netherLoc);
-                new ChunkSnapShotTask(scheduler, pluginConfig, netherLoc, netherRegion, new Callback<>() {
+                new ChunkSnapShotTask(tickScheduler, pluginConfig, netherLoc, netherRegion, new Callback<>() {
                     @Override
                     public void run() {
                         final List<ChunkSnapshot> snapshotsNether = getState();
@@ -81,7 +87,9 @@ public class ChunkSnapshotLevelLogic extends CommonLevelLogic {
     }
 
     private void calculateScoreAndCallback(ProtectedRegion region, List<ChunkSnapshot> snapshotsOverworld, ProtectedRegion netherRegion, List<ChunkSnapshot> snapshotsNether, Callback<IslandScore> callback) {
+        Timer timer = Timer.start();
         IslandScore islandScore = calculateScore(region, snapshotsOverworld, netherRegion, snapshotsNether);
+        JobManager.recordAsync("LevelCalculation", timer.elapsed());
         callback.setState(islandScore);
         scheduler.sync(callback);
         logger.exiting(this.getClass().getName(), "calculateScoreAsync");
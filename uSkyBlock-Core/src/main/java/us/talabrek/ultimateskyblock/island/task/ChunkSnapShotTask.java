@@ -9,8 +9,8 @@ import org.bukkit.Location;
 import us.talabrek.ultimateskyblock.PluginConfig;
 import us.talabrek.ultimateskyblock.api.async.Callback;
 import us.talabrek.ultimateskyblock.async.IncrementalRunnable;
+import us.talabrek.ultimateskyblock.async.TickScheduler;
 import us.talabrek.ultimateskyblock.handler.WorldEditHandler;
-import us.talabrek.ultimateskyblock.util.Scheduler;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,8 +23,8 @@ public class ChunkSnapShotTask extends IncrementalRunnable {
     private final List<BlockVector2> chunks;
     private final List<ChunkSnapshot> snapshots = new ArrayList<>();
 
-    public ChunkSnapShotTask(Scheduler scheduler, PluginConfig config, Location location, ProtectedRegion region, final Callback<List<ChunkSnapshot>> callback) {
-        super(scheduler, config, callback);
+    public ChunkSnapShotTask(TickScheduler tickScheduler, PluginConfig config, Location location, ProtectedRegion region, final Callback<List<ChunkSnapshot>> callback) {
+        super(tickScheduler, config, callback);
         this.location = location;
         if (region != null) {
             chunks = new ArrayList<>(WorldEditHandler.getChunks(new CuboidRegion(region.getMinimumPoint(), region.getMaximumPoint())));
@@ -33,7 +33,7 @@ public class RecalculateTopTen extends BukkitRunnable {
                 }
             });
         } else {
-            plugin.fireAsyncEvent(new uSkyBlockEvent(null, uSkyBlock.getAPI(), uSkyBlockEvent.Cause.RANK_UPDATED));
+            plugin.fireChangeEvent(null, uSkyBlockEvent.Cause.RANK_UPDATED);
         }
     }
 }
@@ -7,7 +7,9 @@ import com.sk89q.worldguard.protection.regions.ProtectedRegion;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.block.Biome;
+import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.async.IncrementalRunnable;
+import us.talabrek.ultimateskyblock.async.TickScheduler;
 import us.talabrek.ultimateskyblock.handler.WorldEditHandler;
 import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
 import us.talabrek.ultimateskyblock.uSkyBlock;
@@ -26,7 +28,7 @@ public class SetBiomeTask extends IncrementalRunnable {
     private final Set<BlockVector2> chunks;
 
     public SetBiomeTask(uSkyBlock plugin, Location loc, Biome biome, Runnable onCompletion) {
-        super(plugin.getScheduler(), plugin.getPluginConfig(), onCompletion);
+        super(plugin.getTickScheduler(), plugin.getPluginConfig(), onCompletion);
         this.biome = biome;
         ProtectedRegion region = WorldGuardHandler.getIslandRegionAt(loc);
         if (region != null) {
@@ -41,7 +43,7 @@ public class SetBiomeTask extends IncrementalRunnable {
     }
 
     public SetBiomeTask(uSkyBlock plugin, World world, BlockVector3 minP, BlockVector3 maxP, Biome biome, Runnable onCompletion) {
-        super(plugin.getScheduler(), plugin.getPluginConfig(), onCompletion);
+        super(plugin.getTickScheduler(), plugin.getPluginConfig(), onCompletion);
         this.biome = biome;
         this.minP = minP;
         this.maxP = maxP;
@@ -96,4 +98,9 @@ public class SetBiomeTask extends IncrementalRunnable {
     private boolean isDone() {
         return chunks.isEmpty();
     }
+
+    @Override
+    protected @NotNull TickScheduler.Priority getPriority() {
+        return TickScheduler.Priority.PLAYER;
+    }
 }
@@ -0,0 +1,101 @@
+package us.talabrek.ultimateskyblock.menu;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import us.talabrek.ultimateskyblock.util.GuiItemUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.requireNonNull;
+import static us.talabrek.ultimateskyblock.util.LogUtil.log;
+
+/**
+ * An entry from <code>options.extra-menus</code>, parsed once when the menus are built.
+ */
+record ExtraMenu(int index, @NotNull ItemStack icon, @NotNull List<PermValue> lore, @NotNull List<PermValue> commands) {
+    private static final Pattern PERM_VALUE_PATTERN = Pattern.compile("(\\[(?<perm>(?<not>[!])?[^\\]]+)\\])?(?<value>.*)");
+
+    /**
+     * A value, optionally guarded by a <code>[perm]</code> or <code>[!perm]</code> prefix.
+     */
+    record PermValue(@Nullable String perm, boolean not, @NotNull String value) {
+        boolean test(@NotNull Player player) {
+            return perm == null || player.hasPermission(perm) != not;
+        }
+
+        static @Nullable PermValue parse(@NotNull String s) {
+            Matcher matcher = PERM_VALUE_PATTERN.matcher(s);
+            if (!matcher.matches()) {
+                return null;
+            }
+            return new PermValue(matcher.group("perm"), matcher.group("not") != null, matcher.group("value"));
+        }
+    }
+
+    static @NotNull List<ExtraMenu> parse(@Nullable ConfigurationSection extras) {
+        List<ExtraMenu> menus = new ArrayList<>();
+        if (extras == null) {
+            return menus;
+        }
+        for (String sIndex : extras.getKeys(false)) {
+            ConfigurationSection menuSection = extras.getConfigurationSection(sIndex);
+            if (menuSection == null) {
+                continue;
+            }
+            try {
+                int index = Integer.parseInt(sIndex, 10);
+                String title = menuSection.getString("title", "\u00a9Unknown");
+                String icon = menuSection.getString("displayItem", "CHEST");
+                List<PermValue> lore = new ArrayList<>();
+                for (String l : menuSection.getStringList("lore")) {
+                    PermValue value = PermValue.parse(l);
+                    if (value != null) {
+                        lore.add(value);
+                    }
+                }
+                List<PermValue> commands = new ArrayList<>();
+                for (String command : menuSection.getStringList("commands")) {
+                    PermValue value = PermValue.parse(command);
+                    if (value != null) {
+                        commands.add(value);
+                    } else {
+                        log(Level.INFO, "\u00a7a[uSkyBlock] Malformed menu " + title + ", invalid command : " + command);
+                    }
+                }
+                // Only SIMPLE icons supported...
+                menus.add(new ExtraMenu(index, GuiItemUtil.createGuiDisplayItem(icon, title), List.copyOf(lore), List.copyOf(commands)));
+            } catch (Exception e) {
+                log(Level.INFO, "\u00a79[uSkyBlock]\u00a7r Unable to add extra-menu " + sIndex + ": " + e);
+            }
+        }
+        return menus;
+    }
+
+    @NotNull ItemStack create(@NotNull Player player) {
+        List<String> lines = new ArrayList<>(lore.size());
+        for (PermValue line : lore) {
+            if (line.test(player)) {
+                lines.add(line.value());
+            }
+        }
+        ItemStack item = icon.clone();
+        ItemMeta meta = requireNonNull(item.getItemMeta());
+        meta.setLore(lines);
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    boolean matches(@NotNull Material type, @Nullable String displayName) {
+        ItemMeta meta = icon.getItemMeta();
+        return icon.getType() == type && meta != null && meta.getDisplayName().equals(displayName);
+    }
+}
@@ -0,0 +1,96 @@
+package us.talabrek.ultimateskyblock.menu;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A pre-rendered menu item, with a display name and static lore.
+ * <p>
+ * Opening a menu clones the item, and only patches the lore when some of it is dynamic.
+ */
+final class MenuItemTemplate {
+    private final ItemStack item;
+    private final List<String> lore;
+
+    MenuItemTemplate(@NotNull Material material, @NotNull String displayName, @NotNull List<String> lore) {
+        this(new ItemStack(material, 1), displayName, lore);
+    }
+
+    MenuItemTemplate(@NotNull ItemStack icon, @Nullable String displayName, @NotNull List<String> lore) {
+        this.item = icon.clone();
+        this.lore = List.copyOf(lore);
+        ItemMeta meta = requireNonNull(item.getItemMeta());
+        if (displayName != null) {
+            meta.setDisplayName(displayName);
+        }
+        meta.setLore(this.lore);
+        item.setItemMeta(meta);
+    }
+
+    @NotNull ItemStack create() {
+        return item.clone();
+    }
+
+    /**
+     * Creates the item, with the dynamic lines added before and after the static lore.
+     */
+    @NotNull ItemStack create(@NotNull List<String> before, @NotNull List<String> after) {
+        ItemStack stack = item.clone();
+        ItemMeta meta = requireNonNull(stack.getItemMeta());
+        List<String> lines = new ArrayList<>(before.size() + lore.size() + after.size());
+        lines.addAll(before);
+        lines.addAll(lore);
+        lines.addAll(after);
+        meta.setLore(lines);
+        stack.setItemMeta(meta);
+        return stack;
+    }
+
+    @NotNull ItemStack createWithPrefix(@NotNull String line) {
+        return create(Collections.singletonList(line), Collections.emptyList());
+    }
+
+    @NotNull Material getType() {
+        return item.getType();
+    }
+
+    @Nullable String getDisplayName() {
+        ItemMeta meta = item.getItemMeta();
+        return meta != null && meta.hasDisplayName() ? meta.getDisplayName() : null;
+    }
+
+    /**
+     * Splits a translated, multi-line text into lore lines, each prefixed with the given format.
+     */
+    static @NotNull List<String> lines(@NotNull String format, @NotNull String... multiLines) {
+        List<String> lines = new ArrayList<>();
+        for (String multiLine : multiLines) {
+            for (String line : multiLine.split("\n")) {
+                lines.add(format + line);
+            }
+        }
+        return lines;
+    }
+
+    static @NotNull List<String> lines(@NotNull String multiLine) {
+        return lines("", multiLine);
+    }
+
+    @SafeVarargs
+    static @NotNull List<String> concat(@NotNull List<String>... parts) {
+        List<String> lines = new ArrayList<>();
+        for (List<String> part : parts) {
+            lines.addAll(part);
+        }
+        return lines;
+    }
+}
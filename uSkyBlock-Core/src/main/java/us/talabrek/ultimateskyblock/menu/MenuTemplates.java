@@ -0,0 +1,225 @@
+package us.talabrek.ultimateskyblock.menu;
+
+import dk.lockfuglsang.minecraft.po.I18nUtil;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.PluginConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
+import static dk.lockfuglsang.minecraft.util.FormatUtil.stripFormatting;
+import static us.talabrek.ultimateskyblock.menu.MenuItemTemplate.concat;
+import static us.talabrek.ultimateskyblock.menu.MenuItemTemplate.lines;
+
+/**
+ * The static parts of the island menus, translated and rendered once per config reload and language.
+ * <p>
+ * Items that only differ in a static way (i.e. whether the player may click them) are rendered in
+ * all variants, so opening a menu is mostly cloning items, and formatting the few dynamic lines.
+ */
+final class MenuTemplates {
+    private final I18nUtil.I18n i18n;
+
+    // Titles, as shown and as matched on click
+    final String partyTitle;
+    final String logTitle;
+    final String islandTitle;
+    final String createTitle;
+    final String restartTitle;
+    final String partyName;
+    final String permissionsName;
+    final String challengeMenuName;
+    final String logName;
+    final String islandName;
+    final String createName;
+    final String restartName;
+    final String lockedChallenge;
+
+    // Main menu
+    final MenuItemTemplate home;
+    final MenuItemTemplate challengesEnabled;
+    final MenuItemTemplate challengesDisabled;
+    final MenuItemTemplate level;
+    final MenuItemTemplate group;
+    final MenuItemTemplate biome;
+    final List<String> biomeAllowed;
+    final List<String> biomeDenied;
+    final MenuItemTemplate lockedAllowed;
+    final MenuItemTemplate lockedDenied;
+    final MenuItemTemplate unlockedAllowed;
+    final MenuItemTemplate unlockedDenied;
+    final MenuItemTemplate warpActiveAllowed;
+    final MenuItemTemplate warpActiveDenied;
+    final MenuItemTemplate warpInactiveAllowed;
+    final MenuItemTemplate warpInactiveDenied;
+    final MenuItemTemplate spawn;
+    final MenuItemTemplate log;
+    final MenuItemTemplate setHome;
+    final MenuItemTemplate setWarpAllowed;
+    final MenuItemTemplate setWarpDenied;
+    final MenuItemTemplate restart;
+    final MenuItemTemplate leave;
+    final List<ExtraMenu> extraMenus;
+
+    // Create and restart menus
+    final MenuItemTemplate start;
+    final MenuItemTemplate join;
+    final MenuItemTemplate restartBack;
+    final List<String> clickToCreate;
+    final List<String> clickToRestart;
+    private final Map<String, List<String>> noAccess = new HashMap<>();
+
+    // Party menus
+    final MenuItemTemplate partyHeader;
+    final List<String> partyNotFull;
+    final List<String> partyFull;
+    final List<String> leaderLines;
+    final List<String> memberLines;
+    final List<String> changePermissions;
+    final List<String> canLines = new ArrayList<>();
+    final List<String> cannotLines = new ArrayList<>();
+    final MenuItemTemplate permissionsBack;
+    final List<String> permissionsHeadLore;
+    final List<PermissionTemplates> permissions = new ArrayList<>();
+
+    // Log menu
+    final MenuItemTemplate logBack;
+    final MenuItemTemplate logBook;
+
+    /**
+     * The permission icon of the party player menu, in each of its variants.
+     */
+    record PermissionTemplates(MenuItemTemplate granted, MenuItemTemplate grantedLeader,
+                               MenuItemTemplate denied, MenuItemTemplate deniedLeader) {
+        MenuItemTemplate get(boolean hasPerm, boolean isLeader) {
+            if (hasPerm) {
+                return isLeader ? grantedLeader : granted;
+            }
+            return isLeader ? deniedLeader : denied;
+        }
+    }
+
+    MenuTemplates(@NotNull PluginConfig config, @NotNull List<PartyPermissionMenuItem> permissionMenuItems) {
+        i18n = I18nUtil.getI18n();
+
+        partyTitle = "\u00a79" + tr("Island Group Members");
+        logTitle = "\u00a79" + tr("Island Log");
+        islandTitle = "\u00a79" + tr("Island Menu");
+        createTitle = "\u00a79" + tr("Island Create Menu");
+        restartTitle = "\u00a79" + tr("Island Restart Menu");
+        partyName = stripFormatting(tr("Island Group Members"));
+        permissionsName = stripFormatting(tr("Permissions"));
+        challengeMenuName = stripFormatting(tr("Challenge Menu"));
+        logName = stripFormatting(tr("Island Log"));
+        islandName = stripFormatting(tr("Island Menu"));
+        createName = stripFormatting(tr("Island Create Menu"));
+        restartName = stripFormatting(tr("Island Restart Menu"));
+        lockedChallenge = tr("\u00a74\u00a7lLocked Challenge");
+
+        home = new MenuItemTemplate(Material.OAK_DOOR, tr("\u00a7a\u00a7lReturn Home"),
+            lines("\u00a7f", tr("Return to your island''s home\npoint. You can change your home\npoint to any location on your\nisland using \u00a7b/island sethome\n\u00a7e\u00a7lClick here to return home.")));
+        List<String> challengesLore = lines("\u00a7f", tr("View a list of \u00a79challenges that\nyou can complete on your island\nto earn skybucks, items, perks,\nand titles."));
+        challengesEnabled = new MenuItemTemplate(Material.DIAMOND_ORE, tr("\u00a7a\u00a7lChallenges"),
+            concat(challengesLore, lines(tr("\u00a7e\u00a7lClick here to view challenges."))));
+        challengesDisabled = new MenuItemTemplate(Material.DIAMOND_ORE, tr("\u00a7a\u00a7lChallenges"),
+            concat(challengesLore, lines(tr("\u00a74\u00a7lChallenges disabled."))));
+        level = new MenuItemTemplate(Material.EXPERIENCE_BOTTLE, tr("\u00a7a\u00a7lIsland Level"),
+            lines("\u00a7f", tr("Gain island levels by expanding\nyour skyblock and completing\ncertain challenges. Rarer blocks\nwill add more to your level.\n\u00a7e\u00a7lClick here to refresh.\n\u00a7e\u00a7l(must be on island)")));
+        group = new MenuItemTemplate(Material.PLAYER_HEAD, "\u00a7a\u00a7l" + tr("Island Group"),
+            lines("\u00a7f", tr("View the members of your island\ngroup and their permissions. If\nyou are the island leader, you\ncan change the member permissions.\n\u00a7e\u00a7lClick here to view or change.")));
+        biome = new MenuItemTemplate(Material.JUNGLE_SAPLING, "\u00a7a\u00a7l" + tr("Change Island Biome"),
+            lines("\u00a7f", tr("The island biome affects things\nlike grass color and spawning\nof both animals and monsters.")));
+        biomeAllowed = lines(tr("\u00a7e\u00a7lClick here to change biomes."));
+        biomeDenied = lines(tr("\u00a7c\u00a7lYou can't change the biome."));
+
+        String lockName = tr("\u00a7a\u00a7lIsland Lock");
+        List<String> locked = lines(tr("\u00a7eLock Status: \u00a7aActive\n\u00a7fYour island is currently \u00a7clocked.\n\u00a7fPlayers outside of your group\n\u00a7fare unable to enter your island."));
+        List<String> unlocked = lines(tr("\u00a7eLock Status: \u00a78Inactive\n\u00a7fYour island is currently \u00a7aunlocked.\n\u00a7fAll players are able to enter your\n\u00a7fisland, but only you and your group\n\u00a7fmembers may build there."));
+        List<String> lockDenied = lines(tr("\u00a7c\u00a7lYou can't change the lock."));
+        lockedAllowed = new MenuItemTemplate(Material.IRON_BARS, lockName, concat(locked, lines(tr("\u00a7e\u00a7lClick here to unlock your island."))));
+        lockedDenied = new MenuItemTemplate(Material.IRON_BARS, lockName, concat(locked, lockDenied));
+        unlockedAllowed = new MenuItemTemplate(Material.IRON_BARS, lockName, concat(unlocked, lines(tr("\u00a7e\u00a7lClick here to lock your island."))));
+        unlockedDenied = new MenuItemTemplate(Material.IRON_BARS, lockName, concat(unlocked, lockDenied));
+
+        String warpName = tr("\u00a7a\u00a7lIsland Warp");
+        List<String> warpActive = lines(tr("\u00a7eWarp Status: \u00a7aActive\n\u00a7fOther players may warp to your\n\u00a7fisland at anytime to the point\n\u00a7fyou set using \u00a7d/island setwarp."));
+        List<String> warpInactive = lines(tr("\u00a7eWarp Status: \u00a78Inactive\n\u00a7fOther players can't warp to your\n\u00a7fisland. Set a warp point using\n\u00a7d/island setwarp \u00a7fbefore activating."));
+        List<String> warpDenied = lines(tr("\u00a7c\u00a7lYou can't change the warp."));
+        warpActiveAllowed = new MenuItemTemplate(Material.END_PORTAL_FRAME, warpName, concat(warpActive, lines(tr("\u00a7e\u00a7lClick here to deactivate."))));
+        warpActiveDenied = new MenuItemTemplate(Material.END_PORTAL_FRAME, warpName, concat(warpActive, warpDenied));
+        warpInactiveAllowed = new MenuItemTemplate(Material.END_STONE, warpName, concat(warpInactive, lines(tr("\u00a7e\u00a7lClick here to activate."))));
+        warpInactiveDenied = new MenuItemTemplate(Material.END_STONE, warpName, concat(warpInactive, warpDenied));
+
+        spawn = new MenuItemTemplate(Material.SHORT_GRASS, tr("\u00a7a\u00a7lReturn to Spawn"),
+            lines("\u00a7f", tr("Teleport to the spawn area.")));
+        log = new MenuItemTemplate(Material.WRITABLE_BOOK, tr("\u00a7a\u00a7lIsland Log"),
+            lines("\u00a7f", tr("View a log of events from\nyour island such as member,\nbiome, and warp changes.\n\u00a7e\u00a7lClick to view the log.")));
+        setHome = new MenuItemTemplate(Material.RED_BED, tr("\u00a7a\u00a7lChange Home Location"),
+            lines("\u00a7f", tr("When you teleport to your\nisland you will be taken to\nthis location.\n\u00a7e\u00a7lClick here to change.")));
+        List<String> setWarp = lines("\u00a7f", tr("When your warp is activated,\nother players will be taken to\nthis point when they teleport\nto your island."));
+        setWarpAllowed = new MenuItemTemplate(Material.HOPPER, tr("\u00a7a\u00a7lChange Warp Location"),
+            concat(setWarp, lines(tr("\u00a7e\u00a7lClick here to change."))));
+        setWarpDenied = new MenuItemTemplate(Material.HOPPER, tr("\u00a7a\u00a7lChange Warp Location"),
+            concat(setWarp, warpDenied));
+        restart = new MenuItemTemplate(Material.PODZOL, tr("\u00a7c\u00a7lRestart Island"),
+            lines("\u00a7f", tr("Restarts your island.\n\u00a74WARNING! \u00a7cwill remove your items and island!")));
+        leave = new MenuItemTemplate(Material.IRON_DOOR, tr("\u00a7c\u00a7lLeave Island"),
+            concat(lines("\u00a7f", tr("Leaves your island.\n\u00a74WARNING! \u00a7cwill remove all your items!")),
+                lines(tr("\u00a7cClick to leave"))));
+        extraMenus = ExtraMenu.parse(config.getYamlConfig().getConfigurationSection("options.extra-menus"));
+
+        start = new MenuItemTemplate(Material.OAK_SAPLING, tr("\u00a7a\u00a7lStart an Island"),
+            lines("\u00a7f", tr("Start your skyblock journey\nby starting your own island.\nComplete challenges to earn\nitems and skybucks to help\nexpand your skyblock. You can\ninvite others to join in\nbuilding your island empire!\n\u00a7e\u00a7lClick here to start!")));
+        join = new MenuItemTemplate(Material.PLAYER_HEAD, tr("\u00a7a\u00a7lJoin an Island"),
+            lines("\u00a7f", tr("Want to join another player''s\nisland instead of starting\nyour own? If another player\ninvites you to their island\nyou can click here or use\n\u00a7e/island accept\u00a7f to join them.\n\u00a7e\u00a7lClick here to accept an invite!\n\u00a7e\u00a7l(You must be invited first)")));
+        restartBack = new MenuItemTemplate(Material.OAK_SIGN, tr("\u00a7a\u00a7lReturn to the main menu"), Collections.emptyList());
+        clickToCreate = lines(tr("\u00a7aClick to create!"));
+        clickToRestart = lines(tr("\u00a7aClick to restart!"));
+
+        partyHeader = new MenuItemTemplate(Material.OAK_SIGN, "\u00a7a" + tr("Island Group Members"),
+            lines(tr("\u00a7eHover over a player''s icon to\n\u00a7eview their permissions. The\n\u00a7eleader can change permissions\n\u00a7eby clicking a player''s icon.")));
+        partyNotFull = lines(tr("\u00a7aMore players can be invited to this island."));
+        partyFull = lines(tr("\u00a7cThis island is full."));
+        leaderLines = lines("\u00a7a\u00a7l", tr("Leader"));
+        memberLines = lines("\u00a7e\u00a7l", tr("Member"));
+        changePermissions = lines(tr("\u00a7e<Click to change this player''s permissions>"));
+        permissionsBack = new MenuItemTemplate(Material.OAK_SIGN, tr("\u00a79Player Permissions"),
+            lines(tr("\u00a7eClick here to return to\n\u00a7eyour island group''s info.")));
+        permissionsHeadLore = lines(tr("\u00a7eHover over an icon to view\n\u00a7ea permission. Change the\n\u00a7epermission by clicking it."));
+        List<String> clickToRemove = lines("\u00a7f", tr("Click here to remove this permission."));
+        List<String> clickToGrant = lines("\u00a7f", tr("Click here to grant this permission."));
+        for (PartyPermissionMenuItem menuItem : permissionMenuItems) {
+            canLines.add("\u00a7a" + tr("Can {0}", "\u00a7f" + menuItem.getShortDescription()));
+            cannotLines.add("\u00a7c" + tr("Cannot {0}", "\u00a7f" + menuItem.getShortDescription()));
+            List<String> can = concat(List.of(tr("\u00a7fThis player \u00a7acan")), lines("\u00a7f", menuItem.getDescription()));
+            List<String> cannot = concat(List.of(tr("\u00a7fThis player \u00a7ccannot")), lines("\u00a7f", menuItem.getDescription()));
+            String granted = "\u00a7a" + menuItem.getTitle();
+            String denied = "\u00a7c" + menuItem.getTitle();
+            permissions.add(new PermissionTemplates(
+                new MenuItemTemplate(menuItem.getIcon(), granted, can),
+                new MenuItemTemplate(menuItem.getIcon(), granted, concat(can, clickToRemove)),
+                new MenuItemTemplate(menuItem.getIcon(), denied, cannot),
+                new MenuItemTemplate(menuItem.getIcon(), denied, concat(cannot, clickToGrant))));
+        }
+
+        logBack = new MenuItemTemplate(Material.OAK_SIGN, "\u00a79\u00a7l" + tr("Island Log"),
+            lines(tr("\u00a7eClick here to return to\n\u00a7ethe main island screen.")));
+        logBook = new MenuItemTemplate(Material.WRITABLE_BOOK, tr("\u00a7e\u00a7lIsland Log"), Collections.emptyList());
+    }
+
+    /**
+     * Whether the templates were rendered with the currently loaded translations.
+     */
+    boolean isCurrent() {
+        return i18n == I18nUtil.getI18n();
+    }
+
+    @NotNull List<String> noAccess(@NotNull String permission) {
+        return noAccess.computeIfAbsent(permission, perm -> lines(tr("\u00a7cNo access!\n\u00a77({0})", perm)));
+    }
+}
@@ -7,7 +7,6 @@ import dk.lockfuglsang.minecraft.util.ItemStackUtil;
 import dk.lockfuglsang.minecraft.util.TimeUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
@@ -35,10 +34,10 @@ import us.talabrek.ultimateskyblock.util.Scheduler;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
-import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -48,7 +47,6 @@ import static dk.lockfuglsang.minecraft.util.FormatUtil.stripFormatting;
 import static java.util.Objects.requireNonNull;
 import static us.talabrek.ultimateskyblock.challenge.ChallengeLogic.CHALLENGE_PAGESIZE;
 import static us.talabrek.ultimateskyblock.challenge.ChallengeLogic.COLS_PER_ROW;
-import static us.talabrek.ultimateskyblock.util.LogUtil.log;
 
 // TODO: Move all the texts to resource-files (translatable).
 
@@ -57,7 +55,6 @@ import static us.talabrek.ultimateskyblock.util.LogUtil.log;
  */
 @Singleton
 public class SkyBlockMenu {
-    private final Pattern PERM_VALUE_PATTERN = Pattern.compile("(\\[(?<perm>(?<not>[!])?[^\\]]+)\\])?(?<value>.*)");
     private final Pattern CHALLENGE_PAGE_HEADER = Pattern.compile(tr("Challenge Menu") + ".*\\((?<p>[0-9]+)/(?<max>[0-9]+)\\)");
 
     private final uSkyBlock plugin;
@@ -69,7 +66,6 @@ public class SkyBlockMenu {
     private final ConfirmHandler confirmHandler;
     private final Scheduler scheduler;
 
-    private final ItemStack sign = new ItemStack(Material.OAK_SIGN, 1);
     private final ItemStack biome = new ItemStack(Material.JUNGLE_SAPLING, 1);
     private final ItemStack lock = new ItemStack(Material.IRON_BARS, 1);
     private final ItemStack warpset = new ItemStack(Material.END_PORTAL_FRAME, 1);
@@ -102,6 +98,7 @@ public class SkyBlockMenu {
                 but they are unable to kick
                 the island leader."""))
     );
+    private MenuTemplates templates;
 
     @Inject
     public SkyBlockMenu(
@@ -127,217 +124,109 @@ public class SkyBlockMenu {
     public Inventory displayPartyPlayerGUI(final Player inventoryViewer, final PlayerProfile partyMember) {
         Preconditions.checkNotNull(partyMember.getName(), "Player name must not be null");
         Preconditions.checkNotNull(partyMember.getUniqueId(), "Player UUID must not be null");
-        List<String> lores = new ArrayList<>();
+        MenuTemplates templates = getTemplates();
         String emptyTitle = tr("{0} <{1}>", "", tr("Permissions"));
         String name = partyMember.getName();
         String title = tr("{0} <{1}>", name.substring(0, Math.min(32 - emptyTitle.length(), name.length())), tr("Permissions"));
         Inventory menu = Bukkit.createInventory(new UltimateHolder(inventoryViewer, title, MenuType.DEFAULT), 9, title);
+        menu.addItem(templates.permissionsBack.create());
         final ItemStack pHead = new ItemStack(Material.PLAYER_HEAD, 1);
         final SkullMeta meta3 = requireNonNull((SkullMeta) requireNonNull(pHead.getItemMeta()));
-        ItemMeta meta2 = requireNonNull(requireNonNull(sign.getItemMeta()));
-        meta2.setDisplayName(tr("\u00a79Player Permissions"));
-        addLore(lores, tr("\u00a7eClick here to return to\n\u00a7eyour island group''s info."));
-        meta2.setLore(lores);
-        sign.setItemMeta(meta2);
-        menu.addItem(sign);
-        lores.clear();
         meta3.setOwnerProfile(partyMember);
         meta3.setDisplayName(tr("\u00a7e{0}''\u00a79s Permissions", name));
-        addLore(lores, tr("\u00a7eHover over an icon to view\n\u00a7ea permission. Change the\n\u00a7epermission by clicking it."));
-        meta3.setLore(lores);
+        meta3.setLore(templates.permissionsHeadLore);
         pHead.setItemMeta(meta3);
         menu.addItem(pHead);
-        lores.clear();
         IslandInfo islandInfo = plugin.getIslandInfo(inventoryViewer);
         boolean isLeader = islandInfo.isLeader(inventoryViewer);
-        for (PartyPermissionMenuItem menuItem : permissionMenuItems) {
-            ItemStack itemStack = menuItem.getIcon();
-            meta2 = requireNonNull(requireNonNull(itemStack.getItemMeta()));
-            if (islandInfo.hasPerm(partyMember.getUniqueId(), menuItem.getPerm())) {
-                meta2.setDisplayName("\u00a7a" + menuItem.getTitle());
-                lores.add(tr("\u00a7fThis player \u00a7acan"));
-                addLore(lores, "\u00a7f", menuItem.getDescription());
-                if (isLeader) {
-                    addLore(lores, "\u00a7f", tr("Click here to remove this permission."));
-                }
-            } else {
-                meta2.setDisplayName("\u00a7c" + menuItem.getTitle());
-                lores.add(tr("\u00a7fThis player \u00a7ccannot"));
-                addLore(lores, "\u00a7f", menuItem.getDescription());
-                if (isLeader) {
-                    addLore(lores, "\u00a7f", tr("Click here to grant this permission."));
-                }
-            }
-            meta2.setLore(lores);
-            itemStack.setItemMeta(meta2);
-            menu.addItem(itemStack);
-            lores.clear();
+        for (int i = 0; i < permissionMenuItems.size(); i++) {
+            boolean hasPerm = islandInfo.hasPerm(partyMember.getUniqueId(), permissionMenuItems.get(i).getPerm());
+            menu.addItem(templates.permissions.get(i).get(hasPerm, isLeader).create());
         }
         return menu;
     }
 
-    private void addLore(List<String> lores, String format, String multiLine) {
-        for (String line : multiLine.split("\n")) {
-            lores.add(format + line);
-        }
+    private void addLore(List<String> lores, String multiLine) {
+        lores.addAll(MenuItemTemplate.lines(multiLine));
     }
 
-    private void addLore(List<String> lores, String multiLine) {
-        addLore(lores, "", multiLine);
+    /**
+     * Returns the pre-rendered menu items, rendering them again if the translations have been reloaded.
+     */
+    private MenuTemplates getTemplates() {
+        MenuTemplates current = templates;
+        if (current == null || !current.isCurrent()) {
+            current = new MenuTemplates(config, permissionMenuItems);
+            templates = current;
+        }
+        return current;
     }
 
     public Inventory displayPartyGUI(final Player player) {
-        List<String> lores = new ArrayList<>();
-        String title = "\u00a79" + tr("Island Group Members");
+        MenuTemplates templates = getTemplates();
+        String title = templates.partyTitle;
         Inventory menu = Bukkit.createInventory(new UltimateHolder(player, title, MenuType.DEFAULT), 18, title);
         IslandInfo islandInfo = plugin.getIslandInfo(player);
         final Set<UUID> memberList = islandInfo.getMemberUUIDs();
-        final ItemMeta meta2 = requireNonNull(requireNonNull(sign.getItemMeta()));
-        meta2.setDisplayName("\u00a7a" + tr("Island Group Members"));
+        List<String> lores = new ArrayList<>();
         lores.add(tr("Group Members: \u00a72{0}\u00a77/\u00a7e{1}", islandInfo.getPartySize(), islandInfo.getMaxPartySize()));
-        if (islandInfo.getPartySize() < islandInfo.getMaxPartySize()) {
-            addLore(lores, tr("\u00a7aMore players can be invited to this island."));
-        } else {
-            addLore(lores, tr("\u00a7cThis island is full."));
-        }
-        addLore(lores, tr("\u00a7eHover over a player''s icon to\n\u00a7eview their permissions. The\n\u00a7eleader can change permissions\n\u00a7eby clicking a player''s icon."));
-        meta2.setLore(lores);
-        sign.setItemMeta(meta2);
-        menu.addItem(sign.clone());
-        lores.clear();
+        lores.addAll(islandInfo.getPartySize() < islandInfo.getMaxPartySize() ? templates.partyNotFull : templates.partyFull);
+        menu.addItem(templates.partyHeader.create(lores, Collections.emptyList()));
+        boolean viewerIsLeader = islandInfo.isLeader(player.getName());
         for (UUID memberId : memberList) {
             ItemStack headItem = new ItemStack(Material.PLAYER_HEAD, 1);
             SkullMeta meta3 = requireNonNull((SkullMeta) requireNonNull(headItem.getItemMeta()));
             meta3.setDisplayName(tr("\u00a7e{0}''s\u00a79 Permissions", memberId));
             meta3.setOwnerProfile(Bukkit.createPlayerProfile(memberId));
             boolean isLeader = islandInfo.isLeader(memberId);
-            if (isLeader) {
-                addLore(lores, "\u00a7a\u00a7l", tr("Leader"));
-            } else {
-                addLore(lores, "\u00a7e\u00a7l", tr("Member"));
-            }
-            for (PartyPermissionMenuItem perm : permissionMenuItems) {
-                if (isLeader || islandInfo.hasPerm(memberId, perm.getPerm())) {
-                    lores.add("\u00a7a" + tr("Can {0}", "\u00a7f" + perm.getShortDescription()));
+            lores = new ArrayList<>(templates.leaderLines.size() + permissionMenuItems.size() + templates.changePermissions.size());
+            lores.addAll(isLeader ? templates.leaderLines : templates.memberLines);
+            for (int i = 0; i < permissionMenuItems.size(); i++) {
+                if (isLeader || islandInfo.hasPerm(memberId, permissionMenuItems.get(i).getPerm())) {
+                    lores.add(templates.canLines.get(i));
                 } else {
-                    lores.add("\u00a7c" + tr("Cannot {0}", "\u00a7f" + perm.getShortDescription()));
+                    lores.add(templates.cannotLines.get(i));
                 }
             }
-            if (islandInfo.isLeader(player.getName())) {
-                addLore(lores, tr("\u00a7e<Click to change this player''s permissions>"));
+            if (viewerIsLeader) {
+                lores.addAll(templates.changePermissions);
             }
             meta3.setLore(lores);
             headItem.setItemMeta(meta3);
             menu.addItem(headItem);
-            lores.clear();
         }
         return menu;
     }
 
     public Inventory displayLogGUI(final Player player) {
-        List<String> lores = new ArrayList<>();
-        String title = "\u00a79" + tr("Island Log");
+        MenuTemplates templates = getTemplates();
+        String title = templates.logTitle;
         Inventory menu = Bukkit.createInventory(new UltimateHolder(player, title, MenuType.DEFAULT), 9, title);
-        ItemMeta meta4 = requireNonNull(requireNonNull(sign.getItemMeta()));
-        meta4.setDisplayName("\u00a79\u00a7l" + tr("Island Log"));
-        addLore(lores, tr("\u00a7eClick here to return to\n\u00a7ethe main island screen."));
-        meta4.setLore(lores);
-        sign.setItemMeta(meta4);
-        menu.addItem(sign);
-        lores.clear();
-        ItemStack menuItem = new ItemStack(Material.WRITABLE_BOOK, 1);
-        meta4 = requireNonNull(requireNonNull(menuItem.getItemMeta()));
-        meta4.setDisplayName(tr("\u00a7e\u00a7lIsland Log"));
-        lores.addAll(plugin.getIslandInfo(player).getLog());
-        meta4.setLore(lores);
-        menuItem.setItemMeta(meta4);
-        menu.setItem(8, menuItem);
-        lores.clear();
+        menu.addItem(templates.logBack.create());
+        menu.setItem(8, templates.logBook.create(plugin.getIslandInfo(player).getLog(), Collections.emptyList()));
         return menu;
     }
 
     private void addExtraMenus(Player player, Inventory menu) {
-        ConfigurationSection extras = config.getYamlConfig().getConfigurationSection("options.extra-menus");
-        if (extras == null) {
-            return;
-        }
-        for (String sIndex : extras.getKeys(false)) {
-            ConfigurationSection menuSection = extras.getConfigurationSection(sIndex);
-            if (menuSection == null) {
-                continue;
-            }
-            try {
-                int index = Integer.parseInt(sIndex, 10);
-                String title = menuSection.getString("title", "\u00a9Unknown");
-                String icon = menuSection.getString("displayItem", "CHEST");
-                List<String> lores = new ArrayList<>();
-                for (String l : menuSection.getStringList("lore")) {
-                    Matcher matcher = PERM_VALUE_PATTERN.matcher(l);
-                    if (matcher.matches()) {
-                        String perm = matcher.group("perm");
-                        String lore = matcher.group("value");
-                        boolean not = matcher.group("not") != null;
-                        if (perm != null) {
-                            boolean hasPerm = player.hasPermission(perm);
-                            if ((hasPerm && !not) || (!hasPerm && not)) {
-                                lores.add(lore);
-                            }
-                        } else {
-                            lores.add(lore);
-                        }
-                    }
-                }
-                // Only SIMPLE icons supported...
-                ItemStack item = GuiItemUtil.createGuiDisplayItem(icon, title);
-                ItemMeta meta = requireNonNull(requireNonNull(item.getItemMeta()));
-                meta.setLore(lores);
-                item.setItemMeta(meta);
-                menu.setItem(index, item);
-            } catch (Exception e) {
-                log(Level.INFO, "\u00a79[uSkyBlock]\u00a7r Unable to add extra-menu " + sIndex + ": " + e);
-            }
+        for (ExtraMenu extraMenu : getTemplates().extraMenus) {
+            menu.setItem(extraMenu.index(), extraMenu.create(player));
         }
     }
 
     private boolean isExtraMenuAction(Player player, ItemStack currentItem) {
-        ConfigurationSection extras = config.getYamlConfig().getConfigurationSection("options.extra-menus");
-        if (extras == null || currentItem == null || currentItem.getItemMeta() == null) {
+        if (currentItem == null || currentItem.getItemMeta() == null) {
             return false;
         }
         Material itemType = currentItem.getType();
         String itemTitle = requireNonNull(currentItem.getItemMeta()).getDisplayName();
-        for (String sIndex : extras.getKeys(false)) {
-            ConfigurationSection menuSection = extras.getConfigurationSection(sIndex);
-            if (menuSection == null) {
-                continue;
-            }
-            try {
-                String title = menuSection.getString("title", "\u00a9Unknown");
-                String icon = menuSection.getString("displayItem", "CHEST");
-                Material material = Material.matchMaterial(icon);
-                if (title.equals(itemTitle) && material == itemType) {
-                    for (String command : menuSection.getStringList("commands")) {
-                        Matcher matcher = PERM_VALUE_PATTERN.matcher(command);
-                        if (matcher.matches()) {
-                            String perm = matcher.group("perm");
-                            String cmd = matcher.group("value");
-                            boolean not = matcher.group("not") != null;
-                            if (perm != null) {
-                                boolean hasPerm = player.hasPermission(perm);
-                                if ((hasPerm && !not) || (!hasPerm && not)) {
-                                    plugin.execCommand(player, cmd, false);
-                                }
-                            } else {
-                                plugin.execCommand(player, cmd, false);
-                            }
-                        } else {
-                            log(Level.INFO, "\u00a7a[uSkyBlock] Malformed menu " + title + ", invalid command : " + command);
-                        }
+        for (ExtraMenu extraMenu : getTemplates().extraMenus) {
+            if (extraMenu.matches(itemType, itemTitle)) {
+                for (ExtraMenu.PermValue command : extraMenu.commands()) {
+                    if (command.test(player)) {
+                        plugin.execCommand(player, command.value(), false);
                     }
-                    return true;
                 }
-            } catch (Exception e) {
-                log(Level.INFO, "\u00a79[uSkyBlock]\u00a7r Unable to execute commands for extra-menu " + sIndex + ": " + e);
+                return true;
             }
         }
         return false;
@@ -395,19 +284,12 @@ public class SkyBlockMenu {
     }
 
     private Inventory createInitMenu(Player player) {
+        MenuTemplates templates = getTemplates();
         List<String> schemeNames = islandGenerator.getSchemeNames();
         int menuSize = (int) Math.ceil(getMaxSchemeIndex(schemeNames) / 9d) * 9;
-        String title = "\u00a79" + tr("Island Create Menu");
+        String title = templates.createTitle;
         Inventory menu = Bukkit.createInventory(new UltimateHolder(player, title, MenuType.DEFAULT), menuSize, title);
-        List<String> lores = new ArrayList<>();
-        ItemStack menuItem = new ItemStack(Material.OAK_SAPLING, 1);
-        ItemMeta meta = requireNonNull(requireNonNull(menuItem.getItemMeta()));
-        meta.setDisplayName(tr("\u00a7a\u00a7lStart an Island"));
-        addLore(lores, "\u00a7f", tr("Start your skyblock journey\nby starting your own island.\nComplete challenges to earn\nitems and skybucks to help\nexpand your skyblock. You can\ninvite others to join in\nbuilding your island empire!\n\u00a7e\u00a7lClick here to start!"));
-        meta.setLore(lores);
-        menuItem.setItemMeta(meta);
-        menu.addItem(menuItem);
-        lores.clear();
+        menu.addItem(templates.start.create());
 
         if (config.getYamlConfig().getBoolean("island-schemes-enabled", true) && schemeNames.size() > 1) {
             int index = 1;
@@ -418,16 +300,16 @@ public class SkyBlockMenu {
                     continue; // Skip
                 }
                 index = Math.max(config.getYamlConfig().getInt("island-schemes." + islandPerk.getSchemeName() + ".index", index), 1);
-                menuItem = islandPerk.getDisplayItem();
-                meta = requireNonNull(requireNonNull(menuItem.getItemMeta()));
-                lores = meta.getLore();
+                ItemStack menuItem = islandPerk.getDisplayItem();
+                ItemMeta meta = requireNonNull(requireNonNull(menuItem.getItemMeta()));
+                List<String> lores = meta.getLore();
                 if (lores == null) {
                     lores = new ArrayList<>();
                 }
                 if (player.hasPermission(islandPerk.getPermission())) {
-                    addLore(lores, tr("\u00a7aClick to create!"));
+                    lores.addAll(templates.clickToCreate);
                 } else {
-                    addLore(lores, tr("\u00a7cNo access!\n\u00a77({0})", islandPerk.getPermission()));
+                    lores.addAll(templates.noAccess(islandPerk.getPermission()));
                 }
                 meta.setLore(lores);
                 menuItem.setItemMeta(meta);
@@ -435,23 +317,8 @@ public class SkyBlockMenu {
             }
         }
 
-        lores.clear();
-        menuItem = new ItemStack(Material.SHORT_GRASS, 1);
-        meta = requireNonNull(requireNonNull(menuItem.getItemMeta()));
-        meta.setDisplayName(tr("\u00a7a\u00a7lReturn to Spawn"));
-        addLore(lores, "\u00a7f", tr("Teleport to the spawn area."));
-        meta.setLore(lores);
-        menuItem.setItemMeta(meta);
-        menu.setItem(menuSize - 2, menuItem);
-
-        lores.clear();
-        menuItem = new ItemStack(Material.PLAYER_HEAD, 1);
-        final SkullMeta meta2 = requireNonNull((SkullMeta) requireNonNull(menuItem.getItemMeta()));
-        meta2.setDisplayName(tr("\u00a7a\u00a7lJoin an Island"));
-        addLore(lores, "\u00a7f", tr("Want to join another player''s\nisland instead of starting\nyour own? If another player\ninvites you to their island\nyou can click here or use\n\u00a7e/island accept\u00a7f to join them.\n\u00a7e\u00a7lClick here to accept an invite!\n\u00a7e\u00a7l(You must be invited first)"));
-        meta2.setLore(lores);
-        menuItem.setItemMeta(meta2);
-        menu.setItem(menuSize - 1, menuItem);
+        menu.setItem(menuSize - 2, templates.spawn.create());
+        menu.setItem(menuSize - 1, templates.join.create());
         return menu;
     }
 
@@ -469,180 +336,53 @@ public class SkyBlockMenu {
     }
 
     private Inventory createMainMenu(Player player) {
-        String title = "\u00a79" + tr("Island Menu");
+        MenuTemplates templates = getTemplates();
+        String title = templates.islandTitle;
         Inventory menu = Bukkit.createInventory(new UltimateHolder(player, title, MenuType.DEFAULT), 18, title);
-        List<String> lores = new ArrayList<>();
-        ItemStack menuItem = new ItemStack(Material.OAK_DOOR, 1);
-        ItemMeta meta4 = requireNonNull(requireNonNull(menuItem.getItemMeta()));
-        meta4.setDisplayName(tr("\u00a7a\u00a7lReturn Home"));
-        addLore(lores, "\u00a7f", tr("Return to your island''s home\npoint. You can change your home\npoint to any location on your\nisland using \u00a7b/island sethome\n\u00a7e\u00a7lClick here to return home."));
-        meta4.setLore(lores);
-        menuItem.setItemMeta(meta4);
-        menu.addItem(menuItem);
-        lores.clear();
+        menu.addItem(templates.home.create());
 
         IslandInfo islandInfo = plugin.getIslandInfo(player);
 
-        menuItem = new ItemStack(Material.DIAMOND_ORE, 1);
-        meta4 = requireNonNull(requireNonNull(menuItem.getItemMeta()));
-        meta4.setDisplayName(tr("\u00a7a\u00a7lChallenges"));
-        addLore(lores, "\u00a7f", tr("View a list of \u00a79challenges that\nyou can complete on your island\nto earn skybucks, items, perks,\nand titles."));
-        if (challengeLogic.isEnabled()) {
-            addLore(lores, tr("\u00a7e\u00a7lClick here to view challenges."));
-        } else {
-            addLore(lores, tr("\u00a74\u00a7lChallenges disabled."));
-        }
-        meta4.setLore(lores);
-        menuItem.setItemMeta(meta4);
-        menu.addItem(menuItem);
-
-        lores.clear();
-        menuItem = new ItemStack(Material.EXPERIENCE_BOTTLE, 1);
-        meta4 = requireNonNull(requireNonNull(menuItem.getItemMeta()));
-        meta4.setDisplayName(tr("\u00a7a\u00a7lIsland Level"));
-        addLore(lores, tr("\u00a7eCurrent Level: \u00a7a{0,number,##.#}", islandInfo.getLevel()));
-        addLore(lores, limitLogic.getSummary(islandInfo));
-        addLore(lores, "\u00a7f", tr("Gain island levels by expanding\nyour skyblock and completing\ncertain challenges. Rarer blocks\nwill add more to your level.\n\u00a7e\u00a7lClick here to refresh.\n\u00a7e\u00a7l(must be on island)"));
-        meta4.setLore(lores);
-        menuItem.setItemMeta(meta4);
-        menu.addItem(menuItem);
-        lores.clear();
-
-        menuItem = new ItemStack(Material.PLAYER_HEAD, 1);
-        final SkullMeta meta2 = requireNonNull((SkullMeta) requireNonNull(menuItem.getItemMeta()));
-        meta2.setDisplayName("\u00a7a\u00a7l" + tr("Island Group"));
-        lores.add(tr("\u00a7eMembers: \u00a72{0}/{1}", islandInfo.getPartySize(), islandInfo.getMaxPartySize()));
-        addLore(lores, "\u00a7f", tr("View the members of your island\ngroup and their permissions. If\nyou are the island leader, you\ncan change the member permissions.\n\u00a7e\u00a7lClick here to view or change."));
-        meta2.setLore(lores);
-        menuItem.setItemMeta(meta2);
-        menu.addItem(menuItem);
-        lores.clear();
-
-        menuItem = new ItemStack(Material.JUNGLE_SAPLING, 1);
-        meta4 = requireNonNull(requireNonNull(menuItem.getItemMeta()));
-        meta4.setDisplayName("\u00a7a\u00a7l" + tr("Change Island Biome"));
-        lores.add(tr("\u00a7eCurrent Biome: \u00a7b{0}", islandInfo.getBiomeName()));
-        addLore(lores, "\u00a7f", tr("The island biome affects things\nlike grass color and spawning\nof both animals and monsters."));
-        if (islandInfo.hasPerm(player, "canChangeBiome")) {
-            addLore(lores, tr("\u00a7e\u00a7lClick here to change biomes."));
-        } else {
-            addLore(lores, tr("\u00a7c\u00a7lYou can't change the biome."));
-        }
-        meta4.setLore(lores);
-        menuItem.setItemMeta(meta4);
-        menu.addItem(menuItem);
-        lores.clear();
-
-        menuItem = new ItemStack(Material.IRON_BARS, 1);
-        meta4 = requireNonNull(requireNonNull(menuItem.getItemMeta()));
-        meta4.setDisplayName(tr("\u00a7a\u00a7lIsland Lock"));
-        if (plugin.getIslandInfo(player).isLocked()) {
-            addLore(lores, tr("\u00a7eLock Status: \u00a7aActive\n\u00a7fYour island is currently \u00a7clocked.\n\u00a7fPlayers outside of your group\n\u00a7fare unable to enter your island."));
-            if (islandInfo.hasPerm(player, "canToggleLock") && player.hasPermission("usb.island.lock")) {
-                addLore(lores, tr("\u00a7e\u00a7lClick here to unlock your island."));
-            } else {
-                addLore(lores, tr("\u00a7c\u00a7lYou can't change the lock."));
-            }
-        } else {
-            addLore(lores, tr("\u00a7eLock Status: \u00a78Inactive\n\u00a7fYour island is currently \u00a7aunlocked.\n\u00a7fAll players are able to enter your\n\u00a7fisland, but only you and your group\n\u00a7fmembers may build there."));
-            if (islandInfo.hasPerm(player, "canToggleLock") && player.hasPermission("usb.island.lock")) {
-                addLore(lores, tr("\u00a7e\u00a7lClick here to lock your island."));
-            } else {
-                addLore(lores, tr("\u00a7c\u00a7lYou can't change the lock."));
-            }
-        }
-        meta4.setLore(lores);
-        menuItem.setItemMeta(meta4);
-        menu.addItem(menuItem);
-        lores.clear();
-
-        if (plugin.getIslandInfo(player).hasWarp()) {
-            menuItem = new ItemStack(Material.END_PORTAL_FRAME, 1);
-            meta4 = requireNonNull(requireNonNull(menuItem.getItemMeta()));
-            meta4.setDisplayName(tr("\u00a7a\u00a7lIsland Warp"));
-            addLore(lores, tr("\u00a7eWarp Status: \u00a7aActive\n\u00a7fOther players may warp to your\n\u00a7fisland at anytime to the point\n\u00a7fyou set using \u00a7d/island setwarp."));
-            if (islandInfo.hasPerm(player, "canToggleWarp") && player.hasPermission("usb.island.togglewarp")) {
-                addLore(lores, tr("\u00a7e\u00a7lClick here to deactivate."));
-            } else {
-                addLore(lores, tr("\u00a7c\u00a7lYou can't change the warp."));
-            }
+        menu.addItem((challengeLogic.isEnabled() ? templates.challengesEnabled : templates.challengesDisabled).create());
+
+        List<String> levelLines = new ArrayList<>();
+        addLore(levelLines, tr("\u00a7eCurrent Level: \u00a7a{0,number,##.#}", islandInfo.getLevel()));
+        addLore(levelLines, limitLogic.getSummary(islandInfo));
+        menu.addItem(templates.level.create(levelLines, Collections.emptyList()));
+
+        menu.addItem(templates.group.createWithPrefix(tr("\u00a7eMembers: \u00a72{0}/{1}", islandInfo.getPartySize(), islandInfo.getMaxPartySize())));
+
+        menu.addItem(templates.biome.create(
+            Collections.singletonList(tr("\u00a7eCurrent Biome: \u00a7b{0}", islandInfo.getBiomeName())),
+            islandInfo.hasPerm(player, "canChangeBiome") ? templates.biomeAllowed : templates.biomeDenied));
+
+        boolean canToggleLock = islandInfo.hasPerm(player, "canToggleLock") && player.hasPermission("usb.island.lock");
+        if (islandInfo.isLocked()) {
+            menu.addItem((canToggleLock ? templates.lockedAllowed : templates.lockedDenied).create());
         } else {
-            menuItem = new ItemStack(Material.END_STONE, 1);
-            meta4 = requireNonNull(menuItem.getItemMeta());
-            meta4.setDisplayName(tr("\u00a7a\u00a7lIsland Warp"));
-            addLore(lores, tr("\u00a7eWarp Status: \u00a78Inactive\n\u00a7fOther players can't warp to your\n\u00a7fisland. Set a warp point using\n\u00a7d/island setwarp \u00a7fbefore activating."));
-            if (islandInfo.hasPerm(player, "canToggleWarp") && player.hasPermission("usb.island.togglewarp")) {
-                addLore(lores, tr("\u00a7e\u00a7lClick here to activate."));
-            } else {
-                addLore(lores, tr("\u00a7c\u00a7lYou can't change the warp."));
-            }
+            menu.addItem((canToggleLock ? templates.unlockedAllowed : templates.unlockedDenied).create());
         }
-        meta4.setLore(lores);
-        menuItem.setItemMeta(meta4);
-        menu.addItem(menuItem);
-        lores.clear();
-
-        menuItem = new ItemStack(Material.SHORT_GRASS, 1);
-        meta4 = requireNonNull(menuItem.getItemMeta());
-        meta4.setDisplayName(tr("\u00a7a\u00a7lReturn to Spawn"));
-        addLore(lores, "\u00a7f", tr("Teleport to the spawn area."));
-        meta4.setLore(lores);
-        menuItem.setItemMeta(meta4);
-        menu.addItem(menuItem);
-        lores.clear();
-
-        menuItem = new ItemStack(Material.WRITABLE_BOOK, 1);
-        meta4 = requireNonNull(menuItem.getItemMeta());
-        meta4.setDisplayName(tr("\u00a7a\u00a7lIsland Log"));
-        addLore(lores, "\u00a7f", tr("View a log of events from\nyour island such as member,\nbiome, and warp changes.\n\u00a7e\u00a7lClick to view the log."));
-        meta4.setLore(lores);
-        menuItem.setItemMeta(meta4);
-        menu.setItem(8, menuItem); // Last item, first line
-        lores.clear();
-
-        menuItem = new ItemStack(Material.RED_BED, 1); // red bed
-        meta4 = requireNonNull(menuItem.getItemMeta());
-        meta4.setDisplayName(tr("\u00a7a\u00a7lChange Home Location"));
-        addLore(lores, "\u00a7f", tr("When you teleport to your\nisland you will be taken to\nthis location.\n\u00a7e\u00a7lClick here to change."));
-        meta4.setLore(lores);
-        menuItem.setItemMeta(meta4);
-        menu.setItem(9, menuItem); // First item, 2nd line
-        lores.clear();
-
-        menuItem = new ItemStack(Material.HOPPER, 1);
-        meta4 = requireNonNull(menuItem.getItemMeta());
-        meta4.setDisplayName(tr("\u00a7a\u00a7lChange Warp Location"));
-        addLore(lores, "\u00a7f", tr("When your warp is activated,\nother players will be taken to\nthis point when they teleport\nto your island."));
-        if (islandInfo.hasPerm(player, "canChangeWarp") && player.hasPermission("usb.island.setwarp")) {
-            addLore(lores, tr("\u00a7e\u00a7lClick here to change."));
+
+        boolean canToggleWarp = islandInfo.hasPerm(player, "canToggleWarp") && player.hasPermission("usb.island.togglewarp");
+        if (islandInfo.hasWarp()) {
+            menu.addItem((canToggleWarp ? templates.warpActiveAllowed : templates.warpActiveDenied).create());
         } else {
-            addLore(lores, tr("\u00a7c\u00a7lYou can't change the warp."));
+            menu.addItem((canToggleWarp ? templates.warpInactiveAllowed : templates.warpInactiveDenied).create());
         }
-        meta4.setLore(lores);
-        menuItem.setItemMeta(meta4);
-        menu.setItem(15, menuItem);
-        lores.clear();
+
+        menu.addItem(templates.spawn.create());
+        menu.setItem(8, templates.log.create()); // Last item, first line
+        menu.setItem(9, templates.setHome.create()); // First item, 2nd line
+
+        boolean canChangeWarp = islandInfo.hasPerm(player, "canChangeWarp") && player.hasPermission("usb.island.setwarp");
+        menu.setItem(15, (canChangeWarp ? templates.setWarpAllowed : templates.setWarpDenied).create());
         if (islandInfo.isLeader(player)) {
             if (config.getYamlConfig().getBoolean("island-schemes-enabled", true)) {
-                menuItem = new ItemStack(Material.PODZOL, 1);
-                meta4 = requireNonNull(menuItem.getItemMeta());
-                meta4.setDisplayName(tr("\u00a7c\u00a7lRestart Island"));
-                addLore(lores, "\u00a7f", tr("Restarts your island.\n\u00a74WARNING! \u00a7cwill remove your items and island!"));
-                meta4.setLore(lores);
-                menuItem.setItemMeta(meta4);
-                menu.setItem(17, menuItem);
-                lores.clear();
+                menu.setItem(17, templates.restart.create());
             }
         } else {
-            menuItem = new ItemStack(Material.IRON_DOOR, 1);
-            meta4 = requireNonNull(menuItem.getItemMeta());
-            meta4.setDisplayName(tr("\u00a7c\u00a7lLeave Island"));
-            addLore(lores, "\u00a7f", tr("Leaves your island.\n\u00a74WARNING! \u00a7cwill remove all your items!"));
-            addLore(lores, tr("\u00a7cClick to leave"));
-            meta4.setLore(lores);
-            menuItem.setItemMeta(meta4);
+            ItemStack menuItem = templates.leave.create();
             menu.setItem(17, menuItem);
-            lores.clear();
             Duration durationLeft = confirmHandler.durationLeft(player, "/is leave");
             if (durationLeft.isPositive()) {
                 updateLeaveMenuItemTimer(player, menu, menuItem);
@@ -665,19 +405,20 @@ public class SkyBlockMenu {
         String inventoryName = stripFormatting(((UltimateHolder) event.getInventory().getHolder()).getTitle());
         int slotIndex = event.getSlot();
         int menuSize = event.getInventory().getSize();
-        if (inventoryName.equalsIgnoreCase(stripFormatting(tr("Island Group Members")))) {
+        MenuTemplates templates = getTemplates();
+        if (inventoryName.equalsIgnoreCase(templates.partyName)) {
             onClickPartyMenu(event, currentItem, p, meta, skull, slotIndex);
-        } else if (inventoryName.contains(stripFormatting(tr("Permissions")))) {
+        } else if (inventoryName.contains(templates.permissionsName)) {
             onClickPermissionMenu(event, currentItem, p, inventoryName, slotIndex);
-        } else if (inventoryName.contains(stripFormatting(tr("Challenge Menu")))) {
+        } else if (inventoryName.contains(templates.challengeMenuName)) {
             onClickChallengeMenu(event, currentItem, p, inventoryName);
-        } else if (inventoryName.equalsIgnoreCase(stripFormatting(tr("Island Log")))) {
+        } else if (inventoryName.equalsIgnoreCase(templates.logName)) {
             onClickLogMenu(event, p, slotIndex);
-        } else if (inventoryName.equalsIgnoreCase(stripFormatting(tr("Island Menu")))) {
+        } else if (inventoryName.equalsIgnoreCase(templates.islandName)) {
             onClickMainMenu(event, currentItem, p, slotIndex);
-        } else if (inventoryName.equalsIgnoreCase(stripFormatting(tr("Island Create Menu")))) {
+        } else if (inventoryName.equalsIgnoreCase(templates.createName)) {
             onClickCreateMenu(event, p, meta, slotIndex, menuSize);
-        } else if (inventoryName.equalsIgnoreCase(stripFormatting(tr("Island Restart Menu")))) {
+        } else if (inventoryName.equalsIgnoreCase(templates.restartName)) {
             onClickRestartMenu(event, p, meta, slotIndex, currentItem);
         }
     }
@@ -818,18 +559,12 @@ public class SkyBlockMenu {
     }
 
     public Inventory createRestartGUI(Player player) {
+        MenuTemplates templates = getTemplates();
         List<String> schemeNames = islandGenerator.getSchemeNames();
         int menuSize = (int) Math.ceil(getMaxSchemeIndex(schemeNames) / 9d) * 9;
-        String title = "\u00a79" + tr("Island Restart Menu");
+        String title = templates.restartTitle;
         Inventory menu = Bukkit.createInventory(new UltimateHolder(player, title, MenuType.DEFAULT), menuSize, title);
-        List<String> lores = new ArrayList<>();
-        ItemStack menuItem = new ItemStack(Material.OAK_SIGN, 1);
-        ItemMeta meta = requireNonNull(menuItem.getItemMeta());
-        meta.setDisplayName(tr("\u00a7a\u00a7lReturn to the main menu"));
-        meta.setLore(lores);
-        menuItem.setItemMeta(meta);
-        menu.addItem(menuItem);
-        lores.clear();
+        menu.addItem(templates.restartBack.create());
 
         updateRestartMenu(menu, player, schemeNames);
         if (confirmHandler.durationLeft(player, "/is restart").isPositive()) {
@@ -839,6 +574,7 @@ public class SkyBlockMenu {
     }
 
     private void updateRestartMenu(Inventory menu, Player player, List<String> schemeNames) {
+        MenuTemplates templates = getTemplates();
         ItemStack menuItem;
         ItemMeta meta;
         List<String> lores;
@@ -861,10 +597,10 @@ public class SkyBlockMenu {
                 if (durationLeft.isPositive()) {
                     addLore(lores, tr("\u00a7cClick within \u00a79{0}\u00a7c to restart!", TimeUtil.durationAsString(durationLeft)));
                 } else {
-                    addLore(lores, tr("\u00a7aClick to restart!"));
+                    lores.addAll(templates.clickToRestart);
                 }
             } else {
-                addLore(lores, tr("\u00a7cNo access!\n\u00a77({0})", islandPerk.getPermission()));
+                lores.addAll(templates.noAccess(islandPerk.getPermission()));
             }
             meta.setLore(lores);
             menuItem.setItemMeta(meta);
@@ -933,7 +669,7 @@ public class SkyBlockMenu {
 
     private boolean isAirOrLocked(ItemStack currentItem) {
         return currentItem != null && currentItem.getType() == Material.AIR ||
-            currentItem != null && currentItem.getItemMeta() != null && currentItem.getItemMeta().getDisplayName().equals(tr("\u00a74\u00a7lLocked Challenge"));
+            currentItem != null && currentItem.getItemMeta() != null && currentItem.getItemMeta().getDisplayName().equals(getTemplates().lockedChallenge);
     }
 
     private void onClickPermissionMenu(InventoryClickEvent event, ItemStack currentItem, Player p, String inventoryName, int slotIndex) {
@@ -1,11 +1,19 @@
 package us.talabrek.ultimateskyblock.player;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import dk.lockfuglsang.minecraft.util.ItemStackUtil;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.PluginConfig;
@@ -18,16 +26,26 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Responsible for calculating player specific perks based on permissions.
+ * <p>
+ * The resolved perks are cached per player, since resolving them means checking every configured
+ * permission node. The cache is invalidated when the player joins, quits or changes world, when
+ * permissions are changed through the permissions hook, on <code>/usb perk refresh</code>, and
+ * after a short expiry (<code>options.advanced.perkCache</code>) to catch changes made elsewhere.
  */
 @Singleton
-public class PerkLogic {
+public class PerkLogic implements Listener {
     private final Perk defaultPerk;
     private final Map<String, Perk> donorPerks;
     private final Map<String, IslandPerk> islandPerks;
+    private final Cache<UUID, PlayerPerks> playerPerks;
+
+    private record PlayerPerks(@NotNull Perk perk, @NotNull Set<String> schemes) {
+    }
 
     @Inject
     public PerkLogic(
@@ -86,6 +104,9 @@ public class PerkLogic {
                     1d, 0d));
             }
         }
+        playerPerks = CacheBuilder
+            .from(config.getYamlConfig().getString("options.advanced.perkCache", "maximumSize=500,expireAfterWrite=30s"))
+            .build();
     }
 
     public Perk getDefaultPerk() {
@@ -93,17 +114,59 @@ public class PerkLogic {
     }
 
     public Perk getPerk(Player player) {
-        return createPerk(player);
+        return getPlayerPerks(player).perk();
     }
 
     public Set<String> getSchemes(Player player) {
+        return getPlayerPerks(player).schemes();
+    }
+
+    /**
+     * Forgets the cached perks of the player, so they are resolved from the permissions on next use.
+     */
+    public void invalidate(@NotNull UUID uuid) {
+        playerPerks.invalidate(uuid);
+    }
+
+    public void invalidateAll() {
+        playerPerks.invalidateAll();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent e) {
+        invalidate(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        invalidate(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onChangedWorld(PlayerChangedWorldEvent e) {
+        // Permissions can be per-world
+        invalidate(e.getPlayer().getUniqueId());
+    }
+
+    private PlayerPerks getPlayerPerks(Player player) {
+        PlayerPerks perks = playerPerks.getIfPresent(player.getUniqueId());
+        if (perks == null) {
+            perks = new PlayerPerks(createPerk(player), createSchemes(player));
+            if (player.isOnline()) {
+                playerPerks.put(player.getUniqueId(), perks);
+            }
+        }
+        return perks;
+    }
+
+    private Set<String> createSchemes(Player player) {
         Set<String> schemes = new LinkedHashSet<>();
         for (IslandPerk islandPerk : islandPerks.values()) {
             if (player.hasPermission(islandPerk.getPermission())) {
                 schemes.add(islandPerk.getSchemeName());
             }
         }
-        return schemes;
+        return Collections.unmodifiableSet(schemes);
     }
 
     public IslandPerk getIslandPerk(String schemeName) {
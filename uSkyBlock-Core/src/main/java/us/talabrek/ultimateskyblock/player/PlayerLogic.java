@@ -213,6 +213,10 @@ public class PlayerLogic {
         }
     }
 
+    public @NotNull Path getPlayerDataDirectory() {
+        return playerDataDirectory;
+    }
+
     public @NotNull NotificationManager getNotificationManager() {
         return notificationManager;
     }
@@ -0,0 +1,276 @@
+package us.talabrek.ultimateskyblock.player;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.block.BlockSnapshot;
+import us.talabrek.ultimateskyblock.util.LocationUtil;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+import static us.talabrek.ultimateskyblock.util.LogUtil.log;
+
+/**
+ * Responsible for finding safe locations to teleport players to, near island homes, warps and centers.
+ * <p>
+ * An origin that is already safe is used as is. Otherwise the search runs off the main thread, on snapshots
+ * of the chunks it crosses, and the safe location found is remembered per origin, until a block near it
+ * changes. A remembered location is still checked against the world before it is used, since not all block
+ * changes fire events.
+ * Only used from the main thread, except for the search itself.
+ */
+@Singleton
+public class SafeLocationLogic implements Listener {
+    /**
+     * Block changes this close to a safe location forget it.
+     */
+    private static final int SPOT_RADIUS = 2;
+
+    private final Scheduler scheduler;
+    private final Cache<SpotKey, Spot> spots;
+    private final Map<Long, Set<SpotKey>> spotsByChunk = new HashMap<>();
+
+    private record SpotKey(@NotNull UUID worldId, int x, int y, int z) {
+        static @NotNull SpotKey of(@NotNull Location location) {
+            return new SpotKey(location.getWorld().getUID(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        }
+    }
+
+    private record Spot(int x, int y, int z) {
+        boolean isNear(int bx, int by, int bz) {
+            return Math.abs(bx - x) <= SPOT_RADIUS && Math.abs(by - y) <= SPOT_RADIUS && Math.abs(bz - z) <= SPOT_RADIUS;
+        }
+    }
+
+    @Inject
+    public SafeLocationLogic(@NotNull PluginConfig config, @NotNull Scheduler scheduler) {
+        this.scheduler = scheduler;
+        this.spots = CacheBuilder
+            .from(config.getYamlConfig().getString("options.advanced.safeLocationCache", "maximumSize=1000,expireAfterWrite=30m"))
+            .removalListener((RemovalListener<SpotKey, Spot>) removal -> unindex(removal.getKey(), removal.getValue()))
+            .build();
+    }
+
+    /**
+     * Finds the safe location nearest to the origin, on the main thread.
+     *
+     * @return The safe location, or null if none was found.
+     */
+    public @Nullable Location findSafeLocation(@Nullable Location origin) {
+        if (origin == null || origin.getWorld() == null) {
+            return null;
+        }
+        if (LocationUtil.isSafeLocation(origin)) {
+            return asSafeLocation(origin);
+        }
+        Location cached = getCached(origin);
+        if (cached != null) {
+            return cached;
+        }
+        BlockSnapshot snapshot = LocationUtil.snapshotAround(origin);
+        return remember(origin, LocationUtil.findNearestSafeSpot(snapshot, origin));
+    }
+
+    /**
+     * Finds the safe location nearest to the origin, or if there is none, nearest to the fallback.
+     * The search runs asynchronously, and the callback is called on the main thread, with null if no
+     * safe location was found.
+     */
+    public void findSafeLocation(@Nullable Location origin, @Nullable Location fallback, @NotNull Consumer<Location> callback) {
+        if (origin == null || origin.getWorld() == null) {
+            fallback(fallback, callback);
+            return;
+        }
+        // Only probe the origin when its chunk is loaded, otherwise the chunks are loaded for the snapshot
+        if (origin.getWorld().isChunkLoaded(origin.getBlockX() >> 4, origin.getBlockZ() >> 4)
+            && LocationUtil.isSafeLocation(origin)) {
+            callback.accept(asSafeLocation(origin));
+            return;
+        }
+        Location cached = getCached(origin);
+        if (cached != null) {
+            callback.accept(cached);
+            return;
+        }
+        LocationUtil.snapshotAroundAsync(origin).whenComplete((snapshot, error) -> {
+            if (error != null) {
+                log(Level.WARNING, "Unable to load the chunks around " + origin, error);
+                fallback(fallback, callback);
+                return;
+            }
+            scheduler.async(() -> {
+                int[] spot = LocationUtil.findNearestSafeSpot(snapshot, origin);
+                scheduler.sync(() -> {
+                    Location safeLocation = remember(origin, spot);
+                    if (safeLocation != null) {
+                        callback.accept(safeLocation);
+                    } else {
+                        fallback(fallback, callback);
+                    }
+                });
+            });
+        });
+    }
+
+    private void fallback(@Nullable Location fallback, @NotNull Consumer<Location> callback) {
+        if (fallback != null) {
+            findSafeLocation(fallback, null, callback);
+        } else {
+            callback.accept(null);
+        }
+    }
+
+    public void invalidateAll() {
+        spots.invalidateAll();
+    }
+
+    private @Nullable Location getCached(@NotNull Location origin) {
+        SpotKey key = SpotKey.of(origin);
+        Spot spot = spots.getIfPresent(key);
+        if (spot == null) {
+            return null;
+        }
+        if (!LocationUtil.isSafeLocation(new Location(origin.getWorld(), spot.x(), spot.y(), spot.z()))) {
+            spots.invalidate(key);
+            return null;
+        }
+        return LocationUtil.asSafeLocation(new int[]{spot.x(), spot.y(), spot.z()}, origin, null);
+    }
+
+    private static @NotNull Location asSafeLocation(@NotNull Location origin) {
+        return LocationUtil.asSafeLocation(new int[]{origin.getBlockX(), origin.getBlockY(), origin.getBlockZ()}, origin, null);
+    }
+
+    private @Nullable Location remember(@NotNull Location origin, @Nullable int[] coords) {
+        if (coords == null) {
+            return null;
+        }
+        SpotKey key = SpotKey.of(origin);
+        Spot spot = new Spot(coords[0], coords[1], coords[2]);
+        // Index after the put, since replacing an old spot unindexes it
+        spots.put(key, spot);
+        for (long chunk : chunksAround(spot)) {
+            spotsByChunk.computeIfAbsent(chunk, k -> new HashSet<>()).add(key);
+        }
+        return LocationUtil.asSafeLocation(coords, origin, null);
+    }
+
+    private void unindex(SpotKey key, Spot spot) {
+        if (key == null || spot == null) {
+            return;
+        }
+        for (long chunk : chunksAround(spot)) {
+            Set<SpotKey> keys = spotsByChunk.get(chunk);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    spotsByChunk.remove(chunk);
+                }
+            }
+        }
+    }
+
+    private static long[] chunksAround(Spot spot) {
+        int minCx = (spot.x() - SPOT_RADIUS) >> 4;
+        int maxCx = (spot.x() + SPOT_RADIUS) >> 4;
+        int minCz = (spot.z() - SPOT_RADIUS) >> 4;
+        int maxCz = (spot.z() + SPOT_RADIUS) >> 4;
+        long[] chunks = new long[(maxCx - minCx + 1) * (maxCz - minCz + 1)];
+        int i = 0;
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cz = minCz; cz <= maxCz; cz++) {
+                chunks[i++] = chunkKey(cx, cz);
+            }
+        }
+        return chunks;
+    }
+
+    private static long chunkKey(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    private void blockChanged(@NotNull Block block) {
+        if (spotsByChunk.isEmpty()) {
+            return;
+        }
+        Set<SpotKey> keys = spotsByChunk.get(chunkKey(block.getX() >> 4, block.getZ() >> 4));
+        if (keys == null) {
+            return;
+        }
+        World world = block.getWorld();
+        List<SpotKey> changed = new ArrayList<>();
+        // Reading the cache may evict expired spots, which unindexes them, so iterate a copy
+        for (SpotKey key : new ArrayList<>(keys)) {
+            Spot spot = spots.getIfPresent(key);
+            if (spot == null || (key.worldId().equals(world.getUID()) && spot.isNear(block.getX(), block.getY(), block.getZ()))) {
+                changed.add(key);
+            }
+        }
+        spots.invalidateAll(changed);
+    }
+
+    private void blocksChanged(@NotNull List<Block> blocks) {
+        if (spotsByChunk.isEmpty()) {
+            return;
+        }
+        for (Block block : blocks) {
+            blockChanged(block);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent e) {
+        blockChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent e) {
+        blockChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFromTo(BlockFromToEvent e) {
+        blockChanged(e.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(BlockBurnEvent e) {
+        blockChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent e) {
+        blocksChanged(e.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent e) {
+        blocksChanged(e.blockList());
+    }
+}
@@ -14,6 +14,7 @@ import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import us.talabrek.ultimateskyblock.Settings;
+import us.talabrek.ultimateskyblock.island.IslandInfo;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.LocationUtil;
 import us.talabrek.ultimateskyblock.util.Scheduler;
@@ -36,6 +37,7 @@ public class TeleportLogic implements Listener {
     private final Logger logger;
     private final uSkyBlock plugin;
     private final WorldManager worldManager;
+    private final SafeLocationLogic safeLocationLogic;
     private final Scheduler scheduler;
     private final Duration teleportDelay;
     private final Map<UUID, PendingTeleport> pendingTeleports = new ConcurrentHashMap<>();
@@ -46,6 +48,7 @@ public class TeleportLogic implements Listener {
         @NotNull Logger logger,
         @NotNull uSkyBlock plugin,
         @NotNull WorldManager worldManager,
+        @NotNull SafeLocationLogic safeLocationLogic,
         @NotNull Scheduler scheduler
     ) {
         this.logger = logger;
@@ -53,6 +56,7 @@ public class TeleportLogic implements Listener {
         teleportDelay = Duration.ofSeconds(plugin.getConfig().getInt("options.island.islandTeleportDelay", 2));
         cancelDistance = plugin.getConfig().getDouble("options.island.teleportCancelDistance", 0.2);
         this.worldManager = worldManager;
+        this.safeLocationLogic = safeLocationLogic;
         this.scheduler = scheduler;
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
     }
@@ -66,25 +70,29 @@ public class TeleportLogic implements Listener {
     public void homeTeleport(@NotNull Player player, boolean force) {
         Validate.notNull(player, "Player cannot be null");
 
-        Location homeLocation = null;
         PlayerInfo playerInfo = plugin.getPlayerInfo(player);
-
-        if (playerInfo != null) {
-            homeLocation = plugin.getSafeHomeLocation(playerInfo);
-        }
-
-        if (homeLocation == null) {
+        if (playerInfo == null) {
             player.sendMessage(tr("\u00a74Unable to find a safe home-location on your island!"));
-            if (player.isFlying()) {
-                player.sendMessage(tr("\u00a7cWARNING: \u00a7eTeleporting you to mid-air."));
-                safeTeleport(player, playerInfo.getIslandLocation(), true);
-            }
             return;
         }
 
-        worldManager.removeCreatures(homeLocation);
-        player.sendMessage(tr("\u00a7aTeleporting you to your island."));
-        safeTeleport(player, homeLocation, force);
+        safeLocationLogic.findSafeLocation(playerInfo.getHomeLocation(), playerInfo.getIslandLocation(), homeLocation -> {
+            if (!player.isOnline()) {
+                return;
+            }
+            if (homeLocation == null) {
+                player.sendMessage(tr("\u00a74Unable to find a safe home-location on your island!"));
+                if (player.isFlying()) {
+                    player.sendMessage(tr("\u00a7cWARNING: \u00a7eTeleporting you to mid-air."));
+                    safeTeleport(player, playerInfo.getIslandLocation(), true);
+                }
+                return;
+            }
+
+            worldManager.removeCreatures(homeLocation);
+            player.sendMessage(tr("\u00a7aTeleporting you to your island."));
+            safeTeleport(player, homeLocation, force);
+        });
     }
 
     /**
@@ -154,19 +162,27 @@ public class TeleportLogic implements Listener {
     public void warpTeleport(@NotNull Player player, @Nullable PlayerInfo playerInfo, boolean force) {
         Validate.notNull(player, "Player cannot be null");
 
-        Location warpLocation = null;
         if (playerInfo == null) {
             player.sendMessage(tr("\u00a74That player does not exist!"));
             return;
         }
 
-        warpLocation = plugin.getSafeWarpLocation(playerInfo);
-        if (warpLocation == null) {
+        IslandInfo islandInfo = plugin.getIslandInfo(playerInfo);
+        if (islandInfo == null) {
             player.sendMessage(tr("\u00a74Unable to warp you to that player''s island!"));
             return;
         }
-        player.sendMessage(tr("\u00a7aTeleporting you to {0}''s island.", playerInfo.getDisplayName()));
-        safeTeleport(player, warpLocation, force);
+        safeLocationLogic.findSafeLocation(islandInfo.getWarpLocation(), islandInfo.getIslandLocation(), warpLocation -> {
+            if (!player.isOnline()) {
+                return;
+            }
+            if (warpLocation == null) {
+                player.sendMessage(tr("\u00a74Unable to warp you to that player''s island!"));
+                return;
+            }
+            player.sendMessage(tr("\u00a7aTeleporting you to {0}''s island.", playerInfo.getDisplayName()));
+            safeTeleport(player, warpLocation, force);
+        });
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -23,6 +23,7 @@ import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryMoveItemEvent;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 
@@ -133,6 +134,14 @@ public class SignEvents implements Listener {
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent e) {
+        if (!plugin.getWorldManager().isSkyAssociatedWorld(e.getWorld())) {
+            return;
+        }
+        logic.onChunkLoad(e.getChunk());
+    }
+
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onBlockHit(PlayerInteractEvent event) {
         Player player = event.getPlayer();
@@ -0,0 +1,182 @@
+package us.talabrek.ultimateskyblock.signs;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory index of the challenge signs, by sign, by chest and by island.
+ * <p>
+ * Changes are described as journal lines (<code>+</code> for an added sign, <code>-</code> for a
+ * removed sign, <code>#</code> for a removed chest and <code>=</code> for the island of a chest), so they
+ * can be appended to a journal and replayed on top of the last snapshot. Not thread-safe, the index is only used from the main thread.
+ */
+class SignIndex {
+    private static final String ADD = "+";
+    private static final String REMOVE_SIGN = "-";
+    private static final String REMOVE_CHEST = "#";
+    private static final String ISLAND = "=";
+    private static final String SEPARATOR = "\t";
+
+    record SignRecord(@NotNull String signKey, @NotNull String signLocation, @NotNull String chestKey,
+                      @NotNull String chestLocation, @NotNull String challenge) {
+        SignRecord {
+            // The challenge is free text from the sign, so keep it from breaking the journal line
+            challenge = challenge.replace(SEPARATOR, " ");
+        }
+    }
+
+    private final Map<String, SignRecord> signs = new HashMap<>();
+    private final Map<String, Set<String>> signsByChest = new HashMap<>();
+    private final Map<String, String> islandByChest = new HashMap<>();
+    private final Map<String, Set<String>> chestsByIsland = new HashMap<>();
+
+    /**
+     * Adds (or replaces) the sign, and returns the journal line describing the change.
+     */
+    @NotNull String add(@NotNull SignRecord sign) {
+        SignRecord old = signs.put(sign.signKey(), sign);
+        if (old != null && !old.chestKey().equals(sign.chestKey())) {
+            unlinkSign(old);
+        }
+        signsByChest.computeIfAbsent(sign.chestKey(), k -> new LinkedHashSet<>()).add(sign.signKey());
+        return ADD + String.join(SEPARATOR, sign.signKey(), sign.signLocation(), sign.chestKey(),
+            sign.chestLocation(), sign.challenge());
+    }
+
+    /**
+     * Removes the sign, and returns the journal line describing the change, or null if there was no such sign.
+     */
+    @Nullable String removeSign(@NotNull String signKey) {
+        SignRecord old = signs.remove(signKey);
+        if (old == null) {
+            return null;
+        }
+        unlinkSign(old);
+        return REMOVE_SIGN + signKey;
+    }
+
+    /**
+     * Removes the chest and all its signs, and returns the journal line describing the change,
+     * or null if the chest had no signs.
+     */
+    @Nullable String removeChest(@NotNull String chestKey) {
+        Set<String> signKeys = signsByChest.remove(chestKey);
+        unlinkChest(chestKey);
+        if (signKeys == null) {
+            return null;
+        }
+        for (String signKey : signKeys) {
+            signs.remove(signKey);
+        }
+        return REMOVE_CHEST + chestKey;
+    }
+
+    private void unlinkSign(SignRecord sign) {
+        Set<String> signKeys = signsByChest.get(sign.chestKey());
+        if (signKeys != null) {
+            signKeys.remove(sign.signKey());
+            if (signKeys.isEmpty()) {
+                signsByChest.remove(sign.chestKey());
+                unlinkChest(sign.chestKey());
+            }
+        }
+    }
+
+    private void unlinkChest(String chestKey) {
+        String islandName = islandByChest.remove(chestKey);
+        if (islandName != null) {
+            Set<String> chests = chestsByIsland.get(islandName);
+            if (chests != null) {
+                chests.remove(chestKey);
+                if (chests.isEmpty()) {
+                    chestsByIsland.remove(islandName);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replays a single journal line.
+     */
+    void apply(@NotNull String line) {
+        if (line.startsWith(ADD)) {
+            String[] parts = line.substring(ADD.length()).split(SEPARATOR, -1);
+            if (parts.length == 5) {
+                add(new SignRecord(parts[0], parts[1], parts[2], parts[3], parts[4]));
+            }
+        } else if (line.startsWith(REMOVE_SIGN)) {
+            removeSign(line.substring(REMOVE_SIGN.length()));
+        } else if (line.startsWith(REMOVE_CHEST)) {
+            removeChest(line.substring(REMOVE_CHEST.length()));
+        } else if (line.startsWith(ISLAND)) {
+            String[] parts = line.substring(ISLAND.length()).split(SEPARATOR, -1);
+            if (parts.length == 2) {
+                setIsland(parts[0], parts[1]);
+            }
+        }
+    }
+
+    /**
+     * Records which island the chest is on, as derived when the signs are first updated, and returns the
+     * journal line describing the change, or null if the chest has no signs or already was on the island.
+     */
+    @Nullable String setIsland(@NotNull String chestKey, @NotNull String islandName) {
+        if (!signsByChest.containsKey(chestKey) || islandName.equals(islandByChest.get(chestKey))) {
+            return null;
+        }
+        unlinkChest(chestKey);
+        islandByChest.put(chestKey, islandName);
+        chestsByIsland.computeIfAbsent(islandName, k -> new LinkedHashSet<>()).add(chestKey);
+        return ISLAND + chestKey + SEPARATOR + islandName;
+    }
+
+    @Nullable String getIsland(@NotNull String chestKey) {
+        return islandByChest.get(chestKey);
+    }
+
+    @Nullable SignRecord getSign(@NotNull String signKey) {
+        return signs.get(signKey);
+    }
+
+    @NotNull List<SignRecord> getSignsOnChest(@NotNull String chestKey) {
+        Set<String> signKeys = signsByChest.get(chestKey);
+        if (signKeys == null) {
+            return Collections.emptyList();
+        }
+        List<SignRecord> result = new ArrayList<>(signKeys.size());
+        for (String signKey : signKeys) {
+            result.add(signs.get(signKey));
+        }
+        return result;
+    }
+
+    @NotNull Collection<String> getChestsOnIsland(@NotNull String islandName) {
+        Set<String> chests = chestsByIsland.get(islandName);
+        return chests != null ? new ArrayList<>(chests) : Collections.emptyList();
+    }
+
+    boolean hasChest(@NotNull String chestKey) {
+        return signsByChest.containsKey(chestKey);
+    }
+
+    int size() {
+        return signs.size();
+    }
+
+    @NotNull List<SignRecord> snapshot() {
+        return new ArrayList<>(signs.values());
+    }
+
+    @NotNull Map<String, String> islandSnapshot() {
+        return new HashMap<>(islandByChest);
+    }
+}
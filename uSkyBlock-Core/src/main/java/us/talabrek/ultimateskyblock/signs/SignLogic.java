@@ -2,8 +2,8 @@ package us.talabrek.ultimateskyblock.signs;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import dk.lockfuglsang.minecraft.file.FileUtil;
 import dk.lockfuglsang.minecraft.util.ItemStackUtil;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
@@ -12,28 +12,46 @@ import org.bukkit.block.Chest;
 import org.bukkit.block.Sign;
 import org.bukkit.block.data.type.WallSign;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
 import us.talabrek.ultimateskyblock.challenge.Challenge;
 import us.talabrek.ultimateskyblock.challenge.ChallengeCompletion;
 import us.talabrek.ultimateskyblock.challenge.ChallengeLogic;
 import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
 import us.talabrek.ultimateskyblock.island.IslandInfo;
 import us.talabrek.ultimateskyblock.player.PlayerInfo;
+import us.talabrek.ultimateskyblock.signs.SignIndex.SignRecord;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.LocationUtil;
 import us.talabrek.ultimateskyblock.util.Scheduler;
 import us.talabrek.ultimateskyblock.world.WorldManager;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
@@ -41,23 +59,62 @@ import static dk.lockfuglsang.minecraft.util.FormatUtil.wordWrap;
 
 /**
  * Responsible for keeping track of signs.
+ * <p>
+ * The signs, and the islands of their chests, are kept in an in-memory {@link SignIndex}, which is only touched
+ * from the main thread. Changes are appended to <code>signs.journal</code> in the background, and compacted into
+ * <code>signs.yml</code> when the journal grows too large, and on shutdown. The journal is only removed once the
+ * compacted snapshot is on disk.
+ * <p>
+ * Sign updates are coalesced: chests are queued, and all queued chests are refreshed once per update window,
+ * resolving each challenge only once per island. Signs in unloaded chunks are refreshed when the chunk loads.
  */
 @Singleton
 public class SignLogic {
     private static final int SIGN_LINE_WIDTH = 11; // Actually more like 15, but we break after.
+    // Number of journal entries before compacting into signs.yml
+    private static final int COMPACT_THRESHOLD = 1000;
 
-    private final FileConfiguration config;
-    private final File configFile;
+    private final Path configFile;
+    private final Path journalFile;
     private final Logger logger;
     private final uSkyBlock plugin;
     private final Scheduler scheduler;
     private final ChallengeLogic challengeLogic;
     private final WorldManager worldManager;
+    private final Duration updateWindow;
+
+    private final SignIndex index = new SignIndex();
+    private final Queue<Object> journal = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean journalWriting = new AtomicBoolean(false);
+    private int journalSize = 0;
+
+    private final Set<String> pendingChests = new LinkedHashSet<>();
+    private final Map<ChunkKey, Set<String>> deferredChests = new HashMap<>();
+    private BukkitTask updateTask;
+
+    private record ChunkKey(String world, int x, int z) {
+        static ChunkKey of(Location loc) {
+            return new ChunkKey(loc.getWorld().getName(), loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+        }
+    }
+
+    private record Compaction(List<SignRecord> signs, Map<String, String> islands) {
+    }
+
+    private record ChestUpdate(String chestKey, Location chestLoc, String islandName, Map<SignRecord, Location> signs) {
+    }
+
+    private record SignState(Challenge challenge, Map<ItemStack, Integer> requiredItems, boolean locked) {
+    }
+
+    private record SignUpdate(String chestKey, Location chestLoc, Location signLoc, SignState state) {
+    }
 
     @Inject
     public SignLogic(
         @NotNull Logger logger,
         @NotNull uSkyBlock plugin,
+        @NotNull @PluginDataDir Path pluginDir,
         @NotNull Scheduler scheduler,
         @NotNull ChallengeLogic challengeLogic,
         @NotNull WorldManager worldManager
@@ -67,143 +124,240 @@ public class SignLogic {
         this.scheduler = scheduler;
         this.challengeLogic = challengeLogic;
         this.worldManager = worldManager;
-        this.configFile = new File(plugin.getDataFolder(), "signs.yml");
-        this.config = FileUtil.getYmlConfiguration("signs.yml");
+        this.configFile = pluginDir.resolve("signs.yml");
+        this.journalFile = pluginDir.resolve("signs.journal");
+        this.updateWindow = Duration.ofMillis(plugin.getConfig().getLong("options.advanced.signUpdateWindow", 500));
+        readSigns();
     }
 
-    void addSign(Sign block, String[] lines, Chest chest) {
-        Location loc = block.getLocation();
+    private void readSigns() {
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile.toFile());
         ConfigurationSection signs = config.getConfigurationSection("signs");
-        if (signs == null) {
-            signs = config.createSection("signs");
+        if (signs != null) {
+            for (String signKey : signs.getKeys(false)) {
+                String location = signs.getString(signKey + ".location", null);
+                String challenge = signs.getString(signKey + ".challenge", null);
+                String chest = signs.getString(signKey + ".chest", null);
+                if (location != null && challenge != null && chest != null) {
+                    index.add(new SignRecord(signKey, location, LocationUtil.asKey(chest), chest, challenge));
+                }
+            }
+        }
+        ConfigurationSection islands = config.getConfigurationSection("islands");
+        if (islands != null) {
+            for (String chestKey : islands.getKeys(false)) {
+                String islandName = islands.getString(chestKey, null);
+                if (islandName != null) {
+                    index.setIsland(chestKey, islandName);
+                }
+            }
+        }
+        // Replaying is idempotent, so a journal that was already compacted into the snapshot is harmless
+        if (Files.exists(journalFile)) {
+            try {
+                for (String line : Files.readAllLines(journalFile, StandardCharsets.UTF_8)) {
+                    index.apply(line);
+                    journalSize++;
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.WARNING, "Unable to replay the sign journal", e);
+            }
+        }
+    }
+
+    /**
+     * Compacts the journal into <code>signs.yml</code>, and stops refreshing signs.
+     */
+    public void shutdown() {
+        if (updateTask != null) {
+            updateTask.cancel();
+            updateTask = null;
         }
-        String signLocation = LocationUtil.asKey(loc);
-        ConfigurationSection signSection = signs.createSection(signLocation);
-        signSection.set("location", LocationUtil.asString(loc));
-        signSection.set("challenge", lines[1]);
+        journal.add(new Compaction(index.snapshot(), index.islandSnapshot()));
+        journalSize = 0;
+        writeJournal();
+    }
+
+    void addSign(Sign block, String[] lines, Chest chest) {
         String chestLocation = LocationUtil.asString(chest.getLocation());
-        signSection.set("chest", chestLocation);
-        ConfigurationSection chests = config.getConfigurationSection("chests");
-        if (chests == null) {
-            chests = config.createSection("chests");
-        }
-        String chestPath = LocationUtil.asKey(chest.getLocation());
-        List<String> signList = chests.getStringList(chestPath);
-        if (!signList.contains(signLocation)) {
-            signList.add(signLocation);
-        }
-        chests.set(chestPath, signList);
-        saveAsync();
+        SignRecord sign = new SignRecord(LocationUtil.asKey(block.getLocation()), LocationUtil.asString(block.getLocation()),
+            LocationUtil.asKey(chestLocation), chestLocation, lines[1]);
+        journal(index.add(sign));
         updateSignsOnContainer(chest.getLocation());
     }
 
     void removeSign(final Location loc) {
-        scheduler.async(() -> removeSignAsync(loc));
-    }
-
-    private void removeSignAsync(Location loc) {
-        String signKey = LocationUtil.asKey(loc);
-        String chestLoc = config.getString("signs." + signKey + ".chest", null);
-        if (chestLoc != null) {
-            String chestKey = LocationUtil.asKey(LocationUtil.fromString(chestLoc));
-            List<String> signList = config.getStringList("chests." + chestKey);
-            signList.remove(signKey);
-            if (signList.isEmpty()) {
-                config.set("chests." + chestKey, null);
-            }
-        }
-        config.set("signs." + signKey, null);
-        save();
+        journal(index.removeSign(LocationUtil.asKey(loc)));
     }
 
     void removeChest(final Location loc) {
-        scheduler.async(() -> removeChestAsync(loc));
+        journal(index.removeChest(LocationUtil.asKey(loc)));
     }
 
-    private void removeChestAsync(Location loc) {
-        String chestKey = LocationUtil.asKey(loc);
-        List<String> signList = config.getStringList("chests." + chestKey);
-        for (String signKey : signList) {
-            config.set("signs." + signKey, null);
+    void updateSignsOnContainer(final Location... containerLocations) {
+        for (Location loc : containerLocations) {
+            if (loc == null) {
+                continue;
+            }
+            long x1 = (long) Math.floor(loc.getX());
+            long x2 = Math.round(loc.getX());
+            long z1 = (long) Math.floor(loc.getZ());
+            long z2 = Math.round(loc.getZ());
+            if (x1 != x2) {
+                // Double Chest!
+                Location loc1 = loc.clone();
+                loc1.setX(x1);
+                Location loc2 = loc.clone();
+                loc2.setX(x2);
+                queueUpdate(LocationUtil.asKey(loc1));
+                queueUpdate(LocationUtil.asKey(loc2));
+            } else if (z1 != z2) {
+                // Double Chest!
+                Location loc1 = loc.clone();
+                loc1.setZ(z1);
+                Location loc2 = loc.clone();
+                loc2.setZ(z2);
+                queueUpdate(LocationUtil.asKey(loc1));
+                queueUpdate(LocationUtil.asKey(loc2));
+            } else {
+                queueUpdate(LocationUtil.asKey(loc));
+            }
         }
-        config.set("chests." + chestKey, null);
-        save();
     }
 
-    void updateSignsOnContainer(final Location... containerLocations) {
-        scheduler.async(() -> {
-            for (Location loc : containerLocations) {
-                if (loc == null) {
-                    continue;
-                }
-                long x1 = (long) Math.floor(loc.getX());
-                long x2 = Math.round(loc.getX());
-                long z1 = (long) Math.floor(loc.getZ());
-                long z2 = Math.round(loc.getZ());
-                if (x1 != x2) {
-                    // Double Chest!
-                    Location loc1 = loc.clone();
-                    loc1.setX(x1);
-                    Location loc2 = loc.clone();
-                    loc2.setX(x2);
-                    updateSignAsync(loc1);
-                    updateSignAsync(loc2);
-                } else if (z1 != z2) {
-                    // Double Chest!
-                    Location loc1 = loc.clone();
-                    loc1.setZ(z1);
-                    Location loc2 = loc.clone();
-                    loc2.setZ(z2);
-                    updateSignAsync(loc1);
-                    updateSignAsync(loc2);
-                } else {
-                    updateSignAsync(loc);
-                }
-            }
-        });
+    /**
+     * Refreshes all the signs on the given island, within the next update window.
+     */
+    public void updateSignsOnIsland(String islandName) {
+        for (String chestKey : index.getChestsOnIsland(islandName)) {
+            queueUpdate(chestKey);
+        }
     }
 
     void updateSign(Location signLocation) {
-        String signString = LocationUtil.asKey(signLocation);
-        String chestLocStr = config.getString("signs." + signString + ".chest", null);
-        Location chestLoc = LocationUtil.fromString(chestLocStr);
-        if (chestLoc != null) {
-            updateSignAsync(chestLoc);
+        SignRecord sign = index.getSign(LocationUtil.asKey(signLocation));
+        if (sign != null) {
+            queueUpdate(sign.chestKey());
         }
     }
 
-    private void updateSignAsync(final Location chestLoc) {
-        if (chestLoc == null || !worldManager.isSkyAssociatedWorld(chestLoc.getWorld())) {
-            return;
+    /**
+     * Refreshes the signs that were deferred, because the chunk wasn't loaded.
+     */
+    void onChunkLoad(Chunk chunk) {
+        Set<String> chests = deferredChests.remove(new ChunkKey(chunk.getWorld().getName(), chunk.getX(), chunk.getZ()));
+        if (chests != null) {
+            chests.forEach(this::queueUpdate);
         }
-        String locString = LocationUtil.asKey(chestLoc);
-        List<String> signList = config.getStringList("chests." + locString);
-        if (signList.isEmpty()) {
+    }
+
+    private void queueUpdate(String chestKey) {
+        if (!index.hasChest(chestKey)) {
             return;
         }
-        String islandName = WorldGuardHandler.getIslandNameAt(chestLoc);
-        if (islandName == null) {
-            return;
+        pendingChests.add(chestKey);
+        if (updateTask == null) {
+            updateTask = scheduler.sync(this::flushUpdates, updateWindow);
+        }
+    }
+
+    private void defer(Location loc, String chestKey) {
+        deferredChests.computeIfAbsent(ChunkKey.of(loc), k -> new LinkedHashSet<>()).add(chestKey);
+    }
+
+    private static boolean isChunkLoaded(Location loc) {
+        return loc.getWorld().isChunkLoaded(loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+    }
+
+    /**
+     * Returns the first location that is not in a loaded chunk, or null if all are loaded.
+     */
+    private static Location findUnloaded(Location chestLoc, Iterable<Location> signLocs) {
+        if (!isChunkLoaded(chestLoc)) {
+            return chestLoc;
         }
-        for (String signLoc : signList) {
-            updateSignAsync(chestLoc, islandName, signLoc);
+        for (Location signLoc : signLocs) {
+            if (!isChunkLoaded(signLoc)) {
+                return signLoc;
+            }
         }
+        return null;
     }
 
-    // TODO: This method accesses a lot of unsynchronized data, and should be refactored to be sync.
-    private void updateSignAsync(final Location chestLoc, String islandName, String signLoc) {
-        String challengeName = config.getString("signs." + signLoc + ".challenge", null);
-        if (challengeName == null) {
-            return;
+    private void flushUpdates() {
+        updateTask = null;
+        List<ChestUpdate> updates = new ArrayList<>();
+        for (String chestKey : pendingChests) {
+            List<SignRecord> signs = index.getSignsOnChest(chestKey);
+            if (signs.isEmpty()) {
+                continue;
+            }
+            Location chestLoc = LocationUtil.fromString(signs.get(0).chestLocation());
+            if (chestLoc == null || chestLoc.getWorld() == null || !worldManager.isSkyAssociatedWorld(chestLoc.getWorld())) {
+                continue;
+            }
+            Map<SignRecord, Location> signLocs = new LinkedHashMap<>();
+            for (SignRecord sign : signs) {
+                Location signLoc = LocationUtil.fromString(sign.signLocation());
+                if (signLoc != null && signLoc.getWorld() != null) {
+                    signLocs.put(sign, signLoc);
+                }
+            }
+            Location unloaded = findUnloaded(chestLoc, signLocs.values());
+            if (unloaded != null) {
+                defer(unloaded, chestKey);
+                continue;
+            }
+            String islandName = index.getIsland(chestKey);
+            if (islandName == null) {
+                islandName = WorldGuardHandler.getIslandNameAt(chestLoc);
+                if (islandName == null) {
+                    continue;
+                }
+                journal(index.setIsland(chestKey, islandName));
+            }
+            updates.add(new ChestUpdate(chestKey, chestLoc, islandName, signLocs));
         }
-        final Challenge challenge = challengeLogic.getChallenge(challengeName);
-        if (challenge == null || challenge.getType() != Challenge.Type.PLAYER) {
-            return;
+        pendingChests.clear();
+        if (!updates.isEmpty()) {
+            scheduler.async(() -> resolveUpdates(updates));
+        }
+    }
+
+    private void resolveUpdates(List<ChestUpdate> updates) {
+        // Each challenge is resolved once per island, no matter how many signs show it
+        Map<String, SignState> states = new HashMap<>();
+        List<SignUpdate> signUpdates = new ArrayList<>();
+        for (ChestUpdate update : updates) {
+            for (Map.Entry<SignRecord, Location> sign : update.signs().entrySet()) {
+                Challenge challenge = challengeLogic.getChallenge(sign.getKey().challenge());
+                if (challenge == null || challenge.getType() != Challenge.Type.PLAYER) {
+                    continue;
+                }
+                SignState state = states.computeIfAbsent(update.islandName() + ":" + challenge.getName(),
+                    k -> getSignState(update.islandName(), challenge));
+                signUpdates.add(new SignUpdate(update.chestKey(), update.chestLoc(), sign.getValue(), state));
+            }
         }
+        // Back to sync
+        scheduler.sync(() -> {
+            for (SignUpdate update : signUpdates) {
+                Location unloaded = findUnloaded(update.chestLoc(), Collections.singletonList(update.signLoc()));
+                if (unloaded != null) {
+                    defer(unloaded, update.chestKey());
+                    continue;
+                }
+                updateSignFromChestSync(update.chestLoc(), update.signLoc(), update.state().challenge(),
+                    update.state().requiredItems(), update.state().locked());
+            }
+        });
+    }
+
+    private SignState getSignState(String islandName, Challenge challenge) {
         Map<ItemStack, Integer> requiredItems = new LinkedHashMap<>();
         boolean isChallengeAvailable = false;
         if (challengeLogic.isIslandSharing()) {
-            final ChallengeCompletion completion = challengeLogic.getIslandCompletion(islandName, challengeName);
+            final ChallengeCompletion completion = challengeLogic.getIslandCompletion(islandName, challenge.getName());
             if (completion != null) {
                 requiredItems = challenge.getRequiredItems(completion.getTimesCompletedInCooldown());
             }
@@ -212,16 +366,10 @@ public class SignLogic {
         if (islandInfo != null && islandInfo.getLeaderUniqueId() != null) {
             PlayerInfo playerInfo = plugin.getPlayerInfo(islandInfo.getLeaderUniqueId());
             if (playerInfo != null) {
-                isChallengeAvailable = challenge.getRank().isAvailable(playerInfo);
-                isChallengeAvailable &= challenge.getMissingRequirements(playerInfo).isEmpty();
+                isChallengeAvailable = challengeLogic.isChallengeAvailable(playerInfo, challenge);
             }
         }
-        String signLocString = config.getString("signs." + signLoc + ".location", null);
-        final Location signLocation = LocationUtil.fromString(signLocString);
-        final boolean challengeLocked = !isChallengeAvailable;
-        final Map<ItemStack, Integer> requiredItemsFinal = requiredItems;
-        // Back to sync
-        scheduler.sync(() -> updateSignFromChestSync(chestLoc, signLocation, challenge, requiredItemsFinal, challengeLocked));
+        return new SignState(challenge, requiredItems, !isChallengeAvailable);
     }
 
     private void updateSignFromChestSync(Location chestLoc, Location signLoc, Challenge challenge, Map<ItemStack, Integer> requiredItems, boolean challengeLocked) {
@@ -278,46 +426,124 @@ public class SignLogic {
         return (chestBlock.getType() == Material.CHEST || chestBlock.getType() == Material.TRAPPED_CHEST) && chestBlock.getState() instanceof Chest;
     }
 
-    private void saveAsync() {
-        scheduler.async(this::save);
+    private void journal(String line) {
+        if (line == null) {
+            return;
+        }
+        journal.add(line);
+        if (++journalSize >= COMPACT_THRESHOLD) {
+            journal.add(new Compaction(index.snapshot(), index.islandSnapshot()));
+            journalSize = 0;
+        }
+        flushJournal();
     }
 
-    private void save() {
-        synchronized (configFile) {
-            try {
-                config.save(configFile);
-            } catch (IOException e) {
-                logger.info("Unable to save to " + configFile);
-            }
+    private void flushJournal() {
+        if (journalWriting.compareAndSet(false, true)) {
+            scheduler.async(() -> {
+                try {
+                    writeJournal();
+                } finally {
+                    journalWriting.set(false);
+                }
+                // Lines queued while writing
+                if (!journal.isEmpty()) {
+                    flushJournal();
+                }
+            });
         }
     }
 
-    void signClicked(final Player player, final Location location) {
-        scheduler.async(() -> tryCompleteAsync(player, location));
-    }
-
-    private void tryCompleteAsync(final Player player, Location location) {
-        String signLoc = LocationUtil.asKey(location);
-        String challengeName = config.getString("signs." + signLoc + ".challenge", null);
-        if (challengeName != null) {
-            String islandName = WorldGuardHandler.getIslandNameAt(location);
-            String chestLocString = config.getString("signs." + signLoc + ".chest", null);
-            final Location chestLoc = LocationUtil.fromString(chestLocString);
-            if (islandName != null && chestLoc != null) {
-                final Challenge challenge = challengeLogic.getChallenge(challengeName);
-                if (challenge == null || challenge.getType() != Challenge.Type.PLAYER) {
-                    return;
+    /**
+     * Drains the queued journal lines (and compactions) to disk, in order.
+     */
+    private void writeJournal() {
+        synchronized (journalFile) {
+            List<String> lines = new ArrayList<>();
+            Object entry;
+            while ((entry = journal.poll()) != null) {
+                if (entry instanceof Compaction compaction) {
+                    // Everything journaled so far is part of the snapshot, but stays journaled until it is saved
+                    if (writeSnapshot(compaction.signs(), compaction.islands())) {
+                        lines.clear();
+                    }
+                } else {
+                    lines.add((String) entry);
                 }
-                PlayerInfo playerInfo = plugin.getPlayerInfo(player);
-                if (playerInfo == null) {
-                    return;
+            }
+            if (!lines.isEmpty()) {
+                try {
+                    Files.write(journalFile, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "Unable to journal " + lines.size() + " sign changes", e);
                 }
-                if (!challenge.getRank().isAvailable(playerInfo)) {
-                    player.sendMessage(tr("\u00a74The {0} challenge is not available yet!", challenge.getDisplayName()));
-                    return;
+            }
+        }
+    }
+
+    /**
+     * Saves the snapshot to <code>signs.yml</code>, and removes the journal, if the snapshot made it to disk.
+     */
+    private boolean writeSnapshot(List<SignRecord> signs, Map<String, String> islands) {
+        YamlConfiguration config = new YamlConfiguration();
+        for (SignRecord sign : signs) {
+            config.set("signs." + sign.signKey() + ".location", sign.signLocation());
+            config.set("signs." + sign.signKey() + ".challenge", sign.challenge());
+            config.set("signs." + sign.signKey() + ".chest", sign.chestLocation());
+            List<String> signList = config.getStringList("chests." + sign.chestKey());
+            signList.add(sign.signKey());
+            config.set("chests." + sign.chestKey(), signList);
+        }
+        for (Map.Entry<String, String> island : islands.entrySet()) {
+            config.set("islands." + island.getKey(), island.getValue());
+        }
+        Path tmpFile = configFile.resolveSibling(configFile.getFileName() + ".tmp");
+        try {
+            ByteBuffer data = ByteBuffer.wrap(config.saveToString().getBytes(StandardCharsets.UTF_8));
+            try (FileChannel channel = FileChannel.open(tmpFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (data.hasRemaining()) {
+                    channel.write(data);
                 }
-                scheduler.sync(() -> tryComplete(player, chestLoc, challenge));
+                channel.force(true);
+            }
+            Files.move(tmpFile, configFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(journalFile);
+            return true;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to save to " + configFile + ", keeping the journal", e);
+            return false;
+        }
+    }
+
+    void signClicked(final Player player, final Location location) {
+        SignRecord sign = index.getSign(LocationUtil.asKey(location));
+        if (sign == null) {
+            return;
+        }
+        final Location chestLoc = LocationUtil.fromString(sign.chestLocation());
+        if (chestLoc == null) {
+            return;
+        }
+        scheduler.async(() -> tryCompleteAsync(player, location, chestLoc, sign.challenge()));
+    }
+
+    private void tryCompleteAsync(final Player player, Location location, Location chestLoc, String challengeName) {
+        String islandName = WorldGuardHandler.getIslandNameAt(location);
+        if (islandName != null) {
+            final Challenge challenge = challengeLogic.getChallenge(challengeName);
+            if (challenge == null || challenge.getType() != Challenge.Type.PLAYER) {
+                return;
+            }
+            PlayerInfo playerInfo = plugin.getPlayerInfo(player);
+            if (playerInfo == null) {
+                return;
+            }
+            if (!challengeLogic.isRankAvailable(playerInfo, challenge.getRank())) {
+                player.sendMessage(tr("\u00a74The {0} challenge is not available yet!", challenge.getDisplayName()));
+                return;
             }
+            scheduler.sync(() -> tryComplete(player, chestLoc, challenge));
         }
     }
 
@@ -355,6 +581,8 @@ public class SignLogic {
             boolean successfulItemTransfer = attemptToMoveItemsToPlayerInventory(player.getInventory(), chest.getInventory(), requiredItems);
             if (successfulItemTransfer) {
                 challengeLogic.completeChallenge(player, challenge.getName());
+                // Completing a challenge can unlock, or change the required items of, other signs on the island
+                updateSignsOnIsland(playerInfo.locationForParty());
             } else {
                 player.sendMessage(tr("\u00a7cWARNING:\u00a7e Could not transfer all the required items to your inventory!"));
             }
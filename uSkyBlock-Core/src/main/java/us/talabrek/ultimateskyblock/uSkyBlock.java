@@ -34,14 +34,15 @@ import us.talabrek.ultimateskyblock.api.UltimateSkyblockProvider;
 import us.talabrek.ultimateskyblock.api.async.Callback;
 import us.talabrek.ultimateskyblock.api.event.EventLogic;
 import us.talabrek.ultimateskyblock.api.event.uSkyBlockEvent;
-import us.talabrek.ultimateskyblock.api.event.uSkyBlockScoreChangedEvent;
 import us.talabrek.ultimateskyblock.api.impl.UltimateSkyblockApi;
 import us.talabrek.ultimateskyblock.api.uSkyBlockAPI;
+import us.talabrek.ultimateskyblock.async.TickScheduler;
 import us.talabrek.ultimateskyblock.bootstrap.SkyblockApp;
 import us.talabrek.ultimateskyblock.bootstrap.SkyblockModule;
 import us.talabrek.ultimateskyblock.challenge.ChallengeLogic;
 import us.talabrek.ultimateskyblock.command.AdminCommand;
 import us.talabrek.ultimateskyblock.command.admin.SetMaintenanceCommand;
+import us.talabrek.ultimateskyblock.event.ProtectionContext;
 import us.talabrek.ultimateskyblock.handler.ConfirmHandler;
 import us.talabrek.ultimateskyblock.handler.CooldownHandler;
 import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
@@ -67,6 +68,7 @@ import us.talabrek.ultimateskyblock.player.PlayerInfo;
 import us.talabrek.ultimateskyblock.player.PlayerLogic;
 import us.talabrek.ultimateskyblock.player.PlayerNotifier;
 import us.talabrek.ultimateskyblock.player.PlayerPerk;
+import us.talabrek.ultimateskyblock.player.SafeLocationLogic;
 import us.talabrek.ultimateskyblock.player.TeleportLogic;
 import us.talabrek.ultimateskyblock.util.IslandUtil;
 import us.talabrek.ultimateskyblock.util.LocationUtil;
@@ -123,6 +125,10 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
     @Inject
     private TeleportLogic teleportLogic;
     @Inject
+    private SafeLocationLogic safeLocationLogic;
+    @Inject
+    private ProtectionContext protectionContext;
+    @Inject
     private LimitLogic limitLogic;
     @Inject
     private HookManager hookManager;
@@ -153,6 +159,8 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
     private SkyUpdateChecker updateChecker;
     @Inject
     private Scheduler scheduler;
+    @Inject
+    private TickScheduler tickScheduler;
 
     private UltimateSkyblockApi api;
 
@@ -262,9 +270,9 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
     }
 
     public Location getSafeHomeLocation(final PlayerInfo p) {
-        Location home = LocationUtil.findNearestSafeLocation(p.getHomeLocation(), null);
+        Location home = safeLocationLogic.findSafeLocation(p.getHomeLocation());
         if (home == null) {
-            home = LocationUtil.findNearestSafeLocation(p.getIslandLocation(), null);
+            home = safeLocationLogic.findSafeLocation(p.getIslandLocation());
         }
         return home;
     }
@@ -272,9 +280,9 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
     public Location getSafeWarpLocation(final PlayerInfo p) {
         us.talabrek.ultimateskyblock.api.IslandInfo islandInfo = getIslandInfo(p);
         if (islandInfo != null) {
-            Location warp = LocationUtil.findNearestSafeLocation(islandInfo.getWarpLocation(), null);
+            Location warp = safeLocationLogic.findSafeLocation(islandInfo.getWarpLocation());
             if (warp == null) {
-                warp = LocationUtil.findNearestSafeLocation(islandInfo.getIslandLocation(), null);
+                warp = safeLocationLogic.findSafeLocation(islandInfo.getIslandLocation());
             }
             return warp;
         }
@@ -288,7 +296,6 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
     private void postDelete(final IslandInfo islandInfo) {
         WorldGuardHandler.removeIslandRegion(islandInfo.getName());
         islandLogic.deleteIslandConfig(islandInfo.getName());
-        orphanLogic.save();
     }
 
     public boolean deleteEmptyIsland(String islandName, final Runnable runner) {
@@ -415,8 +422,7 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
     }
 
     public boolean playerIsOnIsland(final Player player) {
-        return playerIsOnOwnIsland(player)
-            || playerIsTrusted(player);
+        return protectionContext.isOnIsland(player);
     }
 
     public boolean playerIsOnOwnIsland(Player player) {
@@ -424,7 +430,7 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
             || locationIsOnNetherIsland(player, player.getLocation());
     }
 
-    private boolean playerIsTrusted(Player player) {
+    public boolean playerIsTrusted(Player player) {
         String islandName = WorldGuardHandler.getIslandNameAt(player.getLocation());
         if (islandName != null) {
             us.talabrek.ultimateskyblock.api.IslandInfo islandInfo = islandLogic.getIslandInfo(islandName);
@@ -609,6 +615,10 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
         return perkLogic;
     }
 
+    public ProtectionContext getProtectionContext() {
+        return protectionContext;
+    }
+
     public IslandLocatorLogic getIslandLocatorLogic() {
         return islandLocatorLogic;
     }
@@ -823,14 +833,11 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
 
     public void fireChangeEvent(CommandSender sender, uSkyBlockEvent.Cause cause) {
         Player player = (sender instanceof Player) ? (Player) sender : null;
-        final uSkyBlockEvent event = new uSkyBlockEvent(player, this, cause);
-        fireAsyncEvent(event);
+        eventLogic.fireChangeEvent(player, cause);
     }
 
     public void fireAsyncEvent(final Event event) {
-        getServer().getScheduler().runTaskAsynchronously(this,
-            () -> getServer().getPluginManager().callEvent(event)
-        );
+        eventLogic.fireAsyncEvent(event);
     }
 
     public PlayerDB getPlayerDB() {
@@ -853,7 +860,7 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
                 callback.setState(score);
                 islandInfo.setLevel(score.getScore());
                 getIslandLogic().updateRank(islandInfo, score);
-                fireAsyncEvent(new uSkyBlockScoreChangedEvent(player, getInstance(), score, islandInfo.getIslandLocation()));
+                eventLogic.fireScoreChangedEvent(player, islandInfo, score);
                 callback.run();
             }
         });
@@ -960,4 +967,8 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
     public Scheduler getScheduler() {
         return new Scheduler(this);
     }
+
+    public TickScheduler getTickScheduler() {
+        return tickScheduler;
+    }
 }
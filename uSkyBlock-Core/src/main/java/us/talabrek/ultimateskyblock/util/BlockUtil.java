@@ -13,7 +13,11 @@ public enum BlockUtil {;
     private static final Collection<Material> FLUIDS = Arrays.asList(Material.WATER, Material.LAVA);
 
     public static boolean isBreathable(Block block) {
-        return !block.getType().isSolid() && !isFluid(block);
+        return isBreathable(block.getType());
+    }
+
+    public static boolean isBreathable(Material material) {
+        return !material.isSolid() && !isFluid(material);
     }
 
     public static boolean isFluid(Block block) {
@@ -13,11 +13,14 @@ import org.bukkit.block.data.BlockData;
 import org.bukkit.material.Directional;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import us.talabrek.ultimateskyblock.Settings;
 import us.talabrek.ultimateskyblock.api.async.Callback;
+import us.talabrek.ultimateskyblock.block.BlockSnapshot;
 
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -30,6 +33,10 @@ import static us.talabrek.ultimateskyblock.util.LogUtil.log;
  */
 public enum LocationUtil {
     ;
+    /**
+     * The size of the cube scanned for chests and safe locations, centered on the location.
+     */
+    private static final int SCAN_SIZE = 30;
     private static final Pattern LOCATION_PATTERN = Pattern.compile("((?<world>[^:]+):)?(?<x>[\\-0-9\\.]+),(?<y>[\\-0-9\\.]+),(?<z>[\\-0-9\\.]+)(:(?<yaw>[\\-0-9\\.]+):(?<pitch>[\\-0-9\\.]+))?");
     private static final String[] CARDINAL_DIRECTION = {
             I18nUtil.marktr("North"),
@@ -58,7 +65,11 @@ public enum LocationUtil {
     }
 
     public static String asKey(Location loc) {
-        return asString(loc).replaceAll(":", "-").replaceAll("\\.", "_");
+        return asKey(asString(loc));
+    }
+
+    public static String asKey(String locString) {
+        return locString.replaceAll(":", "-").replaceAll("\\.", "_");
     }
 
     public static Location fromString(String locString) {
@@ -117,6 +128,17 @@ public enum LocationUtil {
         return ground.getType().isSolid() && BlockUtil.isBreathable(air1) && BlockUtil.isBreathable(air2);
     }
 
+    /**
+     * Same as {@link #isSafeLocation(Location)}, but on a snapshot, so it can be used off the main thread.
+     */
+    public static boolean isSafeLocation(@NotNull BlockSnapshot snapshot, int x, int y, int z) {
+        Material ground = snapshot.getType(x, y - 1, z);
+        Material air1 = snapshot.getType(x, y, z);
+        Material air2 = snapshot.getType(x, y + 1, z);
+        return ground != null && air1 != null && air2 != null
+            && ground.isSolid() && BlockUtil.isBreathable(air1) && BlockUtil.isBreathable(air2);
+    }
+
     public static void loadChunkAt(Location loc) {
         if (loc != null && !loc.getWorld().isChunkLoaded(loc.getBlockX() >> 4, loc.getBlockZ() >> 4)) {
             loc.getWorld().loadChunk(loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
@@ -130,32 +152,30 @@ public enum LocationUtil {
      * @return The location of the chest
      */
     public static Location findChestLocation(final Location loc) {
-        loadChunkAt(loc);
-        World world = loc.getWorld();
-        int px = loc.getBlockX();
-        int pz = loc.getBlockZ();
-        int py = loc.getBlockY();
-        ChunkUtil.Chunks snapshots;
-        if (px % 16 == 0 && pz % 16 == 0) {
-            // chunk aligned
-            snapshots = ChunkUtil.getSnapshots4x4(loc);
-        } else {
-            snapshots = ChunkUtil.getSnapshots(loc, 1);
-        }
-        for (int dy = 1; dy <= 30; dy++) {
-            for (int dx = 1; dx <= 30; dx++) {
-                for (int dz = 1; dz <= 30; dz++) {
-                    // Scans from the center and out
-                    int x = px + (dx % 2 == 0 ? dx / 2 : -dx / 2);
-                    int z = pz + (dz % 2 == 0 ? dz / 2 : -dz / 2);
-                    int y = py + (dy % 2 == 0 ? dy / 2 : -dy / 2);
-                    if (snapshots.getBlockTypeAt(x, y, z) == Material.CHEST) {
-                        return new Location(world, x, y, z);
-                    }
-                }
-            }
-        }
-        return null;
+        int[] chest = snapshotAround(loc).findNearest(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ(), SCAN_SIZE,
+            (snapshot, x, y, z) -> snapshot.getType(x, y, z) == Material.CHEST);
+        return chest != null ? new Location(loc.getWorld(), chest[0], chest[1], chest[2]) : null;
+    }
+
+    /**
+     * Snapshots the blocks needed to scan for chests and safe locations around the location.
+     * Must be called on the main thread.
+     */
+    public static @NotNull BlockSnapshot snapshotAround(@NotNull Location loc) {
+        // The blocks scanned by BlockSnapshot.findNearest, and one extra layer for the ground and head room
+        return BlockSnapshot.of(loc.getWorld(),
+            loc.getBlockX() - (SCAN_SIZE - 1) / 2, loc.getBlockY() - (SCAN_SIZE - 1) / 2 - 1, loc.getBlockZ() - (SCAN_SIZE - 1) / 2,
+            loc.getBlockX() + SCAN_SIZE / 2, loc.getBlockY() + SCAN_SIZE / 2 + 1, loc.getBlockZ() + SCAN_SIZE / 2);
+    }
+
+    /**
+     * Same as {@link #snapshotAround(Location)}, but loads the chunks asynchronously where the server supports it.
+     * Must be called on the main thread, and the future completes on the main thread.
+     */
+    public static @NotNull CompletableFuture<BlockSnapshot> snapshotAroundAsync(@NotNull Location loc) {
+        return BlockSnapshot.ofAsync(loc.getWorld(),
+            loc.getBlockX() - (SCAN_SIZE - 1) / 2, loc.getBlockY() - (SCAN_SIZE - 1) / 2 - 1, loc.getBlockZ() - (SCAN_SIZE - 1) / 2,
+            loc.getBlockX() + SCAN_SIZE / 2, loc.getBlockY() + SCAN_SIZE / 2 + 1, loc.getBlockZ() + SCAN_SIZE / 2);
     }
 
     public static Optional<Location> findNearestSpawnLocation(@NotNull Location loc) {
@@ -195,36 +215,37 @@ public enum LocationUtil {
         if (loc == null) {
             return null;
         }
-        loadChunkAt(loc);
-        World world = loc.getWorld();
-        int px = loc.getBlockX();
-        int pz = loc.getBlockZ();
-        int py = loc.getBlockY();
-        for (int dy = 1; dy <= 30; dy++) {
-            for (int dx = 1; dx <= 30; dx++) {
-                for (int dz = 1; dz <= 30; dz++) {
-                    // Scans from the center and out
-                    int x = px + (dx % 2 == 0 ? dx / 2 : -dx / 2);
-                    int z = pz + (dz % 2 == 0 ? dz / 2 : -dz / 2);
-                    int y = py + (dy % 2 == 0 ? dy / 2 : -dy / 2);
-                    Location spawnLocation = new Location(world, x, y, z);
-                    if (isSafeLocation(spawnLocation)) {
-                        // look at the old location
-                        spawnLocation = centerOnBlock(spawnLocation);
-                        if (lookAt != null) {
-                            Location d = centerOnBlock(lookAt).subtract(spawnLocation);
-                            spawnLocation.setDirection(d.toVector());
-                        } else {
-                            spawnLocation.setYaw(loc.getYaw());
-                            spawnLocation.setPitch(loc.getPitch());
-                        }
-                        log(Level.FINER, "found safe location " + spawnLocation + " near " + loc + ", looking at " + lookAt);
-                        return spawnLocation;
-                    }
-                }
-            }
+        return asSafeLocation(findNearestSafeSpot(snapshotAround(loc), loc), loc, lookAt);
+    }
+
+    /**
+     * Finds the coordinates of the nearest safe location to loc, in a snapshot from {@link #snapshotAround(Location)}.
+     * Safe to call from any thread.
+     *
+     * @return The coordinates <code>{x, y, z}</code> of the safe location, or null if none was found.
+     */
+    public static @Nullable int[] findNearestSafeSpot(@NotNull BlockSnapshot snapshot, @NotNull Location loc) {
+        return snapshot.findNearest(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ(), SCAN_SIZE, LocationUtil::isSafeLocation);
+    }
+
+    /**
+     * Creates the location to teleport to, from coordinates found by {@link #findNearestSafeSpot}.
+     */
+    public static @Nullable Location asSafeLocation(@Nullable int[] spot, @NotNull Location loc, @Nullable Location lookAt) {
+        if (spot == null) {
+            return null;
         }
-        return null;
+        Location spawnLocation = new Location(loc.getWorld(), spot[0] + 0.5, spot[1] + 0.1, spot[2] + 0.5);
+        // look at the old location
+        if (lookAt != null) {
+            Location d = centerOnBlock(lookAt).subtract(spawnLocation);
+            spawnLocation.setDirection(d.toVector());
+        } else {
+            spawnLocation.setYaw(loc.getYaw());
+            spawnLocation.setPitch(loc.getPitch());
+        }
+        log(Level.FINER, "found safe location " + spawnLocation + " near " + loc + ", looking at " + lookAt);
+        return spawnLocation;
     }
 
     public static Location alignToDistance(Location loc, int distance) {
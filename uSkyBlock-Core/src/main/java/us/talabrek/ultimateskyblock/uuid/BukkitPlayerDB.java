@@ -51,10 +51,20 @@ public class BukkitPlayerDB implements PlayerDB {
 
     @Override
     public Set<String> getNames(String search) {
+        return getNames(search, -1);
+    }
+
+    @Override
+    public Set<String> getNames(String search, int limit) {
         Set<String> names = new HashSet<>();
+        String lowerSearch = search != null ? search.toLowerCase() : null;
         Collection<? extends Player> onlinePlayers = Bukkit.getOnlinePlayers();
         for (Player player : onlinePlayers) {
-            if (player != null && player.isOnline()) {
+            if (limit >= 0 && names.size() >= limit) {
+                break;
+            }
+            if (player != null && player.isOnline()
+                && (lowerSearch == null || player.getName().toLowerCase().startsWith(lowerSearch))) {
                 names.add(player.getName());
             }
         }
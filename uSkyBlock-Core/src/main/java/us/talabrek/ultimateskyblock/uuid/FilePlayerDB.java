@@ -9,6 +9,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.uSkyBlock;
@@ -18,12 +19,13 @@ import us.talabrek.ultimateskyblock.util.UUIDUtil;
 import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -38,12 +40,20 @@ public class FilePlayerDB implements PlayerDB {
     private final FileConfiguration uuid2NameConfig;
 
     private boolean isShuttingDown = false;
+    private volatile boolean dirty = false;
     private volatile BukkitTask saveTask;
     private final Duration saveDelay;
 
     // These caches should NOT be guavaCaches, we need them alive most of the time
+    // name2uuidCache is keyed by the lower-case name, as player names are case-insensitive
     private final Map<String, UUID> name2uuidCache = new ConcurrentHashMap<>();
     private final Map<UUID, String> uuid2nameCache = new ConcurrentHashMap<>();
+    private final NameIndex nameIndex = new NameIndex();
+
+    // Statistics, used to verify that unchanged players never dirty the DB
+    private final AtomicLong dirtyCount = new AtomicLong();
+    private final AtomicLong unchangedCount = new AtomicLong();
+    private final AtomicLong saveCount = new AtomicLong();
 
     public FilePlayerDB(@NotNull uSkyBlock plugin, @NotNull Scheduler scheduler, @NotNull Logger logger) {
         this.scheduler = scheduler;
@@ -63,11 +73,12 @@ public class FilePlayerDB implements PlayerDB {
                     String name = uuid2NameConfig.getString(uuid + ".name", null);
                     if (name != null && id != null) {
                         uuid2nameCache.put(id, name);
-                        name2uuidCache.put(name, id);
+                        name2uuidCache.put(key(name), id);
+                        nameIndex.add(name);
                         List<String> akas = uuid2NameConfig.getStringList(uuid + ".aka");
                         for (String aka : akas) {
-                            if (!name2uuidCache.containsKey(aka)) {
-                                name2uuidCache.put(aka, id);
+                            if (!name2uuidCache.containsKey(key(aka))) {
+                                name2uuidCache.put(key(aka), id);
                             }
                         }
                     }
@@ -82,7 +93,10 @@ public class FilePlayerDB implements PlayerDB {
         if (saveTask != null) {
             saveTask.cancel();
         }
-        saveToFile();
+        if (dirty) {
+            saveToFile();
+        }
+        logger.fine("PlayerDB statistics: " + getStats());
     }
 
     @Override
@@ -92,8 +106,8 @@ public class FilePlayerDB implements PlayerDB {
 
     @Override
     public UUID getUUIDFromName(String name, boolean lookup) {
-        if (name2uuidCache.containsKey(name)) {
-            return name2uuidCache.get(name);
+        if (name2uuidCache.containsKey(key(name))) {
+            return name2uuidCache.get(key(name));
         }
         UUID result = null;
         if (lookup) {
@@ -102,7 +116,9 @@ public class FilePlayerDB implements PlayerDB {
             updatePlayer(offlinePlayer.getUniqueId(), offlinePlayer.getName(), offlinePlayer.getName());
             result = offlinePlayer.getUniqueId();
         }
-        name2uuidCache.put(name, result);
+        if (result != null) {
+            name2uuidCache.put(key(name), result);
+        }
         return result;
     }
 
@@ -145,15 +161,22 @@ public class FilePlayerDB implements PlayerDB {
 
     @Override
     public Set<String> getNames(String search) {
-        HashSet<String> names = new HashSet<>(uuid2nameCache.values());
-        String lowerSearch = search != null ? search.toLowerCase() : null;
-        names.removeIf(name -> name == null || (search != null && !name.toLowerCase().startsWith(lowerSearch)));
-        return names;
+        return nameIndex.find(search, -1);
+    }
+
+    @Override
+    public Set<String> getNames(String search, int limit) {
+        return nameIndex.find(search, limit);
     }
 
     @Override
     public void updatePlayer(final UUID id, final String name, final String displayName) {
-        addEntry(id, name, displayName);
+        if (!addEntry(id, name, displayName)) {
+            unchangedCount.incrementAndGet();
+            return;
+        }
+        dirtyCount.incrementAndGet();
+        dirty = true;
         if (isShuttingDown) {
             saveToFile();
         } else {
@@ -164,34 +187,33 @@ public class FilePlayerDB implements PlayerDB {
         }
     }
 
+    /**
+     * Pure lookup, name changes are picked up on join and quit instead.
+     */
     @Override
     public Player getPlayer(UUID uuid) {
-        if (uuid != null) {
-            Player player = Bukkit.getPlayer(uuid);
-            if (player != null) {
-                updatePlayer(player.getUniqueId(), player.getName(), player.getDisplayName());
-            }
-            return player;
-        }
-        return null;
+        return uuid != null ? Bukkit.getPlayer(uuid) : null;
     }
 
+    /**
+     * Pure lookup, name changes are picked up on join and quit instead.
+     */
     @Override
     public Player getPlayer(String name) {
         if (name != null) {
-            UUID uuid = getUUIDFromName(name);
+            UUID uuid = name2uuidCache.get(key(name));
             if (uuid != null) {
-                return getPlayer(uuid);
-            }
-            Player player = Bukkit.getPlayer(name);
-            if (player != null) {
-                updatePlayer(player.getUniqueId(), player.getName(), player.getDisplayName());
+                return Bukkit.getPlayer(uuid);
             }
-            return player;
+            return Bukkit.getPlayerExact(name);
         }
         return null;
     }
 
+    private static String key(String name) {
+        return name != null ? name.toLowerCase(Locale.ROOT) : null;
+    }
+
     @Override
     public OfflinePlayer getOfflinePlayer(UUID uuid) {
         return Bukkit.getOfflinePlayer(uuid);
@@ -200,8 +222,10 @@ public class FilePlayerDB implements PlayerDB {
     private void saveToFile() {
         try {
             synchronized (uuid2NameConfig) {
+                dirty = false;
                 uuid2NameConfig.save(uuid2NameFile);
             }
+            saveCount.incrementAndGet();
         } catch (IOException e) {
             logger.log(Level.INFO, "Error saving playerdb", e);
         } finally {
@@ -209,13 +233,57 @@ public class FilePlayerDB implements PlayerDB {
         }
     }
 
-    private void addEntry(UUID id, String name, String displayName) {
+    /**
+     * Number of updates that changed the DB, updates that were no-ops, and saves to file.
+     * @return A human-readable summary of the DB statistics.
+     */
+    public String getStats() {
+        return String.format("dirty: %d, unchanged: %d, saves: %d, names: %d",
+            dirtyCount.get(), unchangedCount.get(), saveCount.get(), nameIndex.size());
+    }
+
+    public long getDirtyCount() {
+        return dirtyCount.get();
+    }
+
+    public long getUnchangedCount() {
+        return unchangedCount.get();
+    }
+
+    public long getSaveCount() {
+        return saveCount.get();
+    }
+
+    public int getNameCount() {
+        return nameIndex.size();
+    }
+
+    private boolean isUnchanged(String uuid, String name, String displayName) {
+        synchronized (uuid2NameConfig) {
+            return name != null && uuid2NameConfig.contains(uuid)
+                && name.equals(uuid2NameConfig.getString(uuid + ".name", null))
+                && (displayName == null || displayName.equals(uuid2NameConfig.getString(uuid + ".displayName", null)));
+        }
+    }
+
+    /**
+     * Adds or updates the entry for the given player.
+     * @return <code>true</code> if anything changed, and the DB needs to be saved.
+     */
+    private boolean addEntry(UUID id, String name, String displayName) {
         String uuid = UUIDUtil.asString(id);
+        if (isUnchanged(uuid, name, displayName) && id.equals(name2uuidCache.get(key(name)))) {
+            return false;
+        }
         UUID oldUUID = null;
         if (name != null) {
-            oldUUID = name2uuidCache.get(name);
-            uuid2nameCache.put(id, name);
-            name2uuidCache.put(name, id);
+            oldUUID = name2uuidCache.get(key(name));
+            String previousName = uuid2nameCache.put(id, name);
+            name2uuidCache.put(key(name), id);
+            if (previousName != null && !previousName.equalsIgnoreCase(name)) {
+                nameIndex.remove(previousName);
+            }
+            nameIndex.add(name);
         }
         synchronized (uuid2NameConfig) {
             String oldName = uuid2NameConfig.getString(uuid + ".name", name);
@@ -224,8 +292,8 @@ public class FilePlayerDB implements PlayerDB {
                 if (!stringList.contains(oldName)) {
                     stringList.add(oldName);
                     uuid2NameConfig.set(uuid + ".aka", stringList);
-                    if (!name2uuidCache.containsKey(oldName)) {
-                        name2uuidCache.put(oldName, id);
+                    if (!name2uuidCache.containsKey(key(oldName))) {
+                        name2uuidCache.put(key(oldName), id);
                     }
                 }
             }
@@ -239,10 +307,17 @@ public class FilePlayerDB implements PlayerDB {
                 uuid2NameConfig.set(UUIDUtil.asString(oldUUID), null);
             }
         }
+        return true;
     }
 
     @EventHandler(priority = EventPriority.LOW)
     public void onPlayerJoin(PlayerJoinEvent e) {
         updatePlayer(e.getPlayer().getUniqueId(), e.getPlayer().getName(), e.getPlayer().getDisplayName());
     }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        // Catches display-names assigned by other plugins after the player joined
+        updatePlayer(e.getPlayer().getUniqueId(), e.getPlayer().getName(), e.getPlayer().getDisplayName());
+    }
 }
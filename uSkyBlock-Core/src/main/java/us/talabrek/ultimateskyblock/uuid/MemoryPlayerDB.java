@@ -6,6 +6,9 @@ import com.google.common.cache.LoadingCache;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.PluginConfig;
 
@@ -108,17 +111,34 @@ public class MemoryPlayerDB implements PlayerDB {
 
     @Override
     public Set<String> getNames(String search) {
-        Set<String> names = new HashSet<>(nameCache.asMap().keySet());
+        return getNames(search, -1);
+    }
+
+    @Override
+    public Set<String> getNames(String search, int limit) {
+        // The nameCache is bounded, so a scan is acceptable here
+        Set<String> names = new HashSet<>();
         String lowerSearch = search != null ? search.toLowerCase() : null;
-        names.removeIf(name -> name == null || (search != null && !name.toLowerCase().startsWith(lowerSearch)));
+        for (String name : nameCache.asMap().keySet()) {
+            if (limit >= 0 && names.size() >= limit) {
+                break;
+            }
+            if (name != null && (lowerSearch == null || name.toLowerCase().startsWith(lowerSearch))) {
+                names.add(name);
+            }
+        }
         return names;
     }
 
     @Override
     public void updatePlayer(UUID uuid, String name, String displayName) {
-        // Not entirely what we want... and not performant at all...
-        nameCache.refresh(name);
-        uuidCache.refresh(uuid);
+        if (uuid == null || name == null) {
+            return;
+        }
+        // Online players are resolved locally, so no need to refresh (and re-load) the caches
+        OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(uuid);
+        uuidCache.put(uuid, offlinePlayer);
+        nameCache.put(name, offlinePlayer);
     }
 
     @Override
@@ -133,6 +153,11 @@ public class MemoryPlayerDB implements PlayerDB {
         return offlinePlayer != null ? offlinePlayer.getPlayer() : null;
     }
 
+    @EventHandler(priority = EventPriority.LOW)
+    public void onPlayerJoin(PlayerJoinEvent e) {
+        updatePlayer(e.getPlayer().getUniqueId(), e.getPlayer().getName(), e.getPlayer().getDisplayName());
+    }
+
     @Override
     public void shutdown() {
         nameCache.cleanUp();
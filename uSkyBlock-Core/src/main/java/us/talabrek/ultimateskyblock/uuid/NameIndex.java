@@ -0,0 +1,64 @@
+package us.talabrek.ultimateskyblock.uuid;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted, case-insensitive index of player names, supporting bounded prefix lookups.
+ * <p>
+ * Lookups run in O(log n + k), where k is the number of names returned, instead of
+ * copying and filtering every known name.
+ */
+class NameIndex {
+    private final NavigableMap<String, String> names = new ConcurrentSkipListMap<>();
+
+    void add(@Nullable String name) {
+        if (name != null) {
+            names.put(toKey(name), name);
+        }
+    }
+
+    void remove(@Nullable String name) {
+        if (name != null) {
+            names.remove(toKey(name), name);
+        }
+    }
+
+    int size() {
+        return names.size();
+    }
+
+    /**
+     * Returns up to <code>limit</code> names starting with the given prefix (ignoring case), in sorted order.
+     * @param prefix The prefix to search for, <code>null</code> or empty matches all names.
+     * @param limit  Maximum number of names to return, negative for no limit.
+     * @return The matching names.
+     */
+    @NotNull
+    Set<String> find(@Nullable String prefix, int limit) {
+        Map<String, String> view = names;
+        if (prefix != null && !prefix.isEmpty()) {
+            String from = toKey(prefix);
+            view = names.subMap(from, true, from + Character.MAX_VALUE, false);
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (String name : view.values()) {
+            if (limit >= 0 && result.size() >= limit) {
+                break;
+            }
+            result.add(name);
+        }
+        return result;
+    }
+
+    private static String toKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
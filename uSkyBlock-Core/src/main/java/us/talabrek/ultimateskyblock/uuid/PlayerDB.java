@@ -51,6 +51,15 @@ public interface PlayerDB extends Listener {
     String getDisplayName(String playerName);
 
     Set<String> getNames(String search);
+
+    /**
+     * Returns at most <code>limit</code> known names starting with the search-term (ignoring case).
+     * @param search The prefix to search for, <code>null</code> matches all names.
+     * @param limit  Maximum number of names to return.
+     * @return The matching names.
+     */
+    Set<String> getNames(String search, int limit);
+
     /**
      * Stores a new name in the DB.
      */
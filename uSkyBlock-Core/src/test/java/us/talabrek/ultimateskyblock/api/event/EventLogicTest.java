@@ -0,0 +1,194 @@
+package us.talabrek.ultimateskyblock.api.event;
+
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.RegisteredListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.island.IslandInfo;
+import us.talabrek.ultimateskyblock.island.level.IslandScore;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EventLogicTest {
+    private final Listener listener = new Listener() {
+    };
+    private PluginManager pluginManager;
+    private Queue<Runnable> tasks;
+    private EventLogic eventLogic;
+
+    @Before
+    public void setUp() {
+        uSkyBlock plugin = mock(uSkyBlock.class);
+        Server server = mock(Server.class);
+        pluginManager = mock(PluginManager.class);
+        when(plugin.getServer()).thenReturn(server);
+        when(server.getPluginManager()).thenReturn(pluginManager);
+
+        tasks = new ArrayDeque<>();
+        Scheduler scheduler = mock(Scheduler.class);
+        when(scheduler.async(any(Runnable.class), any(Duration.class))).then(invocation -> {
+            tasks.add(invocation.getArgument(0));
+            return null;
+        });
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("options.advanced.eventCoalesceWindow", "100ms");
+        PluginConfig pluginConfig = mock(PluginConfig.class);
+        when(pluginConfig.getYamlConfig()).thenReturn(config);
+
+        eventLogic = new EventLogic(plugin, scheduler, pluginConfig, Logger.getLogger(EventLogicTest.class.getName()));
+        uSkyBlockScoreChangedEvent.getHandlerList().register(
+            new RegisteredListener(listener, (l, e) -> {}, EventPriority.NORMAL, mock(Plugin.class), false));
+    }
+
+    @After
+    public void tearDown() {
+        HandlerList.unregisterAll(listener);
+    }
+
+    private static Player player(UUID uuid) {
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(uuid);
+        return player;
+    }
+
+    private static IslandInfo island(String name) {
+        IslandInfo islandInfo = mock(IslandInfo.class);
+        when(islandInfo.getName()).thenReturn(name);
+        return islandInfo;
+    }
+
+    private List<uSkyBlockScoreChangedEvent> dispatched(int count) {
+        ArgumentCaptor<uSkyBlockScoreChangedEvent> captor = ArgumentCaptor.forClass(uSkyBlockScoreChangedEvent.class);
+        verify(pluginManager, times(count)).callEvent(captor.capture());
+        return captor.getAllValues();
+    }
+
+    @Test
+    public void testEventsWithoutListenersAreSkipped() {
+        eventLogic.fireMemberLeftEvent(island("0,0"), null);
+        eventLogic.fireChangeEvent(null, uSkyBlockEvent.Cause.RANK_UPDATED);
+
+        assertThat(tasks.isEmpty(), is(true));
+        assertThat(eventLogic.getSkipped(), is(2L));
+        assertThat(eventLogic.getQueued(), is(0L));
+    }
+
+    @Test
+    public void testScoreChangesAreCoalescedPerIsland() {
+        IslandInfo first = island("0,0");
+        IslandInfo second = island("128,0");
+        IslandScore latest = new IslandScore(30, List.of());
+
+        eventLogic.fireScoreChangedEvent(null, first, new IslandScore(10, List.of()));
+        eventLogic.fireScoreChangedEvent(null, second, new IslandScore(20, List.of()));
+        eventLogic.fireScoreChangedEvent(null, first, latest);
+
+        assertThat(tasks.size(), is(1));
+        assertThat(eventLogic.getQueueDepth(), is(2));
+        assertThat(eventLogic.getCoalesced(), is(1L));
+        tasks.poll().run();
+
+        List<uSkyBlockScoreChangedEvent> events = dispatched(2);
+        assertThat(events.get(0).getScore(), is(latest));
+        assertThat(events.get(1).getScore().getScore(), is(20.0));
+        assertThat(eventLogic.getQueueDepth(), is(0));
+        assertThat(eventLogic.getPeakQueueDepth(), is(2));
+        assertThat(eventLogic.getDispatched(), is(2L));
+    }
+
+    @Test
+    public void testScoreChangesAreCoalescedPerPlayer() {
+        IslandInfo islandInfo = island("0,0");
+        Player player = player(new UUID(1, 1));
+
+        eventLogic.fireScoreChangedEvent(player, islandInfo, new IslandScore(10, List.of()));
+        eventLogic.fireScoreChangedEvent(null, islandInfo, new IslandScore(20, List.of()));
+        eventLogic.fireScoreChangedEvent(player, islandInfo, new IslandScore(30, List.of()));
+        tasks.poll().run();
+
+        List<uSkyBlockScoreChangedEvent> events = dispatched(2);
+        assertThat(events.get(0).getPlayer(), is(player));
+        assertThat(events.get(0).getScore().getScore(), is(30.0));
+        assertThat(events.get(1).getPlayer(), is(nullValue()));
+        assertThat(events.get(1).getScore().getScore(), is(20.0));
+        assertThat(eventLogic.getCoalesced(), is(1L));
+    }
+
+    @Test
+    public void testDrainedEventsAreNotCoalesced() {
+        IslandInfo islandInfo = island("0,0");
+
+        eventLogic.fireScoreChangedEvent(null, islandInfo, new IslandScore(10, List.of()));
+        tasks.poll().run();
+        eventLogic.fireScoreChangedEvent(null, islandInfo, new IslandScore(20, List.of()));
+        assertThat(tasks.size(), is(1));
+        tasks.poll().run();
+
+        List<uSkyBlockScoreChangedEvent> events = dispatched(2);
+        assertThat(events.get(0).getScore().getScore(), is(10.0));
+        assertThat(events.get(1).getScore().getScore(), is(20.0));
+        assertThat(eventLogic.getCoalesced(), is(0L));
+    }
+
+    @Test
+    public void testChangeEventsAreCoalescedPerPlayer() {
+        uSkyBlockEvent.getHandlerList().register(
+            new RegisteredListener(listener, (l, e) -> {}, EventPriority.NORMAL, mock(Plugin.class), false));
+        Player first = player(new UUID(1, 1));
+        Player second = player(new UUID(1, 2));
+
+        eventLogic.fireChangeEvent(first, uSkyBlockEvent.Cause.RANK_UPDATED);
+        eventLogic.fireChangeEvent(second, uSkyBlockEvent.Cause.RANK_UPDATED);
+        eventLogic.fireChangeEvent(null, uSkyBlockEvent.Cause.RANK_UPDATED);
+        eventLogic.fireChangeEvent(null, uSkyBlockEvent.Cause.RANK_UPDATED);
+        eventLogic.fireChangeEvent(first, uSkyBlockEvent.Cause.RANK_UPDATED);
+        tasks.poll().run();
+
+        ArgumentCaptor<uSkyBlockEvent> captor = ArgumentCaptor.forClass(uSkyBlockEvent.class);
+        verify(pluginManager, times(3)).callEvent(captor.capture());
+        List<uSkyBlockEvent> events = captor.getAllValues();
+        assertThat(events.get(0).getPlayer(), is(first));
+        assertThat(events.get(1).getPlayer(), is(second));
+        assertThat(events.get(2).getPlayer(), is(nullValue()));
+        assertThat(eventLogic.getCoalesced(), is(2L));
+    }
+
+    @Test
+    public void testShutdownDropsQueuedEvents() {
+        eventLogic.fireScoreChangedEvent(null, island("0,0"), new IslandScore(10, List.of()));
+
+        eventLogic.shutdown();
+        tasks.poll().run();
+
+        verify(pluginManager, never()).callEvent(any());
+        assertThat(eventLogic.getQueueDepth(), is(0));
+    }
+}
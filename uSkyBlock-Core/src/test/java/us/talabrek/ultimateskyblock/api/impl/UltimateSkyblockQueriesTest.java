@@ -0,0 +1,234 @@
+package us.talabrek.ultimateskyblock.api.impl;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import us.talabrek.ultimateskyblock.api.IslandLevel;
+import us.talabrek.ultimateskyblock.api.IslandRank;
+import us.talabrek.ultimateskyblock.api.query.IslandSnapshot;
+import us.talabrek.ultimateskyblock.api.query.PlayerSnapshot;
+import us.talabrek.ultimateskyblock.api.query.RankSnapshot;
+import us.talabrek.ultimateskyblock.island.IslandInfo;
+import us.talabrek.ultimateskyblock.island.IslandLogic;
+import us.talabrek.ultimateskyblock.player.PlayerInfo;
+import us.talabrek.ultimateskyblock.player.PlayerLogic;
+import us.talabrek.ultimateskyblock.uuid.PlayerDB;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UltimateSkyblockQueriesTest {
+    private static final UUID LEADER = new UUID(1, 1);
+    private static final UUID MEMBER = new UUID(1, 2);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private IslandLogic islandLogic;
+    private PlayerLogic playerLogic;
+    private PlayerDB playerDB;
+    private Queue<Runnable> asyncTasks;
+    private Queue<Runnable> syncTasks;
+    private UltimateSkyblockQueries queries;
+
+    @Before
+    public void setUp() throws IOException {
+        Path islandDir = folder.newFolder("islands").toPath();
+        folder.newFile("islands/128,0.yml");
+        folder.newFile("islands/256,0.yml");
+        islandLogic = mock(IslandLogic.class);
+        playerLogic = mock(PlayerLogic.class);
+        playerDB = mock(PlayerDB.class);
+        when(islandLogic.getIslandDirectory()).thenReturn(islandDir);
+        when(playerLogic.getPlayerDataDirectory()).thenReturn(folder.newFolder("players").toPath());
+        asyncTasks = new ArrayDeque<>();
+        syncTasks = new ArrayDeque<>();
+        queries = new UltimateSkyblockQueries(islandLogic, playerLogic, playerDB, asyncTasks::add, syncTasks::add);
+    }
+
+    private void runTasks() {
+        while (!asyncTasks.isEmpty() || !syncTasks.isEmpty()) {
+            Runnable task = asyncTasks.poll();
+            (task != null ? task : syncTasks.poll()).run();
+        }
+    }
+
+    private static IslandInfo island(String name, double level, Set<UUID> members) {
+        IslandInfo islandInfo = mock(IslandInfo.class);
+        when(islandInfo.getName()).thenReturn(name);
+        when(islandInfo.getLeader()).thenReturn("leader");
+        when(islandInfo.getLeaderUniqueId()).thenReturn(LEADER);
+        when(islandInfo.getMemberUUIDs()).thenReturn(members);
+        when(islandInfo.getMembers()).thenReturn(Set.of("leader"));
+        when(islandInfo.getTrusteeUUIDs()).thenReturn(List.of());
+        when(islandInfo.getLevel()).thenReturn(level);
+        when(islandInfo.getBiomeName()).thenReturn("ocean");
+        when(islandInfo.getSchematicName()).thenReturn("default");
+        return islandInfo;
+    }
+
+    @Test
+    public void testIslandIsLoadedAsyncAndCopiedSync() {
+        Set<UUID> members = new HashSet<>(Set.of(LEADER));
+        IslandInfo islandInfo = island("128,0", 42.5, members);
+        when(islandLogic.getIslandInfo("128,0")).thenReturn(islandInfo);
+
+        CompletableFuture<Optional<IslandSnapshot>> future = queries.getIsland("128,0");
+        verify(islandLogic, never()).getIslandInfo(anyString());
+        asyncTasks.poll().run();
+        verify(islandInfo, never()).getLevel();
+        assertThat(future.isDone(), is(false));
+        syncTasks.poll().run();
+
+        IslandSnapshot snapshot = future.join().orElseThrow();
+        members.add(MEMBER);
+        assertThat(snapshot.name(), is("128,0"));
+        assertThat(snapshot.leaderId(), is(LEADER));
+        assertThat(snapshot.level(), is(42.5));
+        assertThat(snapshot.memberIds(), is(Set.of(LEADER)));
+    }
+
+    @Test
+    public void testUnknownIslandsAreNotLoaded() {
+        CompletableFuture<Optional<IslandSnapshot>> missing = queries.getIsland("384,0");
+        CompletableFuture<Optional<IslandSnapshot>> invalid = queries.getIsland("../128,0");
+        runTasks();
+
+        assertThat(missing.join().isPresent(), is(false));
+        assertThat(invalid.join().isPresent(), is(false));
+        verify(islandLogic, never()).getIslandInfo(anyString());
+    }
+
+    @Test
+    public void testGetIslandsSkipsMissing() {
+        IslandInfo first = island("128,0", 1, Set.of(LEADER));
+        IslandInfo second = island("256,0", 2, Set.of(LEADER));
+        when(islandLogic.getIslandInfo("128,0")).thenReturn(first);
+        when(islandLogic.getIslandInfo("256,0")).thenReturn(second);
+
+        CompletableFuture<Map<String, IslandSnapshot>> future = queries.getIslands(List.of("256,0", "384,0", "128,0"));
+        runTasks();
+
+        Map<String, IslandSnapshot> islands = future.join();
+        assertThat(islands.keySet(), contains("256,0", "128,0"));
+        assertThat(islands.get("128,0").level(), is(1.0));
+    }
+
+    @Test
+    public void testPlayerWithoutIsland() {
+        PlayerInfo playerInfo = mock(PlayerInfo.class);
+        when(playerInfo.getUniqueId()).thenReturn(MEMBER);
+        when(playerInfo.getPlayerName()).thenReturn("member");
+        when(playerInfo.getTrustedOn()).thenReturn(List.of("128,0"));
+        when(playerInfo.getBannedFrom()).thenReturn(List.of());
+        when(playerLogic.getPlayerInfo(MEMBER)).thenReturn(playerInfo);
+        when(playerDB.getName(MEMBER)).thenReturn("member");
+
+        CompletableFuture<Optional<PlayerSnapshot>> player = queries.getPlayer(MEMBER);
+        CompletableFuture<Double> level = queries.getIslandLevel(MEMBER);
+        CompletableFuture<Optional<RankSnapshot>> rank = queries.getPlayerRank(MEMBER);
+        runTasks();
+
+        assertThat(player.join().orElseThrow().hasIsland(), is(false));
+        assertThat(player.join().orElseThrow().trustedOn(), contains("128,0"));
+        assertThat(level.join(), is(0.0));
+        assertThat(rank.join().isPresent(), is(false));
+    }
+
+    @Test
+    public void testUnknownPlayersAreNotLoaded() {
+        UUID unknown = new UUID(2, 2);
+
+        CompletableFuture<Optional<PlayerSnapshot>> player = queries.getPlayer(unknown);
+        CompletableFuture<Optional<IslandSnapshot>> island = queries.getPlayerIsland(unknown);
+        CompletableFuture<Optional<RankSnapshot>> rank = queries.getPlayerRank(PlayerDB.UNKNOWN_PLAYER_UUID);
+        runTasks();
+
+        assertThat(player.join().isPresent(), is(false));
+        assertThat(island.join().isPresent(), is(false));
+        assertThat(rank.join().isPresent(), is(false));
+        verify(playerLogic, never()).getPlayerInfo(any(UUID.class));
+    }
+
+    @Test
+    public void testPlayerRankIsLookedUpAsync() throws IOException {
+        // Known from its player file only
+        folder.newFile("players/" + LEADER + ".yml");
+        PlayerInfo playerInfo = mock(PlayerInfo.class);
+        when(playerInfo.getHasIsland()).thenReturn(true);
+        when(playerInfo.locationForParty()).thenReturn("128,0");
+        when(playerLogic.getPlayerInfo(LEADER)).thenReturn(playerInfo);
+        when(islandLogic.getRank("128,0")).thenReturn(new IslandRank("128,0", "leader", List.of(), 20, 3));
+
+        CompletableFuture<Optional<RankSnapshot>> future = queries.getPlayerRank(LEADER);
+        asyncTasks.poll().run();
+        verify(playerInfo, never()).locationForParty();
+        syncTasks.poll().run();
+        verify(islandLogic, never()).getRank(anyString());
+        asyncTasks.poll().run();
+        assertThat(future.isDone(), is(false));
+        syncTasks.poll().run();
+
+        assertThat(future.join().orElseThrow().rank(), is(3));
+    }
+
+    @Test
+    public void testRanksAreNumberedFromOffset() {
+        when(islandLogic.getRanks(10, 2)).thenReturn(List.of(
+            new IslandLevel("128,0", "leader", List.of("member"), 20),
+            new IslandLevel("256,0", "other", List.of(), 10)));
+
+        CompletableFuture<List<RankSnapshot>> future = queries.getRanks(10, 2);
+        verify(islandLogic, never()).getRanks(anyInt(), anyInt());
+        runTasks();
+
+        List<RankSnapshot> ranks = future.join();
+        assertThat(ranks.get(0), is(new RankSnapshot("128,0", "leader", List.of("member"), 20, 11)));
+        assertThat(ranks.get(1).rank(), is(12));
+    }
+
+    @Test
+    public void testRanksWithoutLength() {
+        CompletableFuture<List<RankSnapshot>> negative = queries.getRanks(0, -1);
+        CompletableFuture<List<RankSnapshot>> empty = queries.getRanks(5, 0);
+        runTasks();
+
+        assertThat(negative.join(), is(List.of()));
+        assertThat(empty.join(), is(List.of()));
+        verify(islandLogic, never()).getRanks(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testRankIsLookedUpAsyncAndCompletedSync() {
+        when(islandLogic.getRank("128,0")).thenReturn(new IslandRank("128,0", "leader", List.of(), 20, 1));
+
+        CompletableFuture<Optional<RankSnapshot>> future = queries.getRank("128,0");
+        verify(islandLogic, never()).getRank(anyString());
+        asyncTasks.poll().run();
+        assertThat(future.isDone(), is(false));
+        syncTasks.poll().run();
+
+        assertThat(future.join().orElseThrow().rank(), is(1));
+    }
+}
@@ -0,0 +1,59 @@
+package us.talabrek.ultimateskyblock.async;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsCoverEveryValue() {
+        for (long value = 0; value < 100_000; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertThat(value <= LatencyHistogram.bucketUpperBound(index), is(true));
+            if (index > 0) {
+                assertThat(value > LatencyHistogram.bucketUpperBound(index - 1), is(true));
+            }
+        }
+    }
+
+    @Test
+    public void testBucketErrorIsBounded() {
+        for (long value = LatencyHistogram.SUB_BUCKETS; value < 1L << 40; value = value * 3 / 2) {
+            long upper = LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(value));
+            assertThat(upper - value, lessThanOrEqualTo(value / LatencyHistogram.SUB_BUCKETS));
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(Duration.ofMillis(i));
+        }
+
+        assertThat(histogram.getCount(), is(100L));
+        assertThat(histogram.getMax(), is(Duration.ofMillis(100)));
+        assertThat(histogram.getTotal(), is(Duration.ofMillis(5050)));
+        assertWithin(histogram.getPercentile(0.5), Duration.ofMillis(50));
+        assertWithin(histogram.getPercentile(0.99), Duration.ofMillis(99));
+        assertThat(histogram.getPercentile(1), is(Duration.ofMillis(100)));
+    }
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getPercentile(0.5), is(Duration.ZERO));
+        assertThat(histogram.getMax(), is(Duration.ZERO));
+    }
+
+    private static void assertWithin(Duration actual, Duration expected) {
+        assertThat(expected.compareTo(actual) <= 0, is(true));
+        assertThat(actual, lessThanOrEqualTo(expected.plus(expected.dividedBy(LatencyHistogram.SUB_BUCKETS))));
+    }
+}
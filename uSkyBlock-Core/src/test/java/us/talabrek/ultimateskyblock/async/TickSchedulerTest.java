@@ -0,0 +1,139 @@
+package us.talabrek.ultimateskyblock.async;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Test;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TickSchedulerTest {
+    private Scheduler scheduler;
+    private TickScheduler tickScheduler;
+    private final List<String> runs = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        scheduler = mock(Scheduler.class);
+        YamlConfiguration yamlConfig = new YamlConfiguration();
+        yamlConfig.set("async.tickBudgetMs", 20);
+        PluginConfig config = mock(PluginConfig.class);
+        when(config.getYamlConfig()).thenReturn(yamlConfig);
+        tickScheduler = new TickScheduler(scheduler, config, Logger.getAnonymousLogger());
+    }
+
+    @Test
+    public void testPlayerWorkRunsFirst() {
+        new RecordingRunnable("normal", TickScheduler.Priority.NORMAL, 100, 20, null).run();
+        new RecordingRunnable("player", TickScheduler.Priority.PLAYER, 100, 20, null).run();
+
+        tickScheduler.tick();
+
+        assertThat(runs, contains("player", "normal"));
+    }
+
+    @Test
+    public void testLowerPriorityWorkIsNotStarved() {
+        RecordingRunnable player = new RecordingRunnable("player", TickScheduler.Priority.PLAYER, 100, 100, null);
+        // Overruns the whole budget every tick
+        player.busy = Duration.ofMillis(25);
+        player.run();
+        new RecordingRunnable("normal", TickScheduler.Priority.NORMAL, 100, 100, null).run();
+
+        for (int i = 0; i < 20; i++) {
+            tickScheduler.tick();
+        }
+        assertThat(runs.contains("normal"), is(false));
+
+        // Waited a second, so it goes first
+        tickScheduler.tick();
+        assertThat(runs.subList(runs.size() - 2, runs.size()), contains("normal", "player"));
+    }
+
+    @Test
+    public void testSlicesShareTheBudget() {
+        RecordingRunnable first = new RecordingRunnable("first", TickScheduler.Priority.NORMAL, 100, 20, null);
+        RecordingRunnable second = new RecordingRunnable("second", TickScheduler.Priority.NORMAL, 100, 20, null);
+        first.run();
+        second.run();
+
+        tickScheduler.tick();
+
+        assertThat(first.firstSlice, lessThanOrEqualTo(Duration.ofMillis(10)));
+        assertThat(second.firstSlice, lessThanOrEqualTo(Duration.ofMillis(20)));
+        assertThat(first.firstSlice.isPositive(), is(true));
+    }
+
+    @Test
+    public void testYieldsAfterMaxConsecutiveRuns() {
+        new RecordingRunnable("job", TickScheduler.Priority.NORMAL, 100, 2, null).run();
+
+        for (int i = 0; i < 6; i++) {
+            tickScheduler.tick();
+        }
+
+        // Ticks 1 and 2, then a 3 tick yield, then ticks 5 and 6
+        assertThat(runs.size(), is(4));
+    }
+
+    @Test
+    public void testCompletedWorkIsRemoved() {
+        Runnable onCompletion = () -> {};
+        new RecordingRunnable("job", TickScheduler.Priority.NORMAL, 2, 20, onCompletion).run();
+
+        tickScheduler.tick();
+        assertThat(tickScheduler.getRunningCount(), is(1));
+        tickScheduler.tick();
+        tickScheduler.tick();
+
+        assertThat(runs.size(), is(2));
+        assertThat(tickScheduler.getRunningCount(), is(0));
+        verify(scheduler).sync(onCompletion);
+    }
+
+    private class RecordingRunnable extends IncrementalRunnable {
+        private final String name;
+        private final TickScheduler.Priority priority;
+        private int runsLeft;
+        private Duration firstSlice;
+        private Duration busy = Duration.ZERO;
+
+        RecordingRunnable(String name, TickScheduler.Priority priority, int runs, long maxConsecutiveRuns, Runnable onCompletion) {
+            super(tickScheduler, onCompletion, Duration.ofMillis(100), maxConsecutiveRuns, Duration.ofMillis(150));
+            this.name = name;
+            this.priority = priority;
+            this.runsLeft = runs;
+        }
+
+        @Override
+        protected boolean execute() {
+            if (firstSlice == null) {
+                firstSlice = millisLeft();
+            }
+            TickSchedulerTest.this.runs.add(name);
+            long until = System.nanoTime() + busy.toNanos();
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+            return --runsLeft <= 0;
+        }
+
+        @Override
+        protected @NotNull TickScheduler.Priority getPriority() {
+            return priority;
+        }
+    }
+}
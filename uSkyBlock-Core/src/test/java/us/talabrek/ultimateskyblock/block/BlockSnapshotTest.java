@@ -0,0 +1,108 @@
+package us.talabrek.ultimateskyblock.block;
+
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.junit.Before;
+import org.junit.Test;
+import us.talabrek.ultimateskyblock.util.LocationUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BlockSnapshotTest {
+    private final Map<String, Material> blocks = new HashMap<>();
+    private World world;
+
+    @Before
+    public void setUp() {
+        world = mock(World.class);
+        when(world.getMinHeight()).thenReturn(-64);
+        when(world.getMaxHeight()).thenReturn(320);
+        ChunkSnapshot emptySnapshot = mock(ChunkSnapshot.class);
+        when(emptySnapshot.getBlockType(anyInt(), anyInt(), anyInt())).thenReturn(Material.AIR);
+        Chunk emptyChunk = mockChunk(emptySnapshot);
+        when(world.getChunkAt(anyInt(), anyInt())).thenReturn(emptyChunk);
+
+        // Only chunk 0,0 has blocks, a stone floor at y=99
+        ChunkSnapshot snapshot = mock(ChunkSnapshot.class);
+        when(snapshot.getBlockType(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            int x = invocation.getArgument(0);
+            int y = invocation.getArgument(1);
+            int z = invocation.getArgument(2);
+            Material material = blocks.get(x + "," + y + "," + z);
+            if (material != null) {
+                return material;
+            }
+            return y == 99 ? Material.STONE : Material.AIR;
+        });
+        Chunk chunk = mockChunk(snapshot);
+        when(world.getChunkAt(0, 0)).thenReturn(chunk);
+    }
+
+    private Chunk mockChunk(ChunkSnapshot snapshot) {
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.getChunkSnapshot(false, false, false)).thenReturn(snapshot);
+        return chunk;
+    }
+
+    @Test
+    public void testGetTypeOutsideSnapshot() {
+        BlockSnapshot snapshot = BlockSnapshot.around(new Location(world, 8, 100, 8), 2);
+
+        assertThat(snapshot.getType(8, 99, 8), is(Material.STONE));
+        assertThat(snapshot.getType(8, 100, 8), is(Material.AIR));
+        assertThat(snapshot.getType(8, 103, 8), nullValue());
+        assertThat(snapshot.getType(11, 100, 8), nullValue());
+    }
+
+    @Test
+    public void testFindNearestSafeSpot() {
+        Location origin = new Location(world, 8, 105, 8);
+
+        int[] spot = LocationUtil.findNearestSafeSpot(LocationUtil.snapshotAround(origin), origin);
+
+        assertThat(spot, is(new int[]{8, 100, 8}));
+    }
+
+    @Test
+    public void testFindNearestSafeSpotSkipsFluids() {
+        blocks.put("8,100,8", Material.WATER);
+        Location origin = new Location(world, 8, 105, 8);
+
+        int[] spot = LocationUtil.findNearestSafeSpot(LocationUtil.snapshotAround(origin), origin);
+
+        assertThat(spot, is(new int[]{8, 100, 9}));
+    }
+
+    @Test
+    public void testFindNearestSafeSpotWithoutGround() {
+        Location origin = new Location(world, 8, 200, 8);
+
+        int[] spot = LocationUtil.findNearestSafeSpot(LocationUtil.snapshotAround(origin), origin);
+
+        assertThat(spot, nullValue());
+    }
+
+    @Test
+    public void testFindChestLocationScansLayersFromTheCenter() {
+        blocks.put("8,101,8", Material.CHEST);
+        blocks.put("14,100,1", Material.CHEST);
+        blocks.put("15,100,15", Material.CHEST);
+
+        Location chest = LocationUtil.findChestLocation(new Location(world, 8, 100, 8));
+
+        assertThat(chest.getBlockX(), is(14));
+        assertThat(chest.getBlockY(), is(100));
+        assertThat(chest.getBlockZ(), is(1));
+    }
+}
@@ -0,0 +1,153 @@
+package us.talabrek.ultimateskyblock.challenge;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import us.talabrek.ultimateskyblock.player.PlayerInfo;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChallengeCompletionLogicTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Queue<Runnable> asyncTasks;
+    private PlayerInfo playerInfo;
+    private File completionFile;
+    private Runnable onSaved = () -> {};
+    private ChallengeCompletionLogic completionLogic;
+
+    @Before
+    public void setUp() {
+        uSkyBlock plugin = mock(uSkyBlock.class);
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+        when(plugin.getDataFolder()).thenReturn(folder.getRoot());
+        when(plugin.getLogger()).thenReturn(Logger.getLogger(ChallengeCompletionLogicTest.class.getName()));
+
+        asyncTasks = new ArrayDeque<>();
+        Scheduler scheduler = mock(Scheduler.class);
+        when(scheduler.async(any(Runnable.class))).then(invocation -> {
+            asyncTasks.add(invocation.getArgument(0));
+            return null;
+        });
+        when(plugin.getScheduler()).thenReturn(scheduler);
+
+        ChallengeLogic challengeLogic = mock(ChallengeLogic.class);
+        doAnswer(invocation -> {
+            Map<String, ChallengeCompletion> map = invocation.getArgument(0);
+            map.putIfAbsent("cobblestonegenerator", new ChallengeCompletion("cobblestonegenerator", null, 0, 0) {
+                @Override
+                void setDirty(boolean dirty) {
+                    super.setDirty(dirty);
+                    if (!dirty) {
+                        onSaved.run();
+                    }
+                }
+            });
+            return null;
+        }).when(challengeLogic).populateChallenges(anyMap());
+        when(challengeLogic.getResetDuration(anyString())).thenReturn(Duration.ZERO);
+        when(plugin.getChallengeLogic()).thenReturn(challengeLogic);
+
+        playerInfo = mock(PlayerInfo.class);
+        when(playerInfo.getHasIsland()).thenReturn(true);
+        when(playerInfo.locationForParty()).thenReturn("0,0");
+        when(playerInfo.getConfig()).thenReturn(new YamlConfiguration());
+
+        completionFile = new File(folder.getRoot(), "completion/0,0.yml");
+        completionLogic = new ChallengeCompletionLogic(plugin, new YamlConfiguration(), id -> {});
+    }
+
+    @Test
+    public void testUnmodifiedIsNotSaved() {
+        assertThat(completionLogic.checkChallenge(playerInfo, "cobblestonegenerator"), is(0));
+
+        completionLogic.flushCache();
+
+        assertThat(asyncTasks.isEmpty(), is(true));
+        assertThat(completionFile.exists(), is(false));
+        assertThat(completionLogic.getStats(), startsWith("writes: 0, avoided: 1,"));
+    }
+
+    @Test
+    public void testModifiedIsSavedOnceByWriteBehind() {
+        completionLogic.completeChallenge(playerInfo, "cobblestonegenerator");
+
+        completionLogic.flushCache();
+        assertThat(completionFile.exists(), is(false));
+        assertThat(asyncTasks.size(), is(1));
+        asyncTasks.poll().run();
+
+        assertThat(completionFile.exists(), is(true));
+        assertThat(YamlConfiguration.loadConfiguration(completionFile).getInt("cobblestonegenerator.timesCompleted"), is(1));
+
+        // Reloaded, but unchanged since it was written
+        assertThat(completionLogic.checkChallenge(playerInfo, "cobblestonegenerator"), is(1));
+        completionLogic.flushCache();
+        assertThat(asyncTasks.isEmpty(), is(true));
+        assertThat(completionLogic.getStats(), startsWith("writes: 1, avoided: 1,"));
+    }
+
+    @Test
+    public void testWriteQueuedWhileWritingIsScheduled() {
+        // Stored in an earlier bin of the pending writes, so the running writer does not reach it
+        PlayerInfo other = mock(PlayerInfo.class);
+        when(other.getHasIsland()).thenReturn(true);
+        when(other.locationForParty()).thenReturn("128,0");
+        when(other.getConfig()).thenReturn(new YamlConfiguration());
+        File otherFile = new File(folder.getRoot(), "completion/128,0.yml");
+        onSaved = () -> {
+            onSaved = () -> {};
+            completionLogic.completeChallenge(other, "cobblestonegenerator");
+            completionLogic.flushCache();
+        };
+
+        completionLogic.completeChallenge(playerInfo, "cobblestonegenerator");
+        completionLogic.flushCache();
+        assertThat(asyncTasks.size(), is(1));
+        asyncTasks.poll().run();
+
+        assertThat(completionFile.exists(), is(true));
+        assertThat(otherFile.exists(), is(false));
+        assertThat(asyncTasks.size(), is(1));
+        asyncTasks.poll().run();
+
+        assertThat(otherFile.exists(), is(true));
+        assertThat(asyncTasks.isEmpty(), is(true));
+        assertThat(completionLogic.getStats(), startsWith("writes: 2, avoided: 0, coalesced: 0, pending: 0"));
+    }
+
+    @Test
+    public void testPendingWriteIsFlushedOnShutdown() {
+        completionLogic.completeChallenge(playerInfo, "cobblestonegenerator");
+        completionLogic.flushCache();
+        assertThat(completionFile.exists(), is(false));
+
+        completionLogic.shutdown();
+
+        assertThat(completionFile.exists(), is(true));
+        assertThat(completionLogic.getStats(), is("writes: 1, avoided: 0, coalesced: 0, pending: 0"));
+        // The write-task queued before shutdown has nothing left to write
+        asyncTasks.poll().run();
+        assertThat(completionLogic.getStats(), startsWith("writes: 1,"));
+    }
+}
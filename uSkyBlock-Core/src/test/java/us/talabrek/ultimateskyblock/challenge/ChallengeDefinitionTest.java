@@ -0,0 +1,138 @@
+package us.talabrek.ultimateskyblock.challenge;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import us.talabrek.ultimateskyblock.player.PlayerInfo;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the precompiled challenge requirements, against a fixture with malformed entries and the shipped challenges.yml.
+ */
+public class ChallengeDefinitionTest {
+
+    private static YamlConfiguration config;
+    private static ChallengeDefaults defaults;
+
+    @BeforeClass
+    public static void beforeAll() throws Exception {
+        try (InputStream in = Objects.requireNonNull(ChallengeDefinitionTest.class.getClassLoader().getResourceAsStream("challenges.yml"))) {
+            config = YamlConfiguration.loadConfiguration(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        defaults = ChallengeFactory.createDefaults(config.getRoot());
+    }
+
+    private static YamlConfiguration fixture() throws Exception {
+        try (InputStream in = Objects.requireNonNull(ChallengeDefinitionTest.class.getClassLoader().getResourceAsStream("challengefactory/requirements.yml"))) {
+            return YamlConfiguration.loadConfiguration(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static ChallengeCompletion completion(String name, int timesCompleted) {
+        return new ChallengeCompletion(name, null, timesCompleted, timesCompleted);
+    }
+
+    @Test
+    public void testParseRequirement() {
+        assertThat(ChallengeRequirement.parse("cobblestonegenerator"), is(new ChallengeRequirement("cobblestonegenerator", 1)));
+        assertThat(ChallengeRequirement.parse(" pumpkinfarmer :2"), is(new ChallengeRequirement("pumpkinfarmer", 2)));
+        assertThat(ChallengeRequirement.parse("pumpkinfarmer:0"), is(new ChallengeRequirement("pumpkinfarmer", 1)));
+        assertThat(ChallengeRequirement.parse("pumpkinfarmer:many"), is(new ChallengeRequirement("pumpkinfarmer", 1)));
+    }
+
+    @Test
+    public void testRankWithoutRequiresUsesDefaults() throws Exception {
+        YamlConfiguration root = fixture();
+        RankRequirements requirements = RankRequirements.from(root.getConfigurationSection("ranks.Tier1"), ChallengeFactory.createDefaults(root));
+
+        assertThat(requirements.explicit(), is(false));
+        assertThat(requirements.rankLeeway(), is(3));
+        assertThat(requirements.challenges(), is(empty()));
+    }
+
+    @Test
+    public void testRankRequirementsAreParsed() throws Exception {
+        YamlConfiguration root = fixture();
+        ChallengeDefaults fixtureDefaults = ChallengeFactory.createDefaults(root);
+
+        RankRequirements tier2 = RankRequirements.from(root.getConfigurationSection("ranks.Tier2"), fixtureDefaults);
+        assertThat(tier2.explicit(), is(true));
+        assertThat(tier2.rankLeeway(), is(0));
+        // Malformed counts fall back to 1, and the blank entry is skipped
+        assertThat(tier2.challenges(), contains(
+            new ChallengeRequirement("cobblestonegenerator", 1),
+            new ChallengeRequirement("pumpkinfarmer", 3),
+            new ChallengeRequirement("melonfarmer", 1),
+            new ChallengeRequirement("cactusfarmer", 1)));
+
+        RankRequirements tier3 = RankRequirements.from(root.getConfigurationSection("ranks.Tier3"), fixtureDefaults);
+        assertThat(tier3.rankLeeway(), is(3));
+        assertThat(tier3.challenges(), contains(new ChallengeRequirement("pumpkinfarmer", 1)));
+    }
+
+    @Test
+    public void testChallengeRequirementsSkipBlankEntries() throws Exception {
+        List<String> required = fixture().getStringList("ranks.Tier2.challenges.pumpkinfarmer.requiredChallenges");
+
+        assertThat(required.size(), is(2));
+        assertThat(ChallengeRequirement.parse(required), contains(new ChallengeRequirement("cobblestonegenerator", 2)));
+    }
+
+    @Test
+    public void testMissingChallengesFromParsedRequirements() throws Exception {
+        YamlConfiguration root = fixture();
+        RankRequirements tier2 = RankRequirements.from(root.getConfigurationSection("ranks.Tier2"), ChallengeFactory.createDefaults(root));
+        PlayerInfo playerInfo = mock(PlayerInfo.class);
+        when(playerInfo.getChallenge("cobblestonegenerator")).thenReturn(completion("cobblestonegenerator", 4));
+        when(playerInfo.getChallenge("pumpkinfarmer")).thenReturn(completion("pumpkinfarmer", 1));
+        when(playerInfo.getChallenge("melonfarmer")).thenReturn(completion("melonfarmer", 0));
+        // cactusfarmer is not a known challenge, so it has no completion and is ignored
+
+        String missing = ChallengeFormat.getMissingChallenges(playerInfo, tier2.challenges(), mock(ChallengeLogic.class));
+
+        assertThat(missing, is("\u00a7f2x \u00a77pumpkinfarmer, \u00a77melonfarmer"));
+    }
+
+    @Test
+    public void testRequiredChallengesExist() {
+        ConfigurationSection ranks = config.getConfigurationSection("ranks");
+        Set<String> challengeNames = new HashSet<>();
+        for (String rankKey : ranks.getKeys(false)) {
+            for (String challengeName : ranks.getConfigurationSection(rankKey + ".challenges").getKeys(false)) {
+                challengeNames.add(challengeName.toLowerCase());
+            }
+        }
+        assertThat(challengeNames.isEmpty(), is(false));
+        for (String rankKey : ranks.getKeys(false)) {
+            ConfigurationSection rankSection = ranks.getConfigurationSection(rankKey);
+            for (ChallengeRequirement requirement : RankRequirements.from(rankSection, defaults).challenges()) {
+                assertThat(rankKey, challengeNames, hasItem(requirement.name()));
+            }
+            ConfigurationSection challenges = rankSection.getConfigurationSection("challenges");
+            for (String challengeName : challenges.getKeys(false)) {
+                List<String> required = challenges.getConfigurationSection(challengeName).getStringList("requiredChallenges");
+                for (ChallengeRequirement requirement : ChallengeRequirement.parse(required)) {
+                    assertThat(challengeName, challengeNames, hasItem(requirement.name()));
+                    assertThat(challengeName, requirement.name(), not(challengeName));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package us.talabrek.ultimateskyblock.challenge;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import us.talabrek.ultimateskyblock.player.PlayerInfo;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProgressCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ProgressCache progressCache;
+    private ChallengeCompletionLogic completionLogic;
+
+    @Before
+    public void setUp() {
+        YamlConfiguration config = new YamlConfiguration();
+        // Room for a single island, so loading another one evicts it
+        config.set("options.advanced.completionCache", "maximumSize=1");
+        uSkyBlock plugin = mock(uSkyBlock.class);
+        when(plugin.getConfig()).thenReturn(config);
+        when(plugin.getDataFolder()).thenReturn(folder.getRoot());
+        when(plugin.getLogger()).thenReturn(Logger.getLogger(ProgressCacheTest.class.getName()));
+
+        progressCache = new ProgressCache();
+        completionLogic = new ChallengeCompletionLogic(plugin, new YamlConfiguration(), progressCache::invalidate);
+    }
+
+    private static ChallengeProgress progress() {
+        return new ChallengeProgress(List.of(), mock(PlayerInfo.class));
+    }
+
+    @Test
+    public void testEvictionWhileBuildingIsNotCached() {
+        completionLogic.getIslandChallenges("0,0");
+
+        ChallengeProgress progress = progressCache.get("0,0", () -> {
+            // Reading the completions of another island evicts those of 0,0
+            completionLogic.getIslandChallenges("128,0");
+            return progress();
+        });
+
+        assertThat(progressCache.size(), is(0));
+        assertThat(progressCache.get("0,0", ProgressCacheTest::progress), not(sameInstance(progress)));
+        assertThat(progressCache.size(), is(1));
+    }
+
+    @Test
+    public void testProgressIsCached() {
+        ChallengeProgress progress = progressCache.get("0,0", ProgressCacheTest::progress);
+
+        assertThat(progressCache.get("0,0", ProgressCacheTest::progress), sameInstance(progress));
+        progressCache.invalidate("0,0");
+        assertThat(progressCache.get("0,0", ProgressCacheTest::progress), not(sameInstance(progress)));
+    }
+
+    @Test
+    public void testEvictionAfterBuildInvalidates() {
+        completionLogic.getIslandChallenges("0,0");
+        ChallengeProgress progress = progressCache.get("0,0", ProgressCacheTest::progress);
+
+        completionLogic.getIslandChallenges("128,0");
+
+        assertThat(progressCache.get("0,0", ProgressCacheTest::progress), not(sameInstance(progress)));
+    }
+}
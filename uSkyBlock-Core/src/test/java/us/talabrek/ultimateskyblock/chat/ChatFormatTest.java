@@ -0,0 +1,34 @@
+package us.talabrek.ultimateskyblock.chat;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ChatFormatTest {
+
+    @Test
+    public void testFormat() {
+        ChatFormat format = ChatFormat.compile("\u00a79PARTY \u00a7r{DISPLAYNAME} \u00a7f>\u00a7d {MESSAGE}");
+        assertThat(format.format("\u00a7cR4zorax", "Hello world $123 \\o/"),
+            is("\u00a79PARTY \u00a7r\u00a7cR4zorax \u00a7f>\u00a7d Hello world $123 \\o/"));
+    }
+
+    @Test
+    public void testTokensInAnyOrderAndRepeated() {
+        ChatFormat format = ChatFormat.compile("{MESSAGE} - {DISPLAYNAME} ({DISPLAYNAME})");
+        assertThat(format.format("bob", "hi"), is("hi - bob (bob)"));
+    }
+
+    @Test
+    public void testTokensInValuesAreNotExpanded() {
+        ChatFormat format = ChatFormat.compile("{DISPLAYNAME}: {MESSAGE}");
+        assertThat(format.format("{MESSAGE}", "{DISPLAYNAME}"), is("{MESSAGE}: {DISPLAYNAME}"));
+    }
+
+    @Test
+    public void testNoTokens() {
+        assertThat(ChatFormat.compile("").format("bob", "hi"), is(""));
+        assertThat(ChatFormat.compile("static").format("bob", "hi"), is("static"));
+    }
+}
@@ -0,0 +1,119 @@
+package us.talabrek.ultimateskyblock.event;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import us.talabrek.ultimateskyblock.PluginConfig;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ListenerTimingsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private PluginManager manager;
+    private Plugin plugin;
+
+    @Before
+    public void setUp() {
+        manager = mock(PluginManager.class);
+        plugin = mock(Plugin.class);
+    }
+
+    private ListenerTimings timings(boolean enabled) {
+        YamlConfiguration yamlConfig = new YamlConfiguration();
+        yamlConfig.set("options.advanced.listenerTimings", enabled);
+        PluginConfig config = mock(PluginConfig.class);
+        when(config.getYamlConfig()).thenReturn(yamlConfig);
+        return new ListenerTimings(config, Logger.getAnonymousLogger(), folder.getRoot().toPath());
+    }
+
+    @Test
+    public void testDisabledRegistersAsUsual() {
+        TestListener listener = new TestListener();
+        timings(false).register(manager, listener, plugin);
+
+        verify(manager).registerEvents(listener, plugin);
+        verify(manager, never()).registerEvent(any(), any(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    public void testEnabledTimesEachHandler() throws Exception {
+        ListenerTimings timings = timings(true);
+        TestListener listener = new TestListener();
+        timings.register(manager, listener, plugin);
+
+        ArgumentCaptor<EventExecutor> executor = ArgumentCaptor.forClass(EventExecutor.class);
+        verify(manager).registerEvent(eq(TestEvent.class), eq(listener), eq(EventPriority.HIGH), executor.capture(), eq(plugin), eq(true));
+        verify(manager).registerEvent(eq(TestEvent.class), eq(listener), eq(EventPriority.NORMAL), any(), eq(plugin), eq(false));
+
+        executor.getValue().execute(listener, new TestEvent());
+        executor.getValue().execute(listener, new TestEvent());
+
+        assertThat(listener.high, is(2));
+        List<Map.Entry<String, ListenerTimings.Stats>> stats = timings.getStats();
+        assertThat(stats.size(), is(2));
+        Map.Entry<String, ListenerTimings.Stats> high = stats.stream()
+            .filter(e -> e.getKey().equals("TestListener.onHigh(TestEvent)")).findFirst().orElseThrow();
+        assertThat(high.getValue().getCount(), is(2L));
+
+        Path file = timings.export();
+        assertThat(Files.readString(file), containsString("usb_listener_calls_total{handler=\"TestListener.onHigh(TestEvent)\"} 2"));
+    }
+
+    public static class TestListener implements Listener {
+        private int high;
+
+        @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+        public void onHigh(TestEvent event) {
+            high++;
+        }
+
+        @EventHandler
+        private void onNormal(TestEvent event) {
+        }
+
+        public void notAHandler(TestEvent event) {
+        }
+    }
+
+    public static class TestEvent extends Event {
+        private static final HandlerList handlers = new HandlerList();
+
+        @Override
+        public @NotNull HandlerList getHandlers() {
+            return handlers;
+        }
+
+        public static HandlerList getHandlerList() {
+            return handlers;
+        }
+    }
+}
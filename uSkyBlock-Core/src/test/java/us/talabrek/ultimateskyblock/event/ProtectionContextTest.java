@@ -0,0 +1,83 @@
+package us.talabrek.ultimateskyblock.event;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.junit.Before;
+import org.junit.Test;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProtectionContextTest {
+    private uSkyBlock plugin;
+    private Player player;
+    private World world;
+    private ProtectionContext context;
+
+    @Before
+    public void setUp() {
+        plugin = mock(uSkyBlock.class);
+        world = mock(World.class);
+        player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(new UUID(1, 2));
+        when(player.getLocation()).thenReturn(new Location(world, 10.5, 64, 10.5));
+        when(plugin.playerIsOnOwnIsland(player)).thenReturn(false);
+        when(plugin.playerIsTrusted(player)).thenReturn(true);
+        when(player.hasPermission(ProtectionContext.BYPASS_PERMISSION)).thenReturn(false);
+        context = new ProtectionContext(plugin, mock());
+    }
+
+    @Test
+    public void testLookupsAreSharedWithinTick() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(context.isOnIsland(player), is(true));
+            assertThat(context.isAllowed(player), is(true));
+        }
+        verify(plugin, times(1)).playerIsOnOwnIsland(player);
+        verify(plugin, times(1)).playerIsTrusted(player);
+        verify(player, times(1)).hasPermission(ProtectionContext.BYPASS_PERMISSION);
+
+        context.nextTick();
+        assertThat(context.getTotalChecks(), is(12L));
+        assertThat(context.getTotalLookups(), is(2L));
+        assertThat(context.getPeakChecks(), is(12));
+    }
+
+    @Test
+    public void testNextTickForgets() {
+        context.isOnIsland(player);
+        context.nextTick();
+        context.isOnIsland(player);
+
+        verify(plugin, times(2)).playerIsOnOwnIsland(player);
+        assertThat(context.getTicks(), is(1L));
+    }
+
+    @Test
+    public void testMovingToAnotherBlockForgets() {
+        context.isOnIsland(player);
+        when(player.getLocation()).thenReturn(new Location(world, 10.9, 64, 10.1));
+        context.isOnIsland(player);
+        when(player.getLocation()).thenReturn(new Location(world, 11.5, 64, 10.5));
+        context.isOnIsland(player);
+
+        verify(plugin, times(2)).playerIsOnOwnIsland(player);
+    }
+
+    @Test
+    public void testInvalidate() {
+        context.isBypassing(player);
+        context.invalidate(player.getUniqueId());
+        context.isBypassing(player);
+
+        verify(player, times(2)).hasPermission(ProtectionContext.BYPASS_PERMISSION);
+    }
+}
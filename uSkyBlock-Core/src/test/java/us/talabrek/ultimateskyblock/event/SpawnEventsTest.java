@@ -30,7 +30,7 @@ public class SpawnEventsTest {
         when(fakePlugin.getWorldManager()).thenReturn(worldManager);
         when(fakePlugin.getConfig()).thenReturn(config);
 
-        spawnEvents = new SpawnEvents(fakePlugin);
+        spawnEvents = new SpawnEvents(fakePlugin, mock(ProtectionContext.class));
     }
 
     @Test
@@ -0,0 +1,81 @@
+package us.talabrek.ultimateskyblock.event;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class TerraFormSearchTest {
+
+    @Test
+    public void testPacking() {
+        for (int[] offsets : new int[][]{{0, 0}, {-1, 1}, {7, -7}, {-30, 30}}) {
+            int packed = TerraFormSearch.pack(offsets[0], offsets[1]);
+            assertThat(TerraFormSearch.unpackDy(packed), is(offsets[0]));
+            assertThat(TerraFormSearch.unpackDxz(packed), is(offsets[1]));
+        }
+    }
+
+    @Test
+    public void testMaxStep() {
+        assertThat(new TerraFormSearch(7, new Random(1)).getMaxStep(), is(6));
+        assertThat(new TerraFormSearch(1, new Random(1)).getMaxStep(), is(0));
+    }
+
+    @Test
+    public void testFindsBlockInPlaneFacingX() {
+        TerraFormSearch search = new TerraFormSearch(7, new Random(1));
+
+        // Looking along +x, the plane at step 3 is x=13, and spans y and z
+        int step = search.search(10, 64, 10, 1, 0, 0, 1, (x, y, z) -> x == 13);
+
+        assertThat(step, is(3));
+        assertThat(search.getX(), is(13));
+        assertThat(Math.abs(search.getY() - 64) <= 3, is(true));
+        assertThat(Math.abs(search.getZ() - 10) <= 3, is(true));
+    }
+
+    @Test
+    public void testFindsBlockInPlaneFacingZ() {
+        TerraFormSearch search = new TerraFormSearch(7, new Random(1));
+
+        int step = search.search(10, 64, 10, 0.6, 0, -0.8, 1, (x, y, z) -> z <= 7);
+
+        assertThat(step, is(4));
+        assertThat(search.getZ(), is(7));
+    }
+
+    @Test
+    public void testContinuesFromStep() {
+        TerraFormSearch search = new TerraFormSearch(7, new Random(1));
+
+        int step = search.search(10, 64, 10, 1, 0, 0, 5, (x, y, z) -> true);
+
+        assertThat(step, is(5));
+        assertThat(search.getX(), is(15));
+    }
+
+    @Test
+    public void testNotFound() {
+        TerraFormSearch search = new TerraFormSearch(7, new Random(1));
+
+        assertThat(search.search(10, 64, 10, 1, 0, 0, 1, (x, y, z) -> false), is(TerraFormSearch.NOT_FOUND));
+        assertThat(search.search(10, 64, 10, 1, 0, 0, 7, (x, y, z) -> true), is(TerraFormSearch.NOT_FOUND));
+    }
+
+    @Test
+    public void testOnlyHalfThePlaneIsTried() {
+        TerraFormSearch search = new TerraFormSearch(2, new Random(1));
+        int[] probes = new int[1];
+
+        search.search(0, 64, 0, 1, 0, 0, 1, (x, y, z) -> {
+            probes[0]++;
+            return false;
+        });
+
+        // The 3x3 square of step 1, halved
+        assertThat(probes[0], is(4));
+    }
+}
@@ -1,27 +1,52 @@
 package us.talabrek.ultimateskyblock.handler;
 
 import org.bukkit.entity.Player;
+import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import us.talabrek.ultimateskyblock.test.MutableClock;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.UUID;
+import java.util.logging.Logger;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 public class CooldownHandlerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MutableClock testClock;
+    private Path dataDir;
+    private Player mockPlayer;
+    private UUID testId;
+
+    @Before
+    public void setUp() throws Exception {
+        testClock = new MutableClock(Instant.parse("2025-02-10T12:00:00Z"));
+        dataDir = folder.newFolder().toPath();
+        testId = new UUID(1, 2);
+        mockPlayer = mock();
+        when(mockPlayer.getUniqueId()).thenReturn(testId);
+    }
+
+    private CooldownHandler createHandler() {
+        return new CooldownHandler(testClock, mock(), Logger.getAnonymousLogger(), dataDir);
+    }
 
     @Test
     public void testCommandCooldown() {
-        Instant fixedInstant = Instant.parse("2025-02-10T12:00:00Z");
-        MutableClock testClock = new MutableClock(fixedInstant);
-        var cooldownHandler = new CooldownHandler(testClock, mock());
-        UUID testId = new UUID(1, 2);
-        Player mockPlayer = mock();
-        when(mockPlayer.getUniqueId()).thenReturn(testId);
+        var cooldownHandler = createHandler();
 
         assertEquals(Duration.ZERO, cooldownHandler.getCooldown(mockPlayer, "test"));
 
@@ -34,4 +59,65 @@ public class CooldownHandlerTest {
         testClock.advance(Duration.ofSeconds(1));
         assertEquals(Duration.ZERO, cooldownHandler.getCooldown(mockPlayer, "test"));
     }
+
+    @Test
+    public void testExpiryIsExact() {
+        var cooldownHandler = createHandler();
+        cooldownHandler.resetCooldown(mockPlayer, "restart", Duration.ofMinutes(10));
+
+        testClock.advance(Duration.ofMinutes(10).minusMillis(1));
+        assertEquals(Duration.ofMillis(1), cooldownHandler.getCooldown(mockPlayer, "restart"));
+        assertThat(cooldownHandler.getCooldowns(testId).keySet().contains("restart"), is(true));
+
+        testClock.advance(Duration.ofMillis(1));
+        assertEquals(Duration.ZERO, cooldownHandler.getCooldown(mockPlayer, "restart"));
+        assertThat(cooldownHandler.getCooldowns(testId), anEmptyMap());
+        assertThat(cooldownHandler.getPlayers(), empty());
+    }
+
+    @Test
+    public void testPurgeExpired() {
+        var cooldownHandler = createHandler();
+        cooldownHandler.resetCooldown(mockPlayer, "biome", Duration.ofSeconds(5));
+        cooldownHandler.resetCooldown(mockPlayer, "restart", Duration.ofSeconds(30));
+
+        testClock.advance(Duration.ofSeconds(10));
+        cooldownHandler.purgeExpired();
+        assertThat(cooldownHandler.getCooldowns(testId).keySet().contains("biome"), is(false));
+        assertThat(cooldownHandler.getPlayers().contains(testId), is(true));
+
+        testClock.advance(Duration.ofSeconds(20));
+        cooldownHandler.purgeExpired();
+        assertThat(cooldownHandler.getPlayers(), empty());
+    }
+
+    @Test
+    public void testClearCooldowns() {
+        var cooldownHandler = createHandler();
+        cooldownHandler.resetCooldown(mockPlayer, "biome", Duration.ofSeconds(5));
+        cooldownHandler.resetCooldown(mockPlayer, "restart", Duration.ofSeconds(30));
+
+        assertThat(cooldownHandler.clearCooldown(testId, "biome"), is(true));
+        assertThat(cooldownHandler.clearCooldown(testId, "biome"), is(false));
+        assertThat(cooldownHandler.clearCooldowns(testId), is(1));
+        assertEquals(Duration.ZERO, cooldownHandler.getCooldown(mockPlayer, "restart"));
+    }
+
+    @Test
+    public void testPersistence() {
+        var cooldownHandler = createHandler();
+        cooldownHandler.resetCooldown(mockPlayer, "biome", Duration.ofSeconds(5));
+        cooldownHandler.resetCooldown(mockPlayer, "restart", Duration.ofSeconds(30));
+        cooldownHandler.save();
+
+        testClock.advance(Duration.ofSeconds(10));
+        var reloaded = createHandler();
+        reloaded.load();
+        assertEquals(Duration.ZERO, reloaded.getCooldown(mockPlayer, "biome"));
+        assertEquals(Duration.ofSeconds(20), reloaded.getCooldown(mockPlayer, "restart"));
+
+        testClock.advance(Duration.ofSeconds(20));
+        reloaded.save();
+        assertThat(Files.exists(dataDir.resolve("cooldowns.dat")), is(false));
+    }
 }
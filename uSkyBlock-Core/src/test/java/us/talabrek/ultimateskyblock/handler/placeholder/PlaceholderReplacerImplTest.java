@@ -0,0 +1,131 @@
+package us.talabrek.ultimateskyblock.handler.placeholder;
+
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginManager;
+import org.junit.Before;
+import org.junit.Test;
+import us.talabrek.ultimateskyblock.api.IslandRank;
+import us.talabrek.ultimateskyblock.api.event.uSkyBlockEvent;
+import us.talabrek.ultimateskyblock.api.event.uSkyBlockScoreChangedEvent;
+import us.talabrek.ultimateskyblock.island.IslandInfo;
+import us.talabrek.ultimateskyblock.island.IslandLogic;
+import us.talabrek.ultimateskyblock.island.LimitLogic;
+import us.talabrek.ultimateskyblock.player.PlayerInfo;
+import us.talabrek.ultimateskyblock.player.PlayerLogic;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PlaceholderReplacerImplTest {
+    private uSkyBlock plugin;
+    private IslandLogic islandLogic;
+    private LimitLogic limitLogic;
+    private PlayerLogic playerLogic;
+    private PlaceholderReplacerImpl replacer;
+
+    @Before
+    public void setUp() {
+        plugin = mock(uSkyBlock.class);
+        Server server = mock(Server.class);
+        when(server.getPluginManager()).thenReturn(mock(PluginManager.class));
+        when(plugin.getServer()).thenReturn(server);
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+
+        islandLogic = mock(IslandLogic.class);
+        limitLogic = mock(LimitLogic.class);
+        playerLogic = mock(PlayerLogic.class);
+        when(plugin.getIslandLogic()).thenReturn(islandLogic);
+        when(plugin.getLimitLogic()).thenReturn(limitLogic);
+        when(plugin.getPlayerLogic()).thenReturn(playerLogic);
+
+        Map<LimitLogic.CreatureType, Integer> creatureCount = new EnumMap<>(LimitLogic.CreatureType.class);
+        for (LimitLogic.CreatureType type : LimitLogic.CreatureType.values()) {
+            creatureCount.put(type, type.ordinal());
+        }
+        when(limitLogic.getCreatureCount(any())).thenReturn(creatureCount);
+
+        replacer = new PlaceholderReplacerImpl(plugin);
+    }
+
+    private Player player(int x, int z) {
+        String islandName = x + "," + z;
+        IslandInfo islandInfo = mock(IslandInfo.class);
+        when(islandInfo.getName()).thenReturn(islandName);
+        when(islandInfo.getIslandLocation()).thenReturn(new Location(null, x, 150, z));
+        when(islandLogic.getIslandInfo(islandName)).thenReturn(islandInfo);
+
+        UUID uuid = UUID.randomUUID();
+        PlayerInfo playerInfo = mock(PlayerInfo.class);
+        when(playerInfo.getHasIsland()).thenReturn(true);
+        when(playerInfo.locationForParty()).thenReturn(islandName);
+        when(playerLogic.getPlayerInfo(uuid)).thenReturn(playerInfo);
+
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(uuid);
+        return player;
+    }
+
+    private String replace(Player player, String placeholder) {
+        return replacer.replace(null, player, placeholder);
+    }
+
+    @Test
+    public void testCreaturesAreOnlyCountedWhenRequested() {
+        Player player = player(0, 0);
+
+        assertThat(replace(player, "usb_island_location_x"), is("0"));
+        verify(limitLogic, never()).getCreatureCount(any());
+
+        assertThat(replace(player, "usb_island_golems"), is("" + LimitLogic.CreatureType.GOLEM.ordinal()));
+        assertThat(replace(player, "usb_island_animals"), is("" + LimitLogic.CreatureType.ANIMAL.ordinal()));
+        verify(limitLogic, times(1)).getCreatureCount(any());
+    }
+
+    @Test
+    public void testScoreChangeOnlyInvalidatesThatIsland() {
+        Player first = player(0, 0);
+        Player second = player(128, 0);
+        assertThat(replace(first, "usb_island_location_x"), is("0"));
+        assertThat(replace(second, "usb_island_location_x"), is("128"));
+
+        replacer.onScoreChanged(new uSkyBlockScoreChangedEvent(null, plugin, null, new Location(null, 0, 150, 0)));
+        replace(first, "usb_island_location_x");
+        replace(second, "usb_island_location_x");
+
+        verify(islandLogic, times(2)).getIslandInfo("0,0");
+        verify(islandLogic, times(1)).getIslandInfo("128,0");
+    }
+
+    @Test
+    public void testRanksAreRefreshedWhenRanked() {
+        Player player = player(0, 0);
+        when(islandLogic.getRank("0,0")).thenReturn(new IslandRank("0,0", "leader", List.of(), 10, 1));
+        assertThat(replace(player, "usb_island_rank"), is("1"));
+
+        when(islandLogic.getRank("0,0")).thenReturn(new IslandRank("0,0", "leader", List.of(), 10, 2));
+        replacer.onScoreChanged(new uSkyBlockScoreChangedEvent(null, plugin, null, new Location(null, 128, 150, 0)));
+        replacer.onRankUpdated(new uSkyBlockEvent(null, plugin, uSkyBlockEvent.Cause.SCORE_CHANGED));
+        assertThat(replace(player, "usb_island_rank"), is("1"));
+
+        replacer.onRankUpdated(new uSkyBlockEvent(null, plugin, uSkyBlockEvent.Cause.RANK_UPDATED));
+        assertThat(replace(player, "usb_island_rank"), is("2"));
+        verify(islandLogic, times(2)).getRank("0,0");
+        // The rank is served without a snapshot of the island
+        verify(islandLogic, never()).getIslandInfo("0,0");
+    }
+}
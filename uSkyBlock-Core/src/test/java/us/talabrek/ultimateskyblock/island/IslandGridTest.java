@@ -0,0 +1,47 @@
+package us.talabrek.ultimateskyblock.island;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class IslandGridTest {
+
+    @Test
+    public void testFirstRing() {
+        long[][] expected = {{0, 0}, {0, 1}, {1, 1}, {1, 0}, {1, -1}, {0, -1}, {-1, -1}, {-1, 0}, {-1, 1}, {-1, 2}};
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(IslandGrid.cell(i), is(expected[i]));
+            assertThat(IslandGrid.index(expected[i][0], expected[i][1]), is((long) i));
+        }
+    }
+
+    @Test
+    public void testIndexRoundTrip() {
+        for (long i = 0; i < 100_000; i++) {
+            long[] cell = IslandGrid.cell(i);
+            assertThat(IslandGrid.index(cell[0], cell[1]), is(i));
+        }
+        long far = 4_000_000_000L;
+        long[] cell = IslandGrid.cell(far);
+        assertThat(IslandGrid.index(cell[0], cell[1]), is(far));
+    }
+
+    @Test
+    public void testNextFree() {
+        IslandGrid grid = new IslandGrid();
+        assertThat(grid.nextFree(0), is(0L));
+        for (long i = 0; i < 50; i++) {
+            long[] cell = IslandGrid.cell(i);
+            grid.setOccupied(cell[0], cell[1], true);
+        }
+        assertThat(grid.getOccupiedCount(), is(50));
+        assertThat(grid.nextFree(0), is(50L));
+
+        long[] hole = IslandGrid.cell(17);
+        grid.setOccupied(hole[0], hole[1], false);
+        assertThat(grid.isOccupied(hole[0], hole[1]), is(false));
+        assertThat(grid.nextFree(3), is(17L));
+        assertThat(grid.nextFree(18), is(50L));
+    }
+}
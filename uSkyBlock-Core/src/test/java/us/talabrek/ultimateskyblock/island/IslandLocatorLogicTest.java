@@ -48,6 +48,17 @@ public class IslandLocatorLogicTest {
         System.out.println("Wrote first 49 island locations to " + csvFile);
     }
 
+    @Test
+    public void testIslandGridFollowsSpiral() {
+        Settings.island_distance = 1;
+        Location p = new Location(null, 0, 0, 0);
+        for (long i = 1; i < 1000; i++) {
+            p = IslandLocatorLogic.nextIslandLocation(p);
+            long[] cell = IslandGrid.cell(i);
+            assertThat(p.getBlockX() + "," + p.getBlockZ(), is(cell[0] + "," + cell[1]));
+        }
+    }
+
     @Test
     public void testNextIslandLocationReservation() throws Exception {
         Settings.island_distance = 10;
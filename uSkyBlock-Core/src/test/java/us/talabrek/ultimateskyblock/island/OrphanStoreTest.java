@@ -0,0 +1,159 @@
+package us.talabrek.ultimateskyblock.island;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class OrphanStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testPacking() {
+        for (int[] xz : new int[][]{{0, 0}, {-1, 1}, {30_000_000, -30_000_000}, {Integer.MIN_VALUE, Integer.MAX_VALUE}}) {
+            long packed = OrphanStore.pack(xz[0], xz[1]);
+            assertThat(OrphanStore.getX(packed), is(xz[0]));
+            assertThat(OrphanStore.getZ(packed), is(xz[1]));
+        }
+    }
+
+    @Test
+    public void testNearestFirst() throws Exception {
+        OrphanStore store = new OrphanStore(folder.getRoot().toPath().resolve("orphans.journal"));
+        store.add(10, 10);
+        store.add(-10, 10);
+        store.add(0, 10);
+        store.add(100_000, 100_000);
+
+        assertThat(OrphanStore.asStrings(store.toArray()), contains("0,10", "-10,10", "10,10", "100000,100000"));
+        assertThat(OrphanStore.asStrings(store.peek(1)), contains("0,10"));
+    }
+
+    @Test
+    public void testRemoveKeepsOrder() throws Exception {
+        OrphanStore store = new OrphanStore(folder.getRoot().toPath().resolve("orphans.journal"));
+        for (int i = -20; i <= 20; i++) {
+            store.add(i * 10, 0);
+        }
+        assertThat(store.add(0, 0), is(false));
+        assertThat(store.remove(OrphanStore.pack(0, 0)), is(true));
+        assertThat(store.remove(OrphanStore.pack(0, 0)), is(false));
+        store.remove(OrphanStore.pack(-200, 0));
+
+        assertThat(store.size(), is(39));
+        assertThat(OrphanStore.asStrings(store.peek(3)), contains("-10,0", "10,0", "-20,0"));
+        assertThat(OrphanStore.asStrings(store.toArray()).get(38), is("200,0"));
+    }
+
+    @Test
+    public void testRandomChangesKeepOrder() throws Exception {
+        OrphanStore store = new OrphanStore(folder.getRoot().toPath().resolve("orphans.journal"));
+        TreeSet<Long> expected = new TreeSet<>(OrphanStore::compare);
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            long orphan = OrphanStore.pack((random.nextInt(41) - 20) * 128, (random.nextInt(41) - 20) * 128);
+            if (random.nextInt(3) == 0) {
+                assertThat(store.remove(orphan), is(expected.remove(orphan)));
+            } else {
+                assertThat(store.add(OrphanStore.getX(orphan), OrphanStore.getZ(orphan)), is(expected.add(orphan)));
+            }
+            if (i % 100 == 0 && !expected.isEmpty()) {
+                assertThat(store.peek(1)[0], is(expected.first()));
+            }
+        }
+        store.close();
+
+        assertThat(store.size(), is(expected.size()));
+        assertThat(Arrays.stream(store.toArray()).boxed().toList(), is(List.copyOf(expected)));
+        assertThat(Arrays.stream(store.peek(10)).boxed().toList(), is(expected.stream().limit(10).toList()));
+    }
+
+    @Test
+    public void testJournalReplay() throws Exception {
+        Path journal = folder.getRoot().toPath().resolve("orphans.journal");
+        OrphanStore store = new OrphanStore(journal);
+        store.load(5, 5);
+        store.add(10, 10);
+        store.add(20, 20);
+        store.remove(OrphanStore.pack(10, 10));
+        store.close();
+        assertThat(store.getJournalSize(), is(3));
+
+        OrphanStore reloaded = new OrphanStore(journal);
+        reloaded.load(5, 5);
+        reloaded.replay();
+        assertThat(OrphanStore.asStrings(reloaded.toArray()), contains("5,5", "20,20"));
+    }
+
+    @Test
+    public void testClearIsJournaled() throws Exception {
+        Path journal = folder.getRoot().toPath().resolve("orphans.journal");
+        OrphanStore store = new OrphanStore(journal);
+        store.load(5, 5);
+        store.clear();
+        store.add(1, 1);
+        store.close();
+
+        OrphanStore reloaded = new OrphanStore(journal);
+        reloaded.load(5, 5);
+        reloaded.replay();
+        assertThat(OrphanStore.asStrings(reloaded.toArray()), contains("1,1"));
+    }
+
+    @Test
+    public void testRotation() throws Exception {
+        Path journal = folder.getRoot().toPath().resolve("orphans.journal");
+        OrphanStore store = new OrphanStore(journal);
+        store.add(1, 1);
+        store.add(2, 2);
+
+        long[] snapshot = store.rotate();
+        assertThat(OrphanStore.asStrings(snapshot), contains("1,1", "2,2"));
+        assertThat(store.getJournalSize(), is(0));
+        assertThat(Files.exists(journal), is(false));
+
+        // Changes made while the snapshot is being written go to a fresh journal
+        store.add(3, 3);
+        store.commitRotation();
+        store.close();
+
+        OrphanStore reloaded = new OrphanStore(journal);
+        Arrays.stream(snapshot).forEach(o -> reloaded.load(OrphanStore.getX(o), OrphanStore.getZ(o)));
+        reloaded.replay();
+        assertThat(OrphanStore.asStrings(reloaded.toArray()), contains("1,1", "2,2", "3,3"));
+    }
+
+    @Test
+    public void testFailedRotationIsReplayed() throws Exception {
+        Path journal = folder.getRoot().toPath().resolve("orphans.journal");
+        OrphanStore store = new OrphanStore(journal);
+        store.add(1, 1);
+        store.rotate();
+        // Snapshot never written, and no commit
+        store.add(2, 2);
+        store.close();
+
+        OrphanStore reloaded = new OrphanStore(journal);
+        reloaded.replay();
+        assertThat(OrphanStore.asStrings(reloaded.toArray()), contains("1,1", "2,2"));
+
+        reloaded.rotate();
+        reloaded.commitRotation();
+        OrphanStore empty = new OrphanStore(journal);
+        empty.replay();
+        assertThat(empty.isEmpty(), is(true));
+        assertThat(OrphanStore.asStrings(empty.toArray()), is(empty()));
+    }
+}
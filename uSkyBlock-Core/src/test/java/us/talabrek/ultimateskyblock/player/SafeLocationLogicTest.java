@@ -0,0 +1,167 @@
+package us.talabrek.ultimateskyblock.player;
+
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.junit.Before;
+import org.junit.Test;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SafeLocationLogicTest {
+    private final Map<String, Material> blocks = new HashMap<>();
+    private World world;
+    private SafeLocationLogic safeLocationLogic;
+
+    @Before
+    public void setUp() {
+        // A stone floor at y=99, in all chunks
+        world = mock(World.class);
+        when(world.getUID()).thenReturn(UUID.randomUUID());
+        when(world.getMinHeight()).thenReturn(-64);
+        when(world.getMaxHeight()).thenReturn(320);
+        when(world.getChunkAt(anyInt(), anyInt())).thenAnswer(invocation ->
+            chunk(invocation.getArgument(0), invocation.getArgument(1)));
+        when(world.getBlockAt(any(Location.class))).thenAnswer(invocation -> {
+            Location location = invocation.getArgument(0);
+            return block(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        });
+
+        PluginConfig config = mock(PluginConfig.class);
+        when(config.getYamlConfig()).thenReturn(new YamlConfiguration());
+        safeLocationLogic = new SafeLocationLogic(config, mock(Scheduler.class));
+    }
+
+    private Material getType(int x, int y, int z) {
+        Material material = blocks.get(x + "," + y + "," + z);
+        if (material != null) {
+            return material;
+        }
+        return y == 99 ? Material.STONE : Material.AIR;
+    }
+
+    private Chunk chunk(int cx, int cz) {
+        ChunkSnapshot snapshot = mock(ChunkSnapshot.class);
+        when(snapshot.getBlockType(anyInt(), anyInt(), anyInt())).thenAnswer(invocation ->
+            getType((cx << 4) + (int) invocation.getArgument(0), invocation.getArgument(1), (cz << 4) + (int) invocation.getArgument(2)));
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.getChunkSnapshot(false, false, false)).thenReturn(snapshot);
+        return chunk;
+    }
+
+    private Block block(int x, int y, int z) {
+        Block block = mock(Block.class);
+        when(block.getWorld()).thenReturn(world);
+        when(block.getX()).thenReturn(x);
+        when(block.getY()).thenReturn(y);
+        when(block.getZ()).thenReturn(z);
+        when(block.getType()).thenAnswer(invocation -> getType(x, y, z));
+        when(block.getRelative(any(BlockFace.class))).thenAnswer(invocation -> {
+            BlockFace face = invocation.getArgument(0);
+            return block(x + face.getModX(), y + face.getModY(), z + face.getModZ());
+        });
+        return block;
+    }
+
+    private BlockBreakEvent blockBreak(int x, int y, int z) {
+        BlockBreakEvent event = mock(BlockBreakEvent.class);
+        Block block = block(x, y, z);
+        when(event.getBlock()).thenReturn(block);
+        return event;
+    }
+
+    private BlockPlaceEvent blockPlace(int x, int y, int z) {
+        BlockPlaceEvent event = mock(BlockPlaceEvent.class);
+        Block block = block(x, y, z);
+        when(event.getBlock()).thenReturn(block);
+        return event;
+    }
+
+    private static void assertLocation(Location location, int x, int y, int z) {
+        assertThat(location.getBlockX(), is(x));
+        assertThat(location.getBlockY(), is(y));
+        assertThat(location.getBlockZ(), is(z));
+    }
+
+    private Location findRemembered(Location origin) {
+        Location safeLocation = safeLocationLogic.findSafeLocation(origin);
+        verify(world, atLeastOnce()).getChunkAt(anyInt(), anyInt());
+        clearInvocations(world);
+        return safeLocation;
+    }
+
+    @Test
+    public void testSafeOriginIsUsedWithoutSnapshot() {
+        assertLocation(safeLocationLogic.findSafeLocation(new Location(world, 8, 100, 8)), 8, 100, 8);
+
+        verify(world, never()).getChunkAt(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testSafeLocationIsRemembered() {
+        Location origin = new Location(world, 8, 105, 8);
+        assertLocation(findRemembered(origin), 8, 100, 8);
+
+        assertLocation(safeLocationLogic.findSafeLocation(origin), 8, 100, 8);
+        verify(world, never()).getChunkAt(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testBlockChangesNearTheSafeLocationForgetIt() {
+        Location origin = new Location(world, 8, 105, 8);
+        findRemembered(origin);
+
+        safeLocationLogic.onBlockBreak(blockBreak(9, 99, 9));
+        assertLocation(findRemembered(origin), 8, 100, 8);
+
+        safeLocationLogic.onBlockPlace(blockPlace(6, 101, 10));
+        assertLocation(findRemembered(origin), 8, 100, 8);
+    }
+
+    @Test
+    public void testBlockChangesAwayFromTheSafeLocationKeepIt() {
+        Location origin = new Location(world, 8, 105, 8);
+        findRemembered(origin);
+
+        // Same chunk, but too far away
+        safeLocationLogic.onBlockBreak(blockBreak(8, 99, 11));
+        // Another chunk
+        safeLocationLogic.onBlockPlace(blockPlace(40, 100, 40));
+
+        assertLocation(safeLocationLogic.findSafeLocation(origin), 8, 100, 8);
+        verify(world, never()).getChunkAt(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testUnsafeRememberedLocationIsSearchedAgain() {
+        Location origin = new Location(world, 8, 105, 8);
+        findRemembered(origin);
+
+        // Changed without an event
+        blocks.put("8,99,8", Material.AIR);
+
+        assertLocation(findRemembered(origin), 8, 100, 9);
+    }
+}
@@ -0,0 +1,91 @@
+package us.talabrek.ultimateskyblock.signs;
+
+import org.junit.Test;
+import us.talabrek.ultimateskyblock.signs.SignIndex.SignRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SignIndexTest {
+
+    private static SignRecord sign(int x, String chestKey, String challenge) {
+        return new SignRecord("world-" + x + "_00,64_00,0_00", "world:" + x + ".00,64.00,0.00",
+            chestKey, chestKey.replace('-', ':').replace('_', '.'), challenge);
+    }
+
+    @Test
+    public void testSignsByChestAndIsland() {
+        SignIndex index = new SignIndex();
+        index.add(sign(1, "chest-1", "cobblestonegenerator"));
+        index.add(sign(2, "chest-1", "pumpkinfarmer"));
+        index.add(sign(3, "chest-2", "pumpkinfarmer"));
+        index.setIsland("chest-1", "0,0");
+        index.setIsland("chest-2", "0,0");
+
+        assertThat(index.getSignsOnChest("chest-1").size(), is(2));
+        assertThat(index.getChestsOnIsland("0,0"), contains("chest-1", "chest-2"));
+
+        index.removeSign("world-3_00,64_00,0_00");
+        assertThat(index.hasChest("chest-2"), is(false));
+        assertThat(index.getChestsOnIsland("0,0"), contains("chest-1"));
+
+        index.removeChest("chest-1");
+        assertThat(index.size(), is(0));
+        assertThat(index.getChestsOnIsland("0,0"), is(empty()));
+        assertThat(index.getIsland("chest-1"), is(nullValue()));
+    }
+
+    @Test
+    public void testIslandIsOnlyTrackedForIndexedChests() {
+        SignIndex index = new SignIndex();
+        index.setIsland("chest-1", "0,0");
+        assertThat(index.getIsland("chest-1"), is(nullValue()));
+    }
+
+    @Test
+    public void testJournalReplay() {
+        SignIndex index = new SignIndex();
+        List<String> journal = new ArrayList<>();
+        journal.add(index.add(sign(1, "chest-1", "cobblestonegenerator")));
+        journal.add(index.add(sign(2, "chest-1", "pumpkinfarmer")));
+        journal.add(index.add(sign(3, "chest-2", "sugar\tfarmer")));
+        journal.add(index.removeSign("world-2_00,64_00,0_00"));
+        journal.add(index.removeChest("chest-3"));
+        assertThat(journal.get(4), is(nullValue()));
+        journal.remove(4);
+
+        SignIndex replayed = new SignIndex();
+        journal.forEach(replayed::apply);
+        assertThat(replayed.snapshot(), containsInAnyOrder(index.snapshot().toArray()));
+        assertThat(replayed.getSign("world-3_00,64_00,0_00").challenge(), is("sugar farmer"));
+
+        // Replaying the journal on top of the compacted snapshot gives the same result
+        SignIndex compacted = new SignIndex();
+        replayed.snapshot().forEach(compacted::add);
+        journal.forEach(compacted::apply);
+        assertThat(compacted.snapshot(), containsInAnyOrder(index.snapshot().toArray()));
+    }
+
+    @Test
+    public void testIslandsAreJournaled() {
+        SignIndex index = new SignIndex();
+        List<String> journal = new ArrayList<>();
+        journal.add(index.add(sign(1, "chest-1", "cobblestonegenerator")));
+        journal.add(index.setIsland("chest-1", "0,0"));
+        assertThat(index.setIsland("chest-1", "0,0"), is(nullValue()));
+        assertThat(index.setIsland("chest-2", "0,0"), is(nullValue()));
+
+        SignIndex replayed = new SignIndex();
+        journal.forEach(replayed::apply);
+        assertThat(replayed.getIsland("chest-1"), is("0,0"));
+        assertThat(replayed.getChestsOnIsland("0,0"), contains("chest-1"));
+        assertThat(replayed.islandSnapshot(), is(index.islandSnapshot()));
+    }
+}
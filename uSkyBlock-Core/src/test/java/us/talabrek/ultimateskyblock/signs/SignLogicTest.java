@@ -0,0 +1,109 @@
+package us.talabrek.ultimateskyblock.signs;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import us.talabrek.ultimateskyblock.challenge.ChallengeLogic;
+import us.talabrek.ultimateskyblock.signs.SignIndex.SignRecord;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+import us.talabrek.ultimateskyblock.world.WorldManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SignLogicTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path dataDir;
+    private Path journalFile;
+    private Path configFile;
+    private uSkyBlock plugin;
+    private Scheduler scheduler;
+    private World world;
+
+    @Before
+    public void setUp() {
+        dataDir = folder.getRoot().toPath();
+        journalFile = dataDir.resolve("signs.journal");
+        configFile = dataDir.resolve("signs.yml");
+        plugin = mock(uSkyBlock.class);
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+        scheduler = mock(Scheduler.class);
+        world = mock(World.class);
+        when(world.getName()).thenReturn("world");
+    }
+
+    private SignLogic signLogic() {
+        return new SignLogic(Logger.getLogger(SignLogicTest.class.getName()), plugin, dataDir, scheduler,
+            mock(ChallengeLogic.class), mock(WorldManager.class));
+    }
+
+    private static SignRecord sign(int x) {
+        return new SignRecord("world-" + x + "_00,64_00,0_00", "world:" + x + ".00,64.00,0.00",
+            "world-0_00,64_00,1_00", "world:0.00,64.00,1.00", "cobblestonegenerator");
+    }
+
+    private void journal(String... lines) throws IOException {
+        Files.write(journalFile, List.of(lines), StandardCharsets.UTF_8);
+    }
+
+    private SignIndex replayJournal() throws IOException {
+        SignIndex index = new SignIndex();
+        Files.readAllLines(journalFile, StandardCharsets.UTF_8).forEach(index::apply);
+        return index;
+    }
+
+    @Test
+    public void testJournalIsKeptWhenSnapshotFails() throws IOException {
+        SignIndex index = new SignIndex();
+        journal(index.add(sign(1)), index.add(sign(2)));
+        // The snapshot can not be written, when its temporary file is a directory
+        Files.createDirectory(dataDir.resolve("signs.yml.tmp"));
+
+        SignLogic signLogic = signLogic();
+        signLogic.removeSign(new Location(world, 1, 64, 0));
+        signLogic.shutdown();
+
+        assertThat(Files.exists(configFile), is(false));
+        SignIndex replayed = replayJournal();
+        assertThat(replayed.size(), is(1));
+        assertThat(replayed.getSign(sign(2).signKey()), is(sign(2)));
+    }
+
+    @Test
+    public void testSnapshotKeepsTheIslandsOfChests() throws IOException {
+        SignIndex index = new SignIndex();
+        journal(index.add(sign(1)), index.setIsland(sign(1).chestKey(), "0,0"));
+
+        signLogic().shutdown();
+
+        assertThat(Files.exists(journalFile), is(false));
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile.toFile());
+        assertThat(config.getString("islands." + sign(1).chestKey()), is("0,0"));
+
+        SignLogic restarted = signLogic();
+        restarted.updateSignsOnIsland("128,0");
+        verify(scheduler, never()).sync(any(Runnable.class), any(Duration.class));
+        restarted.updateSignsOnIsland("0,0");
+        verify(scheduler).sync(any(Runnable.class), any(Duration.class));
+    }
+}
@@ -0,0 +1,84 @@
+package us.talabrek.ultimateskyblock.uuid;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FilePlayerDBTest {
+    private static final UUID UUID_1 = UUID.fromString("29cbdb8c-f6ad-4d6f-9c8f-8a8e3b5a2f10");
+    private static final FileTime WRITTEN = FileTime.fromMillis(1_000_000_000_000L);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File uuid2NameFile;
+    private FilePlayerDB playerDB;
+
+    @Before
+    public void setUp() throws IOException {
+        uuid2NameFile = new File(folder.getRoot(), "uuid2name.yml");
+        Files.write(uuid2NameFile.toPath(), List.of(
+            UUID_1 + ":",
+            "  name: Notch",
+            "  updated: 1",
+            "  displayName: The Notch"), StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(uuid2NameFile.toPath(), WRITTEN);
+
+        uSkyBlock plugin = mock(uSkyBlock.class);
+        when(plugin.getDataFolder()).thenReturn(folder.getRoot());
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+        Scheduler scheduler = mock(Scheduler.class);
+        // Loads the names right away
+        when(scheduler.async(any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        });
+        playerDB = new FilePlayerDB(plugin, scheduler, Logger.getLogger(FilePlayerDBTest.class.getName()));
+    }
+
+    @Test
+    public void testKnownPlayersDoNotRewriteTheFile() throws IOException {
+        assertThat(playerDB.getName(UUID_1), is("Notch"));
+        assertThat(playerDB.getUUIDFromName("notch"), is(UUID_1));
+        playerDB.updatePlayer(UUID_1, "Notch", "The Notch");
+        playerDB.updatePlayer(UUID_1, "Notch", null);
+
+        playerDB.shutdown();
+
+        assertThat(playerDB.getUnchangedCount(), is(2L));
+        assertThat(playerDB.getDirtyCount(), is(0L));
+        assertThat(playerDB.getSaveCount(), is(0L));
+        assertThat(Files.getLastModifiedTime(uuid2NameFile.toPath()), is(WRITTEN));
+    }
+
+    @Test
+    public void testChangedPlayersAreSavedOnShutdown() {
+        playerDB.updatePlayer(UUID_1, "Notch", "Notch the Great");
+
+        playerDB.shutdown();
+
+        assertThat(playerDB.getDirtyCount(), is(1L));
+        assertThat(playerDB.getSaveCount(), is(1L));
+        YamlConfiguration saved = YamlConfiguration.loadConfiguration(uuid2NameFile);
+        assertThat(saved.getString(UUID_1 + ".displayName"), is("Notch the Great"));
+    }
+}
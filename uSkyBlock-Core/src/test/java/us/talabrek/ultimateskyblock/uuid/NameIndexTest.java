@@ -0,0 +1,55 @@
+package us.talabrek.ultimateskyblock.uuid;
+
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class NameIndexTest {
+
+    @Test
+    public void testFindByPrefixIgnoresCase() {
+        NameIndex index = new NameIndex();
+        index.add("Notch");
+        index.add("notchy");
+        index.add("jeb_");
+        index.add("Dinnerbone");
+
+        assertThat(index.find("no", -1), contains("Notch", "notchy"));
+        assertThat(index.find("NOTCHY", -1), contains("notchy"));
+        assertThat(index.find("x", -1), is(empty()));
+        assertThat(index.find(null, -1), contains("Dinnerbone", "jeb_", "Notch", "notchy"));
+        assertThat(index.find("", -1).size(), is(4));
+    }
+
+    @Test
+    public void testFindIsBounded() {
+        NameIndex index = new NameIndex();
+        for (int i = 0; i < 1000; i++) {
+            index.add(String.format("player%04d", i));
+        }
+        Set<String> names = index.find("player01", 5);
+        assertThat(names, contains("player0100", "player0101", "player0102", "player0103", "player0104"));
+        assertThat(index.find("player", 20).size(), is(20));
+    }
+
+    @Test
+    public void testRemoveAndRename() {
+        NameIndex index = new NameIndex();
+        index.add("oldName");
+        index.add("OLDNAME");
+        assertThat(index.size(), is(1));
+        assertThat(index.find("old", -1), contains("OLDNAME"));
+
+        index.remove("oldName");
+        assertThat("only the current casing is removed", index.size(), is(1));
+        index.remove("OLDNAME");
+        index.add("newName");
+        assertThat(index.find("old", -1), is(empty()));
+        assertThat(index.find("new", -1), contains("newName"));
+    }
+}